@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Request handlers are the key elements of json rpc request processing
@@ -119,4 +120,22 @@ abstract public class RequestHandler<P, R> {
     public R handleRequest(String endpointId, P params) {
         throw new UnsupportedOperationException();
     }
+
+    /**
+     * Handle a request with parameters asynchronously. Response is sent when
+     * returned future is completed, so handler which waits for some other
+     * service doesn't hold thread of dispatcher. Cancelled future is reported
+     * to endpoint as cancelled request. By default delegates to
+     * {@link RequestHandler#handleRequest(String, Object)}.
+     *
+     * @param endpointId
+     *         endpoint identifier that a notification comes from
+     * @param params
+     *         parameters represented by DTO
+     *
+     * @return future result of handling of a request
+     */
+    public CompletableFuture<R> handleRequestAsync(String endpointId, P params) {
+        return CompletableFuture.completedFuture(handleRequest(endpointId, params));
+    }
 }
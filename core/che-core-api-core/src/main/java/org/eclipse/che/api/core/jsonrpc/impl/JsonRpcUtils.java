@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import com.google.gson.stream.JsonWriter;
+
+import org.eclipse.che.dto.server.JsonSerializable;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Helpers for writing json rpc messages directly to the text of web socket frame, without building of intermediate json tree for
+ * the whole message.
+ *
+ * @author agent
+ */
+class JsonRpcUtils {
+    /** Writes part of json rpc message. */
+    @FunctionalInterface
+    interface MessageWriter {
+        void write(JsonWriter writer) throws IOException;
+    }
+
+    /** Creates text of json rpc message, envelope of message ({@code {"jsonrpc": "2.0", ...}}) is written by this method. */
+    static String toMessage(MessageWriter body) {
+        final StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            // the same as DTO's toJson(), fields with null values are omitted
+            writer.setSerializeNulls(false);
+            writer.beginObject();
+            writer.name("jsonrpc").value("2.0");
+            body.write(writer);
+            writer.endObject();
+        } catch (IOException e) {
+            // StringWriter doesn't throw IOException
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /** Writes DTO object as json value. */
+    static void writeDto(JsonWriter writer, Object dto) throws IOException {
+        if (!(dto instanceof JsonSerializable)) {
+            throw new IllegalArgumentException("JsonSerializable instance required. ");
+        }
+        ((JsonSerializable)dto).toJson(writer);
+    }
+
+    private JsonRpcUtils() {
+    }
+}
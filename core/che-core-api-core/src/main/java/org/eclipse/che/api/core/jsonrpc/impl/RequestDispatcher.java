@@ -10,10 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
 
 import org.eclipse.che.api.core.jsonrpc.RequestHandler;
 import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
@@ -24,11 +23,17 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
- * Dispatches incoming json rpc requests
+ * Dispatches incoming json rpc requests. Dispatcher doesn't keep any state
+ * between requests, so requests may be dispatched concurrently, response
+ * is correlated with request by the request identifier.
  *
  * @author Dmitry Kuleshov
  */
@@ -67,87 +72,98 @@ public class RequestDispatcher {
         if (handler == null) {
             LOG.error("Handler not found: " + method);
             // TODO make a centralized standard errors structure
-            transmitter.transmit(endpointId, error(-32601, "Method not found: " + method));
+            transmitter.transmit(endpointId, error(id, -32601, "Method not found: " + method));
             return;
         }
 
-        final Class resultClass = handler.getResultClass();
-        LOG.debug("Extracted request result class: " + resultClass);
-
-
-        JsonElement result;
-        if (incomingJson.has("params")) {
-            final JsonObject params = incomingJson.get("params").getAsJsonObject();
-            LOG.debug("Request is parametrized, processing parameters: " + params);
-
-            final Class paramsClass = handler.getParamsClass();
-            LOG.debug("Extracted request params class: " + paramsClass);
-            result = response(endpointId, handler, params, paramsClass, resultClass);
-        } else {
-            LOG.debug("Request is not parametrized.");
-            result = response(endpointId, handler, null, null, resultClass);
+        final CompletableFuture<?> result;
+        try {
+            result = handle(endpointId, handler, incomingJson.get("params"));
+        } catch (RuntimeException e) {
+            LOG.error(e.getMessage(), e);
+            transmitter.transmit(endpointId, error(id, -32603, e.getMessage()));
+            return;
         }
 
-        final JsonElement response = prepareResponse(id, result);
-        LOG.debug("Generated response: " + response);
+        // response is sent from the thread which completes the result, asynchronous handlers don't hold dispatcher's thread
+        result.whenComplete((value, failure) -> {
+            if (failure != null) {
+                final Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                if (cause instanceof CancellationException) {
+                    LOG.debug("Request {} is cancelled", id);
+                    transmitter.transmit(endpointId, error(id, -32800, "Request cancelled"));
+                } else {
+                    LOG.error(cause.getMessage(), cause);
+                    transmitter.transmit(endpointId, error(id, -32603, cause.getMessage()));
+                }
+                return;
+            }
+            final String response = JsonRpcUtils.toMessage(writer -> {
+                writer.name("id").value(id);
+                writer.name("result");
+                writeResult(writer, value);
+            });
+            LOG.debug("Generated response: " + response);
 
-        transmitter.transmit(endpointId, response.toString());
+            transmitter.transmit(endpointId, response);
+        });
     }
 
-    private <P, R> JsonElement response(String endpointId,
-                                       RequestHandler<P, R> handler,
-                                       JsonObject params,
-                                       Class<P> paramClass,
-                                       Class<R> resultClass) {
+    /**
+     * Sends error response to request which can't be dispatched, e.g. if there are too many pending requests.
+     *
+     * @param endpointId
+     *         high level endpoint identifier
+     * @param incomingJson
+     *         json object of request
+     * @param message
+     *         reason of rejection
+     */
+    void reject(String endpointId, JsonObject incomingJson, String message) {
+        transmitter.transmit(endpointId, error(incomingJson.get("id").getAsString(), -32000, message));
+    }
 
-        final R result;
+    private <P, R> CompletableFuture<R> handle(String endpointId, RequestHandler<P, R> handler, JsonElement params) {
+        final Class<P> paramsClass = handler.getParamsClass();
+        if (params != null && paramsClass != null) {
+            LOG.debug("Request is parametrized, processing parameters: " + params + ", params class: " + paramsClass);
 
-        if (paramClass != null) {
-            final P param = DtoFactory.getInstance().createDtoFromJson(params.toString(), paramClass);
-            result = handler.handleRequest(endpointId, param);
-        } else {
-            result = handler.handleRequest(endpointId);
+            final P param = DtoFactory.getInstance().createDtoFromJson(params, paramsClass);
+            return handler.handleRequestAsync(endpointId, param);
         }
 
+        LOG.debug("Request is not parametrized.");
+        return CompletableFuture.completedFuture(handler.handleRequest(endpointId));
+    }
+
+    private void writeResult(JsonWriter writer, Object result) throws IOException {
         LOG.debug("Dispatch response: ", result);
 
-        if (result instanceof Void)
-            return new JsonObject();
-        else if (result instanceof String) {
-            JsonObject response = new JsonObject();
-            response.addProperty("text", (String)result);
-            return response;
+        if (result == null || result instanceof Void) {
+            writer.beginObject().endObject();
+        } else if (result instanceof String) {
+            writer.beginObject().name("text").value((String)result).endObject();
         } else if (result instanceof Collection) {   // list of DTO objects
-            JsonArray valueArray = new JsonArray();
-            ((Collection)result).stream().filter(r -> r instanceof JsonSerializable).forEach(r -> {
-                String resultString = DtoFactory.getInstance().toJson(r);
-                valueArray.add(new JsonParser().parse(resultString).getAsJsonObject());
-            });
-            return valueArray;
+            writer.beginArray();
+            for (Object item : (Collection<?>)result) {
+                if (item instanceof JsonSerializable) {
+                    JsonRpcUtils.writeDto(writer, item);
+                }
+            }
+            writer.endArray();
+        } else {
+            // DTO object otherwise
+            JsonRpcUtils.writeDto(writer, result);
         }
-
-        // DTO object otherwise
-        final String resultString = DtoFactory.getInstance().toJson(result);
-        return new JsonParser().parse(resultString).getAsJsonObject();
     }
 
-
-    private JsonElement prepareResponse(String id, JsonElement result) {
-        final JsonObject response = new JsonObject();
-
-        response.addProperty("jsonrpc", "2.0");
-        response.addProperty("id", id);
-        response.add("result", result);
-
-        return response;
-    }
-
-    private String error(int code, String message) {
-        final JsonObject response = new JsonObject();
-
-        response.addProperty("code", code);
-        response.addProperty("message", message);
-
-        return response.toString();
+    private String error(String id, int code, String message) {
+        return JsonRpcUtils.toMessage(writer -> {
+            writer.name("id").value(id);
+            writer.name("error").beginObject()
+                  .name("code").value(code)
+                  .name("message").value(message)
+                  .endObject();
+        });
     }
 }
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import org.eclipse.che.dto.server.DtoFactory;
@@ -17,9 +18,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Singleton;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Dispatches incoming json rpc responses
@@ -30,8 +31,8 @@ import java.util.concurrent.CompletableFuture;
 public class ResponseDispatcher {
     private static final Logger LOG = LoggerFactory.getLogger(ResponseDispatcher.class);
 
-    private final Map<String, CompletableFuture> futures       = new HashMap<>();
-    private final Map<String, Class<?>>          resultClasses = new HashMap<>();
+    private final Map<String, CompletableFuture> futures       = new ConcurrentHashMap<>();
+    private final Map<String, Class<?>>          resultClasses = new ConcurrentHashMap<>();
 
     /**
      * Dispatches json rpc response received from endpoint identified by a high
@@ -51,16 +52,20 @@ public class ResponseDispatcher {
         final String key = endpointId + '@' + id;
         LOG.debug("Combined response key: " + key);
 
-        final Class resultClass = resultClasses.get(key);
+        final Class resultClass = resultClasses.remove(key);
         LOG.debug("Extracted result class: " + resultClass);
 
-        final CompletableFuture completableFuture = futures.get(key);
+        final CompletableFuture completableFuture = futures.remove(key);
+        if (completableFuture == null) {
+            LOG.error("Unexpected response, there is no request with id: " + id);
+            return;
+        }
 
         if (incomingJson.has("result")) {
             LOG.debug("Response contains result field, processing result");
 
-            final JsonObject result = incomingJson.get("result").getAsJsonObject();
-            final Object dto = DtoFactory.getInstance().createDtoFromJson(result.toString(), resultClass);
+            final JsonElement result = incomingJson.get("result");
+            final Object dto = DtoFactory.getInstance().createDtoFromJson(result, resultClass);
 
             completableFuture.complete(dto);
         } else {
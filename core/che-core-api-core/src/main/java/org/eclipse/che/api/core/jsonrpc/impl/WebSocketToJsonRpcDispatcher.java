@@ -10,20 +10,32 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
 import org.eclipse.che.api.core.websocket.WebSocketMessageReceiver;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Dispatches messages received from web socket endpoint throughout json rpc
- * inner infrastructure.
+ * inner infrastructure. Requests are handled concurrently in a thread pool,
+ * so long running request doesn't block processing of other messages of
+ * the same endpoint, notifications and responses are processed in the
+ * order they are received. Number of threads and pending requests is
+ * limited, if limit is reached request is rejected with error response.
  *
  * @author Dmitry Kuleshov
  */
@@ -31,17 +43,46 @@ import javax.inject.Singleton;
 public class WebSocketToJsonRpcDispatcher implements WebSocketMessageReceiver {
     private static final Logger LOG = LoggerFactory.getLogger(WebSocketToJsonRpcDispatcher.class);
 
+    private static final int REQUEST_THREADS        = 32;
+    private static final int REQUEST_QUEUE_CAPACITY = 1000;
+
     private final RequestDispatcher      requestDispatcher;
     private final NotificationDispatcher notificationDispatcher;
     private final ResponseDispatcher     responseDispatcher;
+    private final ExecutorService        requestExecutor;
 
     @Inject
     public WebSocketToJsonRpcDispatcher(RequestDispatcher requestDispatcher,
                                         NotificationDispatcher notificationDispatcher,
                                         ResponseDispatcher responseDispatcher) {
+        this(requestDispatcher, notificationDispatcher, responseDispatcher, REQUEST_THREADS, REQUEST_QUEUE_CAPACITY);
+    }
+
+    WebSocketToJsonRpcDispatcher(RequestDispatcher requestDispatcher,
+                                 NotificationDispatcher notificationDispatcher,
+                                 ResponseDispatcher responseDispatcher,
+                                 int requestThreads,
+                                 int requestQueueCapacity) {
         this.requestDispatcher = requestDispatcher;
         this.notificationDispatcher = notificationDispatcher;
         this.responseDispatcher = responseDispatcher;
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(requestThreads,
+                                                                   requestThreads,
+                                                                   60L,
+                                                                   TimeUnit.SECONDS,
+                                                                   new LinkedBlockingQueue<>(requestQueueCapacity),
+                                                                   new ThreadFactoryBuilder().setNameFormat("JsonRpcRequestDispatcher-%d")
+                                                                                             .setUncaughtExceptionHandler(
+                                                                                                     LoggingUncaughtExceptionHandler
+                                                                                                             .getInstance())
+                                                                                             .setDaemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        this.requestExecutor = executor;
+    }
+
+    @PreDestroy
+    void stop() {
+        requestExecutor.shutdownNow();
     }
 
     @Override
@@ -65,7 +106,12 @@ public class WebSocketToJsonRpcDispatcher implements WebSocketMessageReceiver {
 
         if (hasMethod && hasId && !hasResult && !hasError) {
             LOG.debug("It's a request, processing by request dispatcher.");
-            requestDispatcher.dispatch(endpointId, incomingJson);
+            try {
+                requestExecutor.execute(() -> requestDispatcher.dispatch(endpointId, incomingJson));
+            } catch (RejectedExecutionException e) {
+                LOG.warn("Unable to dispatch request from: " + endpointId + ", too many pending requests");
+                requestDispatcher.reject(endpointId, incomingJson, "Server is busy, too many pending requests");
+            }
             return;
         }
 
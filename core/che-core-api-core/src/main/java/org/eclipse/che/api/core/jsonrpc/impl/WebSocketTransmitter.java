@@ -10,17 +10,14 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-
 import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
 import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
-import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Web socket based json rpc transmitter implementation
@@ -30,7 +27,7 @@ import java.util.concurrent.CompletableFuture;
 public class WebSocketTransmitter implements RequestTransmitter {
     private static final Logger LOG = LoggerFactory.getLogger(WebSocketTransmitter.class);
 
-    private static long idCounter = 0L;
+    private static final AtomicLong idCounter = new AtomicLong();
 
     private final ResponseDispatcher          responseDispatcher;
     private final WebSocketMessageTransmitter transmitter;
@@ -59,9 +56,11 @@ public class WebSocketTransmitter implements RequestTransmitter {
     public <R> CompletableFuture<R> transmitRequest(String endpointId, String method, Class<R> resultClass) {
         LOG.debug("Transmitting a request to endpoint: " + endpointId + ", method: " + method + ", result class:" + resultClass);
 
-        final String id = Long.toString(++idCounter);
+        final String id = Long.toString(idCounter.incrementAndGet());
+        // register future before transmitting, otherwise response may come before future is registered
+        final CompletableFuture<R> future = responseDispatcher.getCompletableFuture(endpointId, id, resultClass);
         internalTransmit(endpointId, method, null, id);
-        return responseDispatcher.getCompletableFuture(endpointId, id, resultClass);
+        return future;
     }
 
     @Override
@@ -71,9 +70,10 @@ public class WebSocketTransmitter implements RequestTransmitter {
                   ", params:" + params +
                   ", result class:" + resultClass);
 
-        final String id = Long.toString(++idCounter);
+        final String id = Long.toString(idCounter.incrementAndGet());
+        final CompletableFuture<R> future = responseDispatcher.getCompletableFuture(endpointId, id, resultClass);
         internalTransmit(endpointId, method, params, id);
-        return responseDispatcher.getCompletableFuture(endpointId, id, resultClass);
+        return future;
     }
 
     @Override
@@ -85,23 +85,21 @@ public class WebSocketTransmitter implements RequestTransmitter {
     }
 
     private void internalTransmit(String endpointId, String method, Object dto, String id) {
-        final JsonObject request = new JsonObject();
-
-        request.addProperty("jsonrpc", "2.0");
-        if (id != null) {
-            request.addProperty("id", id);
-        }
-        request.addProperty("method", method);
-        if (dto != null) {
-            final String dtoString = DtoFactory.getInstance().toJson(dto);
-            final JsonObject jsonParams = new JsonParser().parse(dtoString).getAsJsonObject();
-            request.add("params", jsonParams);
-        }
+        final String request = JsonRpcUtils.toMessage(writer -> {
+            if (id != null) {
+                writer.name("id").value(id);
+            }
+            writer.name("method").value(method);
+            if (dto != null) {
+                writer.name("params");
+                JsonRpcUtils.writeDto(writer, dto);
+            }
+        });
 
         if (endpointId == null) {
-            transmitter.transmit(request.toString());
+            transmitter.transmit(request);
         } else {
-            transmitter.transmit(endpointId, request.toString());
+            transmitter.transmit(endpointId, request);
         }
     }
 
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers events to subscriber asynchronously. Events are put in bounded mailbox of subscriber and are delivered in order of
+ * publishing by tasks of shared executor, at most one task delivers events to the same subscriber at a time. If mailbox is full new
+ * events are dropped.
+ * <p/>
+ * Instance of this class is returned by {@link EventService#subscribeAsync(EventSubscriber)} and may be used for monitoring of
+ * delivery.
+ *
+ * @author agent
+ */
+public class AsyncEventSubscriber implements EventSubscriber<Object> {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncEventSubscriber.class);
+
+    /** Max number of events delivered by single task, after that task is re-submitted to give a chance to other subscribers. */
+    private static final int MAX_EVENTS_PER_TASK = 64;
+
+    private final EventSubscriber<Object> delegate;
+    private final Executor                executor;
+    private final BlockingQueue<Object>   mailbox;
+    private final int                     mailboxCapacity;
+    private final AtomicBoolean           scheduled;
+    private final AtomicLong              deliveredEvents;
+    private final AtomicLong              droppedEvents;
+    private final AtomicLong              failedEvents;
+
+    private volatile boolean overflow;
+    private volatile int     maxPendingEvents;
+    private volatile boolean closed;
+
+    @SuppressWarnings("unchecked")
+    AsyncEventSubscriber(EventSubscriber<?> delegate, Executor executor, int mailboxCapacity) {
+        this.delegate = (EventSubscriber<Object>)delegate;
+        this.executor = executor;
+        this.mailboxCapacity = mailboxCapacity;
+        this.mailbox = new ArrayBlockingQueue<>(mailboxCapacity);
+        this.scheduled = new AtomicBoolean();
+        this.deliveredEvents = new AtomicLong();
+        this.droppedEvents = new AtomicLong();
+        this.failedEvents = new AtomicLong();
+    }
+
+    /** Subscriber to which events are delivered. */
+    public EventSubscriber<?> getSubscriber() {
+        return delegate;
+    }
+
+    public int getMailboxCapacity() {
+        return mailboxCapacity;
+    }
+
+    /** Number of events which are published but not delivered yet. */
+    public int getPendingEvents() {
+        return mailbox.size();
+    }
+
+    /** Max number of pending events observed since subscribing, may be used for estimation of backpressure. */
+    public int getMaxPendingEvents() {
+        return maxPendingEvents;
+    }
+
+    /** Number of events passed to the subscriber. */
+    public long getDeliveredEvents() {
+        return deliveredEvents.get();
+    }
+
+    /** Number of events which are dropped because mailbox is full. */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    /** Number of events which subscriber failed to process. */
+    public long getFailedEvents() {
+        return failedEvents.get();
+    }
+
+    @Override
+    public void onEvent(Object event) {
+        if (closed) {
+            return;
+        }
+        if (mailbox.offer(event)) {
+            overflow = false;
+            final int pending = mailbox.size();
+            if (pending > maxPendingEvents) {
+                maxPendingEvents = pending;
+            }
+            schedule();
+        } else {
+            droppedEvents.incrementAndGet();
+            if (!overflow) {
+                overflow = true;
+                LOG.warn("Mailbox of subscriber {} is full, events are dropped. Dropped events so far: {}", delegate, droppedEvents.get());
+            }
+        }
+    }
+
+    /** Stops delivery of events, pending events are discarded. */
+    void close() {
+        closed = true;
+        mailbox.clear();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::deliver);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                LOG.warn("Unable deliver events to subscriber {}: {}", delegate, e.getMessage());
+            }
+        }
+    }
+
+    private void deliver() {
+        try {
+            Object event;
+            for (int i = 0; i < MAX_EVENTS_PER_TASK && !closed && (event = mailbox.poll()) != null; i++) {
+                try {
+                    delegate.onEvent(event);
+                    deliveredEvents.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failedEvents.incrementAndGet();
+                    LOG.error(e.getMessage(), e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        // Events might be added after the last poll but before reset of the flag.
+        if (!closed && !mailbox.isEmpty()) {
+            schedule();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncEventSubscriber{" +
+               "subscriber=" + delegate +
+               ", pendingEvents=" + getPendingEvents() +
+               ", maxPendingEvents=" + maxPendingEvents +
+               ", deliveredEvents=" + deliveredEvents +
+               ", droppedEvents=" + droppedEvents +
+               ", failedEvents=" + failedEvents +
+               '}';
+    }
+}
@@ -13,10 +13,13 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -27,6 +30,8 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -40,6 +45,9 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     });
  *     bus.publish(new MyEvent());
  * </pre>
+ * Subscribers registered with method {@link #subscribe(EventSubscriber)} are called synchronously in the thread that publishes event.
+ * Subscribers registered with method {@link #subscribeAsync(EventSubscriber)} get events asynchronously through the bounded mailbox,
+ * so slow subscriber doesn't delay publisher, see {@link AsyncEventSubscriber}.
  *
  * @author andrew00x
  */
@@ -51,12 +59,21 @@ public class EventService {
     private static final int CACHE_MASK = CACHE_NUM - 1;
     private static final int SEG_SIZE   = 32;
 
-    private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
-    private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+    /** Default max number of events which are waiting for delivery to asynchronous subscriber. */
+    public static final int DEFAULT_MAILBOX_CAPACITY = 1024;
+
+    private static final int ASYNC_DELIVERY_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private final LoadingCache<Class<?>, Set<Class<?>>>[]                 typeCache;
+    private final ConcurrentMap<Class<?>, Set<EventSubscriber>>           subscribersByEventType;
+    private final ConcurrentMap<EventSubscriber<?>, AsyncEventSubscriber> asyncSubscribers;
+
+    private ExecutorService asyncExecutor;
 
     @SuppressWarnings("unchecked")
     public EventService() {
         subscribersByEventType = new ConcurrentHashMap<>();
+        asyncSubscribers = new ConcurrentHashMap<>();
         typeCache = new LoadingCache[CACHE_NUM];
         for (int i = 0; i < CACHE_NUM; i++) {
             typeCache[i] = CacheBuilder.newBuilder().concurrencyLevel(SEG_SIZE).build(
@@ -134,6 +151,76 @@ public class EventService {
         doSubscribe(subscriber, eventType);
     }
 
+    /**
+     * Subscribe event listener for asynchronous delivery of events with mailbox of default capacity. The event to subscribe to is
+     * inferred by checking the generic type arguments of the given subscriber.
+     *
+     * @param subscriber
+     *         event subscriber
+     * @return object that delivers events to subscriber, it may be used for monitoring of delivery
+     * @see AsyncEventSubscriber
+     */
+    public AsyncEventSubscriber subscribeAsync(EventSubscriber<?> subscriber) {
+        return subscribeAsync(subscriber, DEFAULT_MAILBOX_CAPACITY);
+    }
+
+    /**
+     * Subscribe event listener for asynchronous delivery of events. Events are delivered to subscriber in the order they are published,
+     * if more than {@code mailboxCapacity} events are waiting for delivery new events are dropped.
+     *
+     * @param subscriber
+     *         event subscriber
+     * @param mailboxCapacity
+     *         max number of events waiting for delivery
+     * @return object that delivers events to subscriber, it may be used for monitoring of delivery
+     */
+    public AsyncEventSubscriber subscribeAsync(EventSubscriber<?> subscriber, int mailboxCapacity) {
+        final Class<?> eventType = getEventType(subscriber);
+        return doSubscribeAsync(subscriber, eventType, mailboxCapacity);
+    }
+
+    /**
+     * Subscribe to an event for asynchronous delivery of events with mailbox of default capacity.
+     *
+     * @param subscriber
+     *         The subscriber to call when an event is published.
+     * @param eventType
+     *         The event to subscribe to.
+     * @return object that delivers events to subscriber, it may be used for monitoring of delivery
+     */
+    public <T> AsyncEventSubscriber subscribeAsync(EventSubscriber<? extends T> subscriber, Class<T> eventType) {
+        return doSubscribeAsync(subscriber, eventType, DEFAULT_MAILBOX_CAPACITY);
+    }
+
+    private AsyncEventSubscriber doSubscribeAsync(EventSubscriber<?> subscriber, Class<?> eventType, int mailboxCapacity) {
+        if (mailboxCapacity <= 0) {
+            throw new IllegalArgumentException("Mailbox capacity must be greater than zero.");
+        }
+        final AsyncEventSubscriber asyncSubscriber =
+                asyncSubscribers.computeIfAbsent(subscriber, s -> new AsyncEventSubscriber(s, getAsyncExecutor(), mailboxCapacity));
+        doSubscribe(asyncSubscriber, eventType);
+        return asyncSubscriber;
+    }
+
+    private synchronized ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = Executors.newFixedThreadPool(ASYNC_DELIVERY_THREADS,
+                                                         new ThreadFactoryBuilder().setNameFormat("EventService-AsyncDelivery-%d")
+                                                                                   .setUncaughtExceptionHandler(
+                                                                                           LoggingUncaughtExceptionHandler.getInstance())
+                                                                                   .setDaemon(true).build());
+        }
+        return asyncExecutor;
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        asyncSubscribers.values().forEach(AsyncEventSubscriber::close);
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdownNow();
+        }
+    }
+
     private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
         Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries == null) {
@@ -162,15 +249,20 @@ public class EventService {
     }
 
     private void doUnsubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
+        final AsyncEventSubscriber asyncSubscriber = asyncSubscribers.get(subscriber);
         final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries != null && !entries.isEmpty()) {
-            boolean changed = entries.remove(subscriber);
+            boolean changed = entries.remove(asyncSubscriber == null ? subscriber : asyncSubscriber);
             if (changed) {
                 if (entries.isEmpty()) {
                     subscribersByEventType.remove(eventType);
                 }
             }
         }
+        if (asyncSubscriber != null && subscribersByEventType.values().stream().noneMatch(s -> s.contains(asyncSubscriber))) {
+            asyncSubscribers.remove(subscriber, asyncSubscriber);
+            asyncSubscriber.close();
+        }
     }
 
     private Class<?> getEventType(EventSubscriber<?> subscriber) {
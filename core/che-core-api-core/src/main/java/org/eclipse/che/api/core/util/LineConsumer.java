@@ -12,6 +12,7 @@ package org.eclipse.che.api.core.util;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Consumes text line by line for analysing, writing, storing, etc.
@@ -23,5 +24,15 @@ public interface LineConsumer extends Closeable {
     /** Consumes single line. */
     void writeLine(String line) throws IOException;
 
+    /**
+     * Consumes few lines at once. Implementations which may handle batch of lines more efficiently than line by line, e.g. with single
+     * flush of underlying stream, should override this method.
+     */
+    default void writeLines(List<String> lines) throws IOException {
+        for (String line : lines) {
+            writeLine(line);
+        }
+    }
+
     LineConsumer DEV_NULL = new AbstractLineConsumer() {};
 }
@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Line consumer which puts lines into bounded buffer and passes them to delegate consumer in batches with
+ * {@link LineConsumer#writeLines(List)}, so producer of lines isn't slowed down by delegate. Batch is passed to delegate from
+ * the flusher thread when flush period is elapsed since the first line of batch was buffered or right away when batch size
+ * is reached. {@link OverflowPolicy} defines what happens with lines when buffer is full.
+ * <p/>
+ * Number of dropped lines is reported to delegate as a separate line in the next batch.
+ *
+ * @author agent
+ */
+public class BatchingLineConsumer implements LineConsumer {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingLineConsumer.class);
+
+    /** When {@link OverflowPolicy#SAMPLE} is used and buffer is more than half full only each N-th line is kept. */
+    static final int SAMPLING_RATE = 10;
+
+    public enum OverflowPolicy {
+        /** Producer waits until there is free space in buffer. */
+        BLOCK,
+        /** Lines are dropped while buffer is full. */
+        DROP,
+        /** Only part of lines is kept while buffer is more than half full, lines are dropped when it is full. */
+        SAMPLE
+    }
+
+    private final LineConsumer             delegate;
+    private final ScheduledExecutorService flusher;
+    private final BlockingQueue<String>    buffer;
+    private final int                      capacity;
+    private final int                      batchSize;
+    private final long                     flushPeriodMs;
+    private final OverflowPolicy           overflowPolicy;
+    private final ReentrantLock            flushLock;
+    private final AtomicBoolean            delayedFlushScheduled;
+    private final AtomicBoolean            immediateFlushScheduled;
+    private final AtomicLong               receivedLines;
+    private final AtomicLong               droppedLines;
+    private final AtomicLong               droppedSinceLastBatch;
+    private final AtomicLong               sampledLines;
+
+    private volatile boolean isOpen;
+
+    /**
+     * @param delegate
+     *         consumer which gets batches of lines
+     * @param flusher
+     *         executor which passes batches to delegate, may be shared between many consumers
+     * @param capacity
+     *         max number of lines in buffer
+     * @param batchSize
+     *         max number of lines in single batch, batch is passed to delegate without waiting for flush period once it is reached
+     * @param flushPeriodMs
+     *         max time which line may wait in buffer before it is passed to delegate, unless buffer is overloaded
+     * @param overflowPolicy
+     *         defines what happens when buffer is full
+     */
+    public BatchingLineConsumer(LineConsumer delegate,
+                                ScheduledExecutorService flusher,
+                                int capacity,
+                                int batchSize,
+                                long flushPeriodMs,
+                                OverflowPolicy overflowPolicy) {
+        if (capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Capacity and batch size must be greater than 0");
+        }
+        this.delegate = delegate;
+        this.flusher = flusher;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushPeriodMs = flushPeriodMs;
+        this.overflowPolicy = overflowPolicy;
+        this.flushLock = new ReentrantLock();
+        this.delayedFlushScheduled = new AtomicBoolean();
+        this.immediateFlushScheduled = new AtomicBoolean();
+        this.receivedLines = new AtomicLong();
+        this.droppedLines = new AtomicLong();
+        this.droppedSinceLastBatch = new AtomicLong();
+        this.sampledLines = new AtomicLong();
+        this.isOpen = true;
+    }
+
+    public boolean isOpen() {
+        return isOpen;
+    }
+
+    /** Number of lines passed to this consumer, including dropped ones. */
+    public long getReceivedLines() {
+        return receivedLines.get();
+    }
+
+    /** Number of lines dropped because buffer was overloaded. */
+    public long getDroppedLines() {
+        return droppedLines.get();
+    }
+
+    /**
+     * Puts line into buffer. Do nothing if this consumer is closed.
+     * If buffer is full line is handled according to overflow policy.
+     */
+    @Override
+    public void writeLine(String line) throws IOException {
+        if (!isOpen) {
+            return;
+        }
+        receivedLines.incrementAndGet();
+        if (!offer(line)) {
+            droppedLines.incrementAndGet();
+            droppedSinceLastBatch.incrementAndGet();
+        }
+        if (buffer.size() >= batchSize) {
+            if (immediateFlushScheduled.compareAndSet(false, true)) {
+                scheduleFlush(0);
+            }
+        } else if (delayedFlushScheduled.compareAndSet(false, true)) {
+            scheduleFlush(flushPeriodMs);
+        }
+    }
+
+    /** Passes all buffered lines to delegate and closes it. */
+    @Override
+    public void close() throws IOException {
+        if (isOpen) {
+            isOpen = false;
+            flush();
+            delegate.close();
+        }
+    }
+
+    private boolean offer(String line) throws IOException {
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    buffer.put(line);
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ClosedByInterruptException();
+                }
+            case SAMPLE:
+                if (buffer.size() > capacity / 2 && sampledLines.incrementAndGet() % SAMPLING_RATE != 0) {
+                    return false;
+                }
+                return buffer.offer(line);
+            default:
+                return buffer.offer(line);
+        }
+    }
+
+    private void scheduleFlush(long delayMs) {
+        try {
+            flusher.schedule(this::flush, delayMs, MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // flusher is shut down, nobody else is going to flush buffered lines
+            flush();
+        }
+    }
+
+    /** Passes buffered lines to delegate, batch by batch, until buffer is empty. */
+    private void flush() {
+        flushLock.lock();
+        try {
+            // reset flags before buffer is drained, so lines which come during flush schedule the next one
+            delayedFlushScheduled.set(false);
+            immediateFlushScheduled.set(false);
+            for (; ; ) {
+                final List<String> batch = new ArrayList<>(Math.min(batchSize, buffer.size()) + 1);
+                buffer.drainTo(batch, batchSize);
+                final long dropped = droppedSinceLastBatch.getAndSet(0);
+                if (dropped > 0) {
+                    batch.add(String.format("[WARN] %d lines of output are skipped because output is too intensive", dropped));
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                try {
+                    delegate.writeLines(batch);
+                } catch (ConsumerAlreadyClosedException | ClosedByInterruptException e) {
+                    isOpen = false;
+                    buffer.clear();
+                    return;
+                } catch (IOException e) {
+                    LOG.error(String.format("An error occurred while writing lines to the line consumer %s", delegate), e);
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BatchingLineConsumer{" +
+               "delegate=" + delegate +
+               ", bufferedLines=" + buffer.size() +
+               ", receivedLines=" + getReceivedLines() +
+               ", droppedLines=" + getDroppedLines() +
+               '}';
+    }
+}
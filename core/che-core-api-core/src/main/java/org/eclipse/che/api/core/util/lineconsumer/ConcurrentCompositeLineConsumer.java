@@ -77,11 +77,27 @@ public class ConcurrentCompositeLineConsumer implements LineConsumer {
      */
     @Override
     public void writeLine(String line) {
+        write(lineConsumer -> lineConsumer.writeLine(line));
+    }
+
+    /**
+     * Writes given lines to each subconsumer as a single batch.
+     * Do nothing if this consumer is closed or all subconsumers are closed.
+     *
+     * @param lines
+     *         lines to write
+     */
+    @Override
+    public void writeLines(List<String> lines) {
+        write(lineConsumer -> lineConsumer.writeLines(lines));
+    }
+
+    private void write(Writing writing) {
         if (isOpen && lock.readLock().tryLock()) {
             try {
                 for (LineConsumer lineConsumer : lineConsumers) {
                     try {
-                        lineConsumer.writeLine(line);
+                        writing.writeTo(lineConsumer);
                     } catch (ConsumerAlreadyClosedException | ClosedByInterruptException e) {
                         lineConsumers.remove(lineConsumer); // consumer is already closed, so we cannot write into it any more
                         if (lineConsumers.size() == 0) { // if all consumers are closed then we can close this one
@@ -97,4 +113,8 @@ public class ConcurrentCompositeLineConsumer implements LineConsumer {
         }
     }
 
+    @FunctionalInterface
+    private interface Writing {
+        void writeTo(LineConsumer lineConsumer) throws IOException;
+    }
 }
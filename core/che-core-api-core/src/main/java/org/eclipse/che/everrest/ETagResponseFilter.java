@@ -10,10 +10,12 @@
  *******************************************************************************/
 package org.eclipse.che.everrest;
 
+import com.google.common.hash.Funnels;
 import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
+import com.google.gson.stream.JsonWriter;
 
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.everrest.core.ApplicationContext;
@@ -27,6 +29,9 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.List;
 
@@ -141,13 +146,35 @@ public class ETagResponseFilter implements ResponseFilter {
         }
         // add hash if all is OK
         try {
-            hasher.putString(getJson(entity, entityType), Charset.defaultCharset());
-        } catch (RuntimeException e) {
+            if (entityType == JSON_SERIALIZABLE) {
+                putJson((JsonSerializable)entity, hasher);
+            } else {
+                hasher.putString(getJson(entity, entityType), Charset.defaultCharset());
+            }
+        } catch (IOException | RuntimeException e) {
             return false;
         }
         return true;
     }
 
+    /**
+     * Helper method to add JSON of entity to hash. JSON is written straight to the hasher,
+     * so the whole JSON string of entity isn't created in memory.
+     *
+     * @param entity
+     *         the entity to hash
+     * @param hasher
+     *         the hasher used to add the hashes
+     */
+    protected void putJson(JsonSerializable entity, Hasher hasher) throws IOException {
+        final Writer out = new OutputStreamWriter(Funnels.asOutputStream(hasher), Charset.defaultCharset());
+        final JsonWriter writer = new JsonWriter(out);
+        writer.setLenient(true);
+        writer.setSerializeNulls(false);
+        entity.toJson(writer);
+        writer.flush();
+    }
+
 
     /**
      * Helper method to retrieving the JSON content based on the entity type
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.eclipse.che.api.core.jsonrpc.RequestHandler;
+import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
+import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Tests for {@link RequestDispatcher}
+ *
+ * @author agent
+ */
+@Listeners(MockitoTestNGListener.class)
+public class RequestDispatcherTest {
+    private static final String ENDPOINT = "endpoint";
+    private static final String REQUEST  = "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"test\",\"params\":{\"message\":\"ping\"}}";
+
+    @Mock
+    private WebSocketMessageTransmitter transmitter;
+
+    private AsyncHandler      handler;
+    private RequestDispatcher dispatcher;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        handler = new AsyncHandler();
+        dispatcher = new RequestDispatcher(singletonMap("test", handler), transmitter);
+    }
+
+    @Test
+    public void shouldSendResponseWhenAsyncResultIsCompleted() throws Exception {
+        dispatcher.dispatch(ENDPOINT, parse(REQUEST));
+
+        assertEquals(handler.params.getMessage(), "ping");
+        verify(transmitter, never()).transmit(anyString(), anyString());
+
+        handler.result.complete(newDto(ServiceError.class).withMessage("pong"));
+
+        final JsonObject response = transmitted();
+        assertEquals(response.get("id").getAsString(), "1");
+        assertEquals(response.getAsJsonObject("result").get("message").getAsString(), "pong");
+        assertFalse(response.has("error"));
+    }
+
+    @Test
+    public void shouldSendRequestCancelledErrorWhenAsyncResultIsCancelled() throws Exception {
+        dispatcher.dispatch(ENDPOINT, parse(REQUEST));
+
+        handler.result.cancel(true);
+
+        final JsonObject response = transmitted();
+        assertEquals(response.get("id").getAsString(), "1");
+        assertEquals(response.getAsJsonObject("error").get("code").getAsInt(), -32800);
+        assertFalse(response.has("result"));
+    }
+
+    @Test
+    public void shouldSendInternalErrorWhenAsyncResultFails() throws Exception {
+        dispatcher.dispatch(ENDPOINT, parse(REQUEST));
+
+        handler.result.completeExceptionally(new IllegalStateException("failed"));
+
+        final JsonObject error = transmitted().getAsJsonObject("error");
+        assertEquals(error.get("code").getAsInt(), -32603);
+        assertEquals(error.get("message").getAsString(), "failed");
+    }
+
+    @Test
+    public void shouldSendMethodNotFoundErrorWhenThereIsNoHandler() throws Exception {
+        dispatcher.dispatch(ENDPOINT, parse("{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"unknown\"}"));
+
+        assertEquals(transmitted().getAsJsonObject("error").get("code").getAsInt(), -32601);
+    }
+
+    private JsonObject transmitted() {
+        final ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(transmitter).transmit(eq(ENDPOINT), captor.capture());
+        return parse(captor.getValue());
+    }
+
+    private static JsonObject parse(String json) {
+        return new JsonParser().parse(json).getAsJsonObject();
+    }
+
+    private static class AsyncHandler extends RequestHandler<ServiceError, ServiceError> {
+        final CompletableFuture<ServiceError> result = new CompletableFuture<>();
+
+        ServiceError params;
+
+        AsyncHandler() {
+            super(ServiceError.class, ServiceError.class);
+        }
+
+        @Override
+        public CompletableFuture<ServiceError> handleRequestAsync(String endpointId, ServiceError params) {
+            this.params = params;
+            return result;
+        }
+    }
+}
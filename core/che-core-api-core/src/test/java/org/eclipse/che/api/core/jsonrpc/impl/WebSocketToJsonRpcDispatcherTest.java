@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import com.google.gson.JsonObject;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link WebSocketToJsonRpcDispatcher}
+ *
+ * @author agent
+ */
+@Listeners(MockitoTestNGListener.class)
+public class WebSocketToJsonRpcDispatcherTest {
+    private static final String ENDPOINT = "endpoint";
+
+    @Mock
+    private RequestDispatcher      requestDispatcher;
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+    @Mock
+    private ResponseDispatcher     responseDispatcher;
+
+    private WebSocketToJsonRpcDispatcher dispatcher;
+    private CountDownLatch               release;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        dispatcher = new WebSocketToJsonRpcDispatcher(requestDispatcher, notificationDispatcher, responseDispatcher, 1, 1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        release.countDown();
+        dispatcher.stop();
+    }
+
+    @Test
+    public void shouldDispatchRequestByRequestDispatcher() throws Exception {
+        dispatcher.receive(ENDPOINT, "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"test\"}");
+
+        ArgumentCaptor<JsonObject> captor = ArgumentCaptor.forClass(JsonObject.class);
+        verify(requestDispatcher, timeout(1000)).dispatch(eq(ENDPOINT), captor.capture());
+        assertEquals(captor.getValue().get("id").getAsString(), "1");
+    }
+
+    @Test
+    public void shouldDispatchNotificationsAndResponsesInOrderOfReceiving() throws Exception {
+        dispatcher.receive(ENDPOINT, "{\"jsonrpc\":\"2.0\",\"method\":\"first\"}");
+        dispatcher.receive(ENDPOINT, "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":{}}");
+        dispatcher.receive(ENDPOINT, "{\"jsonrpc\":\"2.0\",\"method\":\"second\"}");
+
+        ArgumentCaptor<JsonObject> notifications = ArgumentCaptor.forClass(JsonObject.class);
+        InOrder inOrder = inOrder(notificationDispatcher, responseDispatcher);
+        inOrder.verify(notificationDispatcher).dispatch(eq(ENDPOINT), notifications.capture());
+        inOrder.verify(responseDispatcher).dispatch(eq(ENDPOINT), any(JsonObject.class));
+        inOrder.verify(notificationDispatcher).dispatch(eq(ENDPOINT), notifications.capture());
+        assertEquals(notifications.getAllValues().get(0).get("method").getAsString(), "first");
+        assertEquals(notifications.getAllValues().get(1).get("method").getAsString(), "second");
+    }
+
+    @Test
+    public void shouldNotBlockNotificationsByLongRunningRequest() throws Exception {
+        blockRequests();
+
+        dispatcher.receive(ENDPOINT, "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"long\"}");
+        dispatcher.receive(ENDPOINT, "{\"jsonrpc\":\"2.0\",\"method\":\"notification\"}");
+
+        verify(notificationDispatcher).dispatch(eq(ENDPOINT), any(JsonObject.class));
+    }
+
+    @Test
+    public void shouldRejectRequestWhenTooManyRequestsArePending() throws Exception {
+        final CountDownLatch started = blockRequests();
+
+        dispatcher.receive(ENDPOINT, "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"long\"}");
+        started.await();
+        dispatcher.receive(ENDPOINT, "{\"jsonrpc\":\"2.0\",\"id\":\"2\",\"method\":\"queued\"}");
+        dispatcher.receive(ENDPOINT, "{\"jsonrpc\":\"2.0\",\"id\":\"3\",\"method\":\"rejected\"}");
+
+        ArgumentCaptor<JsonObject> rejected = ArgumentCaptor.forClass(JsonObject.class);
+        verify(requestDispatcher).reject(eq(ENDPOINT), rejected.capture(), anyString());
+        assertEquals(rejected.getValue().get("id").getAsString(), "3");
+
+        release.countDown();
+        verify(requestDispatcher, timeout(1000).times(2)).dispatch(eq(ENDPOINT), any(JsonObject.class));
+    }
+
+    private CountDownLatch blockRequests() {
+        final CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(requestDispatcher).dispatch(anyString(), any(JsonObject.class));
+        return started;
+    }
+}
@@ -17,6 +17,9 @@ import org.testng.annotations.Test;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author andrew00x
@@ -191,6 +194,59 @@ public class EventServiceTest {
         bus.unsubscribe(sb, CustomEventImpl.class);
     }
 
+    @Test
+    public void shouldDeliverEventsToAsyncSubscriberInOrderOfPublishing() throws Exception {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch delivered = new CountDownLatch(100);
+        final EventSubscriber<String> sb = new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                events.add(event);
+                delivered.countDown();
+            }
+        };
+        final AsyncEventSubscriber asyncSubscriber = bus.subscribeAsync(sb);
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add("event" + i);
+            bus.publish("event" + i);
+        }
+
+        Assert.assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(events, expected);
+        Assert.assertEquals(asyncSubscriber.getDeliveredEvents(), 100);
+        Assert.assertEquals(asyncSubscriber.getDroppedEvents(), 0);
+        bus.unsubscribe(sb);
+        bus.publish("after unsubscribe");
+        Assert.assertEquals(events.size(), 100);
+    }
+
+    @Test
+    public void shouldDropEventsWhenMailboxOfAsyncSubscriberIsFull() throws Exception {
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AsyncEventSubscriber asyncSubscriber = bus.subscribeAsync(new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                started.countDown();
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, 2);
+        bus.publish("first");
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        bus.publish("second");
+        bus.publish("third");
+        bus.publish("fourth");
+
+        Assert.assertEquals(asyncSubscriber.getPendingEvents(), 2);
+        Assert.assertEquals(asyncSubscriber.getDroppedEvents(), 1);
+        blocker.countDown();
+    }
+
     static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
         final List<String> events = new ArrayList<>();
 
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.BatchingLineConsumer.OverflowPolicy;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * @author agent
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class BatchingLineConsumerTest {
+    @Mock
+    private LineConsumer             delegate;
+    @Mock
+    private ScheduledExecutorService idleFlusher;
+
+    private ScheduledExecutorService flusher;
+
+    @BeforeMethod
+    public void setUp() {
+        flusher = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        flusher.shutdownNow();
+    }
+
+    @Test
+    public void shouldPassLinesToDelegateInBatchWhenBatchSizeIsReached() throws Exception {
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, flusher, 100, 3, 60_000, OverflowPolicy.BLOCK);
+
+        consumer.writeLine("a");
+        consumer.writeLine("b");
+        consumer.writeLine("c");
+
+        verify(delegate, timeout(5000)).writeLines(asList("a", "b", "c"));
+        verify(delegate, never()).writeLine("a");
+    }
+
+    @Test
+    public void shouldPassLinesToDelegateWhenFlushPeriodIsElapsed() throws Exception {
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, flusher, 100, 100, 50, OverflowPolicy.BLOCK);
+
+        consumer.writeLine("a");
+
+        verify(delegate, timeout(5000)).writeLines(singletonList("a"));
+    }
+
+    @Test
+    public void shouldPassBufferedLinesToDelegateAndCloseItOnClose() throws Exception {
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, idleFlusher, 100, 100, 60_000, OverflowPolicy.BLOCK);
+        consumer.writeLine("a");
+        consumer.writeLine("b");
+
+        consumer.close();
+        consumer.writeLine("c");
+
+        InOrder inOrder = inOrder(delegate);
+        inOrder.verify(delegate).writeLines(asList("a", "b"));
+        inOrder.verify(delegate).close();
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void shouldDropLinesAndReportNumberOfDroppedLinesWhenBufferIsFull() throws Exception {
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, idleFlusher, 2, 100, 60_000, OverflowPolicy.DROP);
+
+        for (int i = 0; i < 5; i++) {
+            consumer.writeLine("line" + i);
+        }
+        consumer.close();
+
+        assertEquals(consumer.getReceivedLines(), 5);
+        assertEquals(consumer.getDroppedLines(), 3);
+        verify(delegate).writeLines(asList("line0",
+                                           "line1",
+                                           "[WARN] 3 lines of output are skipped because output is too intensive"));
+    }
+
+    @Test
+    public void shouldKeepOnlyPartOfLinesWhenBufferIsMoreThanHalfFull() throws Exception {
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, idleFlusher, 100, 1000, 60_000, OverflowPolicy.SAMPLE);
+
+        for (int i = 0; i < 50 + 10 * BatchingLineConsumer.SAMPLING_RATE; i++) {
+            consumer.writeLine("line" + i);
+        }
+
+        // first half of buffer is filled with no sampling, then only each N-th line is kept
+        assertEquals(consumer.getDroppedLines(), 10 * (BatchingLineConsumer.SAMPLING_RATE - 1));
+    }
+
+    @Test
+    public void shouldStopWritingWhenDelegateIsClosed() throws Exception {
+        doThrow(new ConsumerAlreadyClosedException("closed")).when(delegate).writeLines(anyListOf(String.class));
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, flusher, 100, 1, 60_000, OverflowPolicy.BLOCK);
+
+        consumer.writeLine("a");
+
+        verify(delegate, timeout(5000)).writeLines(singletonList("a"));
+        for (int i = 0; i < 100 && consumer.isOpen(); i++) {
+            Thread.sleep(10);
+        }
+        assertFalse(consumer.isOpen());
+    }
+}
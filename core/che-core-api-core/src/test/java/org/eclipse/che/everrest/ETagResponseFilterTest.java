@@ -10,7 +10,14 @@
  *******************************************************************************/
 package org.eclipse.che.everrest;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+
 import org.eclipse.che.api.core.rest.ApiExceptionMapper;
+import org.eclipse.che.dto.server.JsonSerializable;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.impl.ApplicationProviderBinder;
 import org.everrest.core.impl.ContainerRequest;
@@ -33,7 +40,9 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -222,4 +231,32 @@ public class ETagResponseFilterTest {
         Assert.assertNull(response.getEntity());
     }
 
+    /**
+     * Check if hash of JSON serializable entity is the same as hash of its JSON string
+     */
+    @Test
+    public void shouldHashJsonOfSerializableEntityWithoutCreatingJsonString() throws Exception {
+        JsonSerializable entity = new JsonSerializable() {
+            @Override
+            public String toJson() {
+                return "{\"name\":\"hello\",\"size\":3}";
+            }
+
+            @Override
+            public JsonElement toJsonElement() {
+                return new JsonParser().parse(toJson());
+            }
+
+            @Override
+            public void toJson(JsonWriter writer) throws IOException {
+                writer.beginObject().name("name").value("hello").name("size").value(3).endObject();
+            }
+        };
+        Hasher hasher = Hashing.md5().newHasher();
+
+        Assert.assertTrue(new ETagResponseFilter().addHash(entity, hasher));
+
+        assertEquals(hasher.hash(), Hashing.md5().hashString(entity.toJson(), Charset.defaultCharset()));
+    }
+
 }
@@ -70,7 +70,9 @@ public class DtoImplServerTemplate extends DtoImpl {
         // equals, hashCode, serialization and copy constructor
         emitEqualsAndHashCode(methods, builder);
         emitSerializer(methods, builder);
+        emitStreamSerializer(methods, builder);
         emitDeserializer(methods, builder);
+        emitStreamDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
@@ -301,8 +303,18 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("\n");
         builder.append("    @Override\n");
         builder.append("    public String toJson() {\n");
-        // The default toJson() creates its own JSON for internal printing, thus keeping JSONs values is safe
-        builder.append("      return gson.toJson(toJsonElementInt(false));\n");
+        // Write directly to string without building of JSON tree, output is the same as gson.toJson(toJsonElementInt(false))
+        builder.append("      java.io.StringWriter out = new java.io.StringWriter();\n");
+        builder.append("      try {\n");
+        builder.append("        JsonWriter writer = new JsonWriter(out);\n");
+        builder.append("        writer.setLenient(true);\n");
+        builder.append("        writer.setSerializeNulls(false);\n");
+        builder.append("        toJson(writer);\n");
+        builder.append("        writer.flush();\n");
+        builder.append("      } catch (java.io.IOException e) {\n");
+        builder.append("        throw new com.google.gson.JsonIOException(e);\n");
+        builder.append("      }\n");
+        builder.append("      return out.toString();\n");
         builder.append("    }\n");
         builder.append("\n");
         builder.append("    @Override\n");
@@ -451,6 +463,148 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
     }
 
+    /** Generates a method that writes DTO to JSON stream without building of JSON tree. */
+    private void emitStreamSerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    @Override\n");
+        builder.append("    public void toJson(JsonWriter writer) throws java.io.IOException {\n");
+        if (isCompactJson()) {
+            builder.append("      writer.beginArray();\n");
+            for (Method method : getters) {
+                emitWriteFieldForMethodCompact(method, builder);
+            }
+            builder.append("      writer.endArray();\n");
+        } else {
+            builder.append("      writer.beginObject();\n");
+            for (Method getter : getters) {
+                builder.append("      writer.name(").append(quoteStringLiteral(getJsonFieldName(getter))).append(");\n");
+                emitWriteImpl(expandType(getter.getGenericReturnType()), 0, builder, getJavaFieldName(getter.getName()), "      ");
+            }
+            builder.append("      writer.endObject();\n");
+        }
+        builder.append("    }\n\n");
+    }
+
+    private void emitWriteFieldForMethodCompact(Method getter, StringBuilder builder) {
+        if (getter == null) {
+            builder.append("      writer.nullValue();\n");
+            return;
+        }
+        final List<Type> expandedTypes = expandType(getter.getGenericReturnType());
+        final String fieldName = getJavaFieldName(getter.getName());
+        if (isLastMethod(getter) && isList(getRawClass(expandedTypes.get(0)))) {
+            // Empty list in the last position is omitted, see emitSerializeFieldForMethodCompact
+            builder.append("      this.").append(getEnsureName(fieldName)).append("();\n");
+            builder.append("      if (this.").append(fieldName).append(".size() != 0) {\n");
+            emitWriteImpl(expandedTypes, 0, builder, fieldName, "        ");
+            builder.append("      }\n");
+            return;
+        }
+        emitWriteImpl(expandedTypes, 0, builder, fieldName, "      ");
+    }
+
+    /**
+     * Produces code to write the value of variable with the given name to JSON stream, the result is the same as for JSON element
+     * created by {@link #emitSerializerImpl(List, int, StringBuilder, String, String, String)}.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param inVar
+     *         the java variable that will be the input for serialization
+     * @param i
+     *         indentation string
+     */
+    private void emitWriteImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String inVar, String i) {
+        final Type type = expandedTypes.get(depth);
+        final String in = depth == 0 ? "this." + inVar : inVar;
+        final String childInVar = inVar + "_";
+        final String entryVar = "entry" + depth;
+        final Class<?> rawClass = getRawClass(type);
+        if (isList(rawClass) || isMap(rawClass)) {
+            final String childInTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            String ci = i;
+            if (depth == 0) {
+                builder.append(i).append("this.").append(getEnsureName(inVar)).append("();\n");
+            } else {
+                builder.append(i).append("if (").append(in).append(" == null) {\n");
+                builder.append(i).append("  writer.nullValue();\n");
+                builder.append(i).append("} else {\n");
+                ci = i + "  ";
+            }
+            if (isList(rawClass)) {
+                builder.append(ci).append("writer.beginArray();\n");
+                builder.append(ci).append("for (").append(childInTypeName).append(" ").append(childInVar).append(" : ").append(in)
+                       .append(") {\n");
+            } else {
+                builder.append(ci).append("writer.beginObject();\n");
+                builder.append(ci).append("for (java.util.Map.Entry<String, ").append(childInTypeName).append("> ").append(entryVar)
+                       .append(" : ").append(in).append(".entrySet()) {\n");
+                builder.append(ci).append("  ").append(childInTypeName).append(" ").append(childInVar).append(" = ").append(entryVar)
+                       .append(".getValue();\n");
+                builder.append(ci).append("  writer.name(").append(entryVar).append(".getKey());\n");
+            }
+            emitWriteImpl(expandedTypes, depth + 1, builder, childInVar, ci + "  ");
+            builder.append(ci).append("}\n");
+            builder.append(ci).append(isList(rawClass) ? "writer.endArray();\n" : "writer.endObject();\n");
+            if (depth != 0) {
+                builder.append(i).append("}\n");
+            }
+        } else if (rawClass.isEnum()) {
+            builder.append(i).append("writer.value(").append(in).append(" == null ? null : ").append(in).append(".name());\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            emitWriteDto(getImplNameForDto(rawClass), in, builder, i);
+        } else if (rawClass.equals(String.class)) {
+            builder.append(i).append("writer.value(").append(in).append(");\n");
+        } else if (rawClass == boolean.class
+                   || rawClass == int.class
+                   || rawClass == long.class
+                   || rawClass == short.class
+                   || rawClass == byte.class
+                   || rawClass == double.class) {
+            builder.append(i).append("writer.value(").append(in).append(");\n");
+        } else if (rawClass == float.class) {
+            // write the same text as Float.toString() does
+            builder.append(i).append("writer.value((Number)Float.valueOf(").append(in).append("));\n");
+        } else if (rawClass == Boolean.class) {
+            builder.append(i).append("if (").append(in).append(" == null) {\n");
+            builder.append(i).append("  writer.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  writer.value(").append(in).append(".booleanValue());\n");
+            builder.append(i).append("}\n");
+        } else if (rawClass == Integer.class
+                   || rawClass == Long.class
+                   || rawClass == Double.class
+                   || rawClass == Float.class
+                   || rawClass == Short.class
+                   || rawClass == Byte.class) {
+            builder.append(i).append("writer.value((Number)").append(in).append(");\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("if (").append(in).append(" instanceof JsonElement) {\n");
+            builder.append(i).append("  gson.toJson((JsonElement)").append(in).append(", writer);\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  writer.nullValue();\n");
+            builder.append(i).append("}\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                emitWriteDto(dtoImplementation.getCanonicalName(), in, builder, i);
+            } else {
+                throw new IllegalArgumentException("Unable to generate server implementation for DTO interface " +
+                                                   getDtoInterface().getCanonicalName() + ". Type " + rawClass +
+                                                   " is not allowed to use in DTO interface.");
+            }
+        }
+    }
+
+    private void emitWriteDto(String implName, String in, StringBuilder builder, String i) {
+        builder.append(i).append("if (").append(in).append(" == null) {\n");
+        builder.append(i).append("  writer.nullValue();\n");
+        builder.append(i).append("} else {\n");
+        builder.append(i).append("  ((").append(implName).append(")").append(in).append(").toJson(writer);\n");
+        builder.append(i).append("}\n");
+    }
+
     /** Generates a static factory method that creates a new instance based on a JsonElement. */
     private void emitDeserializer(List<Method> getters, StringBuilder builder) {
         // The default fromJsonElement(json) works in unsafe mode and clones the JSON's for 'any' properties
@@ -484,11 +638,171 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("      if (jsonString == null) {\n");
         builder.append("        return null;\n");
         builder.append("      }\n\n");
-        // The default fromJsonElement(json) creates its own JSON thus keeping parts of its as value is OK
-        builder.append("      return fromJsonElement(new JsonParser().parse(jsonString), false);\n");
+        // Read directly from string without building of JSON tree. Empty input, syntax errors and trailing content are handled
+        // in the same way as JsonParser does.
+        builder.append("      JsonReader reader = new JsonReader(new java.io.StringReader(jsonString));\n");
+        builder.append("      reader.setLenient(true);\n");
+        builder.append("      try {\n");
+        builder.append("        try {\n");
+        builder.append("          reader.peek();\n");
+        builder.append("        } catch (java.io.EOFException e) {\n");
+        builder.append("          return null;\n");
+        builder.append("        }\n");
+        builder.append("        ").append(getImplClassName()).append(" dto = fromJsonReader(reader);\n");
+        builder.append("        if (dto != null && reader.peek() != JsonToken.END_DOCUMENT) {\n");
+        builder.append("          throw new com.google.gson.JsonSyntaxException(\"Did not consume the entire document.\");\n");
+        builder.append("        }\n");
+        builder.append("        return dto;\n");
+        builder.append("      } catch (com.google.gson.stream.MalformedJsonException e) {\n");
+        builder.append("        throw new com.google.gson.JsonSyntaxException(e);\n");
+        builder.append("      } catch (java.io.IOException e) {\n");
+        builder.append("        throw new com.google.gson.JsonIOException(e);\n");
+        builder.append("      }\n");
+        builder.append("    }\n\n");
+    }
+
+    /** Generates a static factory method that reads a new instance from JSON stream without building of JSON tree. */
+    private void emitStreamDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName())
+               .append(" fromJsonReader(JsonReader reader) throws java.io.IOException {\n");
+        builder.append("      if (reader.peek() == JsonToken.NULL) {\n");
+        builder.append("        reader.nextNull();\n");
+        builder.append("        return null;\n");
+        builder.append("      }\n\n");
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        final Set<String> cases = new HashSet<>();
+        if (isCompactJson()) {
+            builder.append("      reader.beginArray();\n");
+            builder.append("      for (int index = 0; reader.hasNext(); index++) {\n");
+            builder.append("        switch (index) {\n");
+            for (Method method : getters) {
+                if (method == null) {
+                    continue;
+                }
+                final int index = Preconditions.checkNotNull(method.getAnnotation(SerializationIndex.class)).value() - 1;
+                if (cases.add(Integer.toString(index))) {
+                    emitReadFieldForMethod(method, Integer.toString(index), getJsonFieldName(method), builder);
+                }
+            }
+            builder.append("          default:\n");
+            builder.append("            reader.skipValue();\n");
+            builder.append("        }\n");
+            builder.append("      }\n");
+            builder.append("      reader.endArray();\n");
+        } else {
+            builder.append("      reader.beginObject();\n");
+            builder.append("      while (reader.hasNext()) {\n");
+            builder.append("        switch (reader.nextName()) {\n");
+            for (Method getter : getters) {
+                final String jsonFieldName = quoteStringLiteral(getJsonFieldName(getter));
+                if (cases.add(jsonFieldName)) {
+                    emitReadFieldForMethod(getter, jsonFieldName, getFieldNameFromGetterName(getter.getName()), builder);
+                }
+            }
+            builder.append("          default:\n");
+            builder.append("            reader.skipValue();\n");
+            builder.append("        }\n");
+            builder.append("      }\n");
+            builder.append("      reader.endObject();\n");
+        }
+        builder.append("\n      return dto;\n");
         builder.append("    }\n\n");
     }
 
+    private void emitReadFieldForMethod(Method getter, String caseLabel, String fieldName, StringBuilder builder) {
+        final String fieldNameOut = fieldName + "Out";
+        builder.append("          case ").append(caseLabel).append(": {\n");
+        emitReadImpl(expandType(getter.getGenericReturnType()), 0, builder, fieldNameOut, "            ");
+        builder.append("            dto.").append(getSetterName(fieldName)).append("(").append(fieldNameOut).append(");\n");
+        builder.append("            break;\n");
+        builder.append("          }\n");
+    }
+
+    /**
+     * Produces code to read value of the type from JSON stream, the result is the same as for value created by
+     * {@link #emitDeserializerImpl(List, int, StringBuilder, String, String, String)}.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param outVar
+     *         the java variable that will be the output for deserialization
+     * @param i
+     *         indentation string
+     */
+    private void emitReadImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String outVar, String i) {
+        final Type type = expandedTypes.get(depth);
+        final String childOutVar = outVar + "_";
+        final Class<?> rawClass = getRawClass(type);
+
+        if (isList(rawClass) || isMap(rawClass)) {
+            builder.append(i).append(getImplName(type, false)).append(" ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (reader.peek() == JsonToken.NULL) {\n");
+            builder.append(i).append("  reader.nextNull();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            if (isList(rawClass)) {
+                builder.append(i).append("  reader.beginArray();\n");
+                builder.append(i).append("  while (reader.hasNext()) {\n");
+                emitReadImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".add(").append(childOutVar).append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  reader.endArray();\n");
+            } else {
+                final String keyVar = "key" + depth;
+                builder.append(i).append("  reader.beginObject();\n");
+                builder.append(i).append("  while (reader.hasNext()) {\n");
+                builder.append(i).append("    String ").append(keyVar).append(" = reader.nextName();\n");
+                emitReadImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".put(").append(keyVar).append(", ").append(childOutVar)
+                       .append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  reader.endObject();\n");
+            }
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                   .append(getImplNameForDto(rawClass)).append(".fromJsonReader(reader);\n");
+        } else if (rawClass.isPrimitive()) {
+            final String primitiveName = rawClass.getSimpleName();
+            final String value;
+            if (rawClass == boolean.class) {
+                value = "reader.nextBoolean()";
+            } else if (rawClass == long.class) {
+                value = "reader.nextLong()";
+            } else if (rawClass == double.class) {
+                value = "reader.nextDouble()";
+            } else if (rawClass == int.class) {
+                value = "reader.nextInt()";
+            } else if (rawClass == float.class) {
+                value = "(float)reader.nextDouble()";
+            } else {
+                value = "(" + primitiveName + ")reader.nextInt()";
+            }
+            builder.append(i).append(primitiveName).append(" ").append(outVar).append(" = ")
+                   .append(rawClass == boolean.class ? "false" : "0").append(";\n");
+            builder.append(i).append("if (reader.peek() == JsonToken.NULL) {\n");
+            builder.append(i).append("  reader.nextNull();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = ").append(value).append(";\n");
+            builder.append(i).append("}\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("JsonElement ").append(outVar).append(" = new JsonParser().parse(reader);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                       .append(dtoImplementation.getCanonicalName()).append(".fromJsonReader(reader);\n");
+            } else {
+                // Use gson to handle all other types.
+                String rawClassName = rawClass.getName().replace('$', '.');
+                builder.append(i).append(rawClassName).append(" ").append(outVar).append(" = gson.fromJson(reader, ")
+                       .append(rawClassName).append(".class);\n");
+            }
+        }
+    }
+
     private void emitDeserializeFieldForMethod(Method method, StringBuilder builder) {
         final String fieldName = getFieldNameFromGetterName(method.getName());
         final String fieldNameIn = fieldName + "In";
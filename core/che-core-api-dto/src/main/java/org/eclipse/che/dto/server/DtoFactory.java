@@ -17,17 +17,22 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 
 import org.eclipse.che.commons.lang.reflect.ParameterizedTypeImpl;
 import org.eclipse.che.dto.shared.DTO;
 import org.eclipse.che.dto.shared.JsonArray;
 import org.eclipse.che.dto.shared.JsonStringMap;
 
-import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -143,6 +148,31 @@ public final class DtoFactory {
         throw new IllegalArgumentException("JsonSerializable instance required. ");
     }
 
+    /**
+     * Writes JSON representation of DTO object to specified writer. Output is the same as for {@link #toJson(Object)} but DTO is written
+     * directly to the stream without creating of the whole JSON string in memory.
+     *
+     * @param dto
+     *         DTO object
+     * @param out
+     *         writer, it is flushed but not closed by this method
+     * @throws IllegalArgumentException
+     *         if specified object is not instance of {@link JsonSerializable}
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public <T> void toJson(T dto, Writer out) throws IOException {
+        if (dto instanceof JsonSerializable) {
+            final JsonWriter writer = new JsonWriter(out);
+            writer.setLenient(true);
+            writer.setSerializeNulls(false);
+            ((JsonSerializable)dto).toJson(writer);
+            writer.flush();
+            return;
+        }
+        throw new IllegalArgumentException("JsonSerializable instance required. ");
+    }
+
     public <T> JsonElement toJsonElement(T dto) {
         if (dto instanceof JsonSerializable) {
             return ((JsonSerializable)dto).toJsonElement();
@@ -208,14 +238,25 @@ public final class DtoFactory {
      *         if an i/o error occurs
      */
     public <T> T createDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
-        DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        StringBuilder sb = new StringBuilder();
-        BufferedReader br = new BufferedReader(json);
-        String line;
-        while ((line = br.readLine()) != null) {
-            sb.append(line);
+        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
+        final JsonReader reader = new JsonReader(json);
+        reader.setLenient(true);
+        try {
+            reader.peek();
+        } catch (EOFException e) {
+            // empty input, handle it in the same way as empty string
+            return null;
+        }
+        try {
+            final T dto = dtoProvider.fromJson(reader);
+            // the same check as JsonParser does
+            if (dto != null && reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
+            }
+            return dto;
+        } catch (MalformedJsonException e) {
+            throw new JsonSyntaxException(e);
         }
-        return dtoProvider.fromJson(sb.toString());
     }
 
     /**
@@ -13,9 +13,12 @@
 // limitations under the License.
 package org.eclipse.che.dto.server;
 
+import java.io.IOException;
 import java.io.Serializable;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 
 /** An entity that may serialize itself to JSON. */
 public interface JsonSerializable extends Serializable {
@@ -25,4 +28,12 @@ public interface JsonSerializable extends Serializable {
 
     /** Serializes DTO to JSON object. */
     JsonElement toJsonElement();
+
+    /**
+     * Writes DTO to JSON stream. Generated DTOs write fields directly without creating of intermediate JSON object, default
+     * implementation writes JSON object created with {@link #toJsonElement()}.
+     */
+    default void toJson(JsonWriter writer) throws IOException {
+        new Gson().toJson(toJsonElement(), writer);
+    }
 }
\ No newline at end of file
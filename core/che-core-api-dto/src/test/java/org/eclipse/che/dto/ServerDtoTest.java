@@ -10,11 +10,13 @@
  *******************************************************************************/
 package org.eclipse.che.dto;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
 
 import org.eclipse.che.dto.definitions.ComplicatedDto;
 import org.eclipse.che.dto.definitions.DTOHierarchy;
@@ -29,13 +31,18 @@ import org.eclipse.che.dto.server.DtoFactory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -325,6 +332,60 @@ public class ServerDtoTest {
         assertEquals(complicatedDto.getArrayOfArrayOfEnum().get(0).get(2), ComplicatedDto.SimpleEnum.THREE);
     }
 
+    @Test
+    public void testStreamingSerializerProducesSameJsonAsJsonTree() throws Exception {
+        SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("Something").withId(1);
+        ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                       .withStrings(asList("Something 1", "Something 2"))
+                                       .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                                       .withMap(singletonMap("Something", simpleDto))
+                                       .withSimpleDtos(asList(simpleDto, null))
+                                       .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE, ComplicatedDto.SimpleEnum.THREE)));
+
+        StringWriter out = new StringWriter();
+        dtoFactory.toJson(dto, out);
+
+        // fields with null values are omitted
+        assertFalse(new JsonParser().parse(out.toString()).getAsJsonObject().getAsJsonObject("map").getAsJsonObject("Something")
+                                    .has("default"));
+        assertEquals(out.toString(), new Gson().toJson(dtoFactory.toJsonElement(dto)));
+        assertEquals(out.toString(), dtoFactory.toJson(dto));
+    }
+
+    @Test
+    public void testStreamingDeserializer() throws Exception {
+        SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("Something").withId(1).withDefault("test_default_keyword");
+        ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                       .withStrings(asList("Something 1", "Something 2"))
+                                       .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                                       .withMap(singletonMap("Something", simpleDto))
+                                       .withSimpleDtos(asList(simpleDto))
+                                       .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE, ComplicatedDto.SimpleEnum.THREE)));
+        JsonObject json = dtoFactory.toJsonElement(dto).getAsJsonObject();
+        // unknown fields are skipped
+        json.add("unknown", new JsonParser().parse("{\"a\":[1,2,{\"b\":null}]}"));
+
+        ComplicatedDto parsed = dtoFactory.createDtoFromJson(new StringReader(json.toString()), ComplicatedDto.class);
+
+        assertEquals(parsed, dto);
+        assertNull(dtoFactory.createDtoFromJson(new StringReader(""), ComplicatedDto.class));
+    }
+
+    @Test(expectedExceptions = JsonSyntaxException.class)
+    public void shouldFailWhenJsonStringHasTrailingContent() {
+        dtoFactory.createDtoFromJson("{\"name\":\"foo\"} {}", SimpleDto.class);
+    }
+
+    @Test(expectedExceptions = JsonSyntaxException.class)
+    public void shouldFailWhenJsonStreamHasTrailingContent() throws Exception {
+        dtoFactory.createDtoFromJson(new StringReader("{\"name\":\"foo\"} {}"), SimpleDto.class);
+    }
+
+    @Test(expectedExceptions = JsonSyntaxException.class)
+    public void shouldFailWhenJsonStringIsMalformed() {
+        dtoFactory.createDtoFromJson("{\"name\":\"foo\",,}", SimpleDto.class);
+    }
+
     private void checkSimpleDto(SimpleDto dto, String expectedName, int expectedId, String expectedDefault) {
         assertEquals(dto.getName(), expectedName);
         assertEquals(dto.getId(), expectedId);
@@ -15,6 +15,7 @@ import org.eclipse.che.core.db.jpa.IntegrityConstraintViolationException;
 import org.eclipse.persistence.exceptions.DatabaseException;
 import org.eclipse.persistence.exceptions.ExceptionHandler;
 
+import java.sql.BatchUpdateException;
 import java.sql.SQLException;
 
 /**
@@ -27,7 +28,11 @@ public class H2ExceptionHandler implements ExceptionHandler {
 
     public Object handleException(RuntimeException exception) {
         if (exception instanceof DatabaseException && exception.getCause() instanceof SQLException) {
-            final SQLException sqlEx = (SQLException)exception.getCause();
+            SQLException sqlEx = (SQLException)exception.getCause();
+            // with batch writing the cause of failure is the first of chained exceptions
+            if (sqlEx instanceof BatchUpdateException && sqlEx.getNextException() != null) {
+                sqlEx = sqlEx.getNextException();
+            }
             switch (sqlEx.getErrorCode()) {
                 case 23505:
                     throw new DuplicateKeyException(exception.getMessage(), exception);
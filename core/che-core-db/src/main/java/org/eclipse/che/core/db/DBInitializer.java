@@ -11,6 +11,7 @@
 package org.eclipse.che.core.db;
 
 import org.eclipse.che.core.db.jpa.JpaInitializer;
+import org.eclipse.che.core.db.jpa.eclipselink.EntityChangesListener;
 import org.eclipse.che.core.db.jpa.eclipselink.GuiceEntityListenerInjectionManager;
 import org.eclipse.che.core.db.schema.SchemaInitializationException;
 import org.eclipse.che.core.db.schema.SchemaInitializer;
@@ -60,4 +61,9 @@ public class DBInitializer {
         final ServerSession session = emFactory.unwrap(ServerSession.class);
         session.setEntityListenerInjectionManager(injManager);
     }
+
+    @Inject
+    public void setUpCaches(EntityChangesListener changesListener, EntityManagerFactory emFactory) {
+        changesListener.listen(emFactory.unwrap(ServerSession.class));
+    }
 }
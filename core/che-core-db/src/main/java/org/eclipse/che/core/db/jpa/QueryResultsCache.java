@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches results of frequently executed read queries, e.g. search of stacks or lookup of user by name.
+ * <p/>
+ * Only identifiers of found entities are cached, entities are resolved with {@link EntityManager#find(Class, Object)} which is
+ * served by the second level cache of persistence provider. Cached result is discarded when entity of queried type or of any type
+ * referenced by it with to-one association is created, updated or removed, see {@link #changed(Class)} and {@link #completed()}.
+ * <p/>
+ * Cache is disabled until it is {@link #enable() enabled} by component which tracks changes of entities, so results are never
+ * cached if nothing invalidates them.
+ *
+ * @author agent
+ */
+@Singleton
+public class QueryResultsCache {
+    private static final int DEFAULT_MAX_SIZE = 1000;
+
+    /** Types of entities changed in the current thread, they are invalidated once more when transaction is completed. */
+    private static final ThreadLocal<Set<Class<?>>> CHANGED = ThreadLocal.withInitial(HashSet::new);
+
+    private final ConcurrentMap<Class<?>, AtomicLong> generations;
+    private final ConcurrentMap<Class<?>, Class<?>[]> dependencies;
+
+    private boolean allowed = true;
+    private int     maxSize = DEFAULT_MAX_SIZE;
+
+    private volatile Cache<List<Object>, Entry> results;
+
+    public QueryResultsCache() {
+        generations = new ConcurrentHashMap<>();
+        dependencies = new ConcurrentHashMap<>();
+    }
+
+    @com.google.inject.Inject(optional = true)
+    void configure(@Named("db.cache.query_results.enabled") boolean allowed,
+                   @Named("db.cache.query_results.max_size") int maxSize) {
+        this.allowed = allowed;
+        this.maxSize = maxSize;
+    }
+
+    /** Starts caching of query results unless it is disabled by configuration. */
+    public synchronized void enable() {
+        if (allowed && maxSize > 0 && results == null) {
+            results = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+        }
+    }
+
+    /** Stops caching of query results and discards everything which is cached. */
+    public synchronized void disable() {
+        results = null;
+    }
+
+    public boolean isEnabled() {
+        return results != null;
+    }
+
+    /**
+     * Returns cached result of query or executes query with specified {@code loader} and caches its result.
+     *
+     * @param manager
+     *         entity manager which is used for resolving of cached entities
+     * @param entityClass
+     *         type of entities returned by query
+     * @param loader
+     *         executes query, it is called when there is no valid cached result
+     * @param key
+     *         identifies query and its parameters, e.g. name of named query followed by values of parameters
+     */
+    public <T> List<T> getResultList(EntityManager manager, Class<T> entityClass, Supplier<List<T>> loader, Object... key) {
+        final Cache<List<Object>, Entry> results = this.results;
+        if (results == null || !CHANGED.get().isEmpty()) {
+            // changes made in current transaction are not visible for others yet, so its reads must not be cached
+            return loader.get();
+        }
+        final Class<?>[] types = dependencies.computeIfAbsent(entityClass, c -> findDependencies(manager.getMetamodel(), c));
+        final List<Object> cacheKey = createKey(entityClass, key);
+        final Entry entry = results.getIfPresent(cacheKey);
+        if (entry != null && entry.isValid()) {
+            final List<T> found = find(manager, entityClass, entry.ids);
+            if (found != null) {
+                return found;
+            }
+        }
+        // generations must be read before query is executed, then result is outdated if anything is changed during execution
+        final long[] stamp = stamp(types);
+        final List<T> loaded = loader.get();
+        final PersistenceUnitUtil util = manager.getEntityManagerFactory().getPersistenceUnitUtil();
+        final List<Object> ids = new ArrayList<>(loaded.size());
+        for (T entity : loaded) {
+            ids.add(util.getIdentifier(entity));
+        }
+        results.put(cacheKey, new Entry(types, stamp, ids));
+        return loaded;
+    }
+
+    /** Same as {@link #getResultList(EntityManager, Class, Supplier, Object...)} but for query which finds at most one entity. */
+    public <T> T getSingleResult(EntityManager manager, Class<T> entityClass, Supplier<List<T>> loader, Object... key) {
+        final List<T> result = getResultList(manager, entityClass, loader, key);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    /** Is called when entity of specified type is created, updated or removed in the current thread. */
+    public void changed(Class<?> entityClass) {
+        CHANGED.get().add(entityClass);
+        invalidate(entityClass);
+    }
+
+    /**
+     * Is called when transaction of the current thread is committed or rolled back. Results which were cached while transaction was
+     * in progress are outdated as well.
+     */
+    public void completed() {
+        final Set<Class<?>> changed = CHANGED.get();
+        if (!changed.isEmpty()) {
+            changed.forEach(this::invalidate);
+            changed.clear();
+        }
+    }
+
+    private void invalidate(Class<?> entityClass) {
+        generation(entityClass).incrementAndGet();
+    }
+
+    private AtomicLong generation(Class<?> entityClass) {
+        return generations.computeIfAbsent(entityClass, c -> new AtomicLong());
+    }
+
+    private long[] stamp(Class<?>[] types) {
+        final long[] stamp = new long[types.length];
+        for (int i = 0; i < types.length; i++) {
+            stamp[i] = generation(types[i]).get();
+        }
+        return stamp;
+    }
+
+    private static <T> List<T> find(EntityManager manager, Class<T> entityClass, List<Object> ids) {
+        final List<T> result = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            final T entity = manager.find(entityClass, id);
+            if (entity == null) {
+                return null;
+            }
+            result.add(entity);
+        }
+        return result;
+    }
+
+    private static List<Object> createKey(Class<?> entityClass, Object[] key) {
+        final List<Object> result = new ArrayList<>(key.length + 1);
+        result.add(entityClass);
+        for (Object part : key) {
+            // copy collections, caller may modify them after query is cached
+            result.add(part instanceof Collection ? new ArrayList<>((Collection<?>)part) : part);
+        }
+        return result;
+    }
+
+    /** Returns type itself and types of entities which are referenced by it with to-one associations. */
+    private static Class<?>[] findDependencies(Metamodel metamodel, Class<?> entityClass) {
+        final Set<Class<?>> result = new LinkedHashSet<>();
+        result.add(entityClass);
+        for (SingularAttribute<?, ?> attribute : metamodel.entity(entityClass).getSingularAttributes()) {
+            if (attribute.isAssociation()) {
+                result.add(attribute.getJavaType());
+            }
+        }
+        return result.toArray(new Class<?>[result.size()]);
+    }
+
+    private class Entry {
+        final Class<?>[]   types;
+        final long[]       stamp;
+        final List<Object> ids;
+
+        Entry(Class<?>[] types, long[] stamp, List<Object> ids) {
+            this.types = types;
+            this.stamp = stamp;
+            this.ids = ids;
+        }
+
+        boolean isValid() {
+            return Arrays.equals(stamp, stamp(types));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import org.eclipse.che.core.db.jpa.QueryResultsCache;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.eclipse.persistence.sessions.server.ServerSession;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Notifies {@link QueryResultsCache} about entities which are created, updated or removed and about completion of transactions
+ * which changed them. Changes are caught at the level of EclipseLink session, so all the write paths of DAOs are covered
+ * including removals performed by subscribers of {@link org.eclipse.che.core.db.event.CascadeRemovalEvent}.
+ *
+ * @author agent
+ */
+@Singleton
+public class EntityChangesListener extends SessionEventAdapter {
+    private final QueryResultsCache      queryResultsCache;
+    private final DescriptorEventAdapter descriptorListener;
+
+    @Inject
+    public EntityChangesListener(QueryResultsCache queryResultsCache) {
+        this.queryResultsCache = queryResultsCache;
+        this.descriptorListener = new DescriptorEventAdapter() {
+            @Override
+            public void postWrite(DescriptorEvent event) {
+                queryResultsCache.changed(event.getDescriptor().getJavaClass());
+            }
+
+            @Override
+            public void postDelete(DescriptorEvent event) {
+                queryResultsCache.changed(event.getDescriptor().getJavaClass());
+            }
+        };
+    }
+
+    /** Starts listening of changes of entities in specified session and enables caching of query results. */
+    public void listen(ServerSession session) {
+        for (ClassDescriptor descriptor : session.getDescriptors().values()) {
+            if (!descriptor.isAggregateDescriptor()) {
+                descriptor.getEventManager().addListener(descriptorListener);
+            }
+        }
+        session.getEventManager().addListener(this);
+        queryResultsCache.enable();
+    }
+
+    @Override
+    public void postCommitUnitOfWork(SessionEvent event) {
+        queryResultsCache.completed();
+    }
+
+    @Override
+    public void postRollbackTransaction(SessionEvent event) {
+        queryResultsCache.completed();
+    }
+
+    @Override
+    public void postReleaseUnitOfWork(SessionEvent event) {
+        queryResultsCache.completed();
+    }
+}
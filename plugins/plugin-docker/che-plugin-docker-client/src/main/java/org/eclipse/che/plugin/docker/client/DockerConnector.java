@@ -375,6 +375,7 @@ public class DockerConnector {
      */
     public int waitContainer(final WaitContainerParams params) throws IOException {
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+                                                            .dedicated()
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
                                                                   "/wait")) {
@@ -435,6 +436,7 @@ public class DockerConnector {
         final Boolean stream = params.isStream();
 
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+                                                            .dedicated()
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/attach")
                                                             .query("stdout", 1)
@@ -464,6 +466,7 @@ public class DockerConnector {
     public void getContainerLogs(final GetContainerLogsParams params, MessageProcessor<LogMessage> containerLogsProcessor)
             throws IOException {
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+                                                            .dedicated()
                                                             .method("GET")
                                                             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/logs")
                                                             .query("stdout", 1)
@@ -530,6 +533,7 @@ public class DockerConnector {
 
         byte[] entityBytesArray = toJson(execStart).getBytes(StandardCharsets.UTF_8);
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+                                                            .dedicated()
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/exec/" + params.getExecId() + "/start")
                                                             .header("Content-Type", MediaType.APPLICATION_JSON)
@@ -626,6 +630,7 @@ public class DockerConnector {
         DockerConnection connection = null;
         try {
             connection = connectionFactory.openConnection(dockerDaemonUri)
+                                          .dedicated()
                                           .method("GET")
                                           .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/archive")
                                           .query("path", params.getSourcePath());
@@ -664,6 +669,7 @@ public class DockerConnector {
 
         try (InputStream tarStream = new BufferedInputStream(new FileInputStream(tarFile));
              DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+                                                            .dedicated()
                                                             .method("PUT")
                                                             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
                                                                   "/archive")
@@ -700,6 +706,7 @@ public class DockerConnector {
         final Filters filters = params.getFilters();
 
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+                                                            .dedicated()
                                                             .method("GET")
                                                             .path(apiVersionPathPrefix + "/events")) {
             addQueryParamIfNotNull(connection, "since", params.getSinceSecond());
@@ -732,6 +739,7 @@ public class DockerConnector {
         if (params.getRemote() != null) {
             // build context provided by remote URL
             DockerConnection dockerConnection = connectionFactory.openConnection(dockerDaemonUri)
+                                                                 .dedicated()
                                                                  .query("remote", params.getRemote());
             return buildImage(dockerConnection,
                               params,
@@ -746,6 +754,7 @@ public class DockerConnector {
             createTarArchive(tar, files);
             try (InputStream tarInput = new FileInputStream(tar)) {
                 DockerConnection dockerConnection = connectionFactory.openConnection(dockerDaemonUri)
+                                                                     .dedicated()
                                                                      .header("Content-Type", "application/x-compressed-tar")
                                                                      .header("Content-Length", tar.length())
                                                                      .entity(tarInput);
@@ -902,6 +911,7 @@ public class DockerConnector {
         final String fullRepo = params.getFullRepo();
 
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+                                                            .dedicated()
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/images/" + fullRepo + "/push")
                                                             .header("X-Registry-Auth",
@@ -1011,6 +1021,7 @@ public class DockerConnector {
                         final ProgressMonitor progressMonitor,
                         final URI dockerDaemonUri) throws IOException {
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+                                                            .dedicated()
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/images/create")
                                                             .query("fromImage", params.getFullRepo())
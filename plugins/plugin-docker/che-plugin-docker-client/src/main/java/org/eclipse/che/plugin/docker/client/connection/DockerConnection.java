@@ -32,6 +32,7 @@ public abstract class DockerConnection implements Closeable {
     private Entity<?> entity;
     private StringBuilder         query   = new StringBuilder();
     private List<Pair<String, ?>> headers = new LinkedList<>();
+    private boolean dedicated;
 
     public DockerConnection method(String method) {
         this.method = method;
@@ -91,6 +92,19 @@ public abstract class DockerConnection implements Closeable {
         return this;
     }
 
+    /**
+     * Requests separate connection which is not shared with other requests. Should be used for requests which keep connection busy for
+     * long time, e.g. streaming of events, logs or progress of pulling of image.
+     */
+    public DockerConnection dedicated() {
+        this.dedicated = true;
+        return this;
+    }
+
+    protected boolean isDedicated() {
+        return dedicated;
+    }
+
     public DockerResponse request() throws IOException {
         return request(method, path, query.toString(), headers, entity);
     }
@@ -15,7 +15,9 @@ import com.google.inject.Inject;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import java.net.URI;
 
 /**
@@ -23,11 +25,19 @@ import java.net.URI;
  *
  * <p>Detects connection implementation by checking docker daemon URI.
  *
+ * <p>Connections share pool of keep-alive sockets to docker daemon. Pooling may be disabled by setting
+ * {@value #POOL_MAX_PER_ROUTE_PROPERTY} to 0, then each connection opens its own socket.
+ *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
-    public static final String CONNECTION_TIMEOUT_MS_PROPERTY      = "che.docker.tcp_connection_timeout_ms";
-    public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY = "che.docker.tcp_connection_read_timeout_ms";
+    public static final String CONNECTION_TIMEOUT_MS_PROPERTY             = "che.docker.tcp_connection_timeout_ms";
+    public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY        = "che.docker.tcp_connection_read_timeout_ms";
+    public static final String POOL_MAX_PER_ROUTE_PROPERTY                = "che.docker.connection_pool.max_per_route";
+    public static final String POOL_IDLE_TIMEOUT_MS_PROPERTY              = "che.docker.connection_pool.idle_timeout_ms";
+    public static final String POOL_LEASE_TIMEOUT_MS_PROPERTY             = "che.docker.connection_pool.lease_timeout_ms";
+    public static final String POOL_VALIDATE_AFTER_INACTIVITY_MS_PROPERTY = "che.docker.connection_pool.validate_after_inactivity_ms";
 
     @Inject(optional = true)
     @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -37,8 +47,27 @@ public class DockerConnectionFactory {
     @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
     private int connectionReadTimeoutMs = 60000;
 
+    @Inject(optional = true)
+    @Named(POOL_MAX_PER_ROUTE_PROPERTY)
+    private int poolMaxPerRoute = 20;
+
+    @Inject(optional = true)
+    @Named(POOL_IDLE_TIMEOUT_MS_PROPERTY)
+    private long poolIdleTimeoutMs = 30000;
+
+    @Inject(optional = true)
+    @Named(POOL_LEASE_TIMEOUT_MS_PROPERTY)
+    private long poolLeaseTimeoutMs = 60000;
+
+    @Inject(optional = true)
+    @Named(POOL_VALIDATE_AFTER_INACTIVITY_MS_PROPERTY)
+    private long poolValidateAfterInactivityMs = 2000;
+
     private final DockerCertificates dockerCertificates;
 
+    private volatile DockerConnectionPool connectionPool;
+    private volatile boolean              closed;
+
     @Inject
     public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
         this.dockerCertificates = connectorConfiguration.getDockerCertificates();
@@ -46,9 +75,42 @@ public class DockerConnectionFactory {
 
     public DockerConnection openConnection(URI dockerDaemonUri) {
         if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-            return new UnixSocketConnection(dockerDaemonUri.getPath());
+            return new UnixSocketConnection(dockerDaemonUri.getPath(), getConnectionPool());
         } else {
-            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+            return new TcpConnection(dockerDaemonUri,
+                                     dockerCertificates,
+                                     connectionTimeoutMs,
+                                     connectionReadTimeoutMs,
+                                     getConnectionPool());
+        }
+    }
+
+    /** Returns pool of sockets shared by connections or {@code null} if pooling is disabled. */
+    public DockerConnectionPool getConnectionPool() {
+        if (poolMaxPerRoute < 1 || closed) {
+            return null;
+        }
+        // pool is created lazily since configuration is injected into fields after construction
+        DockerConnectionPool pool = connectionPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = connectionPool;
+                if (pool == null) {
+                    connectionPool = pool = new DockerConnectionPool(poolMaxPerRoute,
+                                                                     poolIdleTimeoutMs,
+                                                                     poolLeaseTimeoutMs,
+                                                                     poolValidateAfterInactivityMs);
+                }
+            }
+        }
+        return pool;
+    }
+
+    @PreDestroy
+    public synchronized void closeConnectionPool() {
+        closed = true;
+        if (connectionPool != null) {
+            connectionPool.close();
         }
     }
 }
@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Pool of keep-alive sockets to docker API. Sockets are grouped by route (path of unix socket or host and port of docker daemon),
+ * number of sockets leased for the same route is limited. If limit is reached caller waits until any socket is returned to the pool.
+ * <p/>
+ * Sockets that are idle longer than idle timeout are closed by background task. Socket that is idle longer than validation interval is
+ * checked before reusing and is discarded if it is closed by docker daemon.
+ * <p/>
+ * Limit of sockets per route and lease timeout are configured with {@value DockerConnectionFactory#POOL_MAX_PER_ROUTE_PROPERTY}
+ * and {@value DockerConnectionFactory#POOL_LEASE_TIMEOUT_MS_PROPERTY} properties. Only short requests use the pool, so the limit
+ * (20 by default) bounds number of concurrent short requests to the same docker daemon, other requests wait for free socket up to
+ * lease timeout (60 seconds by default) and then fail. Streaming and long blocking requests use dedicated sockets and are not limited.
+ *
+ * @author agent
+ */
+public class DockerConnectionPool {
+    /** Creates new socket for route. */
+    interface SocketFactory {
+        DockerSocket connect() throws IOException;
+    }
+
+    private final int                      maxPerRoute;
+    private final long                     idleTimeoutMs;
+    private final long                     leaseTimeoutMs;
+    private final long                     validateAfterInactivityMs;
+    private final Map<String, Route>       routes;
+    private final ScheduledExecutorService evictor;
+    private final AtomicLong               leases;
+    private final AtomicLong               waits;
+    private final AtomicLong               reuses;
+    private final AtomicLong               created;
+    private final AtomicLong               evicted;
+
+    private volatile boolean closed;
+
+    /**
+     * @param maxPerRoute
+     *         max number of sockets which may be leased for the same route at the same time
+     * @param idleTimeoutMs
+     *         socket is closed if it is not used longer than this time
+     * @param leaseTimeoutMs
+     *         max time to wait for free socket if limit for route is reached
+     * @param validateAfterInactivityMs
+     *         socket is checked before reusing if it was not used longer than this time
+     */
+    public DockerConnectionPool(int maxPerRoute, long idleTimeoutMs, long leaseTimeoutMs, long validateAfterInactivityMs) {
+        if (maxPerRoute < 1) {
+            throw new IllegalArgumentException("Max number of connections per route must be greater than 0");
+        }
+        this.maxPerRoute = maxPerRoute;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.leaseTimeoutMs = leaseTimeoutMs;
+        this.validateAfterInactivityMs = validateAfterInactivityMs;
+        this.routes = new ConcurrentHashMap<>();
+        this.leases = new AtomicLong();
+        this.waits = new AtomicLong();
+        this.reuses = new AtomicLong();
+        this.created = new AtomicLong();
+        this.evicted = new AtomicLong();
+        this.evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("DockerConnectionPool-Evictor")
+                                                                                           .setUncaughtExceptionHandler(
+                                                                                                   LoggingUncaughtExceptionHandler
+                                                                                                           .getInstance())
+                                                                                           .setDaemon(true)
+                                                                                           .build());
+        final long evictionPeriod = Math.max(1000, idleTimeoutMs / 2);
+        evictor.scheduleWithFixedDelay(this::closeIdleSockets, evictionPeriod, evictionPeriod, MILLISECONDS);
+    }
+
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    /** Total number of sockets provided by the pool. */
+    public long getLeases() {
+        return leases.get();
+    }
+
+    /** Number of times when caller had to wait for socket because limit for route was reached. */
+    public long getWaits() {
+        return waits.get();
+    }
+
+    /** Number of leases which were served with already opened socket. */
+    public long getReuses() {
+        return reuses.get();
+    }
+
+    /** Number of sockets opened by the pool. */
+    public long getCreated() {
+        return created.get();
+    }
+
+    /** Number of idle sockets closed because of idle timeout or because they were closed by docker daemon. */
+    public long getEvicted() {
+        return evicted.get();
+    }
+
+    /** Number of sockets which are currently in use. */
+    public int getLeasedSockets() {
+        int result = 0;
+        for (Route route : routes.values()) {
+            route.lock.lock();
+            try {
+                result += route.leased;
+            } finally {
+                route.lock.unlock();
+            }
+        }
+        return result;
+    }
+
+    /** Number of opened sockets which are currently not in use. */
+    public int getIdleSockets() {
+        int result = 0;
+        for (Route route : routes.values()) {
+            route.lock.lock();
+            try {
+                result += route.idle.size();
+            } finally {
+                route.lock.unlock();
+            }
+        }
+        return result;
+    }
+
+    /** Closes all idle sockets and stops background eviction. Sockets which are in use are closed when they are returned. */
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        for (Route route : routes.values()) {
+            final List<DockerSocket> toClose;
+            route.lock.lock();
+            try {
+                toClose = new ArrayList<>(route.idle);
+                route.idle.clear();
+                route.available.signalAll();
+            } finally {
+                route.lock.unlock();
+            }
+            toClose.forEach(DockerSocket::close);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DockerConnectionPool{" +
+               "maxPerRoute=" + maxPerRoute +
+               ", leasedSockets=" + getLeasedSockets() +
+               ", idleSockets=" + getIdleSockets() +
+               ", leases=" + getLeases() +
+               ", waits=" + getWaits() +
+               ", reuses=" + getReuses() +
+               ", created=" + getCreated() +
+               ", evicted=" + getEvicted() +
+               '}';
+    }
+
+    /**
+     * Provides socket for specified route. Idle socket is reused if there is any, otherwise new socket is opened with specified factory.
+     * Socket must be returned with {@link #release(String, DockerSocket, boolean)} after use.
+     *
+     * @throws IOException
+     *         if pool is closed, if limit for route is reached and no socket is returned in lease timeout or if new socket can't be opened
+     */
+    DockerSocket lease(String routeKey, SocketFactory factory) throws IOException {
+        final Route route = routes.computeIfAbsent(routeKey, k -> new Route());
+        leases.incrementAndGet();
+        for (; ; ) {
+            DockerSocket socket = null;
+            route.lock.lock();
+            try {
+                long waitNanos = MILLISECONDS.toNanos(leaseTimeoutMs);
+                boolean waited = false;
+                for (; ; ) {
+                    if (closed) {
+                        throw new IOException("Docker connection pool is closed");
+                    }
+                    socket = route.idle.pollFirst();
+                    if (socket != null || route.leased < maxPerRoute) {
+                        route.leased++;
+                        break;
+                    }
+                    if (!waited) {
+                        waits.incrementAndGet();
+                        waited = true;
+                    }
+                    if (waitNanos <= 0) {
+                        throw new IOException(String.format("Timeout waiting for connection to docker API, all %d connections are in use",
+                                                            maxPerRoute));
+                    }
+                    waitNanos = route.available.awaitNanos(waitNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for connection to docker API");
+            } finally {
+                route.lock.unlock();
+            }
+
+            if (socket == null) {
+                try {
+                    socket = factory.connect();
+                } catch (IOException | RuntimeException e) {
+                    release(route, null, false);
+                    throw e;
+                }
+                created.incrementAndGet();
+                return socket;
+            }
+            if (System.currentTimeMillis() - socket.lastUsed < validateAfterInactivityMs || !socket.isStale()) {
+                reuses.incrementAndGet();
+                return socket;
+            }
+            evicted.incrementAndGet();
+            release(route, socket, false);
+        }
+    }
+
+    /**
+     * Returns socket to the pool.
+     *
+     * @param reusable
+     *         {@code true} if socket may be used for the next request, otherwise socket is closed
+     */
+    void release(String routeKey, DockerSocket socket, boolean reusable) {
+        final Route route = routes.get(routeKey);
+        if (route == null) {
+            socket.close();
+            return;
+        }
+        release(route, socket, reusable);
+    }
+
+    private void release(Route route, DockerSocket socket, boolean reusable) {
+        boolean keep = false;
+        route.lock.lock();
+        try {
+            route.leased--;
+            if (socket != null && reusable && !closed) {
+                socket.lastUsed = System.currentTimeMillis();
+                // LIFO keeps the most recently used sockets warm and lets the others expire
+                route.idle.addFirst(socket);
+                keep = true;
+            }
+            route.available.signal();
+        } finally {
+            route.lock.unlock();
+        }
+        if (socket != null && !keep) {
+            socket.close();
+        }
+    }
+
+    private void closeIdleSockets() {
+        final long expired = System.currentTimeMillis() - idleTimeoutMs;
+        for (Route route : routes.values()) {
+            final List<DockerSocket> toClose = new ArrayList<>();
+            route.lock.lock();
+            try {
+                for (Iterator<DockerSocket> it = route.idle.iterator(); it.hasNext(); ) {
+                    final DockerSocket socket = it.next();
+                    if (socket.lastUsed < expired) {
+                        it.remove();
+                        toClose.add(socket);
+                    }
+                }
+            } finally {
+                route.lock.unlock();
+            }
+            evicted.addAndGet(toClose.size());
+            toClose.forEach(DockerSocket::close);
+        }
+    }
+
+    private static class Route {
+        final ReentrantLock       lock      = new ReentrantLock();
+        final Condition           available = lock.newCondition();
+        final Deque<DockerSocket> idle      = new ArrayDeque<>();
+
+        int leased;
+    }
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Opened socket to docker API which may be used for sending of few HTTP requests one by one.
+ *
+ * @author agent
+ */
+abstract class DockerSocket {
+    final InputStream  input;
+    final OutputStream output;
+
+    /** Time when socket was returned to pool last time. */
+    long lastUsed;
+
+    DockerSocket(InputStream input, OutputStream output) {
+        this.input = input;
+        this.output = output;
+    }
+
+    /**
+     * Checks whether socket is still usable after it was idle in pool. Socket is not usable if it was closed by docker daemon or if
+     * there is any unread data in it.
+     */
+    abstract boolean isStale();
+
+    abstract void close();
+}
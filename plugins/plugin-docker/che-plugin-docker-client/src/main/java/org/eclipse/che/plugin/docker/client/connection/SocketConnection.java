@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.base.Strings;
+
+import org.eclipse.che.commons.lang.Pair;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Sends HTTP/1.1 requests to docker API over socket. If pool is provided and connection is not {@link #dedicated() dedicated} socket is
+ * taken from the pool and is returned back when connection is closed, so the next request may reuse it. Otherwise new socket is opened
+ * for request and is closed together with connection.
+ *
+ * @author agent
+ */
+abstract class SocketConnection extends DockerConnection {
+    /** Max number of unread bytes of response which may be skipped to make socket reusable, socket is closed if there are more. */
+    private static final int MAX_UNREAD_BYTES = 64 * 1024;
+
+    private final DockerConnectionPool pool;
+
+    private DockerSocket         socket;
+    private SocketDockerResponse response;
+    private boolean              pooled;
+
+    SocketConnection(DockerConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /** Returns key that identifies docker daemon in pool of sockets. */
+    protected abstract String getRoute();
+
+    /** Opens new socket to docker daemon. */
+    protected abstract DockerSocket connect() throws IOException;
+
+    /** Value of mandatory HTTP 1.1 header 'Host'. */
+    protected abstract String getHost();
+
+    @Override
+    protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
+            throws IOException {
+        pooled = pool != null && !isDedicated();
+        socket = pooled ? pool.lease(getRoute(), this::connect) : connect();
+        try {
+            writeHttpHeaders(socket.output, method, path, query, headers);
+            if (entity != null) {
+                entity.writeTo(socket.output);
+            }
+            socket.output.flush();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+        return response = new SocketDockerResponse(socket.input);
+    }
+
+    @Override
+    public void close() {
+        final DockerSocket socket = this.socket;
+        if (socket == null) {
+            return;
+        }
+        this.socket = null;
+        if (!pooled) {
+            socket.close();
+            return;
+        }
+        boolean reusable = false;
+        if (response != null) {
+            try {
+                reusable = response.consume(MAX_UNREAD_BYTES);
+            } catch (IOException ignored) {
+                // socket is closed by pool
+            }
+        }
+        pool.release(getRoute(), socket, reusable);
+    }
+
+    private void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
+            throws IOException {
+        final Writer writer = new OutputStreamWriter(output);
+        writer.write(method);
+        writer.write(' ');
+        writer.write(path);
+        if (!Strings.isNullOrEmpty(query)) {
+            writer.write("?");
+            writer.write(query);
+        }
+        writer.write(" HTTP/1.1\r\n");
+        boolean connectionHeader = false;
+        for (Pair<String, ?> header : headers) {
+            writer.write(header.first);
+            writer.write(": ");
+            writer.write(String.valueOf(header.second));
+            writer.write("\r\n");
+            connectionHeader |= "Connection".equalsIgnoreCase(header.first);
+        }
+        if (!pooled && !connectionHeader) {
+            // Socket is not reused, so let docker daemon close it once response is sent,
+            // that is required for streams (attach, logs, events, etc) which are read till the end
+            writer.write("Connection: close\r\n");
+        }
+        // Host header is mandatory in HTTP 1.1
+        writer.write("Host: ");
+        writer.write(getHost());
+        writer.write("\r\n\r\n");
+        writer.flush();
+    }
+}
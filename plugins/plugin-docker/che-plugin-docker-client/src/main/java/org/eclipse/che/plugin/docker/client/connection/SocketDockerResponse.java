@@ -16,9 +16,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
-* @author andrew00x
-*/
-public class UnixSocketDockerResponse implements DockerResponse {
+ * HTTP response of docker API read from socket.
+ *
+ * @author andrew00x
+ */
+public class SocketDockerResponse implements DockerResponse {
     private static final InputStream EMPTY = new InputStream() {
         @Override
         public int read() throws IOException {
@@ -31,8 +33,9 @@ public class UnixSocketDockerResponse implements DockerResponse {
     private InputStream data;
     private String[]    headersFields;
     private int         status;
+    private boolean     keepAlive;
 
-    UnixSocketDockerResponse(InputStream input) {
+    SocketDockerResponse(InputStream input) {
         rawData = input;
         status = -1;
     }
@@ -143,13 +146,46 @@ public class UnixSocketDockerResponse implements DockerResponse {
             }
         }
         this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+        // Connection may be reused for next request only if the end of response body is known without closing of connection
+        keepAlive = headersFields[0].startsWith("HTTP/1.1") && !"close".equalsIgnoreCase(getHeader("Connection"));
+        final int status = getStatus();
         final int contentLength = getContentLength();
-        if (contentLength == 0) {
+        if (contentLength == 0 || status == 204 || status == 304 || (status >= 100 && status < 200)) {
             return data = EMPTY;
         }
         if (contentLength > 0) {
             return data = new LimitedInputStream(rawData, contentLength);
         }
-        return data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
+        if ("chunked".equals(getHeader("Transfer-Encoding"))) {
+            return data = new ChunkedInputStream(rawData);
+        }
+        keepAlive = false;
+        return data = rawData;
+    }
+
+    /**
+     * Reads and discards the rest of response body.
+     *
+     * @param maxBytes
+     *         max number of bytes to read
+     * @return {@code true} if response is read completely and connection may be used for sending of next request
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    synchronized boolean consume(int maxBytes) throws IOException {
+        final InputStream body = getInputStream();
+        if (!keepAlive) {
+            return false;
+        }
+        final byte[] buf = new byte[Math.min(maxBytes, 8192)];
+        int total = 0;
+        int n;
+        while ((n = body.read(buf)) != -1) {
+            total += n;
+            if (total > maxBytes) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -10,32 +10,42 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client.connection;
 
-import com.google.common.base.Strings;
-
-import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 
-import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
 import java.net.URI;
-import java.net.URL;
-import java.util.List;
 
 /**
  * @author andrew00x
  * @author Alexander Garagatyi
  */
-public class TcpConnection extends DockerConnection {
+public class TcpConnection extends SocketConnection {
     private final URI                baseUri;
     private final DockerCertificates certificates;
     private final int                connectionTimeout;
     private final int                readTimeout;
-
-    private HttpURLConnection connection;
+    private final boolean            secure;
+    private final String             host;
+    private final int                port;
 
     public TcpConnection(URI baseUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs) {
+        this(baseUri, certificates, connectionTimeoutMs, readTimeoutMs, null);
+    }
+
+    public TcpConnection(URI baseUri,
+                         DockerCertificates certificates,
+                         int connectionTimeoutMs,
+                         int readTimeoutMs,
+                         DockerConnectionPool pool) {
+        super(pool);
         if ("https".equals(baseUri.getScheme())) {
             if (certificates == null) {
                 throw new IllegalArgumentException("Certificates are required for https connection.");
@@ -47,45 +57,90 @@ public class TcpConnection extends DockerConnection {
         this.certificates = certificates;
         this.connectionTimeout = connectionTimeoutMs;
         this.readTimeout = readTimeoutMs;
+        this.secure = "https".equals(baseUri.getScheme());
+        this.host = baseUri.getHost();
+        this.port = baseUri.getPort() != -1 ? baseUri.getPort() : (secure ? 443 : 80);
     }
 
     @Override
-    protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
-            throws IOException {
-        final String requestUri = path + (Strings.isNullOrEmpty(query) ? "" : "?" + query);
-        final URL url = baseUri.resolve(requestUri).toURL();
-        final String protocol = url.getProtocol();
-        connection = (HttpURLConnection)url.openConnection();
-        connection.setConnectTimeout(connectionTimeout);
-        connection.setReadTimeout(readTimeout);
-        if ("https".equals(protocol)) {
-            ((HttpsURLConnection)connection).setSSLSocketFactory(certificates.getSslContext().getSocketFactory());
-        }
-        connection.setRequestMethod(method);
-        // needed to fix bug https://github.com/docker/docker/issues/12845
-        connection.setRequestProperty("Connection", "close");
-        for (Pair<String, ?> header : headers) {
-            connection.setRequestProperty(header.first, String.valueOf(header.second));
+    protected String getRoute() {
+        return baseUri.getScheme() + "://" + host + ':' + port;
+    }
+
+    @Override
+    protected String getHost() {
+        return baseUri.getPort() != -1 ? host + ':' + port : host;
+    }
+
+    @Override
+    protected DockerSocket connect() throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), connectionTimeout);
+            socket.setSoTimeout(readTimeout);
+            if (secure) {
+                final SSLSocket sslSocket = (SSLSocket)certificates.getSslContext()
+                                                                   .getSocketFactory()
+                                                                   .createSocket(socket, host, port, true);
+                // verify host name in the same way as HttpsURLConnection does
+                final SSLParameters sslParameters = sslSocket.getSSLParameters();
+                sslParameters.setEndpointIdentificationAlgorithm("HTTPS");
+                sslSocket.setSSLParameters(sslParameters);
+                sslSocket.startHandshake();
+                socket = sslSocket;
+            }
+            return new TcpSocket(socket, readTimeout);
+        } catch (IOException | RuntimeException e) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+            throw e;
         }
-        String host = url.getHost();
-        if (url.getPort() != -1) {
-            host += ":" + Integer.toString(url.getPort());
+    }
+
+    private static class TcpSocket extends DockerSocket {
+        private final Socket socket;
+        private final int    readTimeout;
+
+        TcpSocket(Socket socket, int readTimeout) throws IOException {
+            super(new BufferedInputStream(socket.getInputStream()), new BufferedOutputStream(socket.getOutputStream()));
+            this.socket = socket;
+            this.readTimeout = readTimeout;
         }
-        // Host header is mandatory in HTTP 1.1
-        connection.setRequestProperty("Host", host);
-        if (entity != null) {
-            connection.setDoOutput(true);
-            try (OutputStream output = connection.getOutputStream()) {
-                entity.writeTo(output);
+
+        @Override
+        boolean isStale() {
+            if (socket.isClosed() || socket.isInputShutdown() || socket.isOutputShutdown()) {
+                return true;
+            }
+            try {
+                // Try to read with minimal timeout: end of stream means that socket is closed by docker,
+                // any data means that socket is out of sync, timeout means that socket is alive
+                socket.setSoTimeout(1);
+                input.mark(1);
+                if (input.read() != -1) {
+                    input.reset();
+                }
+                return true;
+            } catch (SocketTimeoutException e) {
+                return false;
+            } catch (IOException e) {
+                return true;
+            } finally {
+                try {
+                    socket.setSoTimeout(readTimeout);
+                } catch (SocketException ignored) {
+                }
             }
         }
-        return new TcpDockerResponse(connection);
-    }
 
-    @Override
-    public void close() {
-        if (connection != null) {
-            connection.disconnect();
+        @Override
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
         }
     }
 }
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class DockerConnectionPoolTest {
+    private static final String ROUTE = "unix:///var/run/docker.sock";
+
+    private DockerConnectionPool pool;
+
+    @BeforeMethod
+    public void setUp() {
+        pool = new DockerConnectionPool(2, 30000, 100, 0);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    public void shouldReuseReleasedSocket() throws Exception {
+        final DockerSocket socket = pool.lease(ROUTE, TestSocket::new);
+        pool.release(ROUTE, socket, true);
+
+        assertSame(pool.lease(ROUTE, TestSocket::new), socket);
+        assertEquals(pool.getLeases(), 2);
+        assertEquals(pool.getReuses(), 1);
+        assertEquals(pool.getCreated(), 1);
+        assertEquals(pool.getLeasedSockets(), 1);
+    }
+
+    @Test
+    public void shouldCloseSocketWhichIsNotReusable() throws Exception {
+        final TestSocket socket = (TestSocket)pool.lease(ROUTE, TestSocket::new);
+        pool.release(ROUTE, socket, false);
+
+        assertTrue(socket.closed);
+        assertEquals(pool.getIdleSockets(), 0);
+        assertNotSame(pool.lease(ROUTE, TestSocket::new), socket);
+    }
+
+    @Test
+    public void shouldDiscardStaleSocket() throws Exception {
+        final TestSocket socket = (TestSocket)pool.lease(ROUTE, TestSocket::new);
+        pool.release(ROUTE, socket, true);
+        socket.stale = true;
+
+        assertNotSame(pool.lease(ROUTE, TestSocket::new), socket);
+        assertTrue(socket.closed);
+        assertEquals(pool.getEvicted(), 1);
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Timeout waiting for connection to docker API.*")
+    public void shouldFailWhenLimitIsReachedAndNoSocketIsReleasedInTimeout() throws Exception {
+        pool.lease(ROUTE, TestSocket::new);
+        pool.lease(ROUTE, TestSocket::new);
+
+        try {
+            pool.lease(ROUTE, TestSocket::new);
+        } finally {
+            assertEquals(pool.getWaits(), 1);
+        }
+    }
+
+    @Test
+    public void shouldProvideSocketWhenItIsReleasedByOtherThread() throws Exception {
+        pool.close();
+        pool = new DockerConnectionPool(1, 30000, 10000, 0);
+        final DockerSocket socket = pool.lease(ROUTE, TestSocket::new);
+        final Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ignored) {
+            }
+            pool.release(ROUTE, socket, true);
+        });
+        releaser.start();
+
+        assertSame(pool.lease(ROUTE, TestSocket::new), socket);
+        assertEquals(pool.getWaits(), 1);
+        releaser.join();
+    }
+
+    @Test
+    public void shouldLimitSocketsPerRouteSeparately() throws Exception {
+        pool.lease(ROUTE, TestSocket::new);
+        pool.lease(ROUTE, TestSocket::new);
+        pool.lease("http://localhost:2375", TestSocket::new);
+
+        assertEquals(pool.getLeasedSockets(), 3);
+        assertEquals(pool.getWaits(), 0);
+    }
+
+    @Test
+    public void shouldCloseIdleSocketsWhenPoolIsClosed() throws Exception {
+        final TestSocket socket = (TestSocket)pool.lease(ROUTE, TestSocket::new);
+        pool.release(ROUTE, socket, true);
+
+        pool.close();
+
+        assertTrue(socket.closed);
+        assertEquals(pool.getIdleSockets(), 0);
+    }
+
+    @Test
+    public void shouldNotKeepSocketReleasedAfterPoolIsClosed() throws Exception {
+        final TestSocket socket = (TestSocket)pool.lease(ROUTE, TestSocket::new);
+        pool.close();
+
+        pool.release(ROUTE, socket, true);
+
+        assertTrue(socket.closed);
+        assertFalse(pool.getIdleSockets() > 0);
+    }
+
+    private static class TestSocket extends DockerSocket {
+        boolean stale;
+        boolean closed;
+
+        TestSocket() {
+            super(new ByteArrayInputStream(new byte[0]), new ByteArrayOutputStream());
+        }
+
+        @Override
+        boolean isStale() {
+            return stale;
+        }
+
+        @Override
+        void close() {
+            closed = true;
+        }
+    }
+}
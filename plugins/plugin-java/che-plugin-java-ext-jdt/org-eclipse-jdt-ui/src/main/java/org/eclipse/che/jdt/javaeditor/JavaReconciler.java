@@ -14,13 +14,20 @@ package org.eclipse.che.jdt.javaeditor;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaModelStatusConstants;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IProblemRequestor;
 import org.eclipse.jdt.core.IType;
@@ -29,21 +36,41 @@ import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.CompilationUnit;
-import org.eclipse.jdt.internal.core.ClassFileWorkingCopy;
+import org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
+ * Reconciles java sources which are opened in editor.
+ * <p/>
+ * Working copy of compilation unit is kept between reconciles of the same file, so only changed part of the buffer is updated and
+ * parser doesn't start from scratch every time. Working copy is discarded if file isn't reconciled longer than {@link #IDLE_TIMEOUT_MS}.
+ * File is reconciled on each request even if its content isn't changed, since problems may be caused by changes in other files.
+ * Running reconcile is cancelled if newer request for the same file arrives, and the cancelled request gets result of the newer one.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
 public class JavaReconciler {
     private static final Logger LOG = LoggerFactory.getLogger(JavaReconciler.class);
 
+    /** Working copy is discarded if its file isn't reconciled during this time. */
+    static final long IDLE_TIMEOUT_MS    = TimeUnit.MINUTES.toMillis(10);
+    /** Max number of working copies which are kept at the same time. */
+    static final int  MAX_WORKING_COPIES = 32;
+
+    private final Map<String, EditorWorkingCopy> workingCopies = new ConcurrentHashMap<>();
 
     private SemanticHighlightingReconciler semanticHighlighting;
 
@@ -53,58 +80,199 @@ public class JavaReconciler {
     }
 
     public ReconcileResult reconcile(IJavaProject javaProject, String fqn) throws JavaModelException {
-        final ProblemRequestor requestor = new ProblemRequestor();
-        WorkingCopyOwner wcOwner = new WorkingCopyOwner() {
-            public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
-                return requestor;
-            }
-
-            @Override
-            public IBuffer createBuffer(ICompilationUnit workingCopy) {
-//                return BufferManager.createBuffer(workingCopy);
-//                ?????
-                return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, (IFile)workingCopy.getResource());
-            }
-        };
-        List<HighlightedPosition> positions = null;
-        ICompilationUnit compilationUnit = null;
         try {
             IType type = javaProject.findType(fqn);
             if (type == null) {
+                discard(javaProject.getPath().toString() + ':' + fqn);
                 return null;
             }
             if (type.isBinary()) {
                 throw new IllegalArgumentException("Can't reconcile binary type: " + fqn);
-            } else {
-                compilationUnit = type.getCompilationUnit().getWorkingCopy(wcOwner, null);
             }
-            requestor.reset();
-            CompilationUnit unit = compilationUnit.reconcile(AST.JLS8, true, wcOwner, null);
-            positions = semanticHighlighting.reconcileSemanticHighlight(unit);
-            if (compilationUnit instanceof ClassFileWorkingCopy) {
-                //we don't wont to show any errors from ".class" files
-                requestor.reset();
+            ICompilationUnit primary = type.getCompilationUnit();
+            String key = javaProject.getPath().toString() + ':' + fqn;
+            discardIdle();
+            EditorWorkingCopy workingCopy = workingCopies.computeIfAbsent(key, k -> new EditorWorkingCopy(fqn));
+            // newer request makes result of running reconcile useless
+            workingCopy.cancelRunning();
+            ReconcileResult result;
+            while ((result = workingCopy.reconcile(primary)) == null) {
+                // working copy was discarded while this request was waiting for it
+                workingCopy = workingCopies.computeIfAbsent(key, k -> new EditorWorkingCopy(fqn));
             }
-
+            return result;
         } catch (JavaModelException e) {
             LOG.error("Can't reconcile class: " + fqn + " in project:" + javaProject.getPath().toOSString(), e);
             throw e;
-        } finally {
-            if(compilationUnit!= null && compilationUnit.isWorkingCopy()){
+        }
+    }
+
+    /** Discards all working copies which are kept by reconciler. */
+    @PreDestroy
+    public void discardAll() {
+        new ArrayList<>(workingCopies.keySet()).forEach(this::discard);
+    }
+
+    private void discard(String key) {
+        EditorWorkingCopy workingCopy = workingCopies.remove(key);
+        if (workingCopy != null) {
+            workingCopy.discard();
+        }
+    }
+
+    private void discardIdle() {
+        long expired = System.currentTimeMillis() - IDLE_TIMEOUT_MS;
+        // access time is captured once since it may be updated by concurrent reconciles while entries are sorted
+        List<Pair<Long, String>> byAccess = new ArrayList<>(workingCopies.size());
+        workingCopies.forEach((key, workingCopy) -> byAccess.add(Pair.of(workingCopy.lastAccess, key)));
+        byAccess.sort((a, b) -> Long.compare(a.first, b.first));
+        int toRemove = byAccess.size() - MAX_WORKING_COPIES + 1;
+        for (Pair<Long, String> pair : byAccess) {
+            if (toRemove <= 0 && pair.first >= expired) {
+                break;
+            }
+            discard(pair.second);
+            toRemove--;
+        }
+    }
+
+    /** Working copy of compilation unit with its own owner, buffer and problems collected by the latest reconcile. */
+    private class EditorWorkingCopy {
+        // fair lock lets cancelled request to wait for result of request which cancelled it
+        private final ReentrantLock    lock      = new ReentrantLock(true);
+        private final ProblemRequestor requestor = new ProblemRequestor();
+        private final WorkingCopyOwner owner;
+        private final String           fqn;
+
+        private          ICompilationUnit workingCopy;
+        private          ReconcileResult  lastResult;
+        private          long             reconciles;
+        private          boolean          discarded;
+        private volatile IProgressMonitor running;
+        private volatile long             lastAccess;
+
+        EditorWorkingCopy(String fqn) {
+            this.fqn = fqn;
+            this.owner = new WorkingCopyOwner() {
+                public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
+                    return requestor;
+                }
+
+                @Override
+                public IBuffer createBuffer(ICompilationUnit workingCopy) {
+                    return new DocumentAdapter(workingCopy, (IFile)workingCopy.getResource());
+                }
+            };
+            this.lastAccess = System.currentTimeMillis();
+        }
+
+        void cancelRunning() {
+            IProgressMonitor monitor = running;
+            if (monitor != null) {
+                monitor.setCanceled(true);
+            }
+        }
+
+        /** Returns {@code null} if working copy is already discarded. */
+        ReconcileResult reconcile(ICompilationUnit primary) throws JavaModelException {
+            return reconcile(primary, -1);
+        }
+
+        /**
+         * @param cancelledAt
+         *         number of completed reconciles when request was cancelled or {@code -1} if it wasn't, result of reconcile
+         *         completed later is returned to cancelled request
+         */
+        private ReconcileResult reconcile(ICompilationUnit primary, long cancelledAt) throws JavaModelException {
+            final long completed;
+            lock.lock();
+            try {
+                if (discarded) {
+                    return null;
+                }
+                if (cancelledAt >= 0 && reconciles > cancelledAt) {
+                    return lastResult;
+                }
+                lastAccess = System.currentTimeMillis();
+                if (workingCopy == null) {
+                    workingCopy = primary.getWorkingCopy(owner, null);
+                } else {
+                    updateBuffer(primary);
+                }
+                IProgressMonitor monitor = new NullProgressMonitor();
+                running = monitor;
                 try {
-                    //todo close buffer
-                    compilationUnit.getBuffer().close();
-                    compilationUnit.discardWorkingCopy();
-                } catch (JavaModelException e) {
-                    //ignore
+                    requestor.reset();
+                    CompilationUnit unit = workingCopy.reconcile(AST.JLS8, true, owner, monitor);
+                    List<HighlightedPosition> positions = unit == null ? null : semanticHighlighting.reconcileSemanticHighlight(unit);
+                    ReconcileResult result = DtoFactory.getInstance().createDto(ReconcileResult.class);
+                    result.setProblems(convertProblems(requestor.problems));
+                    result.setHighlightedPositions(positions);
+                    lastResult = result;
+                    reconciles++;
+                    return result;
+                } catch (OperationCanceledException e) {
+                    LOG.debug("Reconcile of {} is cancelled by newer request", fqn);
+                    // buffer is left in consistent state so next reconcile starts from it
+                    completed = reconciles;
+                } finally {
+                    running = null;
                 }
+            } finally {
+                lock.unlock();
             }
+            // wait for request which cancelled this one and share its result
+            return reconcile(primary, completed);
         }
 
-        ReconcileResult result = DtoFactory.getInstance().createDto(ReconcileResult.class);
-        result.setProblems(convertProblems(requestor.problems));
-        result.setHighlightedPositions(positions);
-        return result;
+        /**
+         * Applies changes of file to the buffer of working copy. Only range between common prefix and suffix of old and new content
+         * is replaced, that keeps positions of untouched parts of the buffer.
+         */
+        private void updateBuffer(ICompilationUnit primary) throws JavaModelException {
+            String newContent;
+            try (InputStream inputStream = ((IFile)primary.getResource()).getContents()) {
+                newContent = IoUtil.readStream(inputStream);
+            } catch (IOException | CoreException e) {
+                throw new JavaModelException(e, IJavaModelStatusConstants.IO_EXCEPTION);
+            }
+            IBuffer buffer = workingCopy.getBuffer();
+            String oldContent = buffer.getContents();
+            if (newContent.equals(oldContent)) {
+                return;
+            }
+            int prefix = 0;
+            int maxPrefix = Math.min(oldContent.length(), newContent.length());
+            while (prefix < maxPrefix && oldContent.charAt(prefix) == newContent.charAt(prefix)) {
+                prefix++;
+            }
+            int suffix = 0;
+            int maxSuffix = maxPrefix - prefix;
+            while (suffix < maxSuffix
+                   && oldContent.charAt(oldContent.length() - 1 - suffix) == newContent.charAt(newContent.length() - 1 - suffix)) {
+                suffix++;
+            }
+            buffer.replace(prefix, oldContent.length() - suffix - prefix, newContent.substring(prefix, newContent.length() - suffix));
+        }
+
+        void discard() {
+            cancelRunning();
+            lock.lock();
+            try {
+                discarded = true;
+                if (workingCopy != null) {
+                    try {
+                        workingCopy.getBuffer().close();
+                        workingCopy.discardWorkingCopy();
+                    } catch (JavaModelException e) {
+                        //ignore
+                    }
+                    workingCopy = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
     }
 
     private List<Problem> convertProblems(List<IProblem> problems) {
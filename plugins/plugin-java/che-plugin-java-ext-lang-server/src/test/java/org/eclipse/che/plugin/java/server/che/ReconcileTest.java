@@ -23,6 +23,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -62,6 +63,11 @@ public class ReconcileTest extends BaseTest {
         this.workingCopy = project.findType("p1.X").getCompilationUnit(); //.getWorkingCopy(this.wcOwner, null);
     }
 
+    @After
+    public void tearDown() throws Exception {
+        reconciler.discardAll();
+    }
+
     @Test
     public void testCompilationUnitReconcile() throws Exception {
         setWorkingCopyContents(
@@ -81,6 +87,36 @@ public class ReconcileTest extends BaseTest {
 
     }
 
+    @Test
+    public void testReconcileAppliesChangesToKeptWorkingCopy() throws Exception {
+        setWorkingCopyContents(
+                "package p1;\n" +
+                "public class X {\n" +
+                "  public void foo() {\n" +
+                "  }\n" +
+                "  public void foo() {\n" +
+                "  }\n" +
+                "}");
+        ReconcileResult first = reconciler.reconcile(project, "p1.X");
+        assertThat(first.getProblems()).hasSize(2);
+        // unchanged file is reconciled again since problems may depend on other files
+        ReconcileResult unchanged = reconciler.reconcile(project, "p1.X");
+        assertThat(unchanged).isNotSameAs(first);
+        assertThat(unchanged.getProblems()).hasSize(2);
+
+        setWorkingCopyContents(
+                "package p1;\n" +
+                "public class X {\n" +
+                "  public void foo() {\n" +
+                "  }\n" +
+                "  public void bar() {\n" +
+                "  }\n" +
+                "}");
+        ReconcileResult second = reconciler.reconcile(project, "p1.X");
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getProblems()).isEmpty();
+    }
+
     @Test
     public void testWarnings() throws Exception {
         project.setOption(JavaCore.COMPILER_PB_UNUSED_LOCAL, JavaCore.ERROR);
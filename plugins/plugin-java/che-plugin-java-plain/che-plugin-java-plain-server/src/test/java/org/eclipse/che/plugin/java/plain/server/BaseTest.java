@@ -28,6 +28,7 @@ import org.eclipse.che.api.vfs.impl.file.DefaultFileWatcherNotificationHandler;
 import org.eclipse.che.api.vfs.impl.file.FileTreeWatcher;
 import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
 import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystemProvider;
+import org.eclipse.che.api.vfs.watcher.FileWatcherEventBus;
 import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
 import org.eclipse.che.api.vfs.search.impl.FSLuceneSearcherProvider;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
@@ -45,6 +46,7 @@ import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
 
 import java.io.File;
+import java.nio.file.FileSystems;
 import java.nio.file.PathMatcher;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -104,7 +106,10 @@ public abstract class BaseTest {
 
         ProjectImporterRegistry importerRegistry = new ProjectImporterRegistry(new HashSet<>());
         FileWatcherNotificationHandler fileWatcherNotificationHandler = new DefaultFileWatcherNotificationHandler(vfsProvider);
-        FileTreeWatcher fileTreeWatcher = new FileTreeWatcher(root, new HashSet<>(), fileWatcherNotificationHandler);
+        FileTreeWatcher fileTreeWatcher = new FileTreeWatcher(root,
+                                                              new HashSet<>(),
+                                                              fileWatcherNotificationHandler,
+                                                              new FileWatcherEventBus(FileSystems.getDefault().newWatchService()));
 
         projectManager = new ProjectManager(vfsProvider,
                                             eventService,
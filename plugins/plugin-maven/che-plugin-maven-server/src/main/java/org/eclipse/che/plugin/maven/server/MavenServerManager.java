@@ -96,10 +96,10 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
                 MavenSettings mavenSettings = new MavenSettings();
                 //TODO add more user settings
                 mavenSettings.setMavenHome(new File(System.getenv("M2_HOME")));
-                mavenSettings.setUserSettings(new File(System.getProperty("user.home"), ".m2/settings.xml"));
+                mavenSettings.setUserSettings(getUserSettings());
                 // Setting Global maven setting
                 // for more maven info settings visit https://maven.apache.org/settings.html
-                mavenSettings.setGlobalSettings(new File(System.getenv("M2_HOME"), "conf/settings.xml"));
+                mavenSettings.setGlobalSettings(getGlobalSettings());
                 mavenSettings.setLoggingLevel(MavenTerminal.LEVEL_INFO);
                 if (localRepository != null) {
                     mavenSettings.setLocalRepository(localRepository);
@@ -109,6 +109,29 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
         };
     }
 
+    /**
+     * Returns string which is changed when any of maven settings used by created servers is changed, e.g. when user's
+     * settings.xml is modified. Results of project resolution may be reused while fingerprint is the same.
+     */
+    public String getSettingsFingerprint() {
+        return System.getenv("M2_HOME") + ';' +
+               fingerprint(getUserSettings()) + ';' +
+               fingerprint(getGlobalSettings()) + ';' +
+               localRepository;
+    }
+
+    private static File getUserSettings() {
+        return new File(System.getProperty("user.home"), ".m2/settings.xml");
+    }
+
+    private static File getGlobalSettings() {
+        return new File(System.getenv("M2_HOME"), "conf/settings.xml");
+    }
+
+    private static String fingerprint(File file) {
+        return file.getPath() + ':' + file.lastModified() + ':' + file.length();
+    }
+
     /**
      * For test use only. Sets the path to local maven repository
      *
@@ -13,51 +13,51 @@ package org.eclipse.che.plugin.maven.server;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 /**
  *
- * Manages and cache MavenServerWrapper instances
+ * Manages and cache MavenServerWrapper instances. Few servers of the same type may be used at the same time, e.g. for
+ * resolving of independent projects in parallel, released servers are kept for reusing.
  *
  * @author Evgen Vidolob
  */
 @Singleton
 public class MavenWrapperManager {
+    /** Max number of released servers of the same type which are kept for reusing, others are disposed. */
+    private static final int MAX_IDLE_SERVERS = 4;
 
-
-    private final MavenServerManager    serverManager;
-    private final Map<ServerType, MavenServerWrapper> cache = new HashMap<>();
-    private final Set<MavenServerWrapper> usedServers = new HashSet<>();
+    private final MavenServerManager                         serverManager;
+    private final Map<ServerType, Deque<MavenServerWrapper>> idleServers = new EnumMap<>(ServerType.class);
+    private final Map<MavenServerWrapper, ServerType>        usedServers = new HashMap<>();
 
 
     @Inject
     public MavenWrapperManager(MavenServerManager serverManager) {
         this.serverManager = serverManager;
+        for (ServerType type : ServerType.values()) {
+            idleServers.put(type, new ArrayDeque<>());
+        }
     }
 
     public synchronized MavenServerWrapper getMavenServer(ServerType type) {
-        MavenServerWrapper wrapper = cache.get(type);
+        MavenServerWrapper wrapper = idleServers.get(type).pollFirst();
         if (wrapper == null) {
             wrapper = serverManager.createMavenServer();
-            cache.put(type, wrapper);
         }
-
-        if (usedServers.contains(wrapper)) {
-            //need to warn here
-            return serverManager.createMavenServer();
-        }
-
-        usedServers.add(wrapper);
+        usedServers.put(wrapper, type);
         return wrapper;
     }
 
     public synchronized void release(MavenServerWrapper wrapper) {
-        if (usedServers.contains(wrapper)) {
+        final ServerType type = usedServers.remove(wrapper);
+        if (type != null && idleServers.get(type).size() < MAX_IDLE_SERVERS) {
             wrapper.reset();
-            usedServers.remove(wrapper);
+            idleServers.get(type).addFirst(wrapper);
         } else {
             wrapper.dispose();
         }
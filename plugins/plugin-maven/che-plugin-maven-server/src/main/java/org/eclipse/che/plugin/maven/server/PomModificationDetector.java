@@ -14,6 +14,7 @@ import com.google.inject.Inject;
 
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.project.shared.dto.event.PomModifiedEventDto;
+import org.eclipse.che.api.vfs.watcher.FileNamePathMatcher;
 import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
 
 import javax.annotation.PostConstruct;
@@ -39,7 +40,7 @@ public class PomModificationDetector {
 
     @PostConstruct
     public void startWatcher() {
-        id = manager.registerByMatcher(it -> !isDirectory(it) && POM_XML.equals(it.getFileName().toString()),
+        id = manager.registerByMatcher(new FileNamePathMatcher(POM_XML, it -> !isDirectory(it)),
                                        EMPTY_CONSUMER,
                                             it -> eventService.publish(newDto(PomModifiedEventDto.class).withPath(it)),
                                        EMPTY_CONSUMER);
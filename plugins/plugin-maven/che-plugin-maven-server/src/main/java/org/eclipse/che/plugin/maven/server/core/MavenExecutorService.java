@@ -18,12 +18,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 /**
+ * Provides threads for maven tasks. Tasks are performed one by one, but single task may resolve independent projects
+ * in parallel with {@link #getResolveExecutor() resolve executor}.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
@@ -31,19 +35,34 @@ public class MavenExecutorService {
 
     private static final Logger LOG = LoggerFactory.getLogger(MavenExecutorService.class);
 
+    /** Number of projects which may be resolved at the same time. */
+    private static final int RESOLVE_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
     private final ExecutorService service;
+    private final ExecutorService resolveService;
 
     public MavenExecutorService() {
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("Maven Executor - %d")
                                                                 .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
                                                                 .build();
         service = Executors.newFixedThreadPool(1, threadFactory);
+        resolveService = Executors.newFixedThreadPool(RESOLVE_THREADS,
+                                                      new ThreadFactoryBuilder().setNameFormat("Maven Resolver - %d")
+                                                                                .setUncaughtExceptionHandler(
+                                                                                        LoggingUncaughtExceptionHandler.getInstance())
+                                                                                .setDaemon(true)
+                                                                                .build());
     }
 
     public void submit(Runnable task) {
         service.execute(task);
     }
 
+    /** Returns executor for resolving of projects in parallel. */
+    public Executor getResolveExecutor() {
+        return resolveService;
+    }
+
     @PreDestroy
     public void shutdown() throws InterruptedException {
         // Tell threads to finish off.
@@ -62,5 +81,7 @@ public class MavenExecutorService {
             // Preserve interrupt status
             Thread.currentThread().interrupt();
         }
+        // resolve tasks are started by tasks of main executor, so nothing is waiting for them at this point
+        resolveService.shutdownNow();
     }
 }
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.maven.server.core;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
@@ -26,6 +28,7 @@ import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModification
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 
+import java.io.File;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -37,11 +40,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
  * Holds all maven projects in workspace
  *
@@ -407,6 +413,69 @@ public class MavenProjectManager {
         }
     }
 
+    /** Returns workspace project which has specified maven coordinates or {@code null} if there is no such project. */
+    public MavenProject findMavenProject(MavenKey key) {
+        readLock.lock();
+        try {
+            return keyToProjectMap.get(key);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns workspace projects which must be resolved before specified project, these are its parent and
+     * dependencies which are workspace projects.
+     */
+    public Set<MavenProject> findProjectsToResolveBefore(MavenProject mavenProject) {
+        readLock.lock();
+        try {
+            Set<MavenProject> result = new HashSet<>();
+            MavenProject parent = keyToProjectMap.get(mavenProject.getParentKey());
+            if (parent != null) {
+                result.add(parent);
+            }
+            for (MavenArtifact artifact : mavenProject.getDependencies()) {
+                MavenProject dependency = keyToProjectMap.get(new MavenKey(artifact.getGroupId(),
+                                                                           artifact.getArtifactId(),
+                                                                           artifact.getVersion()));
+                if (dependency != null) {
+                    result.add(dependency);
+                }
+            }
+            result.remove(mavenProject);
+            return result;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns fingerprint of everything which affects result of resolution of specified project: its pom.xml, pom.xml files
+     * of its parents and of workspace projects it depends on and maven settings. Result of previous resolution may be reused
+     * while fingerprint is the same.
+     */
+    public String getResolutionFingerprint(MavenProject mavenProject) {
+        // sorted to get the same fingerprint regardless of order in which projects are visited
+        Set<String> poms = new TreeSet<>();
+        Set<MavenProject> visited = new HashSet<>();
+        Deque<MavenProject> toVisit = new LinkedList<>();
+        toVisit.add(mavenProject);
+        while (!toVisit.isEmpty()) {
+            MavenProject project = toVisit.poll();
+            if (visited.add(project)) {
+                File pom = project.getPomFile();
+                if (pom != null) {
+                    poms.add(pom.getPath() + ':' + pom.lastModified() + ':' + pom.length());
+                }
+                toVisit.addAll(findProjectsToResolveBefore(project));
+            }
+        }
+        Hasher hasher = Hashing.md5().newHasher().putString(serverManager.getSettingsFingerprint(), UTF_8);
+        poms.forEach(pom -> hasher.putString(pom, UTF_8));
+        return hasher.hash().toString();
+    }
+
     public MavenWorkspaceCache copyWorkspaceCache() {
         readLock.lock();
         try {
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Resolves maven projects in parallel. Project is resolved after its parent and workspace projects it depends on,
+ * if they are resolved at the same time, so independent modules of reactor are resolved concurrently while dependent
+ * ones wait for each other.
+ * <p/>
+ * Resolution is skipped for project if nothing which affects it is changed since previous successful resolution,
+ * see {@link MavenProjectManager#getResolutionFingerprint(MavenProject)}. Result of resolution isn't reused if project has
+ * unresolved or SNAPSHOT dependencies which are not workspace projects since they may change in repository, and after
+ * {@link #invalidate(String) invalidation}, e.g. when user explicitly requests reimport. Time of resolution of each project
+ * is reported to {@link MavenProgressNotifier}.
+ *
+ * @author agent
+ */
+public class MavenResolveScheduler {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenResolveScheduler.class);
+
+    private final MavenProjectManager   manager;
+    private final MavenProgressNotifier notifier;
+    private final Executor              executor;
+    private final Map<String, String>   fingerprints;
+
+    public MavenResolveScheduler(MavenProjectManager manager, MavenProgressNotifier notifier, Executor executor) {
+        this.manager = manager;
+        this.notifier = notifier;
+        this.executor = executor;
+        this.fingerprints = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Forces the next resolution of project with specified path and of its modules even if nothing is changed since
+     * previous resolution.
+     */
+    public void invalidate(String projectPath) {
+        fingerprints.keySet().removeIf(key -> key.equals(projectPath) || key.startsWith(projectPath + '/'));
+    }
+
+    /**
+     * Resolves specified projects and waits until all of them are resolved.
+     *
+     * @param projects
+     *         projects to resolve
+     * @param afterResolve
+     *         is called for each project after it is resolved or after resolution is skipped because project is not changed,
+     *         calls are never performed concurrently
+     */
+    public void resolve(Set<MavenProject> projects, Consumer<MavenProject> afterResolve) {
+        final Map<MavenProject, CompletableFuture<Void>> futures = new HashMap<>();
+        final Progress progress = new Progress(projects.size());
+        for (MavenProject project : projects) {
+            schedule(project, projects, futures, new HashSet<>(), progress, afterResolve);
+        }
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[futures.size()])).get();
+        } catch (InterruptedException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // errors are logged per project
+        }
+    }
+
+    private CompletableFuture<Void> schedule(MavenProject project,
+                                             Set<MavenProject> projects,
+                                             Map<MavenProject, CompletableFuture<Void>> futures,
+                                             Set<MavenProject> scheduling,
+                                             Progress progress,
+                                             Consumer<MavenProject> afterResolve) {
+        CompletableFuture<Void> future = futures.get(project);
+        if (future != null) {
+            return future;
+        }
+        scheduling.add(project);
+        final List<CompletableFuture<Void>> before = new ArrayList<>();
+        for (MavenProject dependency : manager.findProjectsToResolveBefore(project)) {
+            // projects which are not resolved now and cyclic dependencies are ignored
+            if (projects.contains(dependency) && !scheduling.contains(dependency)) {
+                before.add(schedule(dependency, projects, futures, scheduling, progress, afterResolve));
+            }
+        }
+        scheduling.remove(project);
+        // project is resolved even if resolution of any of its dependencies failed
+        future = CompletableFuture.allOf(before.toArray(new CompletableFuture[before.size()]))
+                                  .handle((ignored, error) -> null)
+                                  .thenRunAsync(() -> resolve(project, progress, afterResolve), executor);
+        futures.put(project, future);
+        return future;
+    }
+
+    private void resolve(MavenProject project, Progress progress, Consumer<MavenProject> afterResolve) {
+        try {
+            if (!project.getProject().exists()) {
+                return;
+            }
+            final String key = project.getProject().getFullPath().toOSString();
+            final String fingerprint = manager.getResolutionFingerprint(project);
+            if (fingerprint.equals(fingerprints.get(key))) {
+                notifier.setText(format("Project %s is up to date", project.getName()));
+            } else {
+                final long start = System.nanoTime();
+                manager.resolveMavenProject(project.getProject(), project);
+                final long time = NANOSECONDS.toMillis(System.nanoTime() - start);
+                notifier.setText(format("Resolved project %s in %d ms", project.getName(), time));
+                LOG.debug("Resolved project {} in {} ms", key, time);
+                if (project.getProblems().isEmpty() && isReproducible(project)) {
+                    fingerprints.put(key, fingerprint);
+                } else {
+                    fingerprints.remove(key);
+                }
+            }
+            synchronized (this) {
+                afterResolve.accept(project);
+            }
+        } catch (RuntimeException e) {
+            LOG.error(format("Failed to resolve project %s", project.getPomPath()), e);
+        } finally {
+            notifier.setPercent(progress.done());
+        }
+    }
+
+    /**
+     * Checks whether resolution of project gives the same result while fingerprint is the same. Fingerprint covers only
+     * workspace projects, so it is not true if other dependencies are not resolved yet or are SNAPSHOTs.
+     */
+    private boolean isReproducible(MavenProject project) {
+        for (MavenArtifact artifact : project.getDependencies()) {
+            if (manager.findMavenProject(new MavenKey(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion())) != null) {
+                continue;
+            }
+            if (!artifact.isResolved() || isSnapshot(artifact.getBaseVersion()) || isSnapshot(artifact.getVersion())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSnapshot(String version) {
+        return version != null && version.endsWith("SNAPSHOT");
+    }
+
+    private static class Progress {
+        final int           total;
+        final AtomicInteger done;
+
+        Progress(int total) {
+            this.total = total;
+            this.done = new AtomicInteger();
+        }
+
+        double done() {
+            return (double)done.incrementAndGet() / total;
+        }
+    }
+}
@@ -65,8 +65,9 @@ public class MavenWorkspace {
     private final MavenCommunication        communication;
     private final ClasspathManager          classpathManager;
 
-    private MavenTaskExecutor resolveExecutor;
-    private MavenTaskExecutor classPathExecutor;
+    private MavenTaskExecutor     resolveExecutor;
+    private MavenTaskExecutor     classPathExecutor;
+    private MavenResolveScheduler resolveScheduler;
 
     private Set<MavenProject> projectsToResolve = new CopyOnWriteArraySet<>();
 
@@ -85,6 +86,7 @@ public class MavenWorkspace {
         this.classpathManager = classpathManager;
         this.manager = manager;
         resolveExecutor = new MavenTaskExecutor(executorService, notifier);
+        resolveScheduler = new MavenResolveScheduler(manager, notifier, executorService.getResolveExecutor());
         eventService.subscribe(new EventSubscriber<ProjectDeletedEvent>() {
             @Override
             public void onEvent(ProjectDeletedEvent event) {
@@ -149,19 +151,25 @@ public class MavenWorkspace {
         runResolve();
     }
 
+    /** Updates specified projects and resolves them and their modules even if nothing is changed since previous resolution. */
+    public void reimport(List<IProject> projects) {
+        projects.forEach(project -> resolveScheduler.invalidate(project.getFullPath().toOSString()));
+        update(projects);
+    }
+
     private void runResolve() {
         //TODO synchronise on projectsToResolve change
         Set<MavenProject> needResolve = new HashSet<>(projectsToResolve);
         projectsToResolve.clear();
 
-        for (MavenProject mavenProject : needResolve) {
-
-            resolveExecutor.submitTask(new MavenProjectResolveTask(mavenProject, manager, () -> {
-                addSourcesFromBuildHelperPlugin(mavenProject);
-                classpathManager.updateClasspath(mavenProject);
-            }));
+        if (needResolve.isEmpty()) {
+            return;
         }
-
+        // independent projects are resolved in parallel, the task ends when all of them are resolved
+        resolveExecutor.submitTask(() -> resolveScheduler.resolve(needResolve, mavenProject -> {
+            addSourcesFromBuildHelperPlugin(mavenProject);
+            classpathManager.updateClasspath(mavenProject);
+        }));
     }
 
     private void updateJavaProject(MavenProject project) {
@@ -14,21 +14,26 @@ import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.project.server.FileEntry;
 import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.type.CachingValueProviderFactory;
 import org.eclipse.che.api.project.server.type.ReadonlyValueProvider;
 import org.eclipse.che.api.project.server.type.ValueProvider;
-import org.eclipse.che.api.project.server.type.ValueProviderFactory;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.watcher.FileNamePathMatcher;
 import org.eclipse.che.commons.xml.XMLTreeException;
 import org.eclipse.che.ide.maven.tools.Build;
 import org.eclipse.che.ide.maven.tools.Model;
 import org.eclipse.che.ide.maven.tools.Resource;
 
+import javax.inject.Singleton;
 import java.io.IOException;
+import java.nio.file.PathMatcher;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static java.nio.file.Files.isDirectory;
 import static org.eclipse.che.ide.ext.java.shared.Constants.SOURCE_FOLDER;
 import static org.eclipse.che.plugin.maven.shared.MavenAttributes.ARTIFACT_ID;
 import static org.eclipse.che.plugin.maven.shared.MavenAttributes.DEFAULT_RESOURCES_FOLDER;
@@ -45,12 +50,16 @@ import static org.eclipse.che.plugin.maven.shared.MavenAttributes.TEST_SOURCE_FO
 import static org.eclipse.che.plugin.maven.shared.MavenAttributes.VERSION;
 
 /**
+ * Values of attributes are remembered until pom.xml of project is changed.
+ *
  * @author Evgen Vidolob
  */
-public class MavenValueProviderFactory implements ValueProviderFactory {
+@Singleton
+public class MavenValueProviderFactory extends CachingValueProviderFactory {
+    private static final String POM_XML = "pom.xml";
 
     protected Model readModel(FolderEntry projectFolder) throws ValueStorageException, ServerException, ForbiddenException, IOException {
-        FileEntry pomFile = (FileEntry)projectFolder.getChild("pom.xml");
+        FileEntry pomFile = (FileEntry)projectFolder.getChild(POM_XML);
         if (pomFile == null) {
             throw new ValueStorageException("pom.xml does not exist.");
         }
@@ -62,23 +71,44 @@ public class MavenValueProviderFactory implements ValueProviderFactory {
     }
 
     @Override
-    public ValueProvider newInstance(FolderEntry projectFolder) {
+    protected ValueProvider createValueProvider(FolderEntry projectFolder) {
         return new MavenValueProvider(projectFolder);
     }
 
+    @Override
+    protected List<PathMatcher> getDependencies() {
+        return Collections.singletonList(new FileNamePathMatcher(POM_XML, it -> !isDirectory(it)));
+    }
+
+    @Override
+    protected Path getDependentFolder(Path changedFile) {
+        return changedFile.getParent();
+    }
+
     protected class MavenValueProvider extends ReadonlyValueProvider {
 
         protected FolderEntry projectFolder;
 
+        private volatile Model model;
+
         protected MavenValueProvider(FolderEntry projectFolder) {
             this.projectFolder = projectFolder;
         }
 
+        /** Reads pom.xml once, the same model is used for all attributes of project. */
+        protected Model getModel() throws ValueStorageException, ServerException, ForbiddenException, IOException {
+            Model model = this.model;
+            if (model == null) {
+                this.model = model = readModel(projectFolder);
+            }
+            return model;
+        }
+
         @Override
         public List<String> getValues(String attributeName) throws ValueStorageException {
             try {
                 String value = "";
-                final Model model = readModel(projectFolder);
+                final Model model = getModel();
                 if (attributeName.equals(ARTIFACT_ID)) {
                     value = model.getArtifactId();
                 } else if (attributeName.equals(GROUP_ID)) {
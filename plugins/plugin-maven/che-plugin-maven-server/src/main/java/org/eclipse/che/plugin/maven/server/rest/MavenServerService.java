@@ -161,7 +161,7 @@ public class MavenServerService {
         IWorkspace workspace = eclipseWorkspaceProvider.get();
         List<IProject> projectsList =
                 paths.stream().map(projectPath -> workspace.getRoot().getProject(projectPath)).collect(Collectors.toList());
-        mavenWorkspace.update(projectsList);
+        mavenWorkspace.reimport(projectsList);
         return Response.ok().build();
     }
 
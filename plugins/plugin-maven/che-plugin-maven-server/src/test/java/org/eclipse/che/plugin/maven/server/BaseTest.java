@@ -29,6 +29,7 @@ import org.eclipse.che.api.vfs.impl.file.DefaultFileWatcherNotificationHandler;
 import org.eclipse.che.api.vfs.impl.file.FileTreeWatcher;
 import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
 import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystemProvider;
+import org.eclipse.che.api.vfs.watcher.FileWatcherEventBus;
 import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
 import org.eclipse.che.api.vfs.search.impl.FSLuceneSearcherProvider;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
@@ -49,6 +50,7 @@ import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 
 import java.io.File;
+import java.nio.file.FileSystems;
 import java.nio.file.PathMatcher;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -144,7 +146,10 @@ public abstract class BaseTest {
         importerRegistry = new ProjectImporterRegistry(new HashSet<>());
 
         fileWatcherNotificationHandler = new DefaultFileWatcherNotificationHandler(vfsProvider);
-        fileTreeWatcher = new FileTreeWatcher(root, new HashSet<>(), fileWatcherNotificationHandler);
+        fileTreeWatcher = new FileTreeWatcher(root,
+                                              new HashSet<>(),
+                                              fileWatcherNotificationHandler,
+                                              new FileWatcherEventBus(FileSystems.getDefault().newWatchService()));
 
 
         pm = new ProjectManager(vfsProvider, eventService, projectTypeRegistry, projectRegistry, projectHandlerRegistry,
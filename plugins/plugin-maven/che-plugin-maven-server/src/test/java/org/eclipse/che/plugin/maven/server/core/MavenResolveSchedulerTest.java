@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.Path;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link MavenResolveScheduler}.
+ *
+ * @author agent
+ */
+@Listeners(MockitoTestNGListener.class)
+public class MavenResolveSchedulerTest {
+    @Mock
+    private MavenProjectManager    manager;
+    @Mock
+    private MavenProgressNotifier  notifier;
+    @Mock
+    private Consumer<MavenProject> afterResolve;
+
+    private ExecutorService       executor;
+    private MavenResolveScheduler scheduler;
+    private List<MavenProject>    resolved;
+
+    @BeforeMethod
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        scheduler = new MavenResolveScheduler(manager, notifier, executor);
+        resolved = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> resolved.add((MavenProject)invocation.getArguments()[1]))
+                .when(manager).resolveMavenProject(any(IProject.class), any(MavenProject.class));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldResolveParentAndDependenciesBeforeProject() {
+        MavenProject parent = mockProject("parent");
+        MavenProject dependency = mockProject("dependency");
+        MavenProject module = mockProject("module");
+        when(manager.findProjectsToResolveBefore(module)).thenReturn(new HashSet<>(asList(parent, dependency)));
+        when(manager.findProjectsToResolveBefore(dependency)).thenReturn(Collections.singleton(parent));
+
+        scheduler.resolve(new HashSet<>(asList(module, dependency, parent)), afterResolve);
+
+        assertEquals(resolved, asList(parent, dependency, module));
+        verify(afterResolve, times(3)).accept(any(MavenProject.class));
+    }
+
+    @Test
+    public void shouldResolveProjectsWithCyclicDependencies() {
+        MavenProject first = mockProject("first");
+        MavenProject second = mockProject("second");
+        when(manager.findProjectsToResolveBefore(first)).thenReturn(Collections.singleton(second));
+        when(manager.findProjectsToResolveBefore(second)).thenReturn(Collections.singleton(first));
+
+        scheduler.resolve(new HashSet<>(asList(first, second)), afterResolve);
+
+        assertEquals(new HashSet<>(resolved), new HashSet<>(asList(first, second)));
+    }
+
+    @Test
+    public void shouldSkipResolutionOfProjectWhichIsNotChanged() {
+        MavenProject project = mockProject("project");
+
+        scheduler.resolve(Collections.singleton(project), afterResolve);
+        scheduler.resolve(Collections.singleton(project), afterResolve);
+
+        assertEquals(resolved, Collections.singletonList(project));
+        verify(afterResolve, times(2)).accept(project);
+        verify(notifier).setText(startsWith("Project project is up to date"));
+    }
+
+    @Test
+    public void shouldResolveProjectAgainWhenItIsChanged() {
+        MavenProject project = mockProject("project");
+
+        scheduler.resolve(Collections.singleton(project), afterResolve);
+        when(manager.getResolutionFingerprint(project)).thenReturn("changed");
+        scheduler.resolve(Collections.singleton(project), afterResolve);
+
+        assertEquals(resolved, asList(project, project));
+    }
+
+    @Test
+    public void shouldResolveProjectAgainWhenItIsInvalidated() {
+        MavenProject project = mockProject("project");
+        MavenProject module = mockProject("project/module");
+
+        scheduler.resolve(new HashSet<>(asList(project, module)), afterResolve);
+        scheduler.invalidate("/project");
+        scheduler.resolve(new HashSet<>(asList(project, module)), afterResolve);
+
+        assertEquals(resolved.size(), 4);
+    }
+
+    @Test
+    public void shouldNotReuseResolutionOfProjectWithSnapshotDependencies() throws Exception {
+        MavenProject project = mockProject("project");
+        when(project.getDependencies()).thenReturn(Collections.singletonList(artifact("1.0-SNAPSHOT", true)));
+
+        scheduler.resolve(Collections.singleton(project), afterResolve);
+        scheduler.resolve(Collections.singleton(project), afterResolve);
+
+        assertEquals(resolved, asList(project, project));
+    }
+
+    @Test
+    public void shouldNotReuseResolutionOfProjectWithUnresolvedDependencies() throws Exception {
+        MavenProject project = mockProject("project");
+        when(project.getDependencies()).thenReturn(Collections.singletonList(artifact("1.0", false)));
+
+        scheduler.resolve(Collections.singleton(project), afterResolve);
+        scheduler.resolve(Collections.singleton(project), afterResolve);
+
+        assertEquals(resolved, asList(project, project));
+    }
+
+    @Test
+    public void shouldReuseResolutionOfProjectWithSnapshotDependencyOnWorkspaceProject() throws Exception {
+        MavenProject project = mockProject("project");
+        MavenProject dependency = mockProject("dependency");
+        when(project.getDependencies()).thenReturn(Collections.singletonList(artifact("1.0-SNAPSHOT", true)));
+        when(manager.findMavenProject(any(MavenKey.class))).thenReturn(dependency);
+
+        scheduler.resolve(Collections.singleton(project), afterResolve);
+        scheduler.resolve(Collections.singleton(project), afterResolve);
+
+        assertEquals(resolved, Collections.singletonList(project));
+    }
+
+    @Test
+    public void shouldReportTimeOfResolution() {
+        MavenProject project = mockProject("project");
+
+        scheduler.resolve(Collections.singleton(project), afterResolve);
+
+        verify(notifier).setText(startsWith("Resolved project project in "));
+        verify(notifier).setPercent(1.0);
+        verify(notifier, never()).setText(startsWith("Project project is up to date"));
+    }
+
+    @Test
+    public void shouldNotStopResolutionWhenResolutionOfDependencyFailed() {
+        MavenProject parent = mockProject("parent");
+        MavenProject module = mockProject("module");
+        when(manager.findProjectsToResolveBefore(module)).thenReturn(Collections.singleton(parent));
+        doAnswer(invocation -> {
+            MavenProject project = (MavenProject)invocation.getArguments()[1];
+            if (project == parent) {
+                throw new IllegalStateException("failed");
+            }
+            return resolved.add(project);
+        }).when(manager).resolveMavenProject(any(IProject.class), any(MavenProject.class));
+
+        scheduler.resolve(new HashSet<>(asList(parent, module)), afterResolve);
+
+        assertTrue(resolved.contains(module));
+        verify(afterResolve, never()).accept(parent);
+    }
+
+    private MavenArtifact artifact(String version, boolean resolved) throws Exception {
+        File file = File.createTempFile("artifact", ".jar");
+        file.deleteOnExit();
+        return new MavenArtifact("group", "artifact", version, version, "jar", null, "compile", false, "jar", file, null, resolved, false);
+    }
+
+    private MavenProject mockProject(String name) {
+        IProject project = mock(IProject.class);
+        when(project.exists()).thenReturn(true);
+        when(project.getFullPath()).thenReturn(new Path("/" + name));
+        MavenProject mavenProject = mock(MavenProject.class);
+        when(mavenProject.getProject()).thenReturn(project);
+        when(mavenProject.getName()).thenReturn(name);
+        when(mavenProject.getProblems()).thenReturn(Collections.emptyList());
+        when(manager.getResolutionFingerprint(mavenProject)).thenReturn(name + "-fingerprint");
+        when(manager.findProjectsToResolveBefore(mavenProject)).thenReturn(Collections.emptySet());
+        return mavenProject;
+    }
+}
@@ -17,6 +17,7 @@ import org.eclipse.che.api.project.shared.dto.event.GitCheckoutEventDto;
 import org.eclipse.che.api.project.shared.dto.event.GitCheckoutEventDto.Type;
 import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
+import org.eclipse.che.api.vfs.watcher.FileNamePathMatcher;
 import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
 import org.slf4j.Logger;
 
@@ -69,9 +70,7 @@ public class GitCheckoutDetector {
 
 
     private PathMatcher getMatcher() {
-        return it -> !isDirectory(it) &&
-                     HEAD_FILE.equals(it.getFileName().toString()) &&
-                     GIT_DIR.equals(it.getParent().getFileName().toString());
+        return new FileNamePathMatcher(HEAD_FILE, it -> !isDirectory(it) && GIT_DIR.equals(it.getParent().getFileName().toString()));
     }
 
     private Consumer<String> getOperation() {
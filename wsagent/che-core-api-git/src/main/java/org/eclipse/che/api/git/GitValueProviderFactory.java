@@ -15,64 +15,132 @@ import com.google.inject.Inject;
 import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.git.shared.Remote;
 import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.type.CachingValueProviderFactory;
 import org.eclipse.che.api.project.server.type.ReadonlyValueProvider;
 import org.eclipse.che.api.project.server.type.ValueProvider;
-import org.eclipse.che.api.project.server.type.ValueProviderFactory;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.watcher.FileNamePathMatcher;
 
 import javax.inject.Singleton;
+import java.nio.file.PathMatcher;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import static java.nio.file.Files.isDirectory;
 import static org.eclipse.che.api.git.GitProjectType.GIT_CURRENT_BRANCH_NAME;
 import static org.eclipse.che.api.git.GitProjectType.GIT_REPOSITORY_REMOTES;
 import static org.eclipse.che.api.git.GitProjectType.VCS_PROVIDER_NAME;
 
 /**
+ * Values of all attributes are read with single git connection and are remembered until HEAD or config of repository is changed.
+ *
  * @author Roman Nikitenko
  */
 @Singleton
-public class GitValueProviderFactory implements ValueProviderFactory {
+public class GitValueProviderFactory extends CachingValueProviderFactory {
+    private static final String GIT_DIR     = ".git";
+    private static final String HEAD_FILE   = "HEAD";
+    private static final String CONFIG_FILE = "config";
 
     @Inject
     private GitConnectionFactory gitConnectionFactory;
 
     @Override
-    public ValueProvider newInstance(final FolderEntry folder) {
-        return new ReadonlyValueProvider() {
-            @Override
-            public List<String> getValues(String attributeName) throws ValueStorageException {
-                if (folder == null) {
-                    return Collections.emptyList();
-                }
-                try (GitConnection gitConnection = gitConnectionFactory.getConnection(resolveLocalPath(folder))) {
-                    //check whether the folder belongs to git repository
-                    if (!gitConnection.isInsideWorkTree()) {
-                        return Collections.emptyList();
-                    }
+    protected ValueProvider createValueProvider(final FolderEntry folder) {
+        return new GitValueProvider(folder);
+    }
 
-                    switch (attributeName) {
-                        case VCS_PROVIDER_NAME:
-                            return Collections.singletonList("git");
-                        case GIT_CURRENT_BRANCH_NAME:
-                            return Collections.singletonList(gitConnection.getCurrentBranch());
-                        case GIT_REPOSITORY_REMOTES:
-                            return gitConnection.remoteList(null, false)
-                                                .stream()
-                                                .map(Remote::getUrl)
-                                                .collect(Collectors.toList());
-                        default:
-                            return Collections.emptyList();
-                    }
-                } catch (ApiException e) {
-                    throw new ValueStorageException(e.getMessage());
-                }
-            }
-        };
+    @Override
+    protected List<PathMatcher> getDependencies() {
+        return Arrays.asList(gitFileMatcher(HEAD_FILE), gitFileMatcher(CONFIG_FILE));
+    }
+
+    @Override
+    protected Path getDependentFolder(Path changedFile) {
+        // changed file is inside of .git directory, values of the whole work tree are affected
+        final Path gitDir = changedFile.getParent();
+        return gitDir == null ? null : gitDir.getParent();
+    }
+
+    private PathMatcher gitFileMatcher(String fileName) {
+        return new FileNamePathMatcher(fileName, it -> !isDirectory(it) && GIT_DIR.equals(it.getParent().getFileName().toString()));
     }
 
     private String resolveLocalPath(FolderEntry folder) throws ApiException {
         return folder.getVirtualFile().toIoFile().getAbsolutePath();
     }
+
+    /**
+     * Reads values of all attributes when any of them is requested the first time. Values are remembered only if all of them are
+     * read successfully, otherwise they are read again on the next request.
+     */
+    private class GitValueProvider extends ReadonlyValueProvider {
+        final FolderEntry folder;
+
+        volatile Map<String, List<String>> values;
+
+        GitValueProvider(FolderEntry folder) {
+            this.folder = folder;
+        }
+
+        @Override
+        public List<String> getValues(String attributeName) throws ValueStorageException {
+            if (folder == null) {
+                return Collections.emptyList();
+            }
+            Map<String, List<String>> current = values;
+            if (current == null) {
+                synchronized (this) {
+                    current = values;
+                    if (current == null) {
+                        final Map<String, String> errors = new HashMap<>();
+                        current = readValues(errors);
+                        final String error = errors.get(attributeName);
+                        if (error != null) {
+                            throw new ValueStorageException(error);
+                        }
+                        // not a git repository yet or some of values can't be read, check it again next time
+                        if (!current.isEmpty() && errors.isEmpty()) {
+                            values = current;
+                        }
+                    }
+                }
+            }
+            final List<String> attributeValues = current.get(attributeName);
+            return attributeValues == null ? Collections.emptyList() : attributeValues;
+        }
+
+        private Map<String, List<String>> readValues(Map<String, String> errors) throws ValueStorageException {
+            try (GitConnection gitConnection = gitConnectionFactory.getConnection(resolveLocalPath(folder))) {
+                //check whether the folder belongs to git repository
+                if (!gitConnection.isInsideWorkTree()) {
+                    return Collections.emptyMap();
+                }
+
+                final Map<String, List<String>> values = new HashMap<>();
+                values.put(VCS_PROVIDER_NAME, Collections.singletonList("git"));
+                try {
+                    values.put(GIT_CURRENT_BRANCH_NAME, Collections.singletonList(gitConnection.getCurrentBranch()));
+                } catch (ApiException e) {
+                    errors.put(GIT_CURRENT_BRANCH_NAME, e.getMessage());
+                }
+                try {
+                    values.put(GIT_REPOSITORY_REMOTES, gitConnection.remoteList(null, false)
+                                                                    .stream()
+                                                                    .map(Remote::getUrl)
+                                                                    .collect(Collectors.toList()));
+                } catch (ApiException e) {
+                    errors.put(GIT_REPOSITORY_REMOTES, e.getMessage());
+                }
+                return values;
+            } catch (ApiException e) {
+                throw new ValueStorageException(e.getMessage());
+            }
+        }
+    }
 }
@@ -26,10 +26,14 @@ public class LogParams {
     private String       filePath;
     private int          skip;
     private int          maxCount;
+    private boolean      includeBranches;
+    private boolean      includeDiffFiles;
 
     private LogParams() {
         skip = -1;
         maxCount = -1;
+        includeBranches = true;
+        includeDiffFiles = true;
     }
 
     /**
@@ -125,6 +129,48 @@ public class LogParams {
         return this;
     }
 
+    /** Returns {@code true} if branches which contain commit should be resolved for each commit, default value is {@code true}. */
+    public boolean isIncludeBranches() {
+        return includeBranches;
+    }
+
+    /** Set {@code true} if branches which contain commit should be resolved for each commit. */
+    public void setIncludeBranches(boolean includeBranches) {
+        this.includeBranches = includeBranches;
+    }
+
+    /**
+     * Create a {@link LogParams} object based on a given flag that indicates whether branches of each commit should be resolved
+     *
+     * @param includeBranches
+     *         {@code true} if branches which contain commit should be resolved for each commit
+     */
+    public LogParams withIncludeBranches(boolean includeBranches) {
+        this.includeBranches = includeBranches;
+        return this;
+    }
+
+    /** Returns {@code true} if files changed by commit should be resolved for each commit, default value is {@code true}. */
+    public boolean isIncludeDiffFiles() {
+        return includeDiffFiles;
+    }
+
+    /** Set {@code true} if files changed by commit should be resolved for each commit. */
+    public void setIncludeDiffFiles(boolean includeDiffFiles) {
+        this.includeDiffFiles = includeDiffFiles;
+    }
+
+    /**
+     * Create a {@link LogParams} object based on a given flag that indicates whether files changed by each commit should be resolved
+     *
+     * @param includeDiffFiles
+     *         {@code true} if files changed by commit should be resolved for each commit
+     */
+    public LogParams withIncludeDiffFiles(boolean includeDiffFiles) {
+        this.includeDiffFiles = includeDiffFiles;
+        return this;
+    }
+
     /** Returns the file/folder path used when calling the log command. */
     public String getFilePath() {
         return filePath;
@@ -19,6 +19,7 @@ import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.params.AddParams;
 import org.eclipse.che.api.git.params.CommitParams;
 import org.eclipse.che.api.git.params.LogParams;
+import org.eclipse.che.api.git.shared.Branch;
 import org.eclipse.che.api.git.shared.Revision;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -29,12 +30,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 
 import static org.eclipse.che.git.impl.GitTestUtil.addFile;
 import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
 import static org.eclipse.che.git.impl.GitTestUtil.connectToInitializedGitRepository;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Igor Vinokur
@@ -174,6 +177,40 @@ public class LogTest {
         assertEquals(secondBucketOfCommits.get(0).getDiffCommitFile().get(0).getChangeType(), "ADD");
     }
 
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testLogBranchesOfCommits(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        addFile(connection, "1.txt", "someChanges");
+        connection.add(AddParams.create());
+        connection.commit(CommitParams.create("add 1.txt file"));
+        connection.branchCreate("old", null);
+
+        addFile(connection, "2.txt", "newChanges");
+        connection.add(AddParams.create());
+        connection.commit(CommitParams.create("add 2.txt file"));
+
+        //when
+        List<Revision> commits = connection.log(LogParams.create()).getCommits();
+        connection.branchCreate("new", null);
+        List<Revision> commitsAfterBranchCreated = connection.log(LogParams.create()).getCommits();
+        List<Revision> commitsWithoutDetails =
+                connection.log(LogParams.create().withIncludeBranches(false).withIncludeDiffFiles(false)).getCommits();
+
+        //then
+        assertEquals(getBranchNames(commits.get(0)), ImmutableList.of("refs/heads/master"));
+        assertEquals(getBranchNames(commits.get(1)), ImmutableList.of("refs/heads/master", "refs/heads/old"));
+        assertEquals(getBranchNames(commitsAfterBranchCreated.get(0)), ImmutableList.of("refs/heads/master", "refs/heads/new"));
+        assertEquals(getBranchNames(commitsAfterBranchCreated.get(1)),
+                     ImmutableList.of("refs/heads/master", "refs/heads/new", "refs/heads/old"));
+        assertTrue(commitsWithoutDetails.get(0).getBranches().isEmpty());
+        assertTrue(commitsWithoutDetails.get(0).getDiffCommitFile().isEmpty());
+    }
+
+    private List<String> getBranchNames(Revision revision) {
+        return revision.getBranches().stream().map(Branch::getName).collect(Collectors.toList());
+    }
+
     @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
     public void testLogMaxCount(GitConnectionFactory connectionFactory) throws GitException, IOException {
         //given
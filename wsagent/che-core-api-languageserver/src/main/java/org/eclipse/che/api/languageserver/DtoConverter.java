@@ -17,6 +17,8 @@ import io.typefox.lsapi.InitializeResult;
 import io.typefox.lsapi.ServerCapabilities;
 import io.typefox.lsapi.SignatureHelpOptions;
 
+import com.google.gson.Gson;
+
 import org.eclipse.che.api.languageserver.shared.lsapi.CodeLensOptionsDTO;
 import org.eclipse.che.api.languageserver.shared.lsapi.CompletionOptionsDTO;
 import org.eclipse.che.api.languageserver.shared.lsapi.DocumentOnTypeFormattingOptionsDTO;
@@ -25,6 +27,7 @@ import org.eclipse.che.api.languageserver.shared.lsapi.LanguageDescriptionDTO;
 import org.eclipse.che.api.languageserver.shared.lsapi.ServerCapabilitiesDTO;
 import org.eclipse.che.api.languageserver.shared.lsapi.SignatureHelpOptionsDTO;
 import org.eclipse.che.api.languageserver.shared.model.LanguageDescription;
+import org.eclipse.che.dto.server.DtoFactory;
 
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
@@ -32,6 +35,14 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
  * @author Anatoliy Bazko
  */
 public class DtoConverter {
+    private static final Gson GSON = new Gson();
+
+    /**
+     * Converts result received from language server to DTO of the same structure, so it may be sent over json rpc.
+     */
+    public static <T> T asDto(Object result, Class<T> dtoInterface) {
+        return result == null ? null : DtoFactory.getInstance().createDtoFromJson(GSON.toJsonTree(result), dtoInterface);
+    }
 
     public static InitializeResultDTO asDto(InitializeResult initializeResult) {
         InitializeResultDTO initializeResultDTO = newDto(InitializeResultDTO.class);
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.languageserver;
 
+import org.eclipse.che.api.core.jsonrpc.RequestHandler;
 import org.eclipse.che.api.languageserver.messager.InitializeEventMessenger;
 import org.eclipse.che.api.languageserver.messager.PublishDiagnosticsParamsMessenger;
 import org.eclipse.che.api.languageserver.messager.ShowMessageMessenger;
@@ -17,12 +18,16 @@ import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistryImpl;
 import org.eclipse.che.api.languageserver.registry.ServerInitializer;
 import org.eclipse.che.api.languageserver.registry.ServerInitializerImpl;
+import org.eclipse.che.api.languageserver.service.CompletionRequestHandler;
+import org.eclipse.che.api.languageserver.service.DidChangeNotificationHandler;
+import org.eclipse.che.api.languageserver.service.HoverRequestHandler;
 import org.eclipse.che.api.languageserver.service.LanguageRegistryService;
 import org.eclipse.che.api.languageserver.service.TextDocumentService;
 import org.eclipse.che.api.languageserver.service.WorkspaceService;
 import org.eclipse.che.inject.DynaModule;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.multibindings.MapBinder;
 
 @DynaModule
 public class LanguageServerModule extends AbstractModule {
@@ -37,5 +42,10 @@ public class LanguageServerModule extends AbstractModule {
         bind(PublishDiagnosticsParamsMessenger.class);
         bind(ShowMessageMessenger.class);
         bind(InitializeEventMessenger.class);
+
+        MapBinder<String, RequestHandler> requestHandlers = MapBinder.newMapBinder(binder(), String.class, RequestHandler.class);
+        requestHandlers.addBinding("languageserver/textDocument/completion").to(CompletionRequestHandler.class);
+        requestHandlers.addBinding("languageserver/textDocument/hover").to(HoverRequestHandler.class);
+        requestHandlers.addBinding("languageserver/textDocument/didChange").to(DidChangeNotificationHandler.class);
     }
 }
@@ -33,7 +33,9 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 import static com.google.common.io.Files.getFileExtension;
@@ -53,6 +55,11 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
      */
     private final ConcurrentHashMap<ProjectExtensionKey, LanguageServer> projectToServer;
 
+    /**
+     * Servers which are being launched, callers which need the same server wait for the same launch.
+     */
+    private final ConcurrentHashMap<ProjectExtensionKey, CompletableFuture<LanguageServer>> launchingServers;
+
     private final Provider<ProjectManager> projectManagerProvider;
     private final ServerInitializer        initializer;
 
@@ -64,6 +71,7 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
         this.initializer = initializer;
         this.extensionToLauncher = new ConcurrentHashMap<>();
         this.projectToServer = new ConcurrentHashMap<>();
+        this.launchingServers = new ConcurrentHashMap<>();
         this.initializer.addObserver(this);
 
         for (LanguageServerLauncher launcher : languageServerLaunchers) {
@@ -79,6 +87,9 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
         String path = URI.create(fileUri).getPath();
 
         String extension = getFileExtension(path);
+        if (!extensionToLauncher.containsKey(extension)) {
+            return null;
+        }
         String projectPath = extractProjectPath(path);
 
         return findServer(extension, projectPath);
@@ -88,22 +99,45 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
     protected LanguageServer findServer(String extension, String projectPath) throws LanguageServerException {
         ProjectExtensionKey projectKey = createProjectKey(projectPath, extension);
 
-        for (LanguageServerLauncher launcher : extensionToLauncher.get(extension)) {
-            if (!projectToServer.containsKey(projectKey)) {
-                synchronized (launcher) {
-                    if (!projectToServer.containsKey(projectKey)) {
-                        LanguageServer server = initializer.initialize(launcher, projectPath);
-                        projectToServer.put(projectKey, server);
-                    }
+        LanguageServer server = projectToServer.get(projectKey);
+        if (server != null) {
+            return server;
+        }
+        List<LanguageServerLauncher> launchers = extensionToLauncher.get(extension);
+        if (launchers == null || launchers.isEmpty()) {
+            return null;
+        }
+
+        // Only callers of the same project and extension wait for slow launch, other projects are served by the same launcher
+        // concurrently.
+        CompletableFuture<LanguageServer> newLaunch = new CompletableFuture<>();
+        CompletableFuture<LanguageServer> launch = launchingServers.putIfAbsent(projectKey, newLaunch);
+        if (launch == null) {
+            try {
+                server = projectToServer.get(projectKey);
+                if (server == null) {
+                    server = initializer.initialize(launchers.get(0), projectPath);
+                    projectToServer.put(projectKey, server);
                 }
+                newLaunch.complete(server);
+                return server;
+            } catch (LanguageServerException | RuntimeException e) {
+                newLaunch.completeExceptionally(e);
+                throw e;
+            } finally {
+                launchingServers.remove(projectKey, newLaunch);
             }
-            return projectToServer.get(projectKey);
         }
-
-        return null;
+        try {
+            return launch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LanguageServerException("Interrupted while waiting for language server of " + projectPath);
+        } catch (ExecutionException e) {
+            throw new LanguageServerException(e.getCause().getMessage(), e.getCause());
+        }
     }
 
-
     @Override
     public List<LanguageDescription> getSupportedLanguages() {
         return extensionToLauncher.values()
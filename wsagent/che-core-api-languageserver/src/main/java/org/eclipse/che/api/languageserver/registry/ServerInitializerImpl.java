@@ -29,12 +29,12 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
 import java.lang.management.ManagementFactory;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
@@ -58,7 +58,7 @@ public class ServerInitializerImpl implements ServerInitializer {
     @Inject
     public ServerInitializerImpl(final PublishDiagnosticsParamsMessenger publishDiagnosticsParamsMessenger,
     		final ShowMessageMessenger showMessageMessenger) {
-        this.observers = new ArrayList<>();
+        this.observers = new CopyOnWriteArrayList<>();
         this.languageIdToServers = new ConcurrentHashMap<>();
         this.serversToInitResult = new ConcurrentHashMap<>();
         this.publishDiagnosticsParamsMessenger = publishDiagnosticsParamsMessenger;
@@ -94,17 +94,12 @@ public class ServerInitializerImpl implements ServerInitializer {
     public LanguageServer initialize(LanguageServerLauncher launcher, String projectPath) throws LanguageServerException {
         String languageId = launcher.getLanguageDescription().getLanguageId();
 
-        synchronized (launcher) {
-            LanguageServer server = languageIdToServers.get(languageId);
-            if (server != null) {
-                server = doInitialize(launcher, projectPath);
-            } else {
-                server = doInitialize(launcher, projectPath);
-                languageIdToServers.put(languageId, server);
-            }
-            onServerInitialized(server, serversToInitResult.get(server).getInitializeResult().getCapabilities(), launcher.getLanguageDescription(), projectPath);
-            return server;
-        }
+        // launches of the same launcher for different projects are independent, registry makes sure that server is launched only
+        // once for the same project
+        LanguageServer server = doInitialize(launcher, projectPath);
+        languageIdToServers.putIfAbsent(languageId, server);
+        onServerInitialized(server, serversToInitResult.get(server).getInitializeResult().getCapabilities(), launcher.getLanguageDescription(), projectPath);
+        return server;
     }
 
     @Override
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.jsonrpc.RequestHandler;
+import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.shared.lsapi.DidChangeTextDocumentParamsDTO;
+import org.slf4j.Logger;
+
+import static org.eclipse.che.api.languageserver.service.TextDocumentService.prefixURI;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Receives changes of documents over json rpc, changes which come in quick succession are sent to language server together.
+ *
+ * @author agent
+ */
+@Singleton
+public class DidChangeNotificationHandler extends RequestHandler<DidChangeTextDocumentParamsDTO, Void> {
+    private static final Logger LOG = getLogger(DidChangeNotificationHandler.class);
+
+    private final LanguageServerGateway gateway;
+
+    @Inject
+    public DidChangeNotificationHandler(LanguageServerGateway gateway) {
+        super(DidChangeTextDocumentParamsDTO.class, Void.class);
+        this.gateway = gateway;
+    }
+
+    @Override
+    public void handleNotification(String endpointId, DidChangeTextDocumentParamsDTO change) {
+        change.getTextDocument().setUri(prefixURI(change.getTextDocument().getUri()));
+        change.setUri(prefixURI(change.getUri()));
+        try {
+            gateway.didChange(change);
+        } catch (LanguageServerException e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+}
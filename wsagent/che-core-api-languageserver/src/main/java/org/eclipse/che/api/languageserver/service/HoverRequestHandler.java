@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.jsonrpc.RequestHandler;
+import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.shared.lsapi.HoverDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentPositionParamsDTO;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.eclipse.che.api.languageserver.DtoConverter.asDto;
+import static org.eclipse.che.api.languageserver.service.TextDocumentService.prefixURI;
+
+/**
+ * Receives hover requests over json rpc. Result is sent to client when language server answers, dispatcher's thread isn't
+ * blocked while it waits. Request is answered as cancelled if newer hover request for the same document arrives before.
+ *
+ * @author agent
+ */
+@Singleton
+public class HoverRequestHandler extends RequestHandler<TextDocumentPositionParamsDTO, HoverDTO> {
+    private final LanguageServerGateway gateway;
+
+    @Inject
+    public HoverRequestHandler(LanguageServerGateway gateway) {
+        super(TextDocumentPositionParamsDTO.class, HoverDTO.class);
+        this.gateway = gateway;
+    }
+
+    @Override
+    public CompletableFuture<HoverDTO> handleRequestAsync(String endpointId, TextDocumentPositionParamsDTO params) {
+        params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
+        params.setUri(prefixURI(params.getUri()));
+        try {
+            return gateway.hover(params).thenApply(result -> asDto(result, HoverDTO.class));
+        } catch (LanguageServerException e) {
+            final CompletableFuture<HoverDTO> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import io.typefox.lsapi.CompletionList;
+import io.typefox.lsapi.Hover;
+import io.typefox.lsapi.TextDocumentPositionParams;
+import io.typefox.lsapi.services.LanguageServer;
+
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
+import org.eclipse.che.api.languageserver.shared.lsapi.DidChangeTextDocumentParamsDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentContentChangeEventDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.VersionedTextDocumentIdentifierDTO;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.Lock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Forwards requests of editor to language servers without waiting for their results.
+ * <p/>
+ * Completion and hover requests for document supersede previous request of the same kind, previous request is cancelled if it is not
+ * completed yet. Changes of document which are received during {@link #CHANGES_DELAY_MS} are sent to language server as single
+ * {@code didChange} notification. Pending changes of document are always sent before any other request about the same document, so
+ * language server never answers for outdated content.
+ *
+ * @author agent
+ */
+@Singleton
+public class LanguageServerGateway {
+    private static final Logger LOG = LoggerFactory.getLogger(LanguageServerGateway.class);
+
+    /** Time during which changes of document are collected before they are sent to language server. */
+    static final long CHANGES_DELAY_MS = 50;
+
+    private final LanguageServerRegistry            registry;
+    private final Map<String, PendingChanges>       pendingChanges;
+    private final Map<String, CompletableFuture<?>> runningRequests;
+    private final Striped<Lock>                     documentLocks;
+    private final ScheduledExecutorService          changesSender;
+
+    @Inject
+    public LanguageServerGateway(LanguageServerRegistry registry) {
+        this.registry = registry;
+        this.pendingChanges = new ConcurrentHashMap<>();
+        this.runningRequests = new ConcurrentHashMap<>();
+        this.documentLocks = Striped.lock(64);
+        this.changesSender = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("LanguageServerChanges")
+                                                                                                 .setUncaughtExceptionHandler(
+                                                                                                         LoggingUncaughtExceptionHandler
+                                                                                                                 .getInstance())
+                                                                                                 .setDaemon(true)
+                                                                                                 .build());
+    }
+
+    /** Forwards completion request, returns {@code null} if there is no language server for document. */
+    public CompletableFuture<CompletionList> completion(TextDocumentPositionParams params) throws LanguageServerException {
+        final String uri = params.getTextDocument().getUri();
+        final LanguageServer server = registry.findServer(uri);
+        if (server == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        sendChanges(uri);
+        return supersede("completion:" + uri, server.getTextDocumentService().completion(params));
+    }
+
+    /** Forwards hover request, returns {@code null} if there is no language server for document. */
+    public CompletableFuture<Hover> hover(TextDocumentPositionParams params) throws LanguageServerException {
+        final String uri = params.getTextDocument().getUri();
+        final LanguageServer server = registry.findServer(uri);
+        if (server == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        sendChanges(uri);
+        return supersede("hover:" + uri, server.getTextDocumentService().hover(params));
+    }
+
+    /** Collects changes of document, changes are sent to language server after short delay together with changes received after them. */
+    public void didChange(DidChangeTextDocumentParamsDTO change) throws LanguageServerException {
+        final String uri = change.getTextDocument().getUri();
+        final LanguageServer server = registry.findServer(uri);
+        if (server == null) {
+            return;
+        }
+        final PendingChanges newChanges = new PendingChanges(server);
+        final PendingChanges changes = pendingChanges.merge(uri, newChanges.add(change), (pending, ignored) -> pending.add(change));
+        if (changes == newChanges) {
+            try {
+                changesSender.schedule(() -> sendChanges(uri), CHANGES_DELAY_MS, MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                sendChanges(uri);
+            }
+        }
+    }
+
+    /**
+     * Sends collected changes of document to its language server. Must be called before any request about document is forwarded to
+     * language server.
+     */
+    public void sendChanges(String uri) {
+        final Lock lock = documentLocks.get(uri);
+        lock.lock();
+        try {
+            final PendingChanges changes = pendingChanges.remove(uri);
+            if (changes != null) {
+                changes.server.getTextDocumentService().didChange(changes.toParams(uri));
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Can't send changes of " + uri + " to language server. " + e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        changesSender.shutdownNow();
+        new ArrayList<>(pendingChanges.keySet()).forEach(this::sendChanges);
+    }
+
+    private <T> CompletableFuture<T> supersede(String key, CompletableFuture<T> request) {
+        final CompletableFuture<?> previous = runningRequests.put(key, request);
+        if (previous != null && !previous.isDone()) {
+            previous.cancel(true);
+        }
+        request.whenComplete((result, error) -> runningRequests.remove(key, request));
+        return request;
+    }
+
+    /** Changes of document which are not sent to language server yet. */
+    private static class PendingChanges {
+        final LanguageServer                          server;
+        final List<TextDocumentContentChangeEventDTO> contentChanges;
+
+        int version;
+
+        PendingChanges(LanguageServer server) {
+            this.server = server;
+            this.contentChanges = new ArrayList<>();
+        }
+
+        /** Called atomically by map which contains this instance, changes are never added after they are removed from the map. */
+        PendingChanges add(DidChangeTextDocumentParamsDTO change) {
+            for (TextDocumentContentChangeEventDTO contentChange : change.getContentChanges()) {
+                if (contentChange.getRange() == null) {
+                    // whole content of document is replaced, previous changes don't matter
+                    contentChanges.clear();
+                }
+                contentChanges.add(contentChange);
+            }
+            version = Math.max(version, change.getTextDocument().getVersion());
+            return this;
+        }
+
+        DidChangeTextDocumentParamsDTO toParams(String uri) {
+            final DidChangeTextDocumentParamsDTO params = newDto(DidChangeTextDocumentParamsDTO.class);
+            params.setTextDocument(newDto(VersionedTextDocumentIdentifierDTO.class));
+            params.getTextDocument().setUri(uri);
+            params.getTextDocument().setVersion(version);
+            params.setUri(uri);
+            params.setContentChanges(contentChanges);
+            return params;
+        }
+    }
+}
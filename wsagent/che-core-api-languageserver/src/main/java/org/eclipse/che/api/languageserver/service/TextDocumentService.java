@@ -44,6 +44,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 
 import static java.util.Collections.emptyList;
@@ -59,10 +60,12 @@ public class TextDocumentService {
     private static final String FILE_PROJECTS = "file:///projects";
 
     private final LanguageServerRegistry languageServerRegistry;
+    private final LanguageServerGateway  gateway;
 
     @Inject
-    public TextDocumentService(LanguageServerRegistry languageServerRegistry) {
+    public TextDocumentService(LanguageServerRegistry languageServerRegistry, LanguageServerGateway gateway) {
         this.languageServerRegistry = languageServerRegistry;
+        this.gateway = gateway;
     }
 
     static String prefixURI(String relativePath) {
@@ -85,12 +88,12 @@ public class TextDocumentService {
                                                                                                       LanguageServerException {
         textDocumentPositionParams.getTextDocument().setUri(prefixURI(textDocumentPositionParams.getTextDocument().getUri()));
         textDocumentPositionParams.setUri(prefixURI(textDocumentPositionParams.getUri()));
-        LanguageServer server = getServer(textDocumentPositionParams.getTextDocument().getUri());
-        if (server == null) {
+        try {
+            return gateway.completion(textDocumentPositionParams).get();
+        } catch (CancellationException e) {
+            // superseded by newer completion request for the same document
             return null;
         }
-        return server.getTextDocumentService()
-                     .completion(textDocumentPositionParams).get();
     }
 
     @POST
@@ -178,10 +181,10 @@ public class TextDocumentService {
             throws LanguageServerException, ExecutionException, InterruptedException {
         positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
         positionParams.setUri(prefixURI(positionParams.getUri()));
-        LanguageServer server = getServer(positionParams.getTextDocument().getUri());
-        if (server != null) {
-            return server.getTextDocumentService().hover(positionParams).get();
-        } else {
+        try {
+            return gateway.hover(positionParams).get();
+        } catch (CancellationException e) {
+            // superseded by newer hover request for the same document
             return null;
         }
     }
@@ -253,10 +256,7 @@ public class TextDocumentService {
     public void didChange(DidChangeTextDocumentParamsDTO change) throws LanguageServerException {
         change.getTextDocument().setUri(prefixURI(change.getTextDocument().getUri()));
         change.setUri(prefixURI(change.getUri()));
-        LanguageServer server = getServer(change.getTextDocument().getUri());
-        if (server != null) {
-            server.getTextDocumentService().didChange(change);
-        }
+        gateway.didChange(change);
     }
 
     @POST
@@ -294,6 +294,11 @@ public class TextDocumentService {
     }
 
     private LanguageServer getServer(String uri) throws LanguageServerException {
-        return languageServerRegistry.findServer(uri);
+        LanguageServer server = languageServerRegistry.findServer(uri);
+        if (server != null) {
+            // language server must see all changes of document before it handles any other request about it
+            gateway.sendChanges(uri);
+        }
+        return server;
     }
 }
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver;
+
+import io.typefox.lsapi.impl.CompletionItemImpl;
+import io.typefox.lsapi.impl.CompletionListImpl;
+import io.typefox.lsapi.impl.HoverImpl;
+import io.typefox.lsapi.impl.MarkedStringImpl;
+
+import org.eclipse.che.api.languageserver.shared.lsapi.CompletionListDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.HoverDTO;
+import org.testng.annotations.Test;
+
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.languageserver.DtoConverter.asDto;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link DtoConverter}
+ *
+ * @author agent
+ */
+public class DtoConverterTest {
+
+    @Test
+    public void convertsCompletionListToDto() throws Exception {
+        CompletionItemImpl item = new CompletionItemImpl();
+        item.setLabel("toString");
+        item.setDetail("String toString()");
+        item.setInsertText("toString()");
+        CompletionListImpl completionList = new CompletionListImpl();
+        completionList.setIncomplete(true);
+        completionList.setItems(singletonList(item));
+
+        CompletionListDTO dto = asDto(completionList, CompletionListDTO.class);
+
+        assertTrue(dto.isIncomplete());
+        assertEquals(dto.getItems().size(), 1);
+        assertEquals(dto.getItems().get(0).getLabel(), "toString");
+        assertEquals(dto.getItems().get(0).getDetail(), "String toString()");
+        assertEquals(dto.getItems().get(0).getInsertText(), "toString()");
+    }
+
+    @Test
+    public void convertsHoverToDto() throws Exception {
+        MarkedStringImpl content = new MarkedStringImpl();
+        content.setLanguage("java");
+        content.setValue("int length()");
+        HoverImpl hover = new HoverImpl();
+        hover.setContents(singletonList(content));
+
+        HoverDTO dto = asDto(hover, HoverDTO.class);
+
+        assertEquals(dto.getContents().size(), 1);
+        assertEquals(dto.getContents().get(0).getLanguage(), "java");
+        assertEquals(dto.getContents().get(0).getValue(), "int length()");
+        assertNull(dto.getRange());
+    }
+
+    @Test
+    public void convertsNullToNull() throws Exception {
+        assertNull(asDto(null, HoverDTO.class));
+    }
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import io.typefox.lsapi.CompletionList;
+import io.typefox.lsapi.TextDocumentPositionParams;
+import io.typefox.lsapi.impl.CompletionItemImpl;
+import io.typefox.lsapi.impl.CompletionListImpl;
+
+import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.shared.lsapi.CompletionListDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentIdentifierDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentPositionParamsDTO;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link CompletionRequestHandler}
+ *
+ * @author agent
+ */
+@Listeners(MockitoTestNGListener.class)
+public class CompletionRequestHandlerTest {
+    @Mock
+    private LanguageServerGateway gateway;
+
+    private CompletionRequestHandler handler;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        handler = new CompletionRequestHandler(gateway);
+    }
+
+    @Test
+    public void answersWithCompletionOfLanguageServerWhenItIsReady() throws Exception {
+        CompletableFuture<CompletionList> completion = new CompletableFuture<>();
+        when(gateway.completion(any(TextDocumentPositionParams.class))).thenReturn(completion);
+
+        CompletableFuture<CompletionListDTO> result = handler.handleRequestAsync("endpoint", position("/1/Test.java"));
+
+        assertFalse(result.isDone());
+        CompletionItemImpl item = new CompletionItemImpl();
+        item.setLabel("toString");
+        CompletionListImpl completionList = new CompletionListImpl();
+        completionList.setItems(singletonList(item));
+        completion.complete(completionList);
+        assertEquals(result.get().getItems().get(0).getLabel(), "toString");
+    }
+
+    @Test
+    public void prefixesDocumentUriWithProjectsRoot() throws Exception {
+        when(gateway.completion(any(TextDocumentPositionParams.class))).thenReturn(new CompletableFuture<>());
+
+        handler.handleRequestAsync("endpoint", position("/1/Test.java"));
+
+        ArgumentCaptor<TextDocumentPositionParams> captor = ArgumentCaptor.forClass(TextDocumentPositionParams.class);
+        verify(gateway).completion(captor.capture());
+        assertEquals(captor.getValue().getTextDocument().getUri(), "file:///projects/1/Test.java");
+    }
+
+    @Test
+    public void cancelsAnswerWhenLanguageServerRequestIsCancelled() throws Exception {
+        CompletableFuture<CompletionList> completion = new CompletableFuture<>();
+        when(gateway.completion(any(TextDocumentPositionParams.class))).thenReturn(completion);
+
+        CompletableFuture<CompletionListDTO> result = handler.handleRequestAsync("endpoint", position("/1/Test.java"));
+        completion.cancel(true);
+
+        assertTrue(result.isCompletedExceptionally());
+    }
+
+    @Test(expectedExceptions = ExecutionException.class)
+    public void failsAnswerWhenLanguageServerIsNotAvailable() throws Exception {
+        when(gateway.completion(any(TextDocumentPositionParams.class))).thenThrow(new LanguageServerException("not available"));
+
+        handler.handleRequestAsync("endpoint", position("/1/Test.java")).get();
+    }
+
+    static TextDocumentPositionParamsDTO position(String path) {
+        TextDocumentIdentifierDTO document = newDto(TextDocumentIdentifierDTO.class);
+        document.setUri(path);
+        TextDocumentPositionParamsDTO position = newDto(TextDocumentPositionParamsDTO.class);
+        position.setTextDocument(document);
+        position.setUri(path);
+        return position;
+    }
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.shared.lsapi.DidChangeTextDocumentParamsDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.VersionedTextDocumentIdentifierDTO;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link DidChangeNotificationHandler}
+ *
+ * @author agent
+ */
+@Listeners(MockitoTestNGListener.class)
+public class DidChangeNotificationHandlerTest {
+    @Mock
+    private LanguageServerGateway gateway;
+
+    private DidChangeNotificationHandler handler;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        handler = new DidChangeNotificationHandler(gateway);
+    }
+
+    @Test
+    public void passesChangeWithPrefixedDocumentUriToGateway() throws Exception {
+        handler.handleNotification("endpoint", change("/1/Test.java"));
+
+        ArgumentCaptor<DidChangeTextDocumentParamsDTO> captor = ArgumentCaptor.forClass(DidChangeTextDocumentParamsDTO.class);
+        verify(gateway).didChange(captor.capture());
+        assertEquals(captor.getValue().getTextDocument().getUri(), "file:///projects/1/Test.java");
+        assertEquals(captor.getValue().getUri(), "file:///projects/1/Test.java");
+    }
+
+    @Test
+    public void doesNotFailWhenLanguageServerIsNotAvailable() throws Exception {
+        doThrow(new LanguageServerException("not available")).when(gateway).didChange(any(DidChangeTextDocumentParamsDTO.class));
+
+        handler.handleNotification("endpoint", change("/1/Test.java"));
+    }
+
+    private static DidChangeTextDocumentParamsDTO change(String path) {
+        VersionedTextDocumentIdentifierDTO document = newDto(VersionedTextDocumentIdentifierDTO.class);
+        document.setUri(path);
+        document.setVersion(1);
+        DidChangeTextDocumentParamsDTO change = newDto(DidChangeTextDocumentParamsDTO.class);
+        change.setTextDocument(document);
+        change.setUri(path);
+        return change;
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import io.typefox.lsapi.Hover;
+import io.typefox.lsapi.TextDocumentPositionParams;
+import io.typefox.lsapi.impl.HoverImpl;
+import io.typefox.lsapi.impl.MarkedStringImpl;
+
+import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.shared.lsapi.HoverDTO;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.languageserver.service.CompletionRequestHandlerTest.position;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests for {@link HoverRequestHandler}
+ *
+ * @author agent
+ */
+@Listeners(MockitoTestNGListener.class)
+public class HoverRequestHandlerTest {
+    @Mock
+    private LanguageServerGateway gateway;
+
+    private HoverRequestHandler handler;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        handler = new HoverRequestHandler(gateway);
+    }
+
+    @Test
+    public void answersWithHoverOfLanguageServerWhenItIsReady() throws Exception {
+        CompletableFuture<Hover> hover = new CompletableFuture<>();
+        when(gateway.hover(any(TextDocumentPositionParams.class))).thenReturn(hover);
+
+        CompletableFuture<HoverDTO> result = handler.handleRequestAsync("endpoint", position("/1/Test.java"));
+
+        assertFalse(result.isDone());
+        MarkedStringImpl content = new MarkedStringImpl();
+        content.setValue("int length()");
+        HoverImpl hoverImpl = new HoverImpl();
+        hoverImpl.setContents(singletonList(content));
+        hover.complete(hoverImpl);
+        assertEquals(result.get().getContents().get(0).getValue(), "int length()");
+    }
+
+    @Test
+    public void answersWithNullWhenThereIsNoHover() throws Exception {
+        when(gateway.hover(any(TextDocumentPositionParams.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertNull(handler.handleRequestAsync("endpoint", position("/1/Test.java")).get());
+    }
+
+    @Test(expectedExceptions = ExecutionException.class)
+    public void failsAnswerWhenLanguageServerIsNotAvailable() throws Exception {
+        when(gateway.hover(any(TextDocumentPositionParams.class))).thenThrow(new LanguageServerException("not available"));
+
+        handler.handleRequestAsync("endpoint", position("/1/Test.java")).get();
+    }
+}
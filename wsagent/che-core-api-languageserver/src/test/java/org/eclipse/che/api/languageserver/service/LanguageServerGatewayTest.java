@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import io.typefox.lsapi.CompletionList;
+import io.typefox.lsapi.DidChangeTextDocumentParams;
+import io.typefox.lsapi.TextDocumentPositionParams;
+import io.typefox.lsapi.services.LanguageServer;
+import io.typefox.lsapi.services.TextDocumentService;
+
+import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
+import org.eclipse.che.api.languageserver.shared.lsapi.DidChangeTextDocumentParamsDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.RangeDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentContentChangeEventDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentIdentifierDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.TextDocumentPositionParamsDTO;
+import org.eclipse.che.api.languageserver.shared.lsapi.VersionedTextDocumentIdentifierDTO;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+@Listeners(MockitoTestNGListener.class)
+public class LanguageServerGatewayTest {
+    private static final String URI = "file:///projects/1/test.txt";
+
+    @Mock
+    private LanguageServerRegistry registry;
+    @Mock
+    private LanguageServer         languageServer;
+    @Mock
+    private TextDocumentService    textDocumentService;
+
+    private LanguageServerGateway gateway;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(registry.findServer(URI)).thenReturn(languageServer);
+        when(languageServer.getTextDocumentService()).thenReturn(textDocumentService);
+        gateway = new LanguageServerGateway(registry);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        gateway.stop();
+    }
+
+    @Test
+    public void sendsChangesReceivedInQuickSuccessionTogether() throws Exception {
+        gateway.didChange(change(1, "a"));
+        gateway.didChange(change(2, "b"));
+
+        ArgumentCaptor<DidChangeTextDocumentParams> captor = ArgumentCaptor.forClass(DidChangeTextDocumentParams.class);
+        verify(textDocumentService, timeout(1000)).didChange(captor.capture());
+        assertEquals(captor.getValue().getTextDocument().getVersion(), 2);
+        assertEquals(captor.getValue().getContentChanges().size(), 2);
+        assertEquals(captor.getValue().getContentChanges().get(0).getText(), "a");
+        assertEquals(captor.getValue().getContentChanges().get(1).getText(), "b");
+    }
+
+    @Test
+    public void sendsPendingChangesBeforeRequest() throws Exception {
+        when(textDocumentService.completion(any(TextDocumentPositionParams.class))).thenReturn(new CompletableFuture<>());
+
+        gateway.didChange(change(1, "a"));
+        gateway.completion(position());
+
+        InOrder inOrder = inOrder(textDocumentService);
+        inOrder.verify(textDocumentService).didChange(any(DidChangeTextDocumentParams.class));
+        inOrder.verify(textDocumentService).completion(any(TextDocumentPositionParams.class));
+    }
+
+    @Test
+    public void cancelsSupersededCompletionRequest() throws Exception {
+        CompletableFuture<CompletionList> first = new CompletableFuture<>();
+        CompletableFuture<CompletionList> second = new CompletableFuture<>();
+        when(textDocumentService.completion(any(TextDocumentPositionParams.class))).thenReturn(first, second);
+
+        gateway.completion(position());
+        gateway.completion(position());
+
+        assertTrue(first.isCancelled());
+        assertFalse(second.isDone());
+    }
+
+    @Test
+    public void returnsNullResultWhenThereIsNoLanguageServer() throws Exception {
+        TextDocumentPositionParamsDTO position = position();
+        position.getTextDocument().setUri("file:///projects/1/test.unknown");
+
+        assertNull(gateway.completion(position).get());
+    }
+
+    private DidChangeTextDocumentParamsDTO change(int version, String text) {
+        VersionedTextDocumentIdentifierDTO document = newDto(VersionedTextDocumentIdentifierDTO.class);
+        document.setUri(URI);
+        document.setVersion(version);
+        TextDocumentContentChangeEventDTO contentChange = newDto(TextDocumentContentChangeEventDTO.class);
+        contentChange.setRange(newDto(RangeDTO.class));
+        contentChange.setText(text);
+        DidChangeTextDocumentParamsDTO change = newDto(DidChangeTextDocumentParamsDTO.class);
+        change.setTextDocument(document);
+        change.setContentChanges(singletonList(contentChange));
+        return change;
+    }
+
+    private TextDocumentPositionParamsDTO position() {
+        TextDocumentIdentifierDTO document = newDto(TextDocumentIdentifierDTO.class);
+        document.setUri(URI);
+        TextDocumentPositionParamsDTO position = newDto(TextDocumentPositionParamsDTO.class);
+        position.setTextDocument(document);
+        return position;
+    }
+}
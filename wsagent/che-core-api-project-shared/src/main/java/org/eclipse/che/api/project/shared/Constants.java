@@ -29,6 +29,10 @@ public class Constants {
     public static final String LINK_REL_DELETE                = "delete";
     public static final String LINK_REL_GET_CONTENT           = "get content";
     public static final String LINK_REL_UPDATE_CONTENT        = "update content";
+    /** Placeholder for path of item in link templates of compact project tree. */
+    public static final String LINK_TEMPLATE_PATH             = "{path}";
+    /** Response header of project search that contains cursor of the next page of results. */
+    public static final String SEARCH_CURSOR_HEADER           = "X-Search-Cursor";
 
     public static final String LINK_REL_PROJECT_TYPES = "project types";
 
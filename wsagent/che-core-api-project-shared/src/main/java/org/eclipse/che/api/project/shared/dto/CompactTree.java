@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Compact representation of project tree. Links are not included in each node but are sent once as templates, client gets links for
+ * node by replacing {@code {path}} in template with path of node relative to the root of projects (without leading slash).
+ *
+ * @author agent
+ */
+@DTO
+public interface CompactTree {
+    /** Get path of root node of tree. */
+    String getPath();
+
+    void setPath(String path);
+
+    CompactTree withPath(String path);
+
+    /** Get link templates for file nodes. */
+    List<Link> getFileLinks();
+
+    void setFileLinks(List<Link> fileLinks);
+
+    CompactTree withFileLinks(List<Link> fileLinks);
+
+    /** Get link templates for folder and project nodes. */
+    List<Link> getFolderLinks();
+
+    void setFolderLinks(List<Link> folderLinks);
+
+    CompactTree withFolderLinks(List<Link> folderLinks);
+
+    /** Get root node of tree. */
+    CompactTreeNode getRoot();
+
+    void setRoot(CompactTreeNode root);
+
+    CompactTree withRoot(CompactTreeNode root);
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Node of {@link CompactTree}. Path of node is not included, it is built from names of parent nodes.
+ *
+ * @author agent
+ */
+@DTO
+public interface CompactTreeNode {
+    /** Get name of item. */
+    String getName();
+
+    void setName(String name);
+
+    CompactTreeNode withName(String name);
+
+    /** Get type of item, e.g. "file", "folder" or "project". */
+    String getType();
+
+    void setType(String type);
+
+    CompactTreeNode withType(String type);
+
+    /** Get content length of file, always 0 for folders. */
+    long getSize();
+
+    void setSize(long size);
+
+    CompactTreeNode withSize(long size);
+
+    /** Get last modified date. */
+    long getModified();
+
+    void setModified(long modified);
+
+    CompactTreeNode withModified(long modified);
+
+    /** Get children of folder, {@code null} if folder is not visited because of depth of tree. */
+    @Nullable
+    List<CompactTreeNode> getChildren();
+
+    void setChildren(List<CompactTreeNode> children);
+
+    CompactTreeNode withChildren(List<CompactTreeNode> children);
+}
@@ -85,4 +85,11 @@ public interface ItemReference extends Hyperlinks {
     ProjectConfigDto getProjectConfig();
 
     void setProjectConfig(ProjectConfigDto config);
+
+    /** Occurrences of searched text in file. Filled only in results of search with positions. */
+    List<SearchOccurrence> getOccurrences();
+
+    void setOccurrences(List<SearchOccurrence> occurrences);
+
+    ItemReference withOccurrences(List<SearchOccurrence> occurrences);
 }
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Occurrence of searched text in file found by project search.
+ *
+ * @author agent
+ */
+@DTO
+public interface SearchOccurrence {
+    /** Get matched text as it appears in file. */
+    String getPhrase();
+
+    void setPhrase(String phrase);
+
+    SearchOccurrence withPhrase(String phrase);
+
+    /** Get offset of the first character of matched text from the beginning of file. */
+    int getStartOffset();
+
+    void setStartOffset(int startOffset);
+
+    SearchOccurrence withStartOffset(int startOffset);
+
+    /** Get offset after the last character of matched text from the beginning of file. */
+    int getEndOffset();
+
+    void setEndOffset(int endOffset);
+
+    SearchOccurrence withEndOffset(int endOffset);
+
+    /** Get number of line that contains matched text. Lines are numbered from 1. */
+    int getLineNumber();
+
+    void setLineNumber(int lineNumber);
+
+    SearchOccurrence withLineNumber(int lineNumber);
+
+    /** Get content of line that contains matched text. */
+    String getLineContent();
+
+    void setLineContent(String lineContent);
+
+    SearchOccurrence withLineContent(String lineContent);
+}
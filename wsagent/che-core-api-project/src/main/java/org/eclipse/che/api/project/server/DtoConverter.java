@@ -17,10 +17,13 @@ import org.eclipse.che.api.core.model.project.type.Attribute;
 import org.eclipse.che.api.project.server.importer.ProjectImporter;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
 import org.eclipse.che.api.project.shared.dto.AttributeDto;
+import org.eclipse.che.api.project.shared.dto.CompactTreeNode;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.ProjectImporterDescriptor;
 import org.eclipse.che.api.project.shared.dto.ProjectTypeDto;
+import org.eclipse.che.api.project.shared.dto.SearchOccurrence;
 import org.eclipse.che.api.project.shared.dto.ValueDto;
+import org.eclipse.che.api.vfs.search.OffsetData;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectProblemDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
@@ -95,6 +98,21 @@ public class DtoConverter {
                                           .withModified(folder.getModified());
     }
 
+    /** Converts {@link FileEntry} to {@link CompactTreeNode}. Unlike {@link #asDto(FileEntry)} attributes of file are not read. */
+    public static CompactTreeNode asTreeNode(FileEntry file) throws ServerException {
+        return newDto(CompactTreeNode.class).withName(file.getName())
+                                            .withType("file")
+                                            .withModified(file.getModified())
+                                            .withSize(file.getVirtualFile().getLength());
+    }
+
+    /** Converts {@link FolderEntry} to {@link CompactTreeNode}. Unlike {@link #asDto(FolderEntry)} attributes of folder are not read. */
+    public static CompactTreeNode asTreeNode(FolderEntry folder) {
+        return newDto(CompactTreeNode.class).withName(folder.getName())
+                                            .withType(folder.isProject() ? "project" : "folder")
+                                            .withModified(folder.getModified());
+    }
+
     /**
      * The method tries to provide as much as possible information about project. If get error then save information about error
      * with 'problems' field in ProjectConfigDto.
@@ -146,4 +164,12 @@ public class DtoConverter {
     public static ProjectProblemDto asDto(RegisteredProject.Problem problem) {
         return newDto(ProjectProblemDto.class).withCode(problem.code).withMessage(problem.message);
     }
+
+    public static SearchOccurrence asDto(OffsetData occurrence) {
+        return newDto(SearchOccurrence.class).withPhrase(occurrence.getPhrase())
+                                             .withStartOffset(occurrence.getStartOffset())
+                                             .withEndOffset(occurrence.getEndOffset())
+                                             .withLineNumber(occurrence.getLineNumber())
+                                             .withLineContent(occurrence.getLineContent());
+    }
 }
@@ -212,7 +212,18 @@ public class FolderEntry extends VirtualFileEntry {
      *         if other error occurs
      */
     public FolderEntry createFolder(String name) throws ConflictException, ServerException, ForbiddenException {
-        return new FolderEntry(getVirtualFile().createFolder(name), projectRegistry);
+        final VirtualFile folder = getVirtualFile().createFolder(name);
+        if (projectRegistry != null) {
+            projectRegistry.onItemCreated(folder);
+        }
+        return new FolderEntry(folder, projectRegistry);
+    }
+
+    /** Notifies registry of projects that items are created in this folder bypassing methods of this class, e.g. from archive. */
+    void onChildrenCreated() {
+        if (projectRegistry != null) {
+            projectRegistry.onItemCreated(getVirtualFile());
+        }
     }
 
     private boolean isRoot(VirtualFile virtualFile) {
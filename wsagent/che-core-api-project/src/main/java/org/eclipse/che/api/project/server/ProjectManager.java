@@ -122,6 +122,10 @@ public class ProjectManager {
                     @Override
                     public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
                         LOG.debug("FS event detected: " + eventType + " " + virtualFile.getPath().toString() + " " + virtualFile.isFile());
+                        if (eventType == FileWatcherEventType.CREATED) {
+                            projectRegistry.onFolderCreated(virtualFile);
+                        }
+                        scheduleIndexUpdate(virtualFile, eventType);
                     }
                 };
         fileWatchNotifier.addNotificationListener(defaultListener);
@@ -133,6 +137,33 @@ public class ProjectManager {
         }
     }
 
+    /**
+     * Files may be changed bypassing virtual file system, e.g. by git or build tools. Changes are passed to searcher which coalesces
+     * them and updates index in background.
+     */
+    private void scheduleIndexUpdate(VirtualFile virtualFile, FileWatcherEventType eventType) {
+        final Searcher searcher;
+        try {
+            searcher = getSearcher();
+        } catch (NotFoundException | ServerException e) {
+            LOG.debug(e.getLocalizedMessage());
+            return;
+        }
+        switch (eventType) {
+            case CREATED:
+                searcher.scheduleAdd(virtualFile);
+                break;
+            case MODIFIED:
+                if (virtualFile.isFile()) {
+                    searcher.scheduleUpdate(virtualFile);
+                }
+                break;
+            case DELETED:
+                searcher.scheduleDelete(virtualFile.getPath().toString(), virtualFile.isFile());
+                break;
+        }
+    }
+
     @PreDestroy
     void stop() {
         executor.shutdownNow();
@@ -627,6 +658,7 @@ public class ProjectManager {
         }
 
         final VirtualFile newItem = oldItem.copyTo(newParent, newName, overwrite);
+        projectRegistry.onItemCreated(newItem);
         final RegisteredProject owner = projectRegistry.getParentProject(newItem.getPath().toString());
         if (owner == null) {
             throw new NotFoundException("Parent project not found " + newItem.getPath().toString());
@@ -684,6 +716,7 @@ public class ProjectManager {
 
         // TODO lock token ?
         final VirtualFile newItem = oldItem.moveTo(newParent, newName, overwrite, null);
+        projectRegistry.onItemCreated(newItem);
         final RegisteredProject owner = projectRegistry.getParentProject(newItem.getPath().toString());
         if (owner == null) {
             throw new NotFoundException("Parent project not found " + newItem.getPath().toString());
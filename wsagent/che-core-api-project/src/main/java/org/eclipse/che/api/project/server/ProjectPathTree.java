@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registered projects organized as tree of path segments. Lookup of project by path, of the nearest project that owns a path and of
+ * projects nested in a folder takes time proportional to depth of path and doesn't depend on total number of projects.
+ * <p/>
+ * Reads are not blocked and may run concurrently with modifications, modifications are serialized.
+ *
+ * @author agent
+ */
+class ProjectPathTree {
+    private final Node                           root;
+    private final Map<String, RegisteredProject> projects;
+
+    ProjectPathTree() {
+        root = new Node(null, "");
+        projects = new ConcurrentHashMap<>();
+    }
+
+    /** Returns project registered with exactly specified path or {@code null}. */
+    RegisteredProject get(String path) {
+        return projects.get(path);
+    }
+
+    boolean contains(String path) {
+        return projects.containsKey(path);
+    }
+
+    Collection<RegisteredProject> getAll() {
+        return projects.values();
+    }
+
+    /** Returns project registered with specified path or the nearest project registered with one of parent paths. */
+    RegisteredProject findNearest(String path) {
+        Node node = root;
+        RegisteredProject nearest = node.project;
+        for (int start = 0, length = path.length(); node != null && start < length; ) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                node = node.children.get(path.substring(start, end));
+                if (node != null && node.project != null) {
+                    nearest = node.project;
+                }
+            }
+            start = end + 1;
+        }
+        return nearest;
+    }
+
+    /** Returns paths of all projects nested in specified path at any depth. Project registered with specified path is not included. */
+    List<String> getNestedPaths(String path) {
+        final List<String> paths = new ArrayList<>();
+        final Node node = find(path);
+        if (node != null) {
+            collect(node, paths);
+        }
+        return paths;
+    }
+
+    /** Registers project. Returns project that was previously registered with the same path or {@code null}. */
+    synchronized RegisteredProject put(String path, RegisteredProject project) {
+        Node node = root;
+        for (int start = 0, length = path.length(); start < length; ) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                node = node.getOrCreateChild(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+        node.project = project;
+        return projects.put(path, project);
+    }
+
+    /** Removes project registered with specified path. Returns removed project or {@code null}. */
+    synchronized RegisteredProject remove(String path) {
+        final RegisteredProject removed = projects.remove(path);
+        if (removed != null) {
+            final Node node = find(path);
+            if (node != null) {
+                node.project = null;
+                prune(node);
+            }
+        }
+        return removed;
+    }
+
+    /** Removes project registered with specified path and all projects nested in it. Returns removed projects. */
+    synchronized List<RegisteredProject> removeAll(String path) {
+        final List<RegisteredProject> removed = new ArrayList<>();
+        final Node node = find(path);
+        if (node != null) {
+            final List<String> paths = new ArrayList<>();
+            if (node.project != null) {
+                paths.add(node.project.getPath());
+            }
+            collect(node, paths);
+            for (String nested : paths) {
+                final RegisteredProject project = projects.remove(nested);
+                if (project != null) {
+                    removed.add(project);
+                }
+            }
+            node.project = null;
+            node.children.clear();
+            prune(node);
+        }
+        return removed;
+    }
+
+    private Node find(String path) {
+        Node node = root;
+        for (int start = 0, length = path.length(); node != null && start < length; ) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                node = node.children.get(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+        return node;
+    }
+
+    private static void collect(Node node, List<String> paths) {
+        for (Node child : node.children.values()) {
+            final RegisteredProject project = child.project;
+            if (project != null) {
+                paths.add(project.getPath());
+            }
+            collect(child, paths);
+        }
+    }
+
+    /** Removes nodes which don't hold project and don't have children, must be called under lock. */
+    private static void prune(Node node) {
+        while (node.parent != null && node.project == null && node.children.isEmpty()) {
+            node.parent.children.remove(node.name, node);
+            node = node.parent;
+        }
+    }
+
+    private static class Node {
+        final Node              parent;
+        final String            name;
+        final Map<String, Node> children;
+
+        volatile RegisteredProject project;
+
+        Node(Node parent, String name) {
+            this.parent = parent;
+            this.name = name;
+            this.children = new ConcurrentHashMap<>();
+        }
+
+        Node getOrCreateChild(String name) {
+            return children.computeIfAbsent(name, n -> new Node(this, n));
+        }
+    }
+}
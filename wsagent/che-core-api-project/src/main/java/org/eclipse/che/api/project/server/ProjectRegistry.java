@@ -33,10 +33,6 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * Stores internal representation of Projects registered in the Workspace Agent.
@@ -47,15 +43,15 @@ import java.util.stream.Collectors;
 public class ProjectRegistry {
     private static final Logger LOG = LoggerFactory.getLogger(ProjectRegistry.class);
 
-    private final Map<String, RegisteredProject> projects;
-    private final WorkspaceProjectsSyncer        workspaceHolder;
-    private final VirtualFileSystem              vfs;
-    private final ProjectTypeRegistry            projectTypeRegistry;
-    private final ProjectHandlerRegistry         handlers;
-    private final FolderEntry                    root;
-    private final EventService                   eventService;
+    private final ProjectPathTree         projects;
+    private final WorkspaceProjectsSyncer workspaceHolder;
+    private final VirtualFileSystem       vfs;
+    private final ProjectTypeRegistry     projectTypeRegistry;
+    private final ProjectHandlerRegistry  handlers;
+    private final FolderEntry             root;
+    private final EventService            eventService;
 
-    private boolean initialized;
+    private volatile boolean initialized;
 
     @Inject
     public ProjectRegistry(WorkspaceProjectsSyncer workspaceHolder,
@@ -64,7 +60,7 @@ public class ProjectRegistry {
                            ProjectHandlerRegistry handlers,
                            EventService eventService) throws ServerException {
         this.eventService = eventService;
-        this.projects = new ConcurrentHashMap<>();
+        this.projects = new ProjectPathTree();
         this.workspaceHolder = workspaceHolder;
         this.vfs = vfsProvider.getVirtualFileSystem();
         this.projectTypeRegistry = projectTypeRegistry;
@@ -91,7 +87,7 @@ public class ProjectRegistry {
 
         initialized = true;
 
-        for (RegisteredProject project : projects.values()) {
+        for (RegisteredProject project : projects.getAll()) {
             // only for projects with sources
             if(project.getBaseFolder() != null) {
                 fireInitHandlers(project);
@@ -106,9 +102,7 @@ public class ProjectRegistry {
     public List<RegisteredProject> getProjects() {
         checkInitializationState();
 
-        initUnconfiguredFolders();
-
-        return new ArrayList<>(projects.values());
+        return new ArrayList<>(projects.getAll());
     }
 
     /**
@@ -119,8 +113,6 @@ public class ProjectRegistry {
     public RegisteredProject getProject(String projectPath) {
         checkInitializationState();
 
-        initUnconfiguredFolders();
-
         return projects.get(absolutizePath(projectPath));
     }
 
@@ -132,14 +124,7 @@ public class ProjectRegistry {
     public List<String> getProjects(String parentPath) {
         checkInitializationState();
 
-        initUnconfiguredFolders();
-
-        final Path root = Path.of(absolutizePath(parentPath));
-
-        return projects.keySet()
-                       .stream()
-                       .filter(key -> Path.of(key).isChild(root))
-                       .collect(Collectors.toList());
+        return projects.getNestedPaths(absolutizePath(parentPath));
     }
 
     /**
@@ -150,23 +135,7 @@ public class ProjectRegistry {
     public RegisteredProject getParentProject(String path) {
         checkInitializationState();
 
-        // return this if a project
-        if (getProject(path) != null) {
-            return getProject(path);
-        }
-
-        // otherwise try to find matched parent
-        Path test;
-        while ((test = Path.of(path).getParent()) != null) {
-            final RegisteredProject project = projects.get(test.toString());
-            if (project != null) {
-                return project;
-            }
-
-            path = test.toString();
-        }
-
-        return null;
+        return projects.findNearest(absolutizePath(path));
     }
 
     /**
@@ -204,12 +173,56 @@ public class ProjectRegistry {
      */
     void removeProjects(String path) throws ServerException {
 
-        List<RegisteredProject> removed = new ArrayList<>();
-        Optional.ofNullable(projects.remove(path)).ifPresent(removed::add);
-        getProjects(path).forEach(p -> Optional.ofNullable(projects.remove(p))
-                                               .ifPresent(removed::add));
+        List<RegisteredProject> removed = projects.removeAll(path);
 
         removed.forEach(registeredProject -> eventService.publish(new ProjectDeletedEvent(registeredProject.getPath())));
+
+        // folder on root may still exist, then it becomes unconfigured project
+        initUnconfiguredFolders();
+    }
+
+    /**
+     * Registers folder that is created on root as unconfigured project. Should be called when creation of folder is detected, there is
+     * no need to re-scan root on each read of registry.
+     *
+     * @param folder
+     *         created folder
+     */
+    void onFolderCreated(VirtualFile folder) {
+        if (!initialized || !folder.isFolder()) {
+            return;
+        }
+        final Path parent = folder.getPath().getParent();
+        if (parent != null && parent.isRoot() && !projects.contains(folder.getPath().toString())) {
+            try {
+                putProject(null, new FolderEntry(folder, this), true, false);
+            } catch (ServerException e) {
+                LOG.warn(e.getLocalizedMessage());
+            }
+        }
+    }
+
+    /**
+     * Registers folder on root that contains created item as unconfigured project. Called synchronously by operations which create
+     * items, so new folder on root is available as project right after operation is done, without waiting for the file watcher. If
+     * item is root itself, e.g. when content of archive is extracted to root, all folders on root are checked.
+     *
+     * @param item
+     *         created item
+     */
+    void onItemCreated(VirtualFile item) {
+        if (!initialized) {
+            return;
+        }
+        if (item.isRoot()) {
+            initUnconfiguredFolders();
+            return;
+        }
+        VirtualFile folder = item;
+        while (!folder.getParent().isRoot()) {
+            folder = folder.getParent();
+        }
+        onFolderCreated(folder);
     }
 
     /*  ------------------------------------------ */
@@ -331,6 +344,7 @@ public class ProjectRegistry {
         } else if (newType.equals(type)) {
             if (project.isDetected()) {
                 projects.remove(project.getPath());
+                initUnconfiguredFolders();
                 return null;
             }
 
@@ -358,11 +372,14 @@ public class ProjectRegistry {
         return (path.startsWith("/")) ? path : "/".concat(path);
     }
 
-    /** Try to initialize projects from unconfigured folders on root. */
+    /**
+     * Try to initialize projects from unconfigured folders on root. Called on initialization and when projects are removed, new folders
+     * created later are registered with {@link #onItemCreated(VirtualFile)} and {@link #onFolderCreated(VirtualFile)}.
+     */
     private void initUnconfiguredFolders() {
         try {
             for (FolderEntry folder : root.getChildFolders()) {
-                if (!projects.containsKey(folder.getVirtualFile().getPath().toString())) {
+                if (!projects.contains(folder.getVirtualFile().getPath().toString())) {
                     putProject(null, folder, true, false);
                 }
             }
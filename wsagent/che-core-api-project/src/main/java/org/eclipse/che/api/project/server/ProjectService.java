@@ -34,6 +34,7 @@ import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.project.server.importer.ProjectImportOutputWSLineConsumer;
 import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
 import org.eclipse.che.api.project.server.type.ProjectTypeResolution;
+import org.eclipse.che.api.project.shared.dto.CompactTree;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
@@ -67,14 +68,18 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -85,6 +90,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.ws.rs.HttpMethod.DELETE;
 import static javax.ws.rs.HttpMethod.GET;
 import static javax.ws.rs.HttpMethod.PUT;
@@ -100,6 +106,8 @@ import static org.eclipse.che.api.project.shared.Constants.LINK_REL_GET_PROJECTS
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_TREE;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_UPDATE_CONTENT;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_UPDATE_PROJECT;
+import static org.eclipse.che.api.project.shared.Constants.LINK_TEMPLATE_PATH;
+import static org.eclipse.che.api.project.shared.Constants.SEARCH_CURSOR_HEADER;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 /**
@@ -118,14 +126,16 @@ public class ProjectService extends Service {
     private static final Logger LOG  = LoggerFactory.getLogger(ProjectService.class);
     private static final Tika   TIKA = new Tika();
 
-    private final ProjectManager projectManager;
-    private final EventService   eventService;
-    private final String         workspace;
+    private final ProjectManager     projectManager;
+    private final EventService       eventService;
+    private final ProjectTreeBuilder treeBuilder;
+    private final String             workspace;
 
     @Inject
-    public ProjectService(ProjectManager projectManager, EventService eventService) {
+    public ProjectService(ProjectManager projectManager, EventService eventService, ProjectTreeBuilder treeBuilder) {
         this.projectManager = projectManager;
         this.eventService = eventService;
+        this.treeBuilder = treeBuilder;
         this.workspace = WorkspaceIdProvider.getWorkspaceId();
     }
 
@@ -484,7 +494,9 @@ public class ProjectService extends Service {
             throw new NotFoundException("Parent not found for " + path);
         }
 
-        return uploadZip(parent.getVirtualFile(), formData);
+        final Response response = uploadZip(parent.getVirtualFile(), formData);
+        parent.onChildrenCreated();
+        return response;
     }
 
     @ApiOperation(value = "Get file content",
@@ -708,6 +720,7 @@ public class ProjectService extends Service {
         }
 
         importZip(parent.getVirtualFile(), zip, true, skipFirstLevel);
+        parent.onChildrenCreated();
 
         try {
             final RegisteredProject project = projectManager.getProject(path);
@@ -823,6 +836,54 @@ public class ProjectService extends Service {
                                         .withChildren(getTree(folder, depth, includeFiles));
     }
 
+    @GET
+    @Path("/compacttree/{parent:.*}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Get compact project tree",
+                  notes = "Get project tree without attributes of items. Links are not included in items but are sent once as templates. " +
+                          "Depth is specified in a query parameter",
+                  response = CompactTree.class)
+    @ApiResponses({@ApiResponse(code = 200, message = "OK"),
+                   @ApiResponse(code = 403, message = "User not authorized to call this operation"),
+                   @ApiResponse(code = 404, message = "Not found"),
+                   @ApiResponse(code = 500, message = "Internal Server Error")})
+    public Response getCompactTree(@ApiParam(value = "Path to resource. Can be project or its folders", required = true)
+                                   @PathParam("parent") String path,
+                                   @ApiParam(value = "Tree depth. This parameter can be dropped. If not specified ?depth=1 is used by default")
+                                   @DefaultValue("1") @QueryParam("depth") int depth,
+                                   @ApiParam(value = "include children files (in addition to children folders). This parameter can be " +
+                                                     "dropped. If not specified ?includeFiles=false is used by default")
+                                   @DefaultValue("false") @QueryParam("includeFiles") boolean includeFiles,
+                                   @ApiParam(value = "Write items of tree to response while tree is traversed. This parameter can be " +
+                                                     "dropped. If not specified ?stream=false is used by default")
+                                   @DefaultValue("false") @QueryParam("stream") boolean stream) throws NotFoundException,
+                                                                                                       ForbiddenException,
+                                                                                                       ServerException {
+        final FolderEntry folder = projectManager.asFolder(path);
+
+        if (folder == null) {
+            throw new NotFoundException("Folder not found " + path);
+        }
+
+        final UriBuilder uriBuilder = getServiceContext().getServiceUriBuilder();
+        final CompactTree tree = newDto(CompactTree.class).withPath(folder.getPath().toString())
+                                                          .withFileLinks(createFileLinkTemplates(uriBuilder))
+                                                          .withFolderLinks(createFolderLinkTemplates(uriBuilder));
+        if (!stream) {
+            return Response.ok(tree.withRoot(treeBuilder.build(folder, depth, includeFiles)), APPLICATION_JSON).build();
+        }
+        final StreamingOutput output = out -> {
+            final Writer writer = new OutputStreamWriter(out, UTF_8);
+            try {
+                treeBuilder.write(tree, folder, depth, includeFiles, writer);
+            } catch (ServerException e) {
+                LOG.error(e.getMessage(), e);
+                throw new IOException(e.getMessage(), e);
+            }
+        };
+        return Response.ok(output, APPLICATION_JSON).build();
+    }
+
     @GET
     @Path("/item/{path:.*}")
     @Produces(MediaType.APPLICATION_JSON)
@@ -853,7 +914,8 @@ public class ProjectService extends Service {
     @Path("/search/{path:.*}")
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Search for resources",
-                  notes = "Search for resources applying a number of search filters as query parameters",
+                  notes = "Search for resources applying a number of search filters as query parameters. If there are more results " +
+                          "response contains header " + SEARCH_CURSOR_HEADER + " with cursor of the next page",
                   response = ItemReference.class,
                   responseContainer = "List")
     @ApiResponses({@ApiResponse(code = 200, message = "OK"),
@@ -861,25 +923,28 @@ public class ProjectService extends Service {
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 409, message = "Conflict error"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public List<ItemReference> search(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
-                                      @PathParam("path") String path,
-                                      @ApiParam(value = "Resource name")
-                                      @QueryParam("name") String name,
-                                      @ApiParam(value = "Search keywords")
-                                      @QueryParam("text") String text,
-                                      @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
-                                      @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
-                                      @ApiParam(value = "Skip count")
-                                      @QueryParam("skipCount") int skipCount) throws NotFoundException,
-                                                                                     ForbiddenException,
-                                                                                     ConflictException,
-                                                                                     ServerException {
+    public Response search(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
+                           @PathParam("path") String path,
+                           @ApiParam(value = "Resource name")
+                           @QueryParam("name") String name,
+                           @ApiParam(value = "Search keywords")
+                           @QueryParam("text") String text,
+                           @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
+                           @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
+                           @ApiParam(value = "Skip count")
+                           @QueryParam("skipCount") int skipCount,
+                           @ApiParam(value = "Cursor of page of results returned in header " + SEARCH_CURSOR_HEADER +
+                                             " of the previous response. Skip count is ignored if cursor is set")
+                           @QueryParam("after") String after,
+                           @ApiParam(value = "Include positions of searched text in found files")
+                           @QueryParam("includePositions") @DefaultValue("false") boolean includePositions)
+            throws NotFoundException, ForbiddenException, ConflictException, ServerException {
         final Searcher searcher;
         try {
             searcher = projectManager.getSearcher();
         } catch (NotFoundException e) {
             LOG.warn(e.getLocalizedMessage());
-            return Collections.emptyList();
+            return Response.ok(new GenericEntity<List<ItemReference>>(Collections.emptyList()) {}).build();
         }
 
         if (skipCount < 0) {
@@ -891,7 +956,9 @@ public class ProjectService extends Service {
                 .setName(name)
                 .setText(text)
                 .setMaxItems(maxItems)
-                .setSkipCount(skipCount);
+                .setSkipCount(skipCount)
+                .setAfter(after)
+                .setIncludePositions(includePositions);
 
         final SearchResult result = searcher.search(expr);
         final List<SearchResultEntry> searchResultEntries = result.getResults();
@@ -902,11 +969,20 @@ public class ProjectService extends Service {
             final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
 
             if (child != null && child.isFile()) {
-                items.add(injectFileLinks(asDto((FileEntry)child)));
+                final ItemReference item = injectFileLinks(asDto((FileEntry)child));
+                if (includePositions) {
+                    item.setOccurrences(searchResultEntry.getData()
+                                                         .stream()
+                                                         .map(DtoConverter::asDto)
+                                                         .collect(Collectors.toList()));
+                }
+                items.add(item);
             }
         }
 
-        return items;
+        final Response.ResponseBuilder response = Response.ok(new GenericEntity<List<ItemReference>>(items) {});
+        result.getNextPageQueryExpression().ifPresent(next -> response.header(SEARCH_CURSOR_HEADER, next.getAfter()));
+        return response.build();
     }
 
     private void logProjectCreatedEvent(@NotNull String projectName, @NotNull String projectType) {
@@ -1124,6 +1200,30 @@ public class ProjectService extends Service {
         return itemReference.withLinks(links);
     }
 
+    private static List<Link> createFileLinkTemplates(UriBuilder uriBuilder) {
+        final List<Link> links = new ArrayList<>();
+        links.add(createLink(GET, createLinkTemplate(uriBuilder, "getFile"), APPLICATION_JSON, LINK_REL_GET_CONTENT));
+        links.add(createLink(PUT, createLinkTemplate(uriBuilder, "updateFile"), MediaType.WILDCARD, null, LINK_REL_UPDATE_CONTENT));
+        links.add(createLink(DELETE, createLinkTemplate(uriBuilder, "delete"), LINK_REL_DELETE));
+        return links;
+    }
+
+    private static List<Link> createFolderLinkTemplates(UriBuilder uriBuilder) {
+        final List<Link> links = new ArrayList<>();
+        links.add(createLink(GET, createLinkTemplate(uriBuilder, "getChildren"), APPLICATION_JSON, LINK_REL_CHILDREN));
+        links.add(createLink(GET, createLinkTemplate(uriBuilder, "getTree"), APPLICATION_JSON, LINK_REL_TREE));
+        links.add(createLink(DELETE, createLinkTemplate(uriBuilder, "delete"), LINK_REL_DELETE));
+        return links;
+    }
+
+    /** All linked methods have path of item at the end of their URI, so placeholder is appended to URI built with empty path. */
+    private static String createLinkTemplate(UriBuilder uriBuilder, String method) {
+        return uriBuilder.clone()
+                         .path(ProjectService.class, method)
+                         .build(new String[]{""}, false)
+                         .toString() + LINK_TEMPLATE_PATH;
+    }
+
     private ProjectConfigDto injectProjectLinks(ProjectConfigDto projectConfig) {
         final UriBuilder uriBuilder = getServiceContext().getServiceUriBuilder();
         final List<Link> links = new ArrayList<>();
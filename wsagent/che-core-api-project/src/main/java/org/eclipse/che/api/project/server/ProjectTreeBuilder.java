@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.stream.JsonWriter;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.project.shared.dto.CompactTree;
+import org.eclipse.che.api.project.shared.dto.CompactTreeNode;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.dto.server.JsonSerializable;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Builds {@link CompactTree} of project folders. Folders of the tree deeper than first level are listed in parallel, number of folders
+ * which are listed at the same time is limited by number of threads of the builder.
+ *
+ * @author agent
+ */
+@Singleton
+public class ProjectTreeBuilder {
+    /** Max number of sibling folders which are listed in advance when tree is streamed. */
+    static final int STREAM_PREFETCH = 16;
+
+    private final ExecutorService executor;
+
+    public ProjectTreeBuilder() {
+        this(Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    ProjectTreeBuilder(int threads) {
+        this.executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("ProjectTreeBuilder-%d")
+                                                                                        .setUncaughtExceptionHandler(
+                                                                                                LoggingUncaughtExceptionHandler
+                                                                                                        .getInstance())
+                                                                                        .setDaemon(true)
+                                                                                        .build());
+    }
+
+    /**
+     * Builds tree of specified folder.
+     *
+     * @param folder
+     *         root folder of tree
+     * @param depth
+     *         depth of tree, children of root folder are not included if depth is 0
+     * @param includeFiles
+     *         if {@code false} files are not included in tree
+     */
+    public CompactTreeNode build(FolderEntry folder, int depth, boolean includeFiles) throws ServerException {
+        if (depth <= 1) {
+            return DtoConverter.asTreeNode(folder).withChildren(depth == 1 ? toNodes(listChildren(folder, includeFiles)) : null);
+        }
+        try {
+            return buildAsync(folder, depth, includeFiles).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Writes JSON of {@link CompactTree} to specified writer. Nodes are written as soon as their parent folder is listed, so the whole
+     * tree is never kept in memory. Result is the same as JSON of {@link CompactTree} which contains tree built with
+     * {@link #build(FolderEntry, int, boolean)}. Path and link templates are taken from {@code header}, its root node is ignored.
+     */
+    public void write(CompactTree header, FolderEntry folder, int depth, boolean includeFiles, Writer out) throws IOException,
+                                                                                                                 ServerException {
+        final JsonWriter writer = new JsonWriter(out);
+        writer.setSerializeNulls(false);
+        writer.beginObject();
+        writer.name("path").value(header.getPath());
+        writeLinks(writer, "fileLinks", header.getFileLinks());
+        writeLinks(writer, "folderLinks", header.getFolderLinks());
+        writer.name("root");
+        writer.beginObject();
+        writeFields(writer, DtoConverter.asTreeNode(folder));
+        if (depth > 0) {
+            writeChildren(writer, listChildren(folder, includeFiles), depth, includeFiles);
+        }
+        writer.endObject();
+        writer.endObject();
+        writer.flush();
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<CompactTreeNode> buildAsync(FolderEntry folder, int depth, boolean includeFiles) {
+        final CompactTreeNode node = DtoConverter.asTreeNode(folder);
+        return listAsync(folder, includeFiles).thenCompose(children -> {
+            final List<CompletableFuture<CompactTreeNode>> futures = new ArrayList<>(children.size());
+            for (VirtualFileEntry child : children) {
+                if (child.isFolder() && depth > 1) {
+                    futures.add(buildAsync((FolderEntry)child, depth - 1, includeFiles));
+                } else {
+                    futures.add(CompletableFuture.completedFuture(toNodeUnchecked(child)));
+                }
+            }
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]))
+                                    .thenApply(ignored -> {
+                                        final List<CompactTreeNode> nodes = new ArrayList<>(futures.size());
+                                        futures.forEach(future -> nodes.add(future.join()));
+                                        return node.withChildren(nodes);
+                                    });
+        });
+    }
+
+    private void writeChildren(JsonWriter writer, List<VirtualFileEntry> children, int depth, boolean includeFiles) throws IOException,
+                                                                                                                         ServerException {
+        final List<FolderEntry> folders = new ArrayList<>();
+        if (depth > 1) {
+            for (VirtualFileEntry child : children) {
+                if (child.isFolder()) {
+                    folders.add((FolderEntry)child);
+                }
+            }
+        }
+        // listings of next sibling folders are requested while previous folders are written
+        final Deque<CompletableFuture<List<VirtualFileEntry>>> prefetched = new ArrayDeque<>();
+        int next = 0;
+        writer.name("children");
+        writer.beginArray();
+        for (VirtualFileEntry child : children) {
+            writer.beginObject();
+            writeFields(writer, toNode(child));
+            if (child.isFolder() && depth > 1) {
+                while (next < folders.size() && prefetched.size() < STREAM_PREFETCH) {
+                    prefetched.add(listAsync(folders.get(next++), includeFiles));
+                }
+                final List<VirtualFileEntry> grandChildren;
+                try {
+                    grandChildren = prefetched.poll().join();
+                } catch (CompletionException e) {
+                    throw unwrap(e);
+                }
+                writeChildren(writer, grandChildren, depth - 1, includeFiles);
+            }
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+
+    private CompletableFuture<List<VirtualFileEntry>> listAsync(FolderEntry folder, boolean includeFiles) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return listChildren(folder, includeFiles);
+            } catch (ServerException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private static List<VirtualFileEntry> listChildren(FolderEntry folder, boolean includeFiles) throws ServerException {
+        if (includeFiles) {
+            return folder.getChildFoldersFiles();
+        }
+        return new ArrayList<>(folder.getChildFolders());
+    }
+
+    private static List<CompactTreeNode> toNodes(List<VirtualFileEntry> entries) throws ServerException {
+        final List<CompactTreeNode> nodes = new ArrayList<>(entries.size());
+        for (VirtualFileEntry entry : entries) {
+            nodes.add(toNode(entry));
+        }
+        return nodes;
+    }
+
+    private static CompactTreeNode toNode(VirtualFileEntry entry) throws ServerException {
+        return entry.isFile() ? DtoConverter.asTreeNode((FileEntry)entry) : DtoConverter.asTreeNode((FolderEntry)entry);
+    }
+
+    private static CompactTreeNode toNodeUnchecked(VirtualFileEntry entry) {
+        try {
+            return toNode(entry);
+        } catch (ServerException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static void writeFields(JsonWriter writer, CompactTreeNode node) throws IOException {
+        writer.name("name").value(node.getName());
+        writer.name("type").value(node.getType());
+        writer.name("size").value(node.getSize());
+        writer.name("modified").value(node.getModified());
+    }
+
+    private static void writeLinks(JsonWriter writer, String name, List<Link> links) throws IOException {
+        writer.name(name);
+        writer.beginArray();
+        for (Link link : links) {
+            ((JsonSerializable)link).toJson(writer);
+        }
+        writer.endArray();
+    }
+
+    private static ServerException unwrap(CompletionException e) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof ServerException) {
+            return (ServerException)cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException)cause;
+        }
+        return new ServerException(cause.getMessage(), cause);
+    }
+}
@@ -10,29 +10,68 @@
  *******************************************************************************/
 package org.eclipse.che.api.project.server;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.workspace.server.WorkspaceService;
-import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsStateDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsUpdateDto;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.ws.rs.core.UriBuilder;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.eclipse.che.api.project.server.DtoConverter.asDto;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 /**
  * For caching and proxy-ing Workspace Configuration.
+ * <p/>
+ * Changes of projects are not sent to WS-master immediately. Changes which are made during {@link #SYNC_DELAY_MS} are sent as single
+ * batch which contains only projects changed or removed by this agent since the last batch accepted by WS-master, so projects added on
+ * WS-master side by someone else are never removed by the agent. Each batch is based on version of projects
+ * received from WS-master, if projects on WS-master are changed by someone else batch is rejected, projects are re-read and batch is
+ * rebuilt against them.
+ * <p/>
+ * Batch which fails because WS-master isn't reachable or fails to process it is sent again every {@link #RETRY_DELAY_MS}, at most
+ * {@link #MAX_RETRIES} times. Batch which is rejected by WS-master, e.g. because of invalid project, is dropped since sending it again
+ * won't help.
  *
  * @author gazarenkov
  */
 @Singleton
 public class WorkspaceHolder extends WorkspaceProjectsSyncer {
+    private static final Logger LOG = LoggerFactory.getLogger(WorkspaceHolder.class);
+
+    /** Time during which changes of projects are collected before they are sent to WS-master. */
+    static final long SYNC_DELAY_MS  = 500;
+    /** Delay before the next attempt to send changes if WS-master failed to accept them. */
+    static final long RETRY_DELAY_MS = 10_000;
+    /** Number of attempts to send changes again after which they are dropped. */
+    static final int  MAX_RETRIES    = 30;
+
+    private static final int MAX_CONFLICTS = 3;
 
     private String apiEndpoint;
 
@@ -40,6 +79,23 @@ public class WorkspaceHolder extends WorkspaceProjectsSyncer {
 
     private HttpJsonRequestFactory httpJsonRequestFactory;
 
+    private final ScheduledExecutorService syncExecutor;
+    private final Object                   sendLock = new Object();
+    /** Paths of projects which are changed but are not sent to WS-master yet. */
+    private final Set<String>              changed  = new HashSet<>();
+    /** Paths of projects which are removed but are not sent to WS-master yet, guarded by {@link #changed}. */
+    private final Set<String>              removed  = new HashSet<>();
+    /** Paths of not detected projects which were registered at the last synchronization, guarded by {@link #changed}. */
+    private Set<String>                    registered;
+
+    private ProjectRegistry projectRegistry;
+    private boolean         scheduled;
+    private int             retries;
+
+    // projects and their version accepted by WS-master, guarded by sendLock
+    private Map<String, ProjectConfig> remoteProjects;
+    private String                     remoteVersion;
+
     @Inject
     public WorkspaceHolder(@Named("che.api") String apiEndpoint,
                            @Named("env.CHE_WORKSPACE_ID") String workspaceId,
@@ -58,13 +114,28 @@ public class WorkspaceHolder extends WorkspaceProjectsSyncer {
             throw new ServerException("Workspace ID is not defined for Workspace Agent");
         }
 
+        this.syncExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("WorkspaceProjectsSyncer")
+                                                                                                .setUncaughtExceptionHandler(
+                                                                                                        LoggingUncaughtExceptionHandler
+                                                                                                                .getInstance())
+                                                                                                .setDaemon(true)
+                                                                                                .build());
     }
 
 
     @Override
     public List<? extends ProjectConfig> getProjects() throws ServerException {
-
-        return workspaceDto(workspaceId).getConfig().getProjects();
+        final Map<String, ProjectConfig> projects;
+        synchronized (sendLock) {
+            projects = fetchProjects();
+        }
+        synchronized (changed) {
+            // projects registry is initialized with these projects, so their removal must be sent to WS-master
+            if (registered == null) {
+                registered = new HashSet<>(projects.keySet());
+            }
+        }
+        return new ArrayList<>(projects.values());
     }
 
     @Override
@@ -72,6 +143,47 @@ public class WorkspaceHolder extends WorkspaceProjectsSyncer {
         return workspaceId;
     }
 
+    /**
+     * Remembers projects which are changed or removed since the last synchronization, changes are sent to WS-master after short delay
+     * together with changes made after them.
+     */
+    @Override
+    public void sync(ProjectRegistry projectRegistry) {
+        synchronized (changed) {
+            this.projectRegistry = projectRegistry;
+            final Set<String> current = new HashSet<>();
+            for (RegisteredProject project : projectRegistry.getProjects()) {
+                if (project.isDetected()) {
+                    continue;
+                }
+                current.add(project.getPath());
+                if (!project.isSynced()) {
+                    changed.add(project.getPath());
+                    project.setSync();
+                }
+            }
+            if (registered != null) {
+                for (String path : registered) {
+                    if (!current.contains(path)) {
+                        removed.add(path);
+                    }
+                }
+            }
+            removed.removeAll(current);
+            registered = current;
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        schedule(SYNC_DELAY_MS);
+    }
+
+    @PreDestroy
+    void stop() {
+        syncExecutor.shutdownNow();
+        sendChanges();
+    }
 
     /**
      * Add project on WS-master side.
@@ -129,22 +241,140 @@ public class WorkspaceHolder extends WorkspaceProjectsSyncer {
         }
     }
 
-    /**
-     * @param wsId
-     * @return
-     * @throws ServerException
-     */
-    private WorkspaceDto workspaceDto(String wsId) throws ServerException {
+    private void schedule(long delayMs) {
+        try {
+            syncExecutor.schedule(this::sendChanges, delayMs, MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            sendChanges();
+        }
+    }
 
-        final String href = UriBuilder.fromUri(apiEndpoint)
-                                      .path(WorkspaceService.class).path(WorkspaceService.class, "getByKey")
-                                      .build(wsId).toString();
+    /** Sends changes collected since the last synchronization as single batch. */
+    void sendChanges() {
+        final ProjectRegistry projectRegistry;
+        final Set<String> paths;
+        final Set<String> removedPaths;
+        synchronized (changed) {
+            scheduled = false;
+            projectRegistry = this.projectRegistry;
+            // projects which are changed again while batch is sent are added to the next batch
+            paths = new HashSet<>(changed);
+            changed.clear();
+            removedPaths = new HashSet<>(removed);
+            removed.clear();
+        }
+        if (projectRegistry == null) {
+            return;
+        }
+        try {
+            synchronized (sendLock) {
+                send(projectRegistry, paths, removedPaths);
+            }
+            synchronized (changed) {
+                retries = 0;
+            }
+        } catch (IOException | ServerException e) {
+            // WS-master isn't reachable or failed to process changes, they may be accepted later
+            synchronized (changed) {
+                if (++retries > MAX_RETRIES) {
+                    LOG.error("Can't synchronize projects of workspace {}, changes of projects {} and removal of projects {} are dropped " +
+                              "after {} attempts. {}", workspaceId, paths, removedPaths, retries, e.getMessage());
+                    retries = 0;
+                    return;
+                }
+                LOG.warn("Can't synchronize projects of workspace {}, changes are sent again in {} ms. {}", workspaceId, RETRY_DELAY_MS,
+                         e.getMessage());
+                changed.addAll(paths);
+                for (String path : removedPaths) {
+                    // project may be created again while batch is sent
+                    if (registered == null || !registered.contains(path)) {
+                        removed.add(path);
+                    }
+                }
+                if (scheduled || syncExecutor.isShutdown()) {
+                    return;
+                }
+                scheduled = true;
+            }
+            schedule(RETRY_DELAY_MS);
+        } catch (ApiException e) {
+            LOG.error("WS-master rejected changes of projects {} and removal of projects {} of workspace {}, changes are dropped. {}",
+                      paths, removedPaths, workspaceId, e.getMessage());
+            synchronized (changed) {
+                retries = 0;
+            }
+        }
+    }
+
+    private void send(ProjectRegistry projectRegistry, Set<String> paths, Set<String> removedPaths) throws IOException, ApiException {
+        if (remoteProjects == null) {
+            doFetchProjects();
+        }
+        for (int conflicts = 0; ; conflicts++) {
+            final List<ProjectConfigDto> projects = new ArrayList<>();
+            for (String path : paths) {
+                final RegisteredProject project = projectRegistry.getProject(path);
+                if (project != null && !project.isDetected()) {
+                    projects.add(asDto(asPersistableConfig(project)));
+                }
+            }
+            final List<String> removed = new ArrayList<>();
+            for (String path : removedPaths) {
+                if (remoteProjects.containsKey(path) && projectRegistry.getProject(path) == null) {
+                    removed.add(path);
+                }
+            }
+            if (projects.isEmpty() && removed.isEmpty()) {
+                return;
+            }
+
+            final String href = UriBuilder.fromUri(apiEndpoint)
+                                          .path(WorkspaceService.class)
+                                          .path(WorkspaceService.class, "updateProjects")
+                                          .build(workspaceId).toString();
+            final ProjectsUpdateDto update = newDto(ProjectsUpdateDto.class).withVersion(remoteVersion)
+                                                                            .withProjects(projects)
+                                                                            .withRemoved(removed);
+            try {
+                setRemoteState(httpJsonRequestFactory.fromUrl(href)
+                                                     .usePostMethod()
+                                                     .setBody(update)
+                                                     .request()
+                                                     .asDto(ProjectsStateDto.class));
+                return;
+            } catch (ConflictException e) {
+                if (conflicts == MAX_CONFLICTS) {
+                    throw e;
+                }
+                // projects were changed on WS-master side, build the batch again against their current state
+                doFetchProjects();
+            }
+        }
+    }
+
+    private Map<String, ProjectConfig> fetchProjects() throws ServerException {
         try {
-            return httpJsonRequestFactory.fromUrl(href).useGetMethod().request().asDto(WorkspaceDto.class);
+            doFetchProjects();
         } catch (IOException | ApiException e) {
             throw new ServerException(e);
         }
+        return remoteProjects;
     }
 
+    private void doFetchProjects() throws IOException, ApiException {
+        final String href = UriBuilder.fromUri(apiEndpoint)
+                                      .path(WorkspaceService.class)
+                                      .path(WorkspaceService.class, "getProjects")
+                                      .build(workspaceId).toString();
+        setRemoteState(httpJsonRequestFactory.fromUrl(href).useGetMethod().request().asDto(ProjectsStateDto.class));
+    }
 
+    private void setRemoteState(ProjectsStateDto state) {
+        final Map<String, ProjectConfig> projects = new LinkedHashMap<>();
+        for (ProjectConfigDto project : state.getProjects()) {
+            projects.put(project.getPath(), project);
+        }
+        remoteProjects = projects;
+        remoteVersion = state.getVersion();
+    }
 }
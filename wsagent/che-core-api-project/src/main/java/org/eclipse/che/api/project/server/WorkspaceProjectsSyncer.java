@@ -24,11 +24,11 @@ import java.util.List;
 public abstract class WorkspaceProjectsSyncer {
 
     /**
-     * Synchronizes Project Config state on Agent and Master
+     * Synchronizes Project Config state on Agent and Master. Implementation may collect changes and send them to Master later.
      * @param projectRegistry project registry
      * @throws ServerException
      */
-    public final void sync(ProjectRegistry projectRegistry) throws ServerException {
+    public void sync(ProjectRegistry projectRegistry) throws ServerException {
 
         List<? extends ProjectConfig> remote = getProjects();
 
@@ -48,14 +48,7 @@ public abstract class WorkspaceProjectsSyncer {
 
             if(!project.isSynced() && !project.isDetected()) {
 
-                final ProjectConfig config = new NewProjectConfigImpl(project.getPath(),
-                                                                      project.getType(),
-                                                                      project.getMixins(),
-                                                                      project.getName(),
-                                                                      project.getDescription(),
-                                                                      project.getPersistableAttributes(),
-                                                                      null,
-                                                                      project.getSource());
+                final ProjectConfig config = asPersistableConfig(project);
 
                 boolean found = false;
                 for(ProjectConfig r  : remote) {
@@ -77,6 +70,18 @@ public abstract class WorkspaceProjectsSyncer {
 
     }
 
+    /** Returns config of registered project which is stored in Workspace Config. */
+    protected static ProjectConfig asPersistableConfig(RegisteredProject project) {
+        return new NewProjectConfigImpl(project.getPath(),
+                                        project.getType(),
+                                        project.getMixins(),
+                                        project.getName(),
+                                        project.getDescription(),
+                                        project.getPersistableAttributes(),
+                                        null,
+                                        project.getSource());
+    }
+
     /**
      * @return projects from Workspace Config
      * @throws ServerException
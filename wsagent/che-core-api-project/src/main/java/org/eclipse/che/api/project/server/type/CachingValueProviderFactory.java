@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server.type;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.inject.Inject;
+
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Factory of read-only value providers which remembers values of attributes of project folder. Value is computed once and is reused
+ * until any of files which it depends on, see {@link #getDependencies()}, is created, modified or deleted. Single instance of
+ * {@link ValueProvider} created with {@link #createValueProvider(FolderEntry)} is used for all attributes of folder, so implementation
+ * may keep data which is shared by attributes, e.g. parsed build file. Empty values are not remembered since usually they mean that
+ * value can't be computed yet, e.g. project is not initialized.
+ * <p/>
+ * Values are remembered only when factory is able to track changes of files, i.e. when {@link FileWatcherManager} is injected.
+ *
+ * @author agent
+ */
+public abstract class CachingValueProviderFactory implements ValueProviderFactory {
+    private static final Logger LOG = LoggerFactory.getLogger(CachingValueProviderFactory.class);
+
+    private final Cache<Path, FolderValues> cache;
+    private final List<Integer>             watchIds;
+
+    @Inject(optional = true)
+    private FileWatcherManager fileWatcherManager;
+
+    private volatile boolean watching;
+
+    protected CachingValueProviderFactory() {
+        cache = CacheBuilder.newBuilder().maximumSize(1000).expireAfterAccess(30, MINUTES).build();
+        watchIds = new CopyOnWriteArrayList<>();
+    }
+
+    /** Creates provider which computes values of attributes of folder. */
+    protected abstract ValueProvider createValueProvider(FolderEntry projectFolder);
+
+    /** Matchers of files which values of attributes depend on. */
+    protected abstract List<PathMatcher> getDependencies();
+
+    /**
+     * Returns folder which values depend on changed file, values of the folder and all its sub-folders are discarded.
+     *
+     * @param changedFile
+     *         path of file which matches any of {@link #getDependencies() dependencies}
+     */
+    protected abstract Path getDependentFolder(Path changedFile);
+
+    @Override
+    public ValueProvider newInstance(FolderEntry projectFolder) {
+        final ValueProvider valueProvider = createValueProvider(projectFolder);
+        if (projectFolder == null || !watching || valueProvider.isSettable()) {
+            return valueProvider;
+        }
+        return new CachingValueProvider(projectFolder, valueProvider);
+    }
+
+    @PostConstruct
+    public void startWatching() {
+        if (fileWatcherManager == null) {
+            return;
+        }
+        final Consumer<String> invalidate = path -> {
+            final Path folder = getDependentFolder(Path.of(path));
+            if (folder != null) {
+                invalidate(folder);
+            }
+        };
+        for (PathMatcher dependency : getDependencies()) {
+            watchIds.add(fileWatcherManager.registerByMatcher(dependency, invalidate, invalidate, invalidate));
+        }
+        watching = true;
+    }
+
+    @PreDestroy
+    public void stopWatching() {
+        watching = false;
+        for (Integer id : watchIds) {
+            fileWatcherManager.unRegisterByMatcher(id);
+        }
+        watchIds.clear();
+        cache.invalidateAll();
+    }
+
+    /** Discards remembered values of folder and all its sub-folders. */
+    public void invalidate(Path folder) {
+        LOG.debug("Discarding values of attributes of {}", folder);
+        cache.asMap().keySet().removeIf(it -> it.equals(folder) || it.isChild(folder));
+    }
+
+    private class CachingValueProvider extends ReadonlyValueProvider {
+        final FolderEntry   projectFolder;
+        final ValueProvider valueProvider;
+
+        CachingValueProvider(FolderEntry projectFolder, ValueProvider valueProvider) {
+            this.projectFolder = projectFolder;
+            this.valueProvider = valueProvider;
+        }
+
+        @Override
+        public List<String> getValues(String attributeName) throws ValueStorageException {
+            final FolderValues folderValues;
+            try {
+                folderValues = cache.get(projectFolder.getPath(), () -> new FolderValues(valueProvider));
+            } catch (ExecutionException | UncheckedExecutionException e) {
+                throw new ValueStorageException(e.getCause().getMessage());
+            }
+            List<String> values = folderValues.values.get(attributeName);
+            if (values != null) {
+                return new ArrayList<>(values);
+            }
+            values = folderValues.valueProvider.getValues(attributeName);
+            if (values != null && !values.isEmpty()) {
+                folderValues.values.put(attributeName, unmodifiableList(new ArrayList<>(values)));
+            }
+            return values;
+        }
+    }
+
+    /** Values of attributes of folder and provider which computes them. */
+    private static class FolderValues {
+        final ValueProvider             valueProvider;
+        final Map<String, List<String>> values;
+
+        FolderValues(ValueProvider valueProvider) {
+            this.valueProvider = valueProvider;
+            this.values = new ConcurrentHashMap<>();
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.io.File;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
 import static org.eclipse.che.api.vfs.Path.ROOT;
 
 @Singleton
@@ -41,7 +42,7 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
 
     @Override
     public void handleFileWatcherEvent(FileWatcherEventType eventType, File watchRoot, String subPath, boolean isDir) {
-        VirtualFile virtualFile = convertToVirtualFile(watchRoot, subPath, isDir);
+        VirtualFile virtualFile = convertToVirtualFile(eventType, watchRoot, subPath, isDir);
         if (virtualFile == null) {
             return;
         }
@@ -70,10 +71,14 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
         return fileWatcherNotificationListeners.remove(fileWatcherNotificationListener);
     }
 
-    private VirtualFile convertToVirtualFile(File root, String subPath, boolean isDir) {
+    private VirtualFile convertToVirtualFile(FileWatcherEventType eventType, File root, String subPath, boolean isDir) {
         try {
             LocalVirtualFileSystem virtualFileSystem = (LocalVirtualFileSystem)virtualFileSystemProvider.getVirtualFileSystem(true);
             Path vfsPath = Path.of(subPath);
+            Path parentPath = ROOT.newPath(vfsPath).getParent();
+            if (eventType != MODIFIED && parentPath != null) {
+                virtualFileSystem.invalidateChildrenCache(parentPath);
+            }
             VirtualFile virtualFile = virtualFileSystem.getRoot().getChild(vfsPath);
             if (virtualFile == null) {
                 virtualFile = new DeletedLocalVirtualFile(new File(root, subPath), ROOT.newPath(vfsPath), virtualFileSystem, isDir);
@@ -10,19 +10,16 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.annotations.VisibleForTesting;
 
-import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.eclipse.che.api.vfs.watcher.FileWatcherEventBus;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
@@ -30,19 +27,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
-import java.nio.file.WatchEvent;
-import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.collect.Lists.newArrayList;
@@ -51,51 +43,65 @@ import static com.google.common.collect.Sets.newLinkedHashSet;
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.Files.getLastModifiedTime;
 import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
-import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
-import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
 
+/**
+ * Watches whole tree of workspace storage and notifies {@link FileWatcherNotificationHandler} about created, modified and deleted items.
+ * Directories are watched with {@link FileWatcherEventBus} which is shared with other file watchers of ws-agent, content of directory is
+ * compared with its previous state when bus reports batch of events of the directory.
+ */
 @Singleton
 public class FileTreeWatcher {
-    private static final Logger LOG = LoggerFactory.getLogger(FileTreeWatcher.class);
-
-    private static final long EVENT_PROCESS_TIMEOUT_SEC = 2;
-
     private final File                           watchRoot;
     private final Path                           watchRootPath;
     private final Map<Path, WatchedDirectory>    watchedDirectories;
     private final List<PathMatcher>              excludePatterns;
     private final FileWatcherNotificationHandler fileWatcherNotificationHandler;
-    private final ExecutorService                executor;
+    private final FileWatcherEventBus            bus;
+    private final FileWatcherEventBus.Subscriber subscriber;
+    private final boolean                        ownBus;
     private final AtomicBoolean                  running;
-    private       WatchService                   watchService;
-    private       WatchEvent.Modifier[]          watchEventModifiers;
 
     @Inject
     public FileTreeWatcher(@Named("che.user.workspaces.storage") File watchRoot,
                            @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
-                           FileWatcherNotificationHandler fileWatcherNotificationHandler) {
-        watchEventModifiers = new WatchEvent.Modifier[0];
+                           FileWatcherNotificationHandler fileWatcherNotificationHandler,
+                           FileWatcherEventBus bus) {
+        this(watchRoot, excludePatterns, fileWatcherNotificationHandler, bus, false);
+    }
+
+    /** Creates watcher which doesn't share watch service with other watchers. */
+    @VisibleForTesting
+    FileTreeWatcher(File watchRoot, Set<PathMatcher> excludePatterns, FileWatcherNotificationHandler fileWatcherNotificationHandler) {
+        this(watchRoot, excludePatterns, fileWatcherNotificationHandler, new FileWatcherEventBus(newWatchService()), true);
+    }
+
+    private FileTreeWatcher(File watchRoot,
+                            Set<PathMatcher> excludePatterns,
+                            FileWatcherNotificationHandler fileWatcherNotificationHandler,
+                            FileWatcherEventBus bus,
+                            boolean ownBus) {
         this.watchRoot = toCanonicalFile(watchRoot);
         this.watchRootPath = this.watchRoot.toPath();
         this.excludePatterns = newArrayList(excludePatterns);
         this.fileWatcherNotificationHandler = fileWatcherNotificationHandler;
-
-        ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true)
-                                                                .setUncaughtExceptionHandler(
-                                                                        LoggingUncaughtExceptionHandler.getInstance())
-                                                                .setNameFormat("FileTreeWatcher-%d")
-                                                                .build();
-        executor = Executors.newSingleThreadExecutor(threadFactory);
+        this.bus = bus;
+        this.ownBus = ownBus;
+        this.subscriber = this::onEvents;
         running = new AtomicBoolean();
         watchedDirectories = newHashMap();
     }
 
+    private static WatchService newWatchService() {
+        try {
+            return FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
     private static File toCanonicalFile(File file) {
         try {
             return file.getCanonicalFile();
@@ -105,60 +111,23 @@ public class FileTreeWatcher {
     }
 
     public void startup() throws IOException {
-        watchService = FileSystems.getDefault().newWatchService();
-        if (isPollingWatchService(watchService)) {
-            watchEventModifiers = new WatchEvent.Modifier[]{createSensitivityWatchEventModifier()};
-        }
         running.set(true);
-        walkTreeAndSetupWatches(watchRootPath);
-        executor.execute(new WatchEventTask());
-        fileWatcherNotificationHandler.started(watchRoot);
-    }
-
-    private boolean isPollingWatchService(WatchService watchService) {
-        return "sun.nio.fs.PollingWatchService".equals(watchService.getClass().getName());
-    }
-
-    private WatchEvent.Modifier createSensitivityWatchEventModifier() {
-        try {
-            Class<?> aModifierEnum = Class.forName("com.sun.nio.file.SensitivityWatchEventModifier");
-            Object[] sensitivityEnumConstants = aModifierEnum.getEnumConstants();
-            return (WatchEvent.Modifier)sensitivityEnumConstants[0];
-        } catch (Exception e) {
-            LOG.warn("Can't create 'com.sun.nio.file.SensitivityWatchEventModifier'", e);
+        bus.subscribe(subscriber);
+        bus.start();
+        synchronized (watchedDirectories) {
+            walkTreeAndSetupWatches(watchRootPath);
         }
-        return null;
+        fileWatcherNotificationHandler.started(watchRoot);
     }
 
     public void shutdown() {
-        boolean interrupted = false;
-        executor.shutdown();
-        try {
-            if (!executor.awaitTermination(3, SECONDS)) {
-                executor.shutdownNow();
-                if (!executor.awaitTermination(3, SECONDS)) {
-                    LOG.warn("Unable terminate Executor");
-                }
-            }
-        } catch (InterruptedException e) {
-            interrupted = true;
-            executor.shutdownNow();
-        }
-
-        try {
-            walkTreeAndRemoveWatches(watchRootPath);
-        } catch (IOException e) {
-            LOG.warn(e.getMessage());
-        }
-
-        try {
-            watchService.close();
-        } catch (IOException e) {
-            LOG.warn(e.getMessage());
+        running.set(false);
+        bus.unsubscribe(subscriber);
+        synchronized (watchedDirectories) {
+            new ArrayList<>(watchedDirectories.keySet()).forEach(this::cancelDirectoryWatcher);
         }
-
-        if (interrupted) {
-            Thread.currentThread().interrupt();
+        if (ownBus) {
+            bus.stop();
         }
     }
 
@@ -192,16 +161,6 @@ public class FileTreeWatcher {
         return true;
     }
 
-    private void walkTreeAndRemoveWatches(Path root) throws IOException {
-        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                cancelDirectoryWatcher(dir);
-                return CONTINUE;
-            }
-        });
-    }
-
     private void walkTreeAndFireCreatedEvents(Path root) throws IOException {
         Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
             @Override
@@ -222,10 +181,11 @@ public class FileTreeWatcher {
 
     private void setupDirectoryWatcher(Path directory) throws IOException {
         if (watchedDirectories.get(directory) == null) {
-            WatchKey watchKey = directory.register(watchService,
-                                                   new WatchEvent.Kind[]{ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY, OVERFLOW},
-                                                   watchEventModifiers);
-            WatchedDirectory watchedDirectory = new WatchedDirectory(directory, watchKey);
+            if (!bus.register(directory)) {
+                throw new IOException("Unable to watch directory " + directory);
+            }
+            WatchedDirectory watchedDirectory = new WatchedDirectory(directory);
+            watchedDirectories.put(directory, watchedDirectory);
             try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
                 for (Path entry : entries) {
                     watchedDirectory
@@ -235,53 +195,39 @@ public class FileTreeWatcher {
                         setupDirectoryWatcher(entry);
                     }
                 }
+            } catch (IOException e) {
+                cancelDirectoryWatcher(directory);
+                throw e;
             }
-            watchedDirectories.put(directory, watchedDirectory);
         }
     }
 
     private void cancelDirectoryWatcher(Path path) {
-        WatchedDirectory watchedDirectory = watchedDirectories.remove(path);
-        if (watchedDirectory != null) {
-            watchedDirectory.getWatchKey().cancel();
+        if (watchedDirectories.remove(path) != null) {
+            bus.unregister(path);
         }
     }
 
-    private class WatchEventTask implements Runnable {
-        final Set<PendingEvent> pendingEvents = newLinkedHashSet();
-
-        @Override
-        public void run() {
-            while (running.get()) {
-                try {
-                    WatchKey watchKey;
-                    if (pendingEvents.isEmpty()) {
-                        watchKey = watchService.take();
-                    } else {
-                        watchKey = watchService.poll(EVENT_PROCESS_TIMEOUT_SEC, SECONDS);
-                        if (watchKey == null) {
-                            processPendingEvents(pendingEvents);
-                            pendingEvents.clear();
-                        }
-                    }
-                    if (watchKey != null) {
-                        pendingEvents.add(new PendingEvent((Path)watchKey.watchable()));
-                        watchKey.pollEvents();
-                        watchKey.reset();
-                    }
-                } catch (InterruptedException | ClosedWatchServiceException e) {
-                    running.set(false);
-                } catch (Throwable e) {
-                    running.set(false);
-                    fileWatcherNotificationHandler.errorOccurred(watchRoot, e);
-                }
+    /** Every event of directory in batch means that content of directory should be compared with its previous state. */
+    private void onEvents(List<FileWatcherEventBus.Event> events) {
+        if (!running.get()) {
+            return;
+        }
+        Set<Path> directories = newLinkedHashSet();
+        for (FileWatcherEventBus.Event event : events) {
+            directories.add(event.getDir());
+        }
+        synchronized (watchedDirectories) {
+            try {
+                processPendingEvents(directories);
+            } catch (Throwable e) {
+                fileWatcherNotificationHandler.errorOccurred(watchRoot, e);
             }
         }
     }
 
-    private void processPendingEvents(Collection<PendingEvent> pendingEvents) throws IOException {
-        for (PendingEvent pendingEvent : pendingEvents) {
-            Path eventDirectoryPath = pendingEvent.getPath();
+    private void processPendingEvents(Collection<Path> pendingEvents) throws IOException {
+        for (Path eventDirectoryPath : pendingEvents) {
             WatchedDirectory watchedDirectory = watchedDirectories.get(eventDirectoryPath);
             if (watchedDirectory == null){
                 continue;
@@ -340,7 +286,7 @@ public class FileTreeWatcher {
                 for (DirectoryItem directoryItem : watchedDirectory.getItems()) {
                     fireWatchEvent(DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
                 }
-                watchedDirectories.remove(eventDirectoryPath);
+                cancelDirectoryWatcher(eventDirectoryPath);
             }
         }
     }
@@ -356,51 +302,16 @@ public class FileTreeWatcher {
         return getLastModifiedTime(path, NOFOLLOW_LINKS).toMillis();
     }
 
-    static class PendingEvent {
-        final Path path;
-
-        PendingEvent(Path path) {
-            this.path = path;
-        }
-
-        Path getPath() {
-            return path;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o instanceof PendingEvent) {
-                PendingEvent other = (PendingEvent)o;
-                return Objects.equals(path, other.path);
-            }
-            return false;
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hashCode(path);
-        }
-    }
-
     static class WatchedDirectory {
         final Path                path;
-        final WatchKey            watchKey;
         final List<DirectoryItem> items;
         int hitCounter;
 
-        WatchedDirectory(Path path, WatchKey watchKey) {
+        WatchedDirectory(Path path) {
             this.path = path;
-            this.watchKey = watchKey;
             items = newArrayList();
         }
 
-        WatchKey getWatchKey() {
-            return watchKey;
-        }
-
         Path getPath() {
             return path;
         }
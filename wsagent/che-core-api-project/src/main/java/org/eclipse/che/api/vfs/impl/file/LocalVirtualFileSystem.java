@@ -10,9 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.hash.Hashing;
 import com.google.common.io.ByteStreams;
@@ -89,6 +91,13 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private static final String   FILE_PROPERTIES_DIR    = VFS_SERVICE_DIR + File.separatorChar + "props";
     private static final String   PROPERTIES_FILE_SUFFIX = "_props";
 
+    /**
+     * Listing of a folder is trusted only if it was taken at least this amount of time after the last modification of the folder.
+     * Some file systems have one-second (or even coarser) resolution of modification time, so changes made right after the listing
+     * may not change modification time of the folder.
+     */
+    private static final long CHILDREN_SNAPSHOT_RACY_WINDOW = 2000;
+
     private static final FilenameFilter DOT_VFS_DIR_FILTER = (dir, name) -> !(VFS_SERVICE_DIR.equals(name));
 
     private static final FilenameFilter VFS_LOCK_FILTER =
@@ -120,6 +129,23 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    /** Immutable listing of folder. Listing is up to date while modification time of the folder is not changed. */
+    private static class ChildrenSnapshot {
+        final long         lastModified;
+        final long         created;
+        final List<String> names;
+
+        ChildrenSnapshot(long lastModified, long created, List<String> names) {
+            this.lastModified = lastModified;
+            this.created = created;
+            this.names = names;
+        }
+
+        boolean isValid(long currentLastModified) {
+            return lastModified == currentLastModified && created - lastModified > CHILDREN_SNAPSHOT_RACY_WINDOW;
+        }
+    }
+
     private final File                                            ioRoot;
     private final ArchiverFactory                                 archiverFactory;
     private final SearcherProvider                                searcherProvider;
@@ -136,6 +162,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
+    private final Cache<Path, ChildrenSnapshot> childrenCache;
+
     @SuppressWarnings("unchecked")
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
@@ -162,6 +190,12 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        childrenCache = CacheBuilder.newBuilder()
+                                    .concurrencyLevel(8)
+                                    .maximumSize(1024)
+                                    .expireAfterAccess(10, MINUTES)
+                                    .build();
     }
 
     @Override
@@ -208,6 +242,15 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private void cleanUpCaches() {
         lockTokensCache.invalidateAll();
         metadataCache.invalidateAll();
+        childrenCache.invalidateAll();
+    }
+
+    /**
+     * Drops cached listings of folder with specified path and of all its descendants. Should be called when content of the folder
+     * is changed outside of this virtual file system, e.g. by file watcher.
+     */
+    void invalidateChildrenCache(Path path) {
+        childrenCache.asMap().keySet().removeIf(cached -> cached.equals(path) || cached.isChild(path));
     }
 
     /** Used in tests. Need this to check state of PathLockFactory. All locks MUST be released at the end of request lifecycle. */
@@ -243,32 +286,40 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
-            final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
+            // snapshots are immutable and replaced atomically in cache, so listing doesn't need any lock
+            final List<VirtualFile> children = doGetChildren(parent, getChildrenNames(parent), filter);
             Collections.sort(children);
             return children;
         }
         return emptyList();
     }
 
-
-    private List<VirtualFile> doGetChildren(LocalVirtualFile parent, FilenameFilter ioFileFilter, VirtualFileFilter vfsFilter)
-            throws ServerException {
-        if (ioFileFilter == null) {
-            ioFileFilter = IoUtil.ANY_FILTER;
+    private List<String> getChildrenNames(LocalVirtualFile parent) throws ServerException {
+        final Path path = parent.getPath();
+        final File ioFile = parent.toIoFile();
+        final long lastModified = ioFile.lastModified();
+        final ChildrenSnapshot cached = childrenCache.getIfPresent(path);
+        if (cached != null && cached.isValid(lastModified)) {
+            return cached.names;
         }
 
-        final String[] names = parent.toIoFile().list(ioFileFilter);
+        final String[] names = ioFile.list(DOT_VFS_DIR_FILTER);
         if (names == null) {
-            throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
+            throw new ServerException(String.format("Unable get children of '%s'", path));
         }
+        final ChildrenSnapshot snapshot = new ChildrenSnapshot(lastModified, System.currentTimeMillis(), ImmutableList.copyOf(names));
+        childrenCache.put(path, snapshot);
+        return snapshot.names;
+    }
 
+    private List<VirtualFile> doGetChildren(LocalVirtualFile parent, List<String> names, VirtualFileFilter vfsFilter) {
         if (vfsFilter == null) {
             vfsFilter = VirtualFileFilter.ACCEPT_ALL;
         }
 
-        final List<VirtualFile> children = newArrayListWithCapacity(names.length);
+        final List<VirtualFile> children = newArrayListWithCapacity(names.size());
         for (String name : names) {
             final Path childPath = parent.getPath().newPath(name);
             final LocalVirtualFile child = new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
@@ -593,6 +644,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             LOG.error("Unable delete file {}", virtualFile.toIoFile());
             throw new ServerException(String.format("Unable delete item '%s'", virtualFile.getPath()));
         }
+
+        invalidateChildrenCache(virtualFile.getPath());
     }
 
 
@@ -933,7 +986,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private void addInSearcher(LocalVirtualFile newVirtualFile) {
         if (searcherProvider != null) {
             try {
-                searcherProvider.getSearcher(this).add(newVirtualFile);
+                searcherProvider.getSearcher(this).scheduleAdd(newVirtualFile);
             } catch (ServerException e) {
                 LOG.error(e.getMessage(), e);
             }
@@ -943,7 +996,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private void updateInSearcher(LocalVirtualFile virtualFile) {
         if (searcherProvider != null) {
             try {
-                searcherProvider.getSearcher(this).update(virtualFile);
+                searcherProvider.getSearcher(this).scheduleUpdate(virtualFile);
             } catch (ServerException e) {
                 LOG.error(e.getMessage(), e);
             }
@@ -953,7 +1006,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private void deleteInSearcher(Path path, boolean isFile) {
         if (searcherProvider != null) {
             try {
-                searcherProvider.getSearcher(this).delete(path.toString(), isFile);
+                searcherProvider.getSearcher(this).scheduleDelete(path.toString(), isFile);
             } catch (ServerException e) {
                 LOG.error(e.getMessage(), e);
             }
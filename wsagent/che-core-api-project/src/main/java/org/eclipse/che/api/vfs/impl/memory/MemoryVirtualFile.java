@@ -840,7 +840,7 @@ public class MemoryVirtualFile implements VirtualFile {
         SearcherProvider searcherProvider = fileSystem.getSearcherProvider();
         if (searcherProvider != null) {
             try {
-                searcherProvider.getSearcher(fileSystem).add(newFile);
+                searcherProvider.getSearcher(fileSystem).scheduleAdd(newFile);
             } catch (ServerException e) {
                 LOG.error(e.getMessage(), e);
             }
@@ -851,7 +851,7 @@ public class MemoryVirtualFile implements VirtualFile {
         SearcherProvider searcherProvider = fileSystem.getSearcherProvider();
         if (searcherProvider != null) {
             try {
-                searcherProvider.getSearcher(fileSystem).update(this);
+                searcherProvider.getSearcher(fileSystem).scheduleUpdate(this);
             } catch (ServerException e) {
                 LOG.error(e.getMessage(), e);
             }
@@ -862,7 +862,7 @@ public class MemoryVirtualFile implements VirtualFile {
         SearcherProvider searcherProvider = fileSystem.getSearcherProvider();
         if (searcherProvider != null) {
             try {
-                searcherProvider.getSearcher(fileSystem).delete(path.toString(), isFile);
+                searcherProvider.getSearcher(fileSystem).scheduleDelete(path.toString(), isFile);
             } catch (ServerException e) {
                 LOG.error(e.getMessage(), e);
             }
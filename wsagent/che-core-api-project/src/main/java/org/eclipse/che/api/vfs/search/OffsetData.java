@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+/**
+ * Occurrence of searched text in file.
+ */
+public class OffsetData {
+    private final String phrase;
+    private final int    startOffset;
+    private final int    endOffset;
+    private final int    lineNumber;
+    private final String lineContent;
+
+    public OffsetData(String phrase, int startOffset, int endOffset, int lineNumber, String lineContent) {
+        this.phrase = phrase;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.lineNumber = lineNumber;
+        this.lineContent = lineContent;
+    }
+
+    /** Matched text as it appears in file. */
+    public String getPhrase() {
+        return phrase;
+    }
+
+    /** Offset of the first character of matched text from the beginning of file. */
+    public int getStartOffset() {
+        return startOffset;
+    }
+
+    /** Offset after the last character of matched text from the beginning of file. */
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    /** Number of line that contains matched text. Lines are numbered from 1. */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /** Content of line that contains matched text. May be used as snippet for displaying search result. */
+    public String getLineContent() {
+        return lineContent;
+    }
+
+    @Override
+    public String toString() {
+        return "OffsetData{" +
+               "phrase='" + phrase + '\'' +
+               ", startOffset=" + startOffset +
+               ", endOffset=" + endOffset +
+               ", lineNumber=" + lineNumber +
+               ", lineContent='" + lineContent + '\'' +
+               '}';
+    }
+}
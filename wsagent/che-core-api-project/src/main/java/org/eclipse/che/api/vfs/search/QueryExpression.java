@@ -12,11 +12,14 @@ package org.eclipse.che.api.vfs.search;
 
 /** Container for parameters of query that executed by Searcher.*/
 public class QueryExpression {
-    private String name;
-    private String path;
-    private String text;
-    private int    skipCount;
-    private int    maxItems;
+    private String  name;
+    private String  path;
+    private String  text;
+    private int     skipCount;
+    private int     maxItems;
+    private String  after;
+    private boolean includePositions;
+    private long    minSequence;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -68,6 +71,46 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Opaque cursor which points to the last item of previous page. If cursor is set then search result starts right after the item
+     * the cursor points to and {@link #getSkipCount()} is used only for counting of retrieved items. Cursor should be taken from
+     * query expression returned by {@link SearchResult#getNextPageQueryExpression()}.
+     */
+    public String getAfter() {
+        return after;
+    }
+
+    public QueryExpression setAfter(String after) {
+        this.after = after;
+        return this;
+    }
+
+    /** If {@code true} then each item in search result contains occurrences of searched text with lines that contain them. */
+    public boolean isIncludePositions() {
+        return includePositions;
+    }
+
+    public QueryExpression setIncludePositions(boolean includePositions) {
+        this.includePositions = includePositions;
+        return this;
+    }
+
+    /**
+     * Sequence number of change of index which must be visible for this query. If change is not applied to index yet search waits
+     * until it is applied. By default search does not wait for scheduled changes.
+     *
+     * @see Searcher#scheduleAdd(org.eclipse.che.api.vfs.VirtualFile)
+     * @see Searcher#getScheduledSequence()
+     */
+    public long getMinSequence() {
+        return minSequence;
+    }
+
+    public QueryExpression setMinSequence(long minSequence) {
+        this.minSequence = minSequence;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "QueryExpression{" +
@@ -76,6 +119,9 @@ public class QueryExpression {
                ", path='" + path + '\'' +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
+               ", after='" + after + '\'' +
+               ", includePositions=" + includePositions +
+               ", minSequence=" + minSequence +
                '}';
     }
 }
@@ -56,6 +56,40 @@ public interface Searcher {
      */
     void update(VirtualFile virtualFile) throws ServerException;
 
+    /**
+     * Schedules adding of VirtualFile to index. Unlike to {@link #add(VirtualFile)} this method does not update index immediately.
+     * Changes are coalesced by path and applied to index in background.
+     *
+     * @param virtualFile
+     *         VirtualFile to add
+     * @return sequence number of change, it may be used in {@link QueryExpression#setMinSequence(long)} to make sure that change is
+     * visible for search
+     */
+    long scheduleAdd(VirtualFile virtualFile);
+
+    /**
+     * Schedules deleting of VirtualFile from index.
+     *
+     * @param path
+     *         path of VirtualFile
+     * @return sequence number of change
+     * @see #scheduleAdd(VirtualFile)
+     */
+    long scheduleDelete(String path, boolean isFile);
+
+    /**
+     * Schedules updating of indexed VirtualFile.
+     *
+     * @param virtualFile
+     *         VirtualFile to update
+     * @return sequence number of change
+     * @see #scheduleAdd(VirtualFile)
+     */
+    long scheduleUpdate(VirtualFile virtualFile);
+
+    /** Returns sequence number of the last scheduled change of index. */
+    long getScheduledSequence();
+
     /** Close Searcher. */
     void close();
 
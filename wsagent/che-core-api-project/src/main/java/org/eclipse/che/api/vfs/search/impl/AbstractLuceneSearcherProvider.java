@@ -22,6 +22,7 @@ import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 
 import javax.annotation.PreDestroy;
+import javax.inject.Named;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
@@ -35,6 +36,8 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
     protected final AtomicReference<Searcher> searcherReference = new AtomicReference<>();
     private final ExecutorService executor;
 
+    private long indexMaxStalenessMillis = LuceneSearcher.DEFAULT_INDEX_MAX_STALENESS_MILLIS;
+
     /**
      * @param excludeFileIndexFilters
      *         set filter for files that should not be indexed
@@ -49,6 +52,15 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
                                                              .build());
     }
 
+    /**
+     * Max time in milliseconds after that changes of files become visible for search, see
+     * {@link LuceneSearcher#setIndexMaxStalenessMillis(long)}.
+     */
+    @com.google.inject.Inject(optional = true)
+    void setIndexMaxStalenessMillis(@Named("vfs.search.index_max_staleness_ms") long indexMaxStalenessMillis) {
+        this.indexMaxStalenessMillis = indexMaxStalenessMillis;
+    }
+
     private VirtualFileFilter mergeFileIndexFilters(Set<VirtualFileFilter> fileIndexFilters) {
         final VirtualFileFilter filter;
         if (fileIndexFilters.isEmpty()) {
@@ -66,6 +78,7 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
         Searcher cachedSearcher = searcherReference.get();
         if (cachedSearcher == null && create) {
             LuceneSearcher searcher = createLuceneSearcher(() -> searcherReference.set(null));
+            searcher.setIndexMaxStalenessMillis(indexMaxStalenessMillis);
             if (searcherReference.compareAndSet(null, searcher)) {
                 searcher.initAsynchronously(executor, virtualFileSystem);
             }
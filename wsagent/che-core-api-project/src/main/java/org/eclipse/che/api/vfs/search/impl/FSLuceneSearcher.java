@@ -25,22 +25,33 @@ import java.io.IOException;
 import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
 
 /**
- * Filesystem based LuceneSearcher which cleans index directory after call method {@link #close()}.
+ * Filesystem based LuceneSearcher. Non-persistent searcher cleans index directory after call method {@link #close()}. Persistent
+ * searcher keeps index directory after closing and on next initialization re-indexes only files that are changed since they were
+ * indexed last time.
  *
  * @author andrew00x
  */
 public class FSLuceneSearcher extends LuceneSearcher {
     private static final Logger LOG = LoggerFactory.getLogger(FSLuceneSearcher.class);
 
-    private final File indexDirectory;
+    private final File    indexDirectory;
+    private final boolean persistent;
 
     FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter) {
         this(indexDirectory, filter, null);
     }
 
     FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
+        this(indexDirectory, filter, closeCallback, false);
+    }
+
+    FSLuceneSearcher(File indexDirectory,
+                     VirtualFileFilter filter,
+                     AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                     boolean persistent) {
         super(filter, closeCallback);
         this.indexDirectory = indexDirectory;
+        this.persistent = persistent;
     }
 
     @Override
@@ -54,7 +65,7 @@ public class FSLuceneSearcher extends LuceneSearcher {
 
     @Override
     protected void afterClose() throws IOException {
-        if (!deleteRecursive(indexDirectory)) {
+        if (!persistent && !deleteRecursive(indexDirectory)) {
             LOG.warn("Unable delete index directory '{}', add it in FileCleaner", indexDirectory);
             FileCleaner.addFile(indexDirectory);
         }
@@ -28,6 +28,8 @@ import static com.google.common.collect.Sets.newHashSet;
 public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
     private final File indexRootDirectory;
 
+    private boolean persistentIndex = true;
+
     /**
      * @param indexRootDirectory
      *         root directory for creation index
@@ -43,8 +45,17 @@ public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
         Files.createDirectories(indexRootDirectory.toPath());
     }
 
+    /**
+     * If {@code true} (default) index is kept on disk between restarts of searcher and only changed files are re-indexed at
+     * startup, otherwise index is removed when searcher is closed.
+     */
+    @com.google.inject.Inject(optional = true)
+    void setPersistentIndex(@Named("vfs.search.persistent_index") boolean persistentIndex) {
+        this.persistentIndex = persistentIndex;
+    }
+
     @Override
     protected LuceneSearcher createLuceneSearcher(CloseCallback closeCallback) {
-        return new FSLuceneSearcher(indexRootDirectory, excludeFileIndexFilters, closeCallback);
+        return new FSLuceneSearcher(indexRootDirectory, excludeFileIndexFilters, closeCallback, persistentIndex);
     }
 }
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.eclipse.che.api.vfs.VirtualFile;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pending changes of index coalesced by path. Each scheduled change gets sequence number. Changes are taken from the queue in batches
+ * with method {@link #drain()} and after they are applied and visible for search consumer reports it with method
+ * {@link #applied(long)}.
+ * <p/>
+ * If the same path is changed few times before changes are taken from the queue only the last state is kept, e.g. sequence of updates
+ * of file results in single update of index. Deletion followed by addition of the same path results in deletion and addition, that
+ * is needed for folders to remove documents of files which do not exist anymore.
+ * <p/>
+ * Changes that are written to index directly, bypassing the queue, get sequence number as well, the next batch taken from the queue
+ * covers them even if there is no pending changes, so they become visible for search at the same time as scheduled changes.
+ *
+ * @author agent
+ */
+class IndexUpdatesQueue {
+    private Map<String, PendingUpdate> pending;
+    private long                       scheduledSequence;
+    private long                       drainedSequence;
+    private long                       appliedSequence;
+    private boolean                    closed;
+
+    IndexUpdatesQueue() {
+        pending = new LinkedHashMap<>();
+    }
+
+    /** Schedules adding or updating of file or folder in index. Returns sequence number of change. */
+    synchronized long scheduleIndex(VirtualFile virtualFile) {
+        final String path = virtualFile.getPath().toString();
+        PendingUpdate update = pending.remove(path);
+        if (update == null) {
+            update = new PendingUpdate(path);
+        }
+        update.index = virtualFile;
+        pending.put(path, update);
+        return ++scheduledSequence;
+    }
+
+    /** Schedules deletion of file or folder from index. Returns sequence number of change. */
+    synchronized long scheduleDelete(String path, boolean isFile) {
+        PendingUpdate update = pending.remove(path);
+        if (update == null) {
+            update = new PendingUpdate(path);
+        }
+        update.delete = true;
+        // If path was deleted as folder at least once we need to delete documents of all its children.
+        update.deleteFile = update.deleteFile && isFile;
+        update.index = null;
+        pending.put(path, update);
+        return ++scheduledSequence;
+    }
+
+    /** Registers change that is already written to index and needs only to be made visible for search. Returns sequence number. */
+    synchronized long written() {
+        return ++scheduledSequence;
+    }
+
+    /** Sequence number of the last scheduled change. */
+    synchronized long getScheduledSequence() {
+        return scheduledSequence;
+    }
+
+    /** Sequence number of the last change which is applied to index and visible for search. */
+    synchronized long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /** Takes all pending changes from the queue. Returns {@code null} if there is no changes since the previous batch. */
+    synchronized Batch drain() {
+        if (drainedSequence == scheduledSequence) {
+            return null;
+        }
+        final Batch batch = new Batch(new ArrayList<>(pending.values()), scheduledSequence);
+        pending = new LinkedHashMap<>();
+        drainedSequence = scheduledSequence;
+        return batch;
+    }
+
+    /** Notifies the queue that all changes up to the specified sequence are applied and visible for search. */
+    synchronized void applied(long sequence) {
+        if (sequence > appliedSequence) {
+            appliedSequence = sequence;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Waits until change with specified sequence number is applied.
+     *
+     * @return {@code true} if change is applied and {@code false} if timeout is reached or queue is closed
+     */
+    synchronized boolean waitFor(long sequence, long timeoutMillis) throws InterruptedException {
+        final long endTime = System.currentTimeMillis() + timeoutMillis;
+        long waitTime = timeoutMillis;
+        while (appliedSequence < sequence && !closed) {
+            if (waitTime <= 0) {
+                return false;
+            }
+            wait(waitTime);
+            waitTime = endTime - System.currentTimeMillis();
+        }
+        return appliedSequence >= sequence;
+    }
+
+    synchronized void close() {
+        closed = true;
+        pending.clear();
+        notifyAll();
+    }
+
+    static class PendingUpdate {
+        final String path;
+
+        boolean     delete;
+        boolean     deleteFile = true;
+        VirtualFile index;
+
+        PendingUpdate(String path) {
+            this.path = path;
+        }
+    }
+
+    static class Batch {
+        final List<PendingUpdate> updates;
+        final long                sequence;
+
+        Batch(List<PendingUpdate> updates, long sequence) {
+            this.updates = updates;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress and throughput of indexing of file tree. Instance of this class is updated concurrently by threads of indexing pipeline and
+ * may be read at any time.
+ *
+ * @author agent
+ */
+public class IndexingProgress {
+    private final long       startTime;
+    private final AtomicLong scannedFolders;
+    private final AtomicLong queuedFiles;
+    private final AtomicLong indexedFiles;
+    private final AtomicLong failedFiles;
+    private final AtomicLong skippedFiles;
+
+    private volatile long endTime;
+
+    IndexingProgress() {
+        startTime = System.currentTimeMillis();
+        scannedFolders = new AtomicLong();
+        queuedFiles = new AtomicLong();
+        indexedFiles = new AtomicLong();
+        failedFiles = new AtomicLong();
+        skippedFiles = new AtomicLong();
+    }
+
+    /** Number of folders which are already listed by indexing pipeline. */
+    public long getScannedFolders() {
+        return scannedFolders.get();
+    }
+
+    /** Number of files found in the file tree and passed to indexing workers. */
+    public long getQueuedFiles() {
+        return queuedFiles.get();
+    }
+
+    /** Number of files added to the index. */
+    public long getIndexedFiles() {
+        return indexedFiles.get();
+    }
+
+    /** Number of files which were not indexed because of errors. */
+    public long getFailedFiles() {
+        return failedFiles.get();
+    }
+
+    /** Number of files which were not indexed because they are not changed since they were indexed last time. */
+    public long getSkippedFiles() {
+        return skippedFiles.get();
+    }
+
+    public boolean isDone() {
+        return endTime > 0;
+    }
+
+    public long getElapsedTimeMillis() {
+        return (isDone() ? endTime : System.currentTimeMillis()) - startTime;
+    }
+
+    /** Number of indexed files per second. */
+    public double getThroughput() {
+        final long elapsed = getElapsedTimeMillis();
+        return elapsed == 0 ? 0 : getIndexedFiles() * 1000.0 / elapsed;
+    }
+
+    void folderScanned() {
+        scannedFolders.incrementAndGet();
+    }
+
+    void fileQueued() {
+        queuedFiles.incrementAndGet();
+    }
+
+    void filesIndexed(int num) {
+        indexedFiles.addAndGet(num);
+    }
+
+    void fileFailed() {
+        failedFiles.incrementAndGet();
+    }
+
+    void fileSkipped() {
+        skippedFiles.incrementAndGet();
+    }
+
+    void done() {
+        endTime = System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return "IndexingProgress{" +
+               "scannedFolders=" + getScannedFolders() +
+               ", queuedFiles=" + getQueuedFiles() +
+               ", indexedFiles=" + getIndexedFiles() +
+               ", failedFiles=" + getFailedFiles() +
+               ", skippedFiles=" + getSkippedFiles() +
+               ", elapsedTimeMillis=" + getElapsedTimeMillis() +
+               ", done=" + isDone() +
+               '}';
+    }
+}
@@ -10,43 +10,64 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.document.BinaryDocValuesField;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.BinaryDocValues;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.index.SortedDocValues;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TieredMergePolicy;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.store.AlreadyClosedException;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
+import org.eclipse.che.api.vfs.search.OffsetData;
 import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,12 +75,23 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.emptyList;
 
 /**
  * Lucene based searcher.
@@ -71,11 +103,38 @@ public abstract class LuceneSearcher implements Searcher {
 
     private static final int RESULT_LIMIT = 1000;
 
+    private static final int         MAX_OCCURRENCES_PER_FILE = 100;
+    private static final Set<String> PATH_FIELD               = newHashSet("path");
+    /**
+     * Results are sorted by score and then by path. Unlike doc id path of file is not changed when index is refreshed or segments
+     * are merged, so position of page in results may be restored from the last document of the previous page.
+     */
+    private static final Sort        RESULT_SORT              = new Sort(SortField.FIELD_SCORE,
+                                                                         new SortField("sortPath", SortField.Type.STRING));
+
+    private static final double INDEX_RAM_BUFFER_SIZE_MB = 64;
+    private static final double INDEX_SEGMENTS_PER_TIER  = 20;
+    private static final int    INDEXING_THREADS         = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int    INDEXING_QUEUE_CAPACITY  = 1024;
+    private static final int    INDEXING_BATCH_SIZE      = 128;
+
+    static final long DEFAULT_INDEX_MAX_STALENESS_MILLIS = 1000;
+
+    private static final long WAIT_FOR_INDEX_UPDATE_TIMEOUT = 60000;
+
     private final List<VirtualFileFilter>                      excludeFileIndexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
+    private final IndexUpdatesQueue                            updatesQueue;
+
+    private IndexWriter              luceneIndexWriter;
+    private SearcherManager          searcherManager;
+    private ScheduledExecutorService indexUpdater;
+    private long                     indexMaxStalenessMillis = DEFAULT_INDEX_MAX_STALENESS_MILLIS;
+    /** Sequence of the last change written to index but probably not visible for search yet. Accessed only by index updater. */
+    private long                     writtenSequence;
 
-    private IndexWriter     luceneIndexWriter;
-    private SearcherManager searcherManager;
+    private volatile IndexingProgress  indexingProgress;
+    private volatile VirtualFileSystem virtualFileSystem;
 
     private boolean closed = true;
 
@@ -94,6 +153,7 @@ public abstract class LuceneSearcher implements Searcher {
      */
     protected LuceneSearcher(VirtualFileFilter excludeFileIndexFilter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
         this.closeCallback = closeCallback;
+        updatesQueue = new IndexUpdatesQueue();
         excludeFileIndexFilters = new CopyOnWriteArrayList<>();
         excludeFileIndexFilters.add(excludeFileIndexFilter);
     }
@@ -121,6 +181,26 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected abstract Directory makeDirectory() throws ServerException;
 
+    /**
+     * Sets max time after that changes scheduled with methods {@link #scheduleAdd(VirtualFile)}, {@link #scheduleUpdate(VirtualFile)}
+     * and {@link #scheduleDelete(String, boolean)} become visible for search. All changes scheduled within this time window are
+     * coalesced by path and applied to index in one batch. Must be called before initialization of searcher.
+     */
+    synchronized void setIndexMaxStalenessMillis(long indexMaxStalenessMillis) {
+        if (indexMaxStalenessMillis < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.indexMaxStalenessMillis = indexMaxStalenessMillis;
+    }
+
+    /** Creates configuration of index writer which is tuned for bulk indexing of file tree. */
+    protected IndexWriterConfig makeIndexWriterConfig() {
+        final TieredMergePolicy mergePolicy = new TieredMergePolicy();
+        mergePolicy.setSegmentsPerTier(INDEX_SEGMENTS_PER_TIER);
+        return new IndexWriterConfig(makeAnalyzer()).setRAMBufferSizeMB(INDEX_RAM_BUFFER_SIZE_MB)
+                                                    .setMergePolicy(mergePolicy);
+    }
+
     /**
      * Init lucene index. Need call this method if index directory is clean. Scan all files in virtual filesystem and add to index.
      *
@@ -131,15 +211,17 @@ public abstract class LuceneSearcher implements Searcher {
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        this.virtualFileSystem = virtualFileSystem;
+        indexTree(virtualFileSystem.getRoot());
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
         doInit();
+        this.virtualFileSystem = virtualFileSystem;
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.indexTree(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -149,8 +231,16 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected final synchronized void doInit() throws ServerException {
         try {
-            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+            luceneIndexWriter = new IndexWriter(makeDirectory(), makeIndexWriterConfig());
             searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
+            indexUpdater = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                                                                              .setDaemon(true)
+                                                                              .setUncaughtExceptionHandler(
+                                                                                      LoggingUncaughtExceptionHandler.getInstance())
+                                                                              .setNameFormat("LuceneIndexUpdater-%d")
+                                                                              .build());
+            indexUpdater.scheduleWithFixedDelay(this::applyScheduledUpdates,
+                                                indexMaxStalenessMillis, indexMaxStalenessMillis, MILLISECONDS);
             closed = false;
         } catch (IOException e) {
             throw new ServerException(e);
@@ -159,6 +249,8 @@ public abstract class LuceneSearcher implements Searcher {
 
     public final synchronized void close() {
         if (!closed) {
+            indexUpdater.shutdownNow();
+            updatesQueue.close();
             try {
                 IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
                 afterClose();
@@ -184,39 +276,65 @@ public abstract class LuceneSearcher implements Searcher {
         return luceneIndexWriter;
     }
 
+    /**
+     * Returns progress of initial indexing of virtual filesystem or {@code null} if indexing is not started yet.
+     *
+     * @see #init(VirtualFileSystem)
+     * @see #initAsynchronously(ExecutorService, VirtualFileSystem)
+     */
+    public IndexingProgress getIndexingProgress() {
+        return indexingProgress;
+    }
+
     @Override
     public SearchResult search(QueryExpression query) throws ServerException {
         IndexSearcher luceneSearcher = null;
         try {
             final long startTime = System.currentTimeMillis();
-            searcherManager.maybeRefresh();
+            if (query.getMinSequence() > 0) {
+                waitForSequence(query.getMinSequence());
+            }
             luceneSearcher = searcherManager.acquire();
 
-            Query luceneQuery = createLuceneQuery(query);
+            final Query textQuery = query.getText() == null ? null : parseTextQuery(query.getText());
+            final Query luceneQuery = createLuceneQuery(query, textQuery);
 
-            ScoreDoc after = null;
+            FieldDoc after = null;
             final int numSkipDocs = Math.max(0, query.getSkipCount());
-            if (numSkipDocs > 0) {
+            if (query.getAfter() != null) {
+                after = decodeCursor(query.getAfter());
+            } else if (numSkipDocs > 0) {
                 after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
             }
 
             final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
-            TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs);
+            // one extra document shows whether there is the next page, no matter how the current page is addressed
+            TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs + 1, RESULT_SORT, true, false);
             final int totalHitsNum = topDocs.totalHits;
+            final boolean hasMoreToRetrieve = topDocs.scoreDocs.length > numDocs;
+            final int numResults = Math.min(topDocs.scoreDocs.length, numDocs);
 
+            final OccurrencesFinder occurrencesFinder = query.isIncludePositions() && textQuery != null
+                                                        ? new OccurrencesFinder(textQuery, "text", makeAnalyzer(), MAX_OCCURRENCES_PER_FILE)
+                                                        : null;
             List<SearchResultEntry> results = newArrayList();
-            for (int i = 0; i < topDocs.scoreDocs.length; i++) {
+            for (int i = 0; i < numResults; i++) {
                 ScoreDoc scoreDoc = topDocs.scoreDocs[i];
-                String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
-                results.add(new SearchResultEntry(filePath));
+                String filePath = readPath(luceneSearcher, scoreDoc.doc);
+                if (occurrencesFinder == null) {
+                    results.add(new SearchResultEntry(filePath));
+                } else {
+                    results.add(new SearchResultEntry(filePath, findOccurrences(occurrencesFinder, filePath)));
+                }
             }
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
 
-            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
             QueryExpression nextPageQueryExpression = null;
-            if (hasMoreToRetrieve) {
-                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+            if (hasMoreToRetrieve && numResults > 0) {
+                nextPageQueryExpression = createNextPageQuery(query,
+                                                              numSkipDocs + numResults,
+                                                              encodeCursor((FieldDoc)topDocs.scoreDocs[numResults - 1]));
             }
 
             return SearchResult.aSearchResult()
@@ -236,61 +354,202 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
-    private Query createLuceneQuery(QueryExpression query) throws ServerException {
+    /** Waits until index updater makes change with specified sequence visible for search. */
+    private void waitForSequence(long sequence) throws ServerException {
+        if (updatesQueue.getAppliedSequence() >= sequence) {
+            return;
+        }
+        try {
+            if (!updatesQueue.waitFor(sequence, WAIT_FOR_INDEX_UPDATE_TIMEOUT)) {
+                throw new ServerException(String.format("Index is not updated up to sequence %d", sequence));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Interrupted while waiting for index update");
+        }
+    }
+
+    private Query createLuceneQuery(QueryExpression query, Query textQuery) {
         final BooleanQuery luceneQuery = new BooleanQuery();
         final String name = query.getName();
         final String path = query.getPath();
-        final String text = query.getText();
         if (path != null) {
             luceneQuery.add(new PrefixQuery(new Term("path", path)), BooleanClause.Occur.MUST);
         }
         if (name != null) {
             luceneQuery.add(new WildcardQuery(new Term("name", name)), BooleanClause.Occur.MUST);
         }
-        if (text != null) {
-            QueryParser qParser = new QueryParser("text", makeAnalyzer());
-            qParser.setAllowLeadingWildcard(true);
-            try {
-                luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
-            } catch (ParseException e) {
-                throw new ServerException(e.getMessage());
-            }
+        if (textQuery != null) {
+            luceneQuery.add(textQuery, BooleanClause.Occur.MUST);
         }
         return luceneQuery;
     }
 
-    private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs) throws IOException {
+    private Query parseTextQuery(String text) throws ServerException {
+        QueryParser qParser = new QueryParser("text", makeAnalyzer());
+        qParser.setAllowLeadingWildcard(true);
+        try {
+            return qParser.parse(text);
+        } catch (ParseException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+
+    /** Reads path of document from doc values. Falls back to stored field for documents that were indexed without doc values. */
+    private String readPath(IndexSearcher luceneSearcher, int doc) throws IOException {
+        final List<LeafReaderContext> leaves = luceneSearcher.getIndexReader().leaves();
+        final LeafReaderContext leaf = leaves.get(ReaderUtil.subIndex(doc, leaves));
+        final BinaryDocValues paths = leaf.reader().getBinaryDocValues("path");
+        if (paths != null) {
+            final BytesRef path = paths.get(doc - leaf.docBase);
+            if (path.length > 0) {
+                return path.utf8ToString();
+            }
+        }
+        return luceneSearcher.doc(doc, PATH_FIELD).get("path");
+    }
+
+    private List<OffsetData> findOccurrences(OccurrencesFinder occurrencesFinder, String filePath) {
+        final VirtualFileSystem fileSystem = virtualFileSystem;
+        if (fileSystem == null || occurrencesFinder.isEmpty()) {
+            return emptyList();
+        }
+        try {
+            final VirtualFile file = fileSystem.getRoot().getChild(Path.of(filePath));
+            if (file == null || !file.isFile()) {
+                return emptyList();
+            }
+            return occurrencesFinder.find(file.getContentAsString());
+        } catch (ServerException | ForbiddenException | IOException e) {
+            LOG.warn("Unable find occurrences of searched text in file {}: {}", filePath, e.getMessage());
+            return emptyList();
+        }
+    }
+
+    /**
+     * Cursor is built from sort values of the last document of page, score and path of document are enough to continue search with
+     * {@link IndexSearcher#searchAfter} even if index is changed between requests.
+     */
+    private String encodeCursor(FieldDoc fieldDoc) {
+        final BytesRef path = (BytesRef)fieldDoc.fields[1];
+        final String cursor = Integer.toHexString(Float.floatToIntBits((Float)fieldDoc.fields[0])) + ':' +
+                              (path == null ? "" : path.utf8ToString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private FieldDoc decodeCursor(String cursor) throws ServerException {
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int separator = decoded.indexOf(':');
+            final float score = Float.intBitsToFloat(Integer.parseUnsignedInt(decoded.substring(0, separator), 16));
+            final String path = decoded.substring(separator + 1);
+            // Doc id is used by lucene only if all sort values are equal, max value skips the document that ends the previous page.
+            return new FieldDoc(Integer.MAX_VALUE, score, new Object[]{score, path.isEmpty() ? null : new BytesRef(path)});
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ServerException(String.format("Invalid search cursor '%s'", cursor));
+        }
+    }
+
+    private FieldDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs) throws IOException {
         final int readFrameSize = Math.min(numSkipDocs, RESULT_LIMIT);
-        ScoreDoc scoreDoc = null;
+        FieldDoc scoreDoc = null;
         int retrievedDocs = 0;
         TopDocs topDocs;
         do {
-            topDocs = luceneSearcher.searchAfter(scoreDoc, luceneQuery, readFrameSize);
+            topDocs = luceneSearcher.searchAfter(scoreDoc, luceneQuery, readFrameSize, RESULT_SORT, true, false);
             if (topDocs.scoreDocs.length > 0) {
-                scoreDoc = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
+                scoreDoc = (FieldDoc)topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
             }
             retrievedDocs += topDocs.scoreDocs.length;
         } while (retrievedDocs < numSkipDocs && topDocs.scoreDocs.length > 0);
 
         if (retrievedDocs > numSkipDocs) {
             int lastScoreDocIndex = topDocs.scoreDocs.length - (retrievedDocs - numSkipDocs);
-            scoreDoc = topDocs.scoreDocs[lastScoreDocIndex];
+            scoreDoc = (FieldDoc)topDocs.scoreDocs[lastScoreDocIndex];
         }
 
         return scoreDoc;
     }
 
-    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
+    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount, String after) {
         return new QueryExpression().setText(originalQuery.getText())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
                                     .setSkipCount(newSkipCount)
-                                    .setMaxItems(originalQuery.getMaxItems());
+                                    .setMaxItems(originalQuery.getMaxItems())
+                                    .setAfter(after)
+                                    .setIncludePositions(originalQuery.isIncludePositions());
     }
 
+    /** Adds file to index. Change becomes visible for search after the next run of index updater. */
     @Override
     public final void add(VirtualFile virtualFile) throws ServerException {
         doAdd(virtualFile);
+        updatesQueue.written();
+    }
+
+    @Override
+    public final long scheduleAdd(VirtualFile virtualFile) {
+        return updatesQueue.scheduleIndex(virtualFile);
+    }
+
+    @Override
+    public final long scheduleUpdate(VirtualFile virtualFile) {
+        return updatesQueue.scheduleIndex(virtualFile);
+    }
+
+    @Override
+    public final long scheduleDelete(String path, boolean isFile) {
+        return updatesQueue.scheduleDelete(path, isFile);
+    }
+
+    @Override
+    public long getScheduledSequence() {
+        return updatesQueue.getScheduledSequence();
+    }
+
+    /**
+     * Applies changes coalesced in queue since the previous run and makes them visible for search. This is the only place where
+     * index is refreshed, searches use the last refreshed view of index. If refresh fails changes stay written in index writer and
+     * refresh is retried on the next run.
+     */
+    private void applyScheduledUpdates() {
+        try {
+            final IndexUpdatesQueue.Batch batch = updatesQueue.drain();
+            if (batch != null) {
+                for (IndexUpdatesQueue.PendingUpdate update : batch.updates) {
+                    try {
+                        if (update.delete) {
+                            doDelete(update.path, update.deleteFile);
+                        }
+                        if (update.index != null && update.index.exists()) {
+                            doAdd(update.index);
+                        }
+                    } catch (AlreadyClosedException e) {
+                        throw e;
+                    } catch (ServerException | RuntimeException e) {
+                        LOG.warn("Unable update index for {}: {}", update.path, e.getMessage());
+                    }
+                }
+                writtenSequence = batch.sequence;
+            }
+            refresh();
+            updatesQueue.applied(writtenSequence);
+        } catch (AlreadyClosedException e) {
+            LOG.debug(e.getMessage());
+        } catch (ServerException | RuntimeException e) {
+            // Exception must not cancel further runs of updater.
+            LOG.warn("Unable refresh index, will retry: {}", e.getMessage());
+        }
+    }
+
+    /** Makes all changes in index visible for search. */
+    private void refresh() throws ServerException {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
     }
 
     protected void doAdd(VirtualFile virtualFile) throws ServerException {
@@ -323,6 +582,116 @@ public abstract class LuceneSearcher implements Searcher {
         LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
     }
 
+    /**
+     * Indexes whole tree with parallel pipeline. If index is not empty only files which are changed since the previous run of
+     * searcher are indexed.
+     */
+    private void indexTree(VirtualFile tree) throws ServerException {
+        final TreeIndexer indexer = new TreeIndexer(this, INDEXING_THREADS, INDEXING_QUEUE_CAPACITY, INDEXING_BATCH_SIZE);
+        indexingProgress = indexer.getProgress();
+        final IndexWriter writer = getIndexWriter();
+        if (writer.numDocs() == 0) {
+            indexer.index(tree);
+        } else {
+            reconcileTree(tree, indexer);
+        }
+        refresh();
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Brings index that is left from the previous run of searcher in consistency with file tree. Only files which are added or
+     * changed since they were indexed last time are indexed, documents of deleted files are removed from index. Index may be used
+     * for searching while reconciliation is in progress.
+     * <p/>
+     * Changes found by reconciliation are passed through the queue of scheduled updates together with changes reported by file
+     * watcher, so they are applied in order of detection and stale state of file can't overwrite newer one.
+     */
+    private void reconcileTree(VirtualFile tree, TreeIndexer indexer) throws ServerException {
+        final Map<String, FileFingerprint> indexed = readFingerprints();
+        LOG.debug("Reconcile index of {} files with file tree {}", indexed.size(), tree.getPath());
+        final IndexingProgress progress = indexer.getProgress();
+        indexer.scan(tree,
+                     file -> {
+                         final FileFingerprint fingerprint = indexed.remove(file.getPath().toString());
+                         return fingerprint == null || !fingerprint.matches(file);
+                     },
+                     file -> {
+                         updatesQueue.scheduleIndex(file);
+                         progress.filesIndexed(1);
+                     });
+        final String treePath = tree.getPath().toString();
+        final String treePrefix = treePath.endsWith("/") ? treePath : treePath + '/';
+        int deleted = 0;
+        for (String path : indexed.keySet()) {
+            if (path.startsWith(treePrefix) && tree.getChild(Path.of(path.substring(treePrefix.length()))) == null) {
+                updatesQueue.scheduleDelete(path, true);
+                deleted++;
+            }
+        }
+        try {
+            if (!updatesQueue.waitFor(updatesQueue.getScheduledSequence(), WAIT_FOR_INDEX_UPDATE_TIMEOUT)) {
+                LOG.warn("Changes found by reconciliation of index with {} are not applied yet", tree.getPath());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Interrupted while waiting for index update");
+        }
+        LOG.debug("Reconciliation of index with {} is done, {} files indexed, {} files not changed, {} files deleted",
+                  tree.getPath(), progress.getIndexedFiles(), progress.getSkippedFiles(), deleted);
+    }
+
+    /**
+     * Reads paths of all indexed files together with size and modification date that files had when they were indexed. Documents
+     * that miss any of doc values fields, e.g. created by older version of searcher, get fingerprint that never matches file, so
+     * they are re-indexed.
+     */
+    private Map<String, FileFingerprint> readFingerprints() throws ServerException {
+        final Map<String, FileFingerprint> fingerprints = new ConcurrentHashMap<>();
+        IndexSearcher luceneSearcher = null;
+        try {
+            luceneSearcher = searcherManager.acquire();
+            for (LeafReaderContext leaf : luceneSearcher.getIndexReader().leaves()) {
+                final LeafReader reader = leaf.reader();
+                final BinaryDocValues paths = reader.getBinaryDocValues("path");
+                final NumericDocValues modified = reader.getNumericDocValues("modified");
+                final NumericDocValues length = reader.getNumericDocValues("length");
+                final SortedDocValues sortPaths = reader.getSortedDocValues("sortPath");
+                final Bits withModified = reader.getDocsWithField("modified");
+                final Bits withLength = reader.getDocsWithField("length");
+                final Bits liveDocs = reader.getLiveDocs();
+                for (int doc = 0, maxDoc = reader.maxDoc(); doc < maxDoc; doc++) {
+                    if (liveDocs != null && !liveDocs.get(doc)) {
+                        continue;
+                    }
+                    final BytesRef path = paths == null ? null : paths.get(doc);
+                    if (path == null || path.length == 0 || sortPaths == null || sortPaths.getOrd(doc) < 0
+                        || withModified == null || !withModified.get(doc) || withLength == null || !withLength.get(doc)) {
+                        final String storedPath = reader.document(doc, PATH_FIELD).get("path");
+                        if (storedPath != null) {
+                            fingerprints.put(storedPath, FileFingerprint.STALE);
+                        }
+                    } else {
+                        fingerprints.put(path.utf8ToString(), new FileFingerprint(modified.get(doc), length.get(doc)));
+                    }
+                }
+            }
+            return fingerprints;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            try {
+                searcherManager.release(luceneSearcher);
+            } catch (IOException e) {
+                LOG.error(e.getMessage());
+            }
+        }
+    }
+
     protected void addFile(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.exists()) {
             try (Reader fContentReader = shouldIndexContent(virtualFile)
@@ -341,8 +710,14 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /** Deletes file from index. Change becomes visible for search after the next run of index updater. */
     @Override
     public final void delete(String path, boolean isFile) throws ServerException {
+        doDelete(path, isFile);
+        updatesQueue.written();
+    }
+
+    protected void doDelete(String path, boolean isFile) throws ServerException {
         try {
             if (isFile) {
                 Term term = new Term("path", path);
@@ -359,9 +734,11 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /** Updates file in index. Change becomes visible for search after the next run of index updater. */
     @Override
     public final void update(VirtualFile virtualFile) throws ServerException {
         doUpdate(new Term("path", virtualFile.getPath().toString()), virtualFile);
+        updatesQueue.written();
     }
 
     protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
@@ -382,13 +759,29 @@ public abstract class LuceneSearcher implements Searcher {
     protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException {
         final Document doc = new Document();
         doc.add(new StringField("path", virtualFile.getPath().toString(), Field.Store.YES));
+        doc.add(new BinaryDocValuesField("path", new BytesRef(virtualFile.getPath().toString())));
+        doc.add(new SortedDocValuesField("sortPath", new BytesRef(virtualFile.getPath().toString())));
         doc.add(new StringField("name", virtualFile.getName(), Field.Store.YES));
+        doc.add(new NumericDocValuesField("modified", virtualFile.getLastModificationDate()));
+        doc.add(new NumericDocValuesField("length", virtualFile.getLength()));
         if (reader != null) {
             doc.add(new TextField("text", reader));
         }
         return doc;
     }
 
+    /** Opens reader of file content or returns {@code null} if content of file should not be indexed. */
+    Reader openContentReader(VirtualFile virtualFile) throws ServerException {
+        if (!shouldIndexContent(virtualFile)) {
+            return null;
+        }
+        try {
+            return new BufferedReader(new InputStreamReader(virtualFile.getContent()));
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
     private boolean shouldIndexContent(VirtualFile virtualFile) {
         for (VirtualFileFilter indexFilter : excludeFileIndexFilters) {
             if (indexFilter.accept(virtualFile)) {
@@ -397,4 +790,29 @@ public abstract class LuceneSearcher implements Searcher {
         }
         return true;
     }
+
+    /** Size and modification date of file at the moment of indexing. */
+    private static class FileFingerprint {
+        /** Fingerprint of document which was indexed without information about file. */
+        static final FileFingerprint STALE = new FileFingerprint(-1, -1);
+
+        final long modified;
+        final long length;
+
+        FileFingerprint(long modified, long length) {
+            this.modified = modified;
+            this.length = length;
+        }
+
+        boolean matches(VirtualFile file) {
+            if (this == STALE) {
+                return false;
+            }
+            try {
+                return modified == file.getLastModificationDate() && length == file.getLength();
+            } catch (ServerException e) {
+                return false;
+            }
+        }
+    }
 }
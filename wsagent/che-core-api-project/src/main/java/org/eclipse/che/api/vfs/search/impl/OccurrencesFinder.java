@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.eclipse.che.api.vfs.search.OffsetData;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.google.common.collect.Lists.newArrayList;
+
+/**
+ * Finds occurrences of terms of full text query in content of file. Content is split to tokens with the same analyzer that is used
+ * for indexing, so found occurrences are consistent with search result.
+ *
+ * @author agent
+ */
+class OccurrencesFinder {
+    private final Analyzer                analyzer;
+    private final String                  field;
+    private final List<Predicate<String>> matchers;
+    private final int                     maxOccurrences;
+
+    /**
+     * @param query
+     *         full text query
+     * @param field
+     *         name of field which is used for full text search
+     * @param analyzer
+     *         analyzer which is used for indexing of field
+     * @param maxOccurrences
+     *         max number of occurrences that are collected per file
+     */
+    OccurrencesFinder(Query query, String field, Analyzer analyzer, int maxOccurrences) {
+        this.analyzer = analyzer;
+        this.field = field;
+        this.maxOccurrences = maxOccurrences;
+        this.matchers = newArrayList();
+        collectMatchers(query);
+    }
+
+    private void collectMatchers(Query query) {
+        if (query instanceof BooleanQuery) {
+            for (BooleanClause clause : ((BooleanQuery)query).clauses()) {
+                if (clause.getOccur() != BooleanClause.Occur.MUST_NOT) {
+                    collectMatchers(clause.getQuery());
+                }
+            }
+        } else if (query instanceof TermQuery) {
+            addMatcher(((TermQuery)query).getTerm(), term -> term.text()::equals);
+        } else if (query instanceof PhraseQuery) {
+            for (Term term : ((PhraseQuery)query).getTerms()) {
+                addMatcher(term, t -> t.text()::equals);
+            }
+        } else if (query instanceof PrefixQuery) {
+            addMatcher(((PrefixQuery)query).getPrefix(), term -> token -> token.startsWith(term.text()));
+        } else if (query instanceof WildcardQuery) {
+            addMatcher(((WildcardQuery)query).getTerm(), term -> new CharacterRunAutomaton(WildcardQuery.toAutomaton(term))::run);
+        }
+    }
+
+    private void addMatcher(Term term, Function<Term, Predicate<String>> matcherFactory) {
+        if (field.equals(term.field())) {
+            matchers.add(matcherFactory.apply(term));
+        }
+    }
+
+    /** Returns {@code true} if query does not contain any terms that might be found in content of file. */
+    boolean isEmpty() {
+        return matchers.isEmpty();
+    }
+
+    List<OffsetData> find(String content) throws IOException {
+        final List<OffsetData> occurrences = newArrayList();
+        if (matchers.isEmpty()) {
+            return occurrences;
+        }
+        final int[] lineStarts = findLineStarts(content);
+        try (TokenStream tokenStream = analyzer.tokenStream(field, content)) {
+            final CharTermAttribute termAttribute = tokenStream.addAttribute(CharTermAttribute.class);
+            final OffsetAttribute offsetAttribute = tokenStream.addAttribute(OffsetAttribute.class);
+            tokenStream.reset();
+            while (occurrences.size() < maxOccurrences && tokenStream.incrementToken()) {
+                final String token = termAttribute.toString();
+                if (matches(token)) {
+                    final int startOffset = offsetAttribute.startOffset();
+                    final int endOffset = offsetAttribute.endOffset();
+                    final int line = findLine(lineStarts, startOffset);
+                    occurrences.add(new OffsetData(content.substring(startOffset, endOffset),
+                                                   startOffset,
+                                                   endOffset,
+                                                   line + 1,
+                                                   getLine(content, lineStarts, line)));
+                }
+            }
+            tokenStream.end();
+        }
+        return occurrences;
+    }
+
+    private boolean matches(String token) {
+        for (Predicate<String> matcher : matchers) {
+            if (matcher.test(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] findLineStarts(String content) {
+        int[] lineStarts = new int[16];
+        int lines = 1;
+        for (int i = 0, length = content.length(); i < length; i++) {
+            if (content.charAt(i) == '\n') {
+                if (lines == lineStarts.length) {
+                    lineStarts = Arrays.copyOf(lineStarts, lines << 1);
+                }
+                lineStarts[lines++] = i + 1;
+            }
+        }
+        return Arrays.copyOf(lineStarts, lines);
+    }
+
+    private static int findLine(int[] lineStarts, int offset) {
+        final int index = Arrays.binarySearch(lineStarts, offset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private static String getLine(String content, int[] lineStarts, int line) {
+        int end = line + 1 < lineStarts.length ? lineStarts[line + 1] - 1 : content.length();
+        if (end > lineStarts[line] && content.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return content.substring(lineStarts[line], end);
+    }
+}
@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.Term;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+
+/**
+ * Parallel indexing pipeline for file tree.
+ * <p/>
+ * Folders are walked with fork-join pool. Found files are passed to workers through the bounded queue, so walking can't get too far
+ * ahead of indexing. Workers create lucene documents and pass them to {@link IndexWriter} in batches. Documents are always replaced by
+ * path, index may be updated concurrently by changes of files that happen while tree is indexed and the same file must not be
+ * indexed twice.
+ *
+ * @author agent
+ */
+class TreeIndexer {
+    private static final Logger LOG = LoggerFactory.getLogger(TreeIndexer.class);
+
+    private final LuceneSearcher   searcher;
+    private final int              workers;
+    private final int              batchSize;
+    private final IndexingProgress progress;
+
+    private final BlockingQueue<Object>      queue;
+    private final AtomicReference<Throwable> failure;
+
+    /**
+     * @param searcher
+     *         searcher which index should be updated
+     * @param workers
+     *         number of threads that create documents
+     * @param queueCapacity
+     *         max number of found files waiting for indexing
+     * @param batchSize
+     *         number of documents that are passed to the index writer at once
+     */
+    TreeIndexer(LuceneSearcher searcher, int workers, int queueCapacity, int batchSize) {
+        this.searcher = searcher;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.progress = new IndexingProgress();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.failure = new AtomicReference<>();
+    }
+
+    IndexingProgress getProgress() {
+        return progress;
+    }
+
+    /**
+     * Indexes all files in the tree. Method is blocked until all files are indexed.
+     *
+     * @param tree
+     *         root of the tree
+     * @throws ServerException
+     *         if index can't be updated
+     */
+    void index(VirtualFile tree) throws ServerException {
+        index(tree, file -> true);
+    }
+
+    /**
+     * Indexes files in the tree that are accepted by filter. Method is blocked until all accepted files are indexed.
+     *
+     * @param tree
+     *         root of the tree
+     * @param filter
+     *         filter that is called once for each file in the tree, it may be called concurrently from few threads
+     * @throws ServerException
+     *         if index can't be updated
+     */
+    void index(VirtualFile tree, Predicate<VirtualFile> filter) throws ServerException {
+        final ExecutorService executor = Executors.newFixedThreadPool(workers, new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setNameFormat("LuceneIndexer-%d")
+                .build());
+        final ForkJoinPool walker = new ForkJoinPool(workers);
+        try {
+            final List<Future<?>> results = newArrayListWithCapacity(workers);
+            for (int i = 0; i < workers; i++) {
+                results.add(executor.submit(this::indexQueuedFiles));
+            }
+            try {
+                walker.invoke(new FolderWalker(tree, filter, this::enqueue));
+            } finally {
+                for (int i = 0; i < workers; i++) {
+                    put(EndOfQueue.INSTANCE);
+                }
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Indexing interrupted");
+        } catch (ExecutionException e) {
+            failure.compareAndSet(null, e.getCause());
+        } finally {
+            walker.shutdownNow();
+            executor.shutdownNow();
+            progress.done();
+        }
+        final Throwable cause = failure.get();
+        if (cause != null) {
+            if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new ServerException(cause.getMessage(), cause);
+        }
+        LOG.debug("Indexed {} files from {}, time: {} ms, {} files/s",
+                  progress.getIndexedFiles(), tree.getPath(), progress.getElapsedTimeMillis(), (long)progress.getThroughput());
+    }
+
+    /**
+     * Walks the tree and passes files that are accepted by filter to consumer instead of indexing them. Method is blocked until all
+     * files are visited.
+     *
+     * @param tree
+     *         root of the tree
+     * @param filter
+     *         filter that is called once for each file in the tree, it may be called concurrently from few threads
+     * @param consumer
+     *         consumer of accepted files, it may be called concurrently from few threads
+     */
+    void scan(VirtualFile tree, Predicate<VirtualFile> filter, Consumer<VirtualFile> consumer) {
+        final ForkJoinPool walker = new ForkJoinPool(workers);
+        try {
+            walker.invoke(new FolderWalker(tree, filter, consumer));
+        } finally {
+            walker.shutdownNow();
+            progress.done();
+        }
+    }
+
+    private void enqueue(VirtualFile file) {
+        progress.fileQueued();
+        put(file);
+    }
+
+    private void indexQueuedFiles() {
+        final List<VirtualFile> batch = newArrayListWithCapacity(batchSize);
+        try {
+            for (Object next = queue.take(); next != EndOfQueue.INSTANCE; next = queue.take()) {
+                // After failure keep draining the queue, otherwise walker may be blocked forever.
+                if (failure.get() == null) {
+                    batch.add((VirtualFile)next);
+                    if (batch.size() == batchSize) {
+                        indexBatch(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty() && failure.get() == null) {
+                indexBatch(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ServerException | RuntimeException | Error e) {
+            failure.compareAndSet(null, e);
+            drainQueue();
+        }
+    }
+
+    private void drainQueue() {
+        try {
+            for (Object next = queue.take(); next != EndOfQueue.INSTANCE; next = queue.take()) {
+                // skip
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes documents of batch of files. Each document is written with {@link IndexWriter#updateDocument(Term, Iterable)} instead of
+     * adding the whole batch with {@link IndexWriter#addDocuments(Iterable)}: files of the batch may be indexed concurrently by the
+     * index updater and only update by path replaces document atomically, separate delete of batch followed by add may leave two
+     * documents for the same file. Writer buffers documents and deletes in memory anyway, so batch still goes to disk at once.
+     */
+    private void indexBatch(List<VirtualFile> batch) throws ServerException {
+        final IndexWriter writer = searcher.getIndexWriter();
+        final List<Reader> readers = new ArrayList<>(batch.size());
+        try {
+            for (VirtualFile file : batch) {
+                if (!file.exists()) {
+                    continue;
+                }
+                try {
+                    final Reader reader = searcher.openContentReader(file);
+                    if (reader != null) {
+                        readers.add(reader);
+                    }
+                    final Document document = searcher.createDocument(file, reader);
+                    writer.updateDocument(new Term("path", file.getPath().toString()), document);
+                    progress.filesIndexed(1);
+                } catch (ServerException e) {
+                    progress.fileFailed();
+                    LOG.warn("Unable index file {}: {}", file.getPath(), e.getMessage());
+                }
+            }
+        } catch (OutOfMemoryError oome) {
+            searcher.close();
+            throw oome;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            for (Reader reader : readers) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    LOG.warn(e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void put(Object item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class EndOfQueue {
+        static final EndOfQueue INSTANCE = new EndOfQueue();
+    }
+
+    private class FolderWalker extends RecursiveAction {
+        private final VirtualFile            folder;
+        private final Predicate<VirtualFile> filter;
+        private final Consumer<VirtualFile>  consumer;
+
+        FolderWalker(VirtualFile folder, Predicate<VirtualFile> filter, Consumer<VirtualFile> consumer) {
+            this.folder = folder;
+            this.filter = filter;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            if (failure.get() != null || !folder.exists()) {
+                return;
+            }
+            final List<VirtualFile> children;
+            try {
+                children = folder.getChildren();
+            } catch (ServerException e) {
+                LOG.warn("Unable get children of {}: {}", folder.getPath(), e.getMessage());
+                return;
+            }
+            progress.folderScanned();
+            final List<FolderWalker> subFolders = newArrayList();
+            for (VirtualFile child : children) {
+                if (child.isFolder()) {
+                    subFolders.add(new FolderWalker(child, filter, consumer));
+                } else if (filter.test(child)) {
+                    consumer.accept(child);
+                } else {
+                    progress.fileSkipped();
+                }
+            }
+            invokeAll(subFolders);
+        }
+    }
+}
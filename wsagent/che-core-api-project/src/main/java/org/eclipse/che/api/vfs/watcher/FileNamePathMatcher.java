@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+
+/**
+ * Matches paths with specified file name and optionally checks them with additional matcher. {@link FileWatcherByPathMatcher} indexes
+ * such matchers by file name, so they are not checked for events of files with other names.
+ *
+ * @author agent
+ */
+public class FileNamePathMatcher implements PathMatcher {
+    private static final PathMatcher ANY = path -> true;
+
+    private final String      fileName;
+    private final PathMatcher matcher;
+
+    public FileNamePathMatcher(String fileName) {
+        this(fileName, ANY);
+    }
+
+    /**
+     * @param fileName
+     *         file name of matched paths
+     * @param matcher
+     *         additional check which is applied only to paths with specified file name
+     */
+    public FileNamePathMatcher(String fileName, PathMatcher matcher) {
+        this.fileName = fileName;
+        this.matcher = matcher;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    @Override
+    public boolean matches(Path path) {
+        final Path name = path.getFileName();
+        return name != null && fileName.equals(name.toString()) && matcher.matches(path);
+    }
+
+    @Override
+    public String toString() {
+        return "FileNamePathMatcher{fileName='" + fileName + "'}";
+    }
+}
@@ -10,9 +10,14 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.watcher;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 
-import org.eclipse.che.commons.schedule.executor.ThreadPullLauncher;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,70 +32,90 @@ import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static java.nio.file.FileVisitResult.CONTINUE;
-import static java.nio.file.Files.exists;
 import static java.nio.file.Files.walkFileTree;
-import static java.util.concurrent.TimeUnit.SECONDS;
-
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.toNormalPath;
+
+/**
+ * Watches all items of file system which match registered path matchers. Tree is scanned once when matcher is registered, after that
+ * matched items are found by create and delete events of {@link FileWatcherNotificationHandler}. Each event path is checked only with
+ * matchers which may accept it, see {@link PathMatcherIndex}.
+ */
 @Singleton
 public class FileWatcherByPathMatcher {
     private static final Logger LOG = LoggerFactory.getLogger(FileWatcherByPathMatcher.class);
 
     private final AtomicInteger operationIdCounter = new AtomicInteger();
 
-    private final File                   root;
-    private final FileWatcherByPathValue watcher;
-    private final ThreadPullLauncher     launcher;
+    private final Path                           root;
+    private final FileWatcherByPathValue         watcher;
+    private final FileWatcherNotificationHandler notificationHandler;
+    private final PathMatcherIndex               index;
+    private final ExecutorService                scanner;
+    private final EventListener                  listener;
 
     /** Operation ID -> Operation (create, modify, delete) */
-    private final Map<Integer, Operation>        operations             = new ConcurrentHashMap<>();
-    /** Operation ID -> Registered paths */
-    private final Map<Integer, Set<Path>>        paths                  = new ConcurrentHashMap<>();
+    private final Map<Integer, Operation>        operations    = new ConcurrentHashMap<>();
     /** Matcher -> Operation IDs */
-    private final Map<PathMatcher, Set<Integer>> matchers               = new ConcurrentHashMap<>();
-    /** Registered path -> Path watch operation IDs */
-    private final Map<Path, Set<Integer>>        pathWatchRegistrations = new ConcurrentHashMap<>();
+    private final Map<PathMatcher, Set<Integer>> matchers      = new ConcurrentHashMap<>();
+    /** Operation ID -> Registered path -> Path watch operation ID */
+    private final Map<Integer, Map<Path, Integer>> registrations = new HashMap<>();
 
     @Inject
     public FileWatcherByPathMatcher(@Named("che.user.workspaces.storage") File root, FileWatcherByPathValue watcher,
-                                    ThreadPullLauncher launcher) {
-        this.root = root;
+                                    FileWatcherNotificationHandler notificationHandler) {
+        this.root = root.toPath().normalize().toAbsolutePath();
         this.watcher = watcher;
-        this.launcher = launcher;
+        this.notificationHandler = notificationHandler;
+        this.index = new PathMatcherIndex();
+        this.listener = new EventListener();
+        this.scanner = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("FileWatcherByPathMatcher-Scanner")
+                                                                                   .setUncaughtExceptionHandler(
+                                                                                           LoggingUncaughtExceptionHandler.getInstance())
+                                                                                   .setDaemon(true)
+                                                                                   .build());
     }
 
     @PostConstruct
     public void start() {
-        launcher.scheduleAtFixedRate(this::seek, 0, 3, SECONDS);
+        notificationHandler.addNotificationListener(listener);
     }
 
     @PreDestroy
     public void stop() {
-        try {
-            launcher.shutdown();
-        } catch (InterruptedException e) {
-            LOG.error("Can't properly stop thread pull launcher: ", e);
-        }
+        notificationHandler.removeNotificationListener(listener);
+        scanner.shutdownNow();
     }
 
     int watch(PathMatcher matcher, Consumer<String> create, Consumer<String> modify, Consumer<String> delete) {
         LOG.debug("Watching matcher '{}'", matcher);
         int operationId = operationIdCounter.getAndIncrement();
 
-        matchers.putIfAbsent(matcher, newConcurrentHashSet());
-        matchers.get(matcher).add(operationId);
+        operations.put(operationId, new Operation(matcher, create, modify, delete));
+        matchers.computeIfAbsent(matcher, it -> newConcurrentHashSet()).add(operationId);
+        index.add(matcher);
 
-        operations.put(operationId, new Operation(create, modify, delete));
+        try {
+            scanner.execute(() -> scan(operationId));
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Matcher '{}' is registered after watcher is stopped", matcher);
+        }
 
         LOG.debug("Registered matcher operation set with id '{}'", operationId);
         return operationId;
@@ -98,85 +123,125 @@ public class FileWatcherByPathMatcher {
 
     void unwatch(int operationId) {
         LOG.debug("Unwatching matcher operation set with id '{}'", operationId);
-        for (Entry<PathMatcher, Set<Integer>> entry : matchers.entrySet()) {
-            PathMatcher matcher = entry.getKey();
-            Set<Integer> operationsIdList = entry.getValue();
-            Iterator<Integer> iterator = operationsIdList.iterator();
-            while (iterator.hasNext()) {
-                if (iterator.next() == operationId) {
-                    unwatch(matcher::matches);
-                    iterator.remove();
-                    operations.remove(operationId);
-
-                    break;
-                }
+        Operation operation = operations.remove(operationId);
+        if (operation == null) {
+            return;
+        }
+        matchers.computeIfPresent(operation.matcher, (matcher, ids) -> {
+            ids.remove(operationId);
+            if (ids.isEmpty()) {
+                index.remove(matcher);
+                return null;
             }
+            return ids;
+        });
 
-            if (matchers.get(matcher) == null || matchers.get(matcher).isEmpty()) {
-                matchers.remove(matcher);
-            }
+        Map<Path, Integer> paths;
+        synchronized (registrations) {
+            paths = registrations.remove(operationId);
         }
+        if (paths != null) {
+            paths.values().forEach(watcher::unwatch);
+        }
+    }
 
+    /** Handles event of file system, path is in normal form. */
+    void handle(Path path, FileWatcherEventType type) {
+        if (type == DELETED) {
+            unwatchDeleted(path);
+            return;
+        }
+        if (type != CREATED) {
+            // modifications are delivered to consumers by path watchers
+            return;
+        }
+        List<PathMatcher> matched = index.find(path);
+        for (PathMatcher matcher : matched) {
+            Set<Integer> operationIds = matchers.get(matcher);
+            if (operationIds != null) {
+                operationIds.forEach(operationId -> register(operationId, path));
+            }
+        }
     }
 
-    private void seek() {
-        for (PathMatcher matcher : matchers.keySet()) {
-            unwatch(it -> !exists(it));
+    /** The only full walk through the tree for matcher, it is done once when matcher is registered. */
+    private void scan(int operationId) {
+        Operation operation = operations.get(operationId);
+        if (operation == null) {
+            return;
+        }
+        try {
+            walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    return watch(dir);
+                }
 
-            try {
-                walkFileTree(root.toPath(), new SimpleFileVisitor<Path>() {
-                    @Override
-                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                        return watch(dir);
-                    }
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    return watch(file);
+                }
 
-                    @Override
-                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-                        return watch(file);
+                private FileVisitResult watch(Path path) {
+                    if (operation.matcher.matches(path)) {
+                        register(operationId, path);
                     }
+                    return CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            LOG.error("Error walking file tree for watching file by matcher {}", operation.matcher, e);
+        }
+    }
 
-                    private FileVisitResult watch(Path path) {
-                        if (matcher.matches(path)) {
-                            for (int operationId : matchers.get(matcher)) {
-                                paths.putIfAbsent(operationId, newConcurrentHashSet());
-                                if (paths.get(operationId).contains(path)) {
-                                    return CONTINUE;
-                                }
-
-                                paths.get(operationId).add(path);
-
-                                Operation operation = operations.get(operationId);
-                                int pathWatcherOperationId = watcher.watch(path, operation.create, operation.modify, operation.delete);
-                                pathWatchRegistrations.putIfAbsent(path, newConcurrentHashSet());
-                                pathWatchRegistrations.get(path).add(pathWatcherOperationId);
-                            }
-                        }
+    private void register(int operationId, Path path) {
+        synchronized (registrations) {
+            Operation operation = operations.get(operationId);
+            if (operation == null) {
+                return;
+            }
+            Map<Path, Integer> paths = registrations.computeIfAbsent(operationId, it -> new HashMap<>());
+            if (!paths.containsKey(path)) {
+                paths.put(path, watcher.watch(path, operation.create, operation.modify, operation.delete));
+            }
+        }
+    }
 
-                        return CONTINUE;
+    /** Stops watching of deleted path and of all registered paths under it if deleted path is directory. */
+    private void unwatchDeleted(Path deleted) {
+        synchronized (registrations) {
+            for (Map<Path, Integer> paths : registrations.values()) {
+                for (Iterator<Entry<Path, Integer>> iterator = paths.entrySet().iterator(); iterator.hasNext(); ) {
+                    Entry<Path, Integer> entry = iterator.next();
+                    if (entry.getKey().startsWith(deleted)) {
+                        watcher.unwatch(entry.getValue());
+                        iterator.remove();
                     }
-                });
-            } catch (IOException e) {
-                LOG.error("Error walking file tree for watching file by matcher {}", matcher, e);
+                }
             }
+            registrations.values().removeIf(Map::isEmpty);
         }
     }
 
-    private void unwatch(Predicate<Path> predicate) {
-        pathWatchRegistrations.keySet().stream()
-                              .filter(predicate)
-                              .flatMap(it -> pathWatchRegistrations.remove(it).stream())
-                              .forEach(watcher::unwatch);
+    private class EventListener extends FileWatcherNotificationListener {
+        EventListener() {
+            super(file -> true);
+        }
 
-        paths.values().forEach(it -> it.removeIf(predicate));
-        paths.entrySet().removeIf(it -> it.getValue().isEmpty());
+        @Override
+        public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+            handle(toNormalPath(root, virtualFile.getPath().toString()), eventType);
+        }
     }
 
     private static class Operation {
+        final PathMatcher      matcher;
         final Consumer<String> create;
         final Consumer<String> modify;
         final Consumer<String> delete;
 
-        private Operation(Consumer<String> create, Consumer<String> modify, Consumer<String> delete) {
+        private Operation(PathMatcher matcher, Consumer<String> create, Consumer<String> modify, Consumer<String> delete) {
+            this.matcher = matcher;
             this.create = create;
             this.modify = modify;
             this.delete = delete;
@@ -0,0 +1,443 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchEvent.Kind;
+import java.nio.file.WatchEvent.Modifier;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The only owner of {@link WatchService} in ws-agent. Directory is registered in watch service once regardless of number of components
+ * which are interested in it, registrations are counted and directory is not watched any more when the last one is cancelled.
+ * <p/>
+ * Events are read by single thread and are collected into batch until there are no new events during {@link #BATCH_DELAY_MS} (but not
+ * longer than {@link #MAX_BATCH_DELAY_MS}). Events of the same item in batch are merged, e.g. item which is created and then modified is
+ * reported as created and item which is created and then deleted is not reported at all, see {@link #merge(List, Kind)}. Batch is
+ * passed to every {@link Subscriber} by separate delivery thread, so slow subscriber doesn't delay reading of events.
+ *
+ * @author agent
+ */
+@Singleton
+public class FileWatcherEventBus {
+    private static final Logger LOG = LoggerFactory.getLogger(FileWatcherEventBus.class);
+
+    /** Batch is delivered if there are no new events during this time. */
+    static final long   BATCH_DELAY_MS       = 100;
+    /** Batch is delivered not later than this time after its first event even if new events are still coming. */
+    static final long   MAX_BATCH_DELAY_MS   = 1000;
+    /** Batch is delivered immediately if it has this number of events. */
+    static final int    MAX_BATCH_SIZE       = 10_000;
+    /** Name of thread which passes batches to subscribers. */
+    static final String DELIVERY_THREAD_NAME = FileWatcherEventBus.class.getSimpleName() + "-Delivery";
+
+    /** Receives batches of file events, always called by delivery thread of the bus in order in which batches are collected. */
+    public interface Subscriber {
+        void onEvents(List<Event> events);
+    }
+
+    /** Event of entry of watched directory or event of watched directory itself. */
+    public static class Event {
+        private final Path    dir;
+        private final Path    path;
+        private final Kind<?> kind;
+
+        Event(Path dir, Path path, Kind<?> kind) {
+            this.dir = dir;
+            this.path = path;
+            this.kind = kind;
+        }
+
+        /** Registered directory that the event is originated from. */
+        public Path getDir() {
+            return dir;
+        }
+
+        /** Path of item, the same as {@link #getDir()} for events of directory itself. */
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * Kind of event. Events of directory itself are {@code OVERFLOW} if some of events of directory are lost and {@code ENTRY_DELETE}
+         * if directory can't be watched any more, e.g. it is removed.
+         */
+        public Kind<?> getKind() {
+            return kind;
+        }
+
+        /** Returns {@code true} if event is about registered directory itself but not about its entry. */
+        public boolean isDirectoryEvent() {
+            return dir.equals(path);
+        }
+
+        @Override
+        public String toString() {
+            return "Event{" +
+                   "path=" + path +
+                   ", kind=" + kind +
+                   '}';
+        }
+    }
+
+    private final WatchService                        service;
+    private final Modifier[]                          eventModifiers;
+    private final Kind<?>[]                           eventKinds;
+    private final Map<WatchKey, Path>                 keys;
+    private final Map<Path, Registration>             registrations;
+    private final List<Subscriber>                    subscribers;
+    private final Map<Path, Map<Path, List<Kind<?>>>> batch;
+    private final ExecutorService                     executor;
+    private final ExecutorService                     deliveryExecutor;
+    private final AtomicBoolean                       running;
+    private final AtomicInteger                       queueDepth;
+    private final AtomicLong                          receivedEvents;
+    private final AtomicLong                          deliveredEvents;
+    private final AtomicLong                          deliveredBatches;
+    private final AtomicLong                          overflows;
+
+    /** Number of events in batch which is being collected, accessed only by event thread. */
+    private int batchSize;
+
+    @Inject
+    public FileWatcherEventBus(WatchService service) {
+        this.service = service;
+        this.eventModifiers = getWatchEventModifiers();
+        this.eventKinds = new Kind<?>[]{ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY};
+        this.keys = new ConcurrentHashMap<>();
+        this.registrations = new HashMap<>();
+        this.subscribers = new CopyOnWriteArrayList<>();
+        this.batch = new LinkedHashMap<>();
+        this.running = new AtomicBoolean();
+        this.queueDepth = new AtomicInteger();
+        this.receivedEvents = new AtomicLong();
+        this.deliveredEvents = new AtomicLong();
+        this.deliveredBatches = new AtomicLong();
+        this.overflows = new AtomicLong();
+        this.executor = newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(FileWatcherEventBus.class.getSimpleName())
+                                                                          .setUncaughtExceptionHandler(
+                                                                                  LoggingUncaughtExceptionHandler.getInstance())
+                                                                          .setDaemon(true)
+                                                                          .build());
+        this.deliveryExecutor = newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(DELIVERY_THREAD_NAME)
+                                                                                  .setUncaughtExceptionHandler(
+                                                                                          LoggingUncaughtExceptionHandler.getInstance())
+                                                                                  .setDaemon(true)
+                                                                                  .build());
+    }
+
+    /**
+     * This is required to speed up mac based file watcher implementations
+     *
+     * @return sensitivity watch event modifier
+     */
+    private static Modifier[] getWatchEventModifiers() {
+        String className = "com.sun.nio.file.SensitivityWatchEventModifier";
+        try {
+            Class<?> c = Class.forName(className);
+            Field f = c.getField("HIGH");
+            return new Modifier[]{(Modifier)f.get(c)};
+        } catch (Exception e) {
+            LOG.debug("Class '{}' is not found in classpath, falling to default mode", className, e);
+            return new Modifier[0];
+        }
+    }
+
+    /** Starts reading of events. Does nothing if bus is already started. */
+    @PostConstruct
+    public void start() {
+        if (running.compareAndSet(false, true)) {
+            executor.execute(this::run);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running.set(false);
+        synchronized (registrations) {
+            registrations.values().stream().filter(it -> it.key != null).forEach(it -> it.key.cancel());
+            registrations.clear();
+            keys.clear();
+        }
+        try {
+            service.close();
+        } catch (IOException e) {
+            LOG.error("Closing of java watch service failed: {}", e.getMessage());
+        }
+        executor.shutdownNow();
+        deliveryExecutor.shutdownNow();
+    }
+
+    public void subscribe(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Registers directory in watch service if it is not registered yet, otherwise increases its registration counter.
+     *
+     * @return {@code false} if directory can't be registered
+     */
+    public boolean register(Path dir) {
+        synchronized (registrations) {
+            Registration registration = registrations.get(dir);
+            if (registration != null && registration.key != null && registration.key.isValid()) {
+                registration.count++;
+                return true;
+            }
+            final WatchKey key;
+            try {
+                key = dir.register(service, eventKinds, eventModifiers);
+            } catch (IOException | ClosedWatchServiceException e) {
+                LOG.error("Can't register dir {} in file watch service", dir, e);
+                return false;
+            }
+            if (registration == null) {
+                registration = new Registration();
+                registrations.put(dir, registration);
+            }
+            registration.key = key;
+            registration.count++;
+            keys.put(key, dir);
+            return true;
+        }
+    }
+
+    /** Decreases registration counter of directory, directory is not watched any more when counter comes to zero. */
+    public void unregister(Path dir) {
+        synchronized (registrations) {
+            final Registration registration = registrations.get(dir);
+            if (registration == null || --registration.count > 0) {
+                return;
+            }
+            registrations.remove(dir);
+            if (registration.key != null) {
+                keys.remove(registration.key);
+                registration.key.cancel();
+            }
+        }
+    }
+
+    /** Number of directories which are watched by underlying watch service. */
+    public int getWatchCount() {
+        return keys.size();
+    }
+
+    /** Number of events which are received but not delivered to subscribers yet. */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /** Number of times when underlying watch service reported that events are lost. */
+    public long getOverflows() {
+        return overflows.get();
+    }
+
+    /** Number of events received from underlying watch service. */
+    public long getReceivedEvents() {
+        return receivedEvents.get();
+    }
+
+    /** Number of events delivered to subscribers, it is less than number of received events if some of them are merged. */
+    public long getDeliveredEvents() {
+        return deliveredEvents.get();
+    }
+
+    public long getDeliveredBatches() {
+        return deliveredBatches.get();
+    }
+
+    @Override
+    public String toString() {
+        return "FileWatcherEventBus{" +
+               "watchCount=" + getWatchCount() +
+               ", queueDepth=" + getQueueDepth() +
+               ", overflows=" + getOverflows() +
+               ", receivedEvents=" + getReceivedEvents() +
+               ", deliveredEvents=" + getDeliveredEvents() +
+               ", deliveredBatches=" + getDeliveredBatches() +
+               '}';
+    }
+
+    /**
+     * Merges event with previous events of the same item. Item which is deleted and created again is reported with both events since
+     * it may be a different item now, e.g. file which replaced directory, so result contains at most two events. Empty result means
+     * that item is not changed at all.
+     */
+    static List<Kind<?>> merge(List<Kind<?>> previous, Kind<?> next) {
+        final List<Kind<?>> result = new ArrayList<>(previous);
+        final Kind<?> last = result.isEmpty() ? null : result.get(result.size() - 1);
+        if (last == null) {
+            result.add(next);
+        } else if (last == OVERFLOW || next == OVERFLOW) {
+            result.clear();
+            result.add(OVERFLOW);
+        } else if (last == ENTRY_CREATE) {
+            if (next == ENTRY_DELETE) {
+                result.remove(result.size() - 1);
+            }
+        } else if (last == ENTRY_DELETE) {
+            if (next != ENTRY_DELETE) {
+                result.add(next);
+            }
+        } else if (next == ENTRY_DELETE) {
+            result.set(result.size() - 1, ENTRY_DELETE);
+        }
+        return result;
+    }
+
+    private void run() {
+        long batchStarted = 0;
+        while (running.get()) {
+            try {
+                final WatchKey key = batchSize == 0 ? service.take() : service.poll(BATCH_DELAY_MS, MILLISECONDS);
+                if (key != null) {
+                    if (batchSize == 0) {
+                        batchStarted = System.nanoTime();
+                    }
+                    collect(key);
+                }
+                if (batchSize > 0 && (key == null
+                                      || batchSize >= MAX_BATCH_SIZE
+                                      || NANOSECONDS.toMillis(System.nanoTime() - batchStarted) >= MAX_BATCH_DELAY_MS)) {
+                    deliver();
+                }
+            } catch (InterruptedException e) {
+                running.set(false);
+                LOG.debug("Interruption error when running file watcher, most likely caused by stopping it", e);
+            } catch (ClosedWatchServiceException e) {
+                running.set(false);
+                LOG.debug("Closing watch service while some of keys may be processing", e);
+            }
+        }
+    }
+
+    private void collect(WatchKey key) {
+        final Path dir = keys.get(key);
+        final List<WatchEvent<?>> events = key.pollEvents();
+        if (dir == null) {
+            // registration is cancelled but key is already signalled
+            return;
+        }
+        receivedEvents.addAndGet(events.size());
+        for (WatchEvent<?> event : events) {
+            if (event.kind() == OVERFLOW) {
+                overflows.incrementAndGet();
+                LOG.warn("Detected file system events overflowing in {}", dir);
+                add(dir, dir, OVERFLOW);
+            } else {
+                add(dir, dir.resolve((Path)event.context()), event.kind());
+            }
+        }
+        if (!key.reset()) {
+            synchronized (registrations) {
+                keys.remove(key);
+                final Registration registration = registrations.get(dir);
+                if (registration != null && registration.key == key) {
+                    // keep counter, registration becomes active again if directory is registered again
+                    registration.key = null;
+                }
+            }
+            add(dir, dir, ENTRY_DELETE);
+        }
+    }
+
+    private void add(Path dir, Path path, Kind<?> kind) {
+        final Map<Path, List<Kind<?>>> dirEvents = batch.computeIfAbsent(dir, it -> new LinkedHashMap<>());
+        final List<Kind<?>> previous = dirEvents.getOrDefault(path, Collections.emptyList());
+        final List<Kind<?>> merged = merge(previous, kind);
+        if (merged.isEmpty()) {
+            dirEvents.remove(path);
+            if (dirEvents.isEmpty()) {
+                batch.remove(dir);
+            }
+        } else {
+            dirEvents.put(path, merged);
+        }
+        batchSize += merged.size() - previous.size();
+        queueDepth.addAndGet(merged.size() - previous.size());
+    }
+
+    private void deliver() {
+        final List<Event> events = new ArrayList<>(batchSize);
+        for (Entry<Path, Map<Path, List<Kind<?>>>> dirEvents : batch.entrySet()) {
+            final Path dir = dirEvents.getKey();
+            dirEvents.getValue().forEach((path, kinds) -> kinds.forEach(kind -> events.add(new Event(dir, path, kind))));
+        }
+        batch.clear();
+        batchSize = 0;
+        try {
+            deliveryExecutor.execute(() -> deliver(Collections.unmodifiableList(events)));
+        } catch (RejectedExecutionException e) {
+            // bus is stopped
+            queueDepth.addAndGet(-events.size());
+        }
+    }
+
+    private void deliver(List<Event> events) {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.onEvents(events);
+            } catch (RuntimeException e) {
+                LOG.error("Error delivering file events to {}: {}", subscriber, e.getMessage(), e);
+            }
+        }
+        queueDepth.addAndGet(-events.size());
+        deliveredEvents.addAndGet(events.size());
+        deliveredBatches.incrementAndGet();
+        LOG.debug("Delivered {} file events, {}", events.size(), this);
+    }
+
+    private static class Registration {
+        WatchKey key;
+        int      count;
+    }
+}
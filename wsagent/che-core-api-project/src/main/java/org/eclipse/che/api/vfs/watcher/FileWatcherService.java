@@ -10,9 +10,6 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.watcher;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-
-import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,42 +18,26 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
-import java.io.IOException;
-import java.lang.reflect.Field;
-import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
-import java.nio.file.WatchEvent;
-import java.nio.file.WatchEvent.Kind;
-import java.nio.file.WatchEvent.Modifier;
-import java.nio.file.WatchKey;
-import java.nio.file.WatchService;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Predicate;
 
-import static java.lang.Thread.currentThread;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
-import static java.util.concurrent.Executors.newSingleThreadExecutor;
-import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.isExcluded;
 
 /**
  * Watches directories for interactions with their entries. Based on
- * {@link WatchService} that uses underlying filesystem implementations. Does
- * not perform any data modification (including filesystem items) except for
- * tracking and notification the upper layers. Service operates with ordinary
- * java file system paths in counter to che virtual file system which may have
- * custom root element and structure. Transforming one we of path representation
- * into another and backwards is the responsibility of upper services.
+ * {@link FileWatcherEventBus} that shares single {@link java.nio.file.WatchService}
+ * between all file watchers of ws-agent. Does not perform any data modification
+ * (including filesystem items) except for tracking and notification the upper
+ * layers. Service operates with ordinary java file system paths in counter to
+ * che virtual file system which may have custom root element and structure.
+ * Transforming one we of path representation into another and backwards is the
+ * responsibility of upper services.
  */
 @Singleton
 public class FileWatcherService {
@@ -65,109 +46,46 @@ public class FileWatcherService {
     private final AtomicBoolean suspended = new AtomicBoolean(true);
     private final AtomicBoolean running   = new AtomicBoolean();
 
-    private final Map<WatchKey, Path> keys          = new ConcurrentHashMap<>();
-    private final Map<Path, Integer>  registrations = new ConcurrentHashMap<>();
-
-    private final Set<PathMatcher>        excludes;
-    private final FileWatcherEventHandler handler;
-    private final WatchService            service;
-    private final Modifier[]              eventModifiers;
-    private final Kind<?>[]               eventKinds;
+    private final Map<Path, Integer> registrations = new ConcurrentHashMap<>();
 
-    private ExecutorService executor;
+    private final Set<PathMatcher>               excludes;
+    private final FileWatcherEventHandler        handler;
+    private final FileWatcherEventBus            bus;
+    private final FileWatcherEventBus.Subscriber subscriber;
 
     @Inject
     public FileWatcherService(@Named("che.user.workspaces.storage.excludes") Set<PathMatcher> excludes,
-                              FileWatcherEventHandler handler, WatchService service) {
+                              FileWatcherEventHandler handler, FileWatcherEventBus bus) {
         this.excludes = excludes;
         this.handler = handler;
-        this.service = service;
-
-        this.eventModifiers = getWatchEventModifiers();
-        this.eventKinds = getWatchEventKinds();
-
-    }
-
-    @SuppressWarnings("unchecked")
-    private static <T> WatchEvent<T> cast(WatchEvent<?> event) {
-        return (WatchEvent<T>)event;
-    }
-
-
-    @SuppressWarnings("unchecked")
-    private static <T> T cast(Object event) {
-        return (T)event;
-    }
-
-    private static Kind<?>[] getWatchEventKinds() {
-        return new Kind<?>[]{ENTRY_DELETE, ENTRY_MODIFY, ENTRY_CREATE};
-    }
-
-    /**
-     * This is required to speed up mac based file watcher implementations
-     *
-     * @return sensitivity watch event modifier
-     */
-    private static Modifier[] getWatchEventModifiers() {
-        String className = "com.sun.nio.file.SensitivityWatchEventModifier";
-
-        try {
-            Class<?> c = Class.forName(className);
-            Field f = c.getField("HIGH");
-            Modifier modifier = cast(f.get(c));
-            LOG.debug("Class '{}' is found in classpath setting corresponding watch modifier", className);
-
-            return new Modifier[]{modifier};
-        } catch (Exception e) {
-            LOG.debug("Class '{}' is not found in classpath, falling to default mode", className, e);
-
-            return new Modifier[]{};
-        }
+        this.bus = bus;
+        this.subscriber = this::handle;
     }
 
     @PostConstruct
-    void start() throws IOException {
-        ThreadFactoryBuilder builder = new ThreadFactoryBuilder();
-        ThreadFactory factory = builder.setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
-                                       .setNameFormat(FileWatcherService.class.getSimpleName())
-                                       .setDaemon(true)
-                                       .build();
-        executor = newSingleThreadExecutor(factory);
-        executor.execute(this::run);
+    void start() {
+        running.set(true);
+        suspended.set(false);
+        bus.subscribe(subscriber);
+        bus.start();
     }
 
     @PreDestroy
     void stop() {
-        running.compareAndSet(true, false);
-
-        try {
-            LOG.debug("Cancelling watch keys");
-            keys.keySet().forEach(WatchKey::cancel);
-            LOG.debug("Closing java watch service");
-            service.close();
-        } catch (IOException e) {
-            LOG.error("Closing of java watch service failed: ", e.getMessage());
-        }
+        running.set(false);
+        bus.unsubscribe(subscriber);
 
-        try {
-            LOG.debug("Executor task shutdown started");
-            executor.shutdown();
-            executor.awaitTermination(5, SECONDS);
-        } catch (InterruptedException e) {
-            currentThread().interrupt();
-            LOG.debug("Executor task is interrupted");
-        } finally {
-            if (!executor.isTerminated()) {
-                LOG.debug("Executor task is not shutdown yet");
+        LOG.debug("Cancelling directory registrations");
+        registrations.forEach((dir, count) -> {
+            for (int i = 0; i < count; i++) {
+                bus.unregister(dir);
             }
-            executor.shutdownNow();
-            LOG.debug("Executor tasks have been shutdown");
-
-        }
+        });
+        registrations.clear();
     }
 
     boolean isStopped(){
-        return executor.isShutdown();
+        return !running.get();
     }
 
     /**
@@ -176,7 +94,7 @@ public class FileWatcherService {
      * by one registration counter that corresponds to each folder being
      * watched. Any event related to such directory entry is passed further to
      * the specific handler only if registration counter related to the
-     * directory is above zero, otherwise registration watch key is canceled
+     * directory is above zero, otherwise registration is canceled
      * and no further directory watching is being performed.
      *
      * @param dir
@@ -184,19 +102,9 @@ public class FileWatcherService {
      */
     public void register(Path dir) {
         LOG.debug("Registering directory '{}'", dir);
-        if (keys.values().contains(dir)) {
-            int previous = registrations.get(dir);
-            LOG.debug("Directory is already being watched, increasing watch counter, previous value: {}", previous);
-            registrations.put(dir, previous + 1);
-        } else {
-            try {
-                LOG.debug("Starting watching directory '{}'", dir);
-                WatchKey watchKey = dir.register(service, eventKinds, eventModifiers);
-                keys.put(watchKey, dir);
-                registrations.put(dir, 1);
-            } catch (IOException e) {
-                LOG.error("Can't register dir {} in file watch service", dir, e);
-            }
+        if (bus.register(dir)) {
+            int count = registrations.merge(dir, 1, Integer::sum);
+            LOG.debug("Directory '{}' is being watched, watch counter: {}", dir, count);
         }
     }
 
@@ -211,20 +119,14 @@ public class FileWatcherService {
      */
     void unRegister(Path dir) {
         LOG.debug("Canceling directory '{}' registration", dir);
-
-        int previous = registrations.get(dir);
-        if (previous == 1) {
+        if (!registrations.containsKey(dir)) {
+            LOG.debug("Directory '{}' is not registered", dir);
+            return;
+        }
+        if (registrations.computeIfPresent(dir, (it, count) -> count == 1 ? null : count - 1) == null) {
             LOG.debug("Stopping watching directory '{}'", dir);
-            registrations.remove(dir);
-
-            Predicate<Entry<WatchKey, Path>> equalsDir = it -> it.getValue().equals(dir);
-
-            keys.entrySet().stream().filter(equalsDir).map(Entry::getKey).forEach(WatchKey::cancel);
-            keys.entrySet().removeIf(equalsDir);
-        } else {
-            LOG.debug("Directory is being watched by someone else, decreasing watch counter, previous value: {}", previous);
-            registrations.put(dir, previous - 1);
         }
+        bus.unregister(dir);
     }
 
     /**
@@ -248,58 +150,36 @@ public class FileWatcherService {
         }
     }
 
-    private void run() {
-        suspended.compareAndSet(true, false);
-        running.compareAndSet(false, true);
-
-        while (running.get()) {
-            try {
-                WatchKey watchKey = service.take();
-                Path dir = keys.get(watchKey);
+    private void handle(List<FileWatcherEventBus.Event> events) {
+        if (!running.get()) {
+            return;
+        }
+        if (suspended.get()) {
+            LOG.debug("File watchers are running in suspended mode - skipping.");
+            return;
+        }
 
-                if (suspended.get()) {
-                    resetAndRemove(watchKey, dir);
+        for (FileWatcherEventBus.Event event : events) {
+            if (!registrations.containsKey(event.getDir())) {
+                // directory is watched by other subscriber of the bus
+                continue;
+            }
 
-                    LOG.debug("File watchers are running in suspended mode - skipping.");
-                    continue;
+            if (event.isDirectoryEvent()) {
+                if (event.getKind() == OVERFLOW) {
+                    LOG.warn("Detected file system events overflowing");
                 }
+                continue;
+            }
 
-                for (WatchEvent<?> event : watchKey.pollEvents()) {
-                    Kind<?> kind = event.kind();
-
-                    if (kind == OVERFLOW) {
-                        LOG.warn("Detected file system events overflowing");
-                        continue;
-                    }
-
-                    WatchEvent<Path> ev = cast(event);
-                    Path item = ev.context();
-                    Path path = dir.resolve(item).toAbsolutePath();
-
-                    if (isExcluded(excludes, path)) {
-                        LOG.debug("Path is within exclude list, skipping...");
-                        continue;
-                    }
-
-                    handler.handle(path, kind);
-                }
+            Path path = event.getPath().toAbsolutePath();
 
-                resetAndRemove(watchKey, dir);
-            } catch (InterruptedException e) {
-                running.compareAndSet(true, false);
-                LOG.debug("Interruption error when running file watcher, most likely caused by stopping it", e);
-            } catch (ClosedWatchServiceException e) {
-                running.compareAndSet(true, false);
-                LOG.debug("Closing watch service while some of keys may be processing", e);
+            if (isExcluded(excludes, path)) {
+                LOG.debug("Path is within exclude list, skipping...");
+                continue;
             }
-        }
-    }
-
-    private void resetAndRemove(WatchKey watchKey, Path dir) {
-        if (!watchKey.reset()) {
-            registrations.remove(dir);
 
-            keys.remove(watchKey);
+            handler.handle(path, event.getKind());
         }
     }
 }
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Set of path matchers which finds matchers of path without checking every matcher. Instances of {@link FileNamePathMatcher} are
+ * grouped by file name and only group of file name of path is checked, other matchers are checked for every path.
+ *
+ * @author agent
+ */
+class PathMatcherIndex {
+    private final Map<String, Set<PathMatcher>> byFileName = new ConcurrentHashMap<>();
+    private final Set<PathMatcher>              other      = new CopyOnWriteArraySet<>();
+
+    void add(PathMatcher matcher) {
+        if (matcher instanceof FileNamePathMatcher) {
+            byFileName.computeIfAbsent(((FileNamePathMatcher)matcher).getFileName(), name -> new CopyOnWriteArraySet<>()).add(matcher);
+        } else {
+            other.add(matcher);
+        }
+    }
+
+    void remove(PathMatcher matcher) {
+        if (matcher instanceof FileNamePathMatcher) {
+            byFileName.computeIfPresent(((FileNamePathMatcher)matcher).getFileName(), (name, matchers) -> {
+                matchers.remove(matcher);
+                return matchers.isEmpty() ? null : matchers;
+            });
+        } else {
+            other.remove(matcher);
+        }
+    }
+
+    /** Returns matchers which match specified path. */
+    List<PathMatcher> find(Path path) {
+        final Path name = path.getFileName();
+        final Set<PathMatcher> named = name == null ? null : byFileName.get(name.toString());
+        if (named == null && other.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<PathMatcher> result = new ArrayList<>();
+        if (named != null) {
+            for (PathMatcher matcher : named) {
+                if (matcher.matches(path)) {
+                    result.add(matcher);
+                }
+            }
+        }
+        for (PathMatcher matcher : other) {
+            if (matcher.matches(path)) {
+                result.add(matcher);
+            }
+        }
+        return result;
+    }
+}
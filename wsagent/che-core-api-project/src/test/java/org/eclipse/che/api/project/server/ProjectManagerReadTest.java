@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
@@ -219,6 +220,38 @@ public class ProjectManagerReadTest extends WsAgentTestBase {
 //
 //    }
 
+    @Test
+    public void testGetParentProject() throws Exception {
+
+        assertEquals("/normal/module", projectRegistry.getParentProject("/normal/module/src/Main.java").getPath());
+        assertEquals("/normal", projectRegistry.getParentProject("/normal/src").getPath());
+        assertEquals("/normal", projectRegistry.getParentProject("normal").getPath());
+        assertNull(projectRegistry.getParentProject("/"));
+        assertEquals(1, projectRegistry.getProjects("/normal").size());
+        assertEquals("/normal/module", projectRegistry.getProjects("/normal").get(0));
+
+    }
+
+    @Test
+    public void testUnconfiguredFolderIsRegisteredWhenCreated() throws Exception {
+
+        projectRegistry.onFolderCreated(vfsProvider.getVirtualFileSystem().getRoot().createFolder("created"));
+
+        assertEquals(5, projectRegistry.getProjects().size());
+        assertEquals(1, projectRegistry.getProject("/created").getProblems().size());
+
+    }
+
+    @Test
+    public void testFolderCreatedOnRootIsRegisteredImmediately() throws Exception {
+
+        new FolderEntry(vfsProvider.getVirtualFileSystem().getRoot(), projectRegistry).createFolder("created/src");
+
+        assertNotNull(projectRegistry.getProject("/created"));
+        assertEquals("/created", projectRegistry.getParentProject("/created/src").getPath());
+
+    }
+
     @Test
     public void testResolveSources() throws Exception {
 
@@ -37,6 +37,8 @@ import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
 import org.eclipse.che.api.project.server.type.ReadonlyValueProvider;
 import org.eclipse.che.api.project.server.type.ValueProviderFactory;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
+import org.eclipse.che.api.project.shared.dto.CompactTree;
+import org.eclipse.che.api.project.shared.dto.CompactTreeNode;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
@@ -49,7 +51,10 @@ import org.eclipse.che.api.vfs.impl.file.DefaultFileWatcherNotificationHandler;
 import org.eclipse.che.api.vfs.impl.file.FileTreeWatcher;
 import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
 import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystemProvider;
+import org.eclipse.che.api.vfs.watcher.FileWatcherEventBus;
 import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.impl.FSLuceneSearcherProvider;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
@@ -88,6 +93,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.nio.file.FileSystems;
 import java.nio.file.PathMatcher;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -118,6 +124,7 @@ import static javax.ws.rs.HttpMethod.POST;
 import static javax.ws.rs.HttpMethod.PUT;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+import static org.eclipse.che.api.project.shared.Constants.SEARCH_CURSOR_HEADER;
 import static org.eclipse.che.commons.lang.ws.rs.ExtMediaType.APPLICATION_ZIP;
 import static org.everrest.core.ApplicationContext.anApplicationContext;
 import static org.junit.Assert.assertFalse;
@@ -157,6 +164,7 @@ public class ProjectServiceTest {
     private ProjectManager         pm;
     private ResourceLauncher       launcher;
     private ProjectHandlerRegistry phRegistry;
+    private ProjectTreeBuilder     treeBuilder;
 
     private org.eclipse.che.commons.env.EnvironmentContext env;
 
@@ -242,7 +250,10 @@ public class ProjectServiceTest {
         projectRegistry.initProjects();
 
         FileWatcherNotificationHandler fileWatcherNotificationHandler = new DefaultFileWatcherNotificationHandler(vfsProvider);
-        FileTreeWatcher fileTreeWatcher = new FileTreeWatcher(root, new HashSet<>(), fileWatcherNotificationHandler);
+        FileTreeWatcher fileTreeWatcher = new FileTreeWatcher(root,
+                                                              new HashSet<>(),
+                                                              fileWatcherNotificationHandler,
+                                                              new FileWatcherEventBus(FileSystems.getDefault().newWatchService()));
 
         pm = new ProjectManager(vfsProvider, new EventService(), ptRegistry, projectRegistry, phRegistry,
                                 importerRegistry, fileWatcherNotificationHandler, fileTreeWatcher, workspaceHolder,
@@ -275,6 +286,8 @@ public class ProjectServiceTest {
         dependencies.addInstance(ProjectImporterRegistry.class, importerRegistry);
         dependencies.addInstance(ProjectHandlerRegistry.class, phRegistry);
         dependencies.addInstance(EventService.class, eventService);
+        treeBuilder = new ProjectTreeBuilder(2);
+        dependencies.addInstance(ProjectTreeBuilder.class, treeBuilder);
 
         ResourceBinder resources = new ResourceBinderImpl();
         ProviderBinder providers = ProviderBinder.getInstance();
@@ -305,6 +318,7 @@ public class ProjectServiceTest {
     @AfterMethod
     public void tearDown() throws Exception {
         pm.stop();
+        treeBuilder.stop();
     }
 
     private void addMockedProjectConfigDto(org.eclipse.che.api.project.server.type.ProjectTypeDef myProjectType, String projectName)
@@ -1708,6 +1722,69 @@ public class ProjectServiceTest {
         Assert.assertFalse(names.contains("x/test.txt"));
     }
 
+    @Test
+    public void testGetCompactTree() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        FolderEntry a = myProject.getBaseFolder().createFolder("a");
+        a.createFolder("b/c");
+        a.createFolder("x").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/compacttree/my_project/a?depth=100&includeFiles=true",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        CompactTree tree = (CompactTree)response.getEntity();
+        assertEquals(tree.getPath(), "/my_project/a");
+        validateCompactTreeLinks(tree);
+        assertEquals(tree.getRoot().getName(), "a");
+        assertEquals(tree.getRoot().getType(), "folder");
+        Set<String> names = new LinkedHashSet<>(4);
+        collectNames("", tree.getRoot().getChildren(), names);
+        assertEquals(names, new LinkedHashSet<>(Arrays.asList("b", "b/c", "x", "x/test.txt")));
+    }
+
+    @Test
+    public void testGetCompactTreeWithDepth() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        FolderEntry a = myProject.getBaseFolder().createFolder("a");
+        a.createFolder("b/c");
+        a.createFolder("x").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/compacttree/my_project/a?depth=1",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        CompactTree tree = (CompactTree)response.getEntity();
+        Set<String> names = new LinkedHashSet<>(2);
+        collectNames("", tree.getRoot().getChildren(), names);
+        assertEquals(names, new LinkedHashSet<>(Arrays.asList("b", "x")));
+    }
+
+    @Test
+    public void testGetCompactTreeStreamed() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        FolderEntry a = myProject.getBaseFolder().createFolder("a");
+        a.createFolder("b/c");
+        a.createFolder("x").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/compacttree/my_project/a?depth=100&includeFiles=true&stream=true",
+                                                      "http://localhost:8080/api", null, null, writer, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        CompactTree tree = DtoFactory.getInstance().createDtoFromJson(new String(writer.getBody(), "UTF-8"), CompactTree.class);
+        assertEquals(tree.getPath(), "/my_project/a");
+        validateCompactTreeLinks(tree);
+        assertEquals(tree.getRoot().getName(), "a");
+        Set<String> names = new LinkedHashSet<>(4);
+        collectNames("", tree.getRoot().getChildren(), names);
+        assertEquals(names, new LinkedHashSet<>(Arrays.asList("b", "b/c", "x", "x/test.txt")));
+        CompactTreeNode x = tree.getRoot().getChildren()
+                                .stream()
+                                .filter(node -> node.getName().equals("x"))
+                                .findFirst()
+                                .get();
+        CompactTreeNode file = x.getChildren().get(0);
+        assertEquals(file.getType(), "file");
+        assertEquals(file.getSize(), 4);
+    }
 
     @SuppressWarnings("unchecked")
     @Test
@@ -1717,6 +1794,7 @@ public class ProjectServiceTest {
         myProject.getBaseFolder().createFolder("x/y").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
         myProject.getBaseFolder().createFolder("c").createFile("exclude", "test".getBytes(Charset.defaultCharset()));
 
+        waitForIndexUpdates();
         ContainerResponse response = launcher.service(GET,
                                                       "http://localhost:8080/api/project/search/my_project?name=test.txt",
                                                       "http://localhost:8080/api", null, null, null);
@@ -1739,6 +1817,7 @@ public class ProjectServiceTest {
         myProject.getBaseFolder().createFolder("x/y").createFile("__test.txt", "searchhit".getBytes(Charset.defaultCharset()));
         myProject.getBaseFolder().createFolder("c").createFile("_test", "searchhit".getBytes(Charset.defaultCharset()));
 
+        waitForIndexUpdates();
         ContainerResponse response = launcher.service(GET,
                                                       "http://localhost:8080/api/project/search/my_project?text=searchhit",
                                                       "http://localhost:8080/api", null, null, null);
@@ -1750,6 +1829,45 @@ public class ProjectServiceTest {
         Assert.assertTrue(paths.contains("/my_project/x/y/__test.txt"));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchWithPositionsAndCursor() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a").createFile("test.txt", "first\nsearchhit".getBytes(Charset.defaultCharset()));
+        myProject.getBaseFolder().createFolder("b").createFile("test.txt", "searchhit".getBytes(Charset.defaultCharset()));
+        myProject.getBaseFolder().createFolder("c").createFile("test.txt", "searchhit".getBytes(Charset.defaultCharset()));
+
+        waitForIndexUpdates();
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search/my_project/a" +
+                                                      "?text=searchhit&includePositions=true",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<ItemReference> result = (List<ItemReference>)response.getEntity();
+        assertEquals(result.size(), 1);
+        assertEquals(result.get(0).getOccurrences().size(), 1);
+        assertEquals(result.get(0).getOccurrences().get(0).getLineNumber(), 2);
+        assertEquals(result.get(0).getOccurrences().get(0).getStartOffset(), 6);
+
+        response = launcher.service(GET, "http://localhost:8080/api/project/search/my_project?text=searchhit&maxItems=1",
+                                    "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<ItemReference> firstPage = (List<ItemReference>)response.getEntity();
+        String cursor = (String)response.getHttpHeaders().getFirst(SEARCH_CURSOR_HEADER);
+        assertNotNull(cursor);
+
+        response = launcher.service(GET, "http://localhost:8080/api/project/search/my_project?text=searchhit&maxItems=2&after=" + cursor,
+                                    "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<ItemReference> secondPage = (List<ItemReference>)response.getEntity();
+        assertEquals(firstPage.size(), 1);
+        assertEquals(secondPage.size(), 2);
+        Set<String> paths = new LinkedHashSet<>();
+        paths.add(firstPage.get(0).getPath());
+        secondPage.forEach(item -> paths.add(item.getPath()));
+        assertEquals(paths.size(), 3);
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testSearchByTextWhenFileWasNotIndexed() throws Exception {
@@ -1758,6 +1876,7 @@ public class ProjectServiceTest {
         myProject.getBaseFolder().createFolder("x/y").createFile("__test.txt", "searchhit".getBytes(Charset.defaultCharset()));
         myProject.getBaseFolder().createFolder(EXCLUDE_SEARCH_PATH).createFile("_test", "searchhit".getBytes(Charset.defaultCharset()));
 
+        waitForIndexUpdates();
         ContainerResponse response = launcher.service(GET,
                                                       "http://localhost:8080/api/project/search/my_project?text=searchhit",
                                                       "http://localhost:8080/api", null, null, null);
@@ -1787,6 +1906,7 @@ public class ProjectServiceTest {
                 Charset.defaultCharset()));
         myProject.getBaseFolder().createFolder("c").createFile("_test", "Pay attention! To be or to not be that is the question".getBytes(Charset.defaultCharset()));
 
+        waitForIndexUpdates();
         ContainerResponse response =
                 launcher.service(GET, "http://localhost:8080/api/project/search/my_project" + queryToSearch,
                                  "http://localhost:8080/api", null, null, null);
@@ -1816,6 +1936,7 @@ public class ProjectServiceTest {
                  .createFile("notContainsSearchText",
                              "Pay attention! To be or to not be that is the questEon".getBytes(Charset.defaultCharset()));
 
+        waitForIndexUpdates();
         ContainerResponse response =
                 launcher.service(GET,"http://localhost:8080/api/project/search/my_project" + queryToSearch,
                                  "http://localhost:8080/api", null, null, null);
@@ -1842,6 +1963,7 @@ public class ProjectServiceTest {
         myProject.getBaseFolder().createFolder("c")
                  .createFile("notContainsSearchText", "Pay attention! To be or to not be that is the questEon".getBytes(Charset.defaultCharset()));
 
+        waitForIndexUpdates();
         ContainerResponse response =
                 launcher.service(GET, "http://localhost:8080/api/project/search/my_project" + queryToSearch,
                                  "http://localhost:8080/api", null, null, null);
@@ -1869,6 +1991,7 @@ public class ProjectServiceTest {
         myProject.getBaseFolder().createFolder("c").createFile("alsoNotContainsSearchText",
                                                                "To be or to not be that is the ...".getBytes(Charset.defaultCharset()));
 
+        waitForIndexUpdates();
         ContainerResponse response =
                 launcher.service(GET, "http://localhost:8080/api/project/search/my_project" + queryToSearch,
                                  "http://localhost:8080/api", null, null, null);
@@ -1899,6 +2022,7 @@ public class ProjectServiceTest {
                  .createFile("test.txt",
                              "http://localhost:8080/ide/dev6?action=createProject:projectName=test".getBytes(Charset.defaultCharset()));
 
+        waitForIndexUpdates();
         ContainerResponse response = launcher.service(GET, "http://localhost:8080/api/project/search/my_project" + queryToSearch,
                                                       "http://localhost:8080/api", null, null, null);
         assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
@@ -1917,6 +2041,7 @@ public class ProjectServiceTest {
         myProject.getBaseFolder().createFolder("x/y").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
         myProject.getBaseFolder().createFolder("c").createFile("test", "test".getBytes(Charset.defaultCharset()));
 
+        waitForIndexUpdates();
         ContainerResponse response = launcher.service(GET,
                                                       "http://localhost:8080/api/project/search/my_project?text=test&name=test.txt",
                                                       "http://localhost:8080/api", null, null, null);
@@ -1941,6 +2066,7 @@ public class ProjectServiceTest {
         myProject.getBaseFolder().createFolder("x/y").createFile("test", "test".getBytes(Charset.defaultCharset()));
         myProject.getBaseFolder().createFolder("c").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
 
+        waitForIndexUpdates();
         ContainerResponse response = launcher.service(GET,
                                                       "http://localhost:8080/api/project/search/?text=test&name=test.txt",
                                                       "http://localhost:8080/api", null, null, null);
@@ -1950,6 +2076,12 @@ public class ProjectServiceTest {
         Assert.assertTrue(result.get(0).getPath().equals("/my_project/c/test.txt"));
     }
 
+    /** Search reads the last refreshed view of index, waits until changes of files made by test are visible for search. */
+    private void waitForIndexUpdates() throws Exception {
+        Searcher searcher = pm.getSearcher();
+        searcher.search(new QueryExpression().setMinSequence(searcher.getScheduledSequence()));
+    }
+
     private void validateFileLinks(ItemReference item) {
         Link link = item.getLink("delete");
         assertNotNull(link);
@@ -1962,6 +2094,30 @@ public class ProjectServiceTest {
         assertEquals(link.getHref(), "http://localhost:8080/api/project" + "/file" + item.getPath());
     }
 
+    private void validateCompactTreeLinks(CompactTree tree) {
+        assertEquals(tree.getFileLinks().size(), 3);
+        assertEquals(tree.getFolderLinks().size(), 3);
+        for (Link link : tree.getFileLinks()) {
+            assertTrue(link.getHref().endsWith("/{path}"));
+        }
+        for (Link link : tree.getFolderLinks()) {
+            assertTrue(link.getHref().endsWith("/{path}"));
+        }
+        Link children = tree.getFolderLinks().get(0);
+        assertEquals(children.getHref(), "http://localhost:8080/api/project/children/{path}");
+    }
+
+    private void collectNames(String parent, List<CompactTreeNode> nodes, Set<String> names) {
+        if (nodes == null) {
+            return;
+        }
+        for (CompactTreeNode node : nodes) {
+            String name = parent + node.getName();
+            names.add(name);
+            collectNames(name + "/", node.getChildren(), names);
+        }
+    }
+
     private void validateFolderLinks(ItemReference item) {
         Link link = item.getLink("children");
         assertNotNull(link);
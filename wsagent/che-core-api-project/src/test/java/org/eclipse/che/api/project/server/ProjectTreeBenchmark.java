@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.rest.ApiExceptionMapper;
+import org.eclipse.che.api.core.rest.CheJsonProvider;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystemProvider;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.everrest.core.ResourceBinder;
+import org.everrest.core.impl.ContainerResponse;
+import org.everrest.core.impl.EverrestConfiguration;
+import org.everrest.core.impl.EverrestProcessor;
+import org.everrest.core.impl.ProviderBinder;
+import org.everrest.core.impl.RequestDispatcher;
+import org.everrest.core.impl.RequestHandlerImpl;
+import org.everrest.core.impl.ResourceBinderImpl;
+import org.everrest.core.tools.ByteArrayContainerResponseWriter;
+import org.everrest.core.tools.DependencySupplierImpl;
+import org.everrest.core.tools.ResourceLauncher;
+
+import javax.ws.rs.core.Application;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static javax.ws.rs.HttpMethod.GET;
+import static org.everrest.core.ApplicationContext.anApplicationContext;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares size of response and latency of {@code tree} and {@code compacttree} methods of {@link ProjectService} for folder with 10000
+ * files and for folder with 100 sub-folders which contain 100 files each. Not run as part of test suite, run it with {@code main}.
+ *
+ * @author agent
+ */
+public class ProjectTreeBenchmark {
+    private static final String BASE_URI   = "http://localhost:8080/api";
+    private static final int    ENTRIES    = 10_000;
+    private static final int    FOLDERS    = 100;
+    private static final int    ITERATIONS = 20;
+
+    public static void main(String[] args) throws Exception {
+        final File root = Files.createTempDirectory("project-tree-benchmark").toFile();
+        final ProjectTreeBuilder treeBuilder = new ProjectTreeBuilder();
+        try {
+            createFiles(new File(root, "flat"), ENTRIES);
+            for (int i = 0; i < FOLDERS; i++) {
+                createFiles(new File(root, "nested/folder" + i), ENTRIES / FOLDERS);
+            }
+            final VirtualFileSystem vfs = new LocalVirtualFileSystemProvider(root, null).getVirtualFileSystem();
+            final ProjectManager projectManager = mock(ProjectManager.class);
+            when(projectManager.asFolder("flat")).thenReturn(new FolderEntry(vfs.getRoot().getChild(Path.of("flat"))));
+            when(projectManager.asFolder("nested")).thenReturn(new FolderEntry(vfs.getRoot().getChild(Path.of("nested"))));
+            final ResourceLauncher launcher = createLauncher(projectManager, treeBuilder);
+
+            run(launcher, "tree/flat?depth=1&includeFiles=true");
+            run(launcher, "compacttree/flat?depth=1&includeFiles=true");
+            run(launcher, "compacttree/flat?depth=1&includeFiles=true&stream=true");
+            run(launcher, "tree/nested?depth=2&includeFiles=true");
+            run(launcher, "compacttree/nested?depth=2&includeFiles=true");
+            run(launcher, "compacttree/nested?depth=2&includeFiles=true&stream=true");
+        } finally {
+            treeBuilder.stop();
+            IoUtil.deleteRecursive(root);
+        }
+    }
+
+    private static void run(ResourceLauncher launcher, String request) throws Exception {
+        final long[] times = new long[ITERATIONS];
+        int bytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            final ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+            final long start = System.nanoTime();
+            final ContainerResponse response = launcher.service(GET, BASE_URI + "/project/" + request, BASE_URI, null, null, writer, null);
+            times[i] = System.nanoTime() - start;
+            if (response.getStatus() != 200) {
+                throw new IllegalStateException("Request " + request + " failed with status " + response.getStatus());
+            }
+            bytes = writer.getBody().length;
+        }
+        Arrays.sort(times);
+        System.out.printf("%-60s %10d bytes, median %8.2f ms, min %8.2f ms%n",
+                          request, bytes, times[ITERATIONS / 2] / 1e6, times[0] / 1e6);
+    }
+
+    private static void createFiles(File folder, int count) throws Exception {
+        Files.createDirectories(folder.toPath());
+        for (int i = 0; i < count; i++) {
+            Files.write(new File(folder, "File" + i + ".java").toPath(), ("class File" + i + " {}").getBytes());
+        }
+    }
+
+    private static ResourceLauncher createLauncher(ProjectManager projectManager, ProjectTreeBuilder treeBuilder) {
+        final DependencySupplierImpl dependencies = new DependencySupplierImpl();
+        dependencies.addInstance(ProjectManager.class, projectManager);
+        dependencies.addInstance(EventService.class, new EventService());
+        dependencies.addInstance(ProjectTreeBuilder.class, treeBuilder);
+
+        final ResourceBinder resources = new ResourceBinderImpl();
+        final ProviderBinder providers = ProviderBinder.getInstance();
+        final EverrestProcessor processor = new EverrestProcessor(new EverrestConfiguration(),
+                                                                  dependencies,
+                                                                  new RequestHandlerImpl(new RequestDispatcher(resources), providers),
+                                                                  null);
+        processor.addApplication(new Application() {
+            @Override
+            public Set<Class<?>> getClasses() {
+                return Collections.<Class<?>>singleton(ProjectService.class);
+            }
+
+            @Override
+            public Set<Object> getSingletons() {
+                return new HashSet<>(Arrays.asList(new ApiExceptionMapper(), new CheJsonProvider<>(null)));
+            }
+        });
+        org.everrest.core.ApplicationContext.setCurrent(anApplicationContext().withProviders(providers).build());
+        return new ResourceLauncher(processor);
+    }
+}
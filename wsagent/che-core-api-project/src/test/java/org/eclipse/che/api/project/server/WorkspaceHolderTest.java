@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.rest.HttpJsonRequest;
+import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.eclipse.che.api.core.rest.HttpJsonResponse;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsStateDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsUpdateDto;
+import org.eclipse.che.commons.test.mockito.answer.SelfReturningAnswer;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link WorkspaceHolder}
+ *
+ * @author agent
+ */
+@Listeners(MockitoTestNGListener.class)
+public class WorkspaceHolderTest {
+    @Mock
+    private HttpJsonRequestFactory requestFactory;
+    @Mock
+    private ProjectRegistry        projectRegistry;
+
+    private HttpJsonRequest request;
+    private WorkspaceHolder workspaceHolder;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        request = mock(HttpJsonRequest.class, new SelfReturningAnswer());
+        when(requestFactory.fromUrl(anyString())).thenReturn(request);
+        workspaceHolder = new WorkspaceHolder("http://localhost:8080/api", "ws", requestFactory);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        workspaceHolder.stop();
+    }
+
+    @Test
+    public void shouldSendChangesOfFewSynchronizationsAsSingleBatch() throws Exception {
+        when(request.request()).thenReturn(response(state("v1", "/a", "/b")), response(state("v2", "/a", "/c", "/d")));
+        workspaceHolder.getProjects();
+        RegisteredProject a = project("/a");
+        RegisteredProject c = project("/c");
+        RegisteredProject d = project("/d");
+        when(a.isSynced()).thenReturn(true);
+        when(projectRegistry.getProject("/a")).thenReturn(a);
+        when(projectRegistry.getProjects()).thenReturn(Arrays.asList(a, c), Arrays.asList(a, c, d));
+        when(projectRegistry.getProject("/c")).thenReturn(c);
+        when(projectRegistry.getProject("/d")).thenReturn(d);
+
+        workspaceHolder.sync(projectRegistry);
+        workspaceHolder.sync(projectRegistry);
+        workspaceHolder.sendChanges();
+
+        ArgumentCaptor<ProjectsUpdateDto> captor = ArgumentCaptor.forClass(ProjectsUpdateDto.class);
+        verify(request).setBody(captor.capture());
+        ProjectsUpdateDto update = captor.getValue();
+        assertEquals(update.getVersion(), "v1");
+        assertEquals(paths(update.getProjects()), set("/c", "/d"));
+        assertEquals(update.getRemoved(), Collections.singletonList("/b"));
+    }
+
+    @Test
+    public void shouldNotSendProjectsWhichAreNotChangedSinceLastBatch() throws Exception {
+        when(request.request()).thenReturn(response(state("v1")), response(state("v2", "/a")), response(state("v3", "/a", "/b")));
+        workspaceHolder.getProjects();
+        RegisteredProject a = project("/a");
+        RegisteredProject b = project("/b");
+        when(projectRegistry.getProject("/a")).thenReturn(a);
+        when(projectRegistry.getProject("/b")).thenReturn(b);
+        when(projectRegistry.getProjects()).thenReturn(Collections.singletonList(a), Arrays.asList(a, b));
+        when(a.isSynced()).thenReturn(false, true);
+
+        workspaceHolder.sync(projectRegistry);
+        workspaceHolder.sendChanges();
+        workspaceHolder.sync(projectRegistry);
+        workspaceHolder.sendChanges();
+
+        ArgumentCaptor<ProjectsUpdateDto> captor = ArgumentCaptor.forClass(ProjectsUpdateDto.class);
+        verify(request, times(2)).setBody(captor.capture());
+        ProjectsUpdateDto second = captor.getAllValues().get(1);
+        assertEquals(second.getVersion(), "v2");
+        assertEquals(paths(second.getProjects()), set("/b"));
+        assertEquals(second.getRemoved(), Collections.emptyList());
+    }
+
+    @Test
+    public void shouldRebuildBatchWhenProjectsWereChangedOnMaster() throws Exception {
+        ConflictException conflict = new ConflictException("conflict");
+        when(request.request()).thenReturn(response(state("v1", "/a")))
+                               .thenThrow(conflict)
+                               .thenReturn(response(state("v2")), response(state("v3", "/c")));
+        workspaceHolder.getProjects();
+        RegisteredProject c = project("/c");
+        when(projectRegistry.getProjects()).thenReturn(Collections.singletonList(c));
+        when(projectRegistry.getProject("/c")).thenReturn(c);
+
+        workspaceHolder.sync(projectRegistry);
+        workspaceHolder.sendChanges();
+
+        ArgumentCaptor<ProjectsUpdateDto> captor = ArgumentCaptor.forClass(ProjectsUpdateDto.class);
+        verify(request, times(2)).setBody(captor.capture());
+        assertEquals(captor.getAllValues().get(0).getVersion(), "v1");
+        assertEquals(captor.getAllValues().get(0).getRemoved(), Collections.singletonList("/a"));
+        ProjectsUpdateDto retry = captor.getAllValues().get(1);
+        assertEquals(retry.getVersion(), "v2");
+        assertEquals(paths(retry.getProjects()), set("/c"));
+        assertEquals(retry.getRemoved(), Collections.emptyList());
+    }
+
+    @Test
+    public void shouldNotRemoveProjectsWhichAreAddedOnMasterBySomeoneElse() throws Exception {
+        ConflictException conflict = new ConflictException("conflict");
+        when(request.request()).thenReturn(response(state("v1", "/a")))
+                               .thenThrow(conflict)
+                               .thenReturn(response(state("v2", "/a", "/x")), response(state("v3", "/a", "/c", "/x")));
+        workspaceHolder.getProjects();
+        RegisteredProject a = project("/a");
+        RegisteredProject c = project("/c");
+        when(a.isSynced()).thenReturn(true);
+        when(projectRegistry.getProjects()).thenReturn(Arrays.asList(a, c));
+        when(projectRegistry.getProject("/a")).thenReturn(a);
+        when(projectRegistry.getProject("/c")).thenReturn(c);
+
+        workspaceHolder.sync(projectRegistry);
+        workspaceHolder.sendChanges();
+
+        ArgumentCaptor<ProjectsUpdateDto> captor = ArgumentCaptor.forClass(ProjectsUpdateDto.class);
+        verify(request, times(2)).setBody(captor.capture());
+        ProjectsUpdateDto retry = captor.getAllValues().get(1);
+        assertEquals(retry.getVersion(), "v2");
+        assertEquals(paths(retry.getProjects()), set("/c"));
+        assertEquals(retry.getRemoved(), Collections.emptyList());
+    }
+
+    @Test
+    public void shouldSendChangesAgainWhenMasterIsNotReachable() throws Exception {
+        when(request.request()).thenReturn(response(state("v1")))
+                               .thenThrow(new IOException("connection refused"))
+                               .thenReturn(response(state("v2", "/c")));
+        workspaceHolder.getProjects();
+        RegisteredProject c = project("/c");
+        when(projectRegistry.getProjects()).thenReturn(Collections.singletonList(c));
+        when(projectRegistry.getProject("/c")).thenReturn(c);
+
+        workspaceHolder.sync(projectRegistry);
+        workspaceHolder.sendChanges();
+        workspaceHolder.sendChanges();
+
+        ArgumentCaptor<ProjectsUpdateDto> captor = ArgumentCaptor.forClass(ProjectsUpdateDto.class);
+        verify(request, times(2)).setBody(captor.capture());
+        assertEquals(paths(captor.getAllValues().get(0).getProjects()), set("/c"));
+        assertEquals(paths(captor.getAllValues().get(1).getProjects()), set("/c"));
+    }
+
+    @Test
+    public void shouldNotSendChangesAgainWhenMasterRejectsThem() throws Exception {
+        when(request.request()).thenReturn(response(state("v1")))
+                               .thenThrow(new BadRequestException("invalid project"));
+        workspaceHolder.getProjects();
+        RegisteredProject c = project("/c");
+        when(projectRegistry.getProjects()).thenReturn(Collections.singletonList(c));
+        when(projectRegistry.getProject("/c")).thenReturn(c);
+
+        workspaceHolder.sync(projectRegistry);
+        workspaceHolder.sendChanges();
+        workspaceHolder.sendChanges();
+
+        verify(request).setBody(any(ProjectsUpdateDto.class));
+    }
+
+    @Test
+    public void shouldDropChangesWhenMasterIsNotReachableAfterAllRetries() throws Exception {
+        when(request.request()).thenReturn(response(state("v1")))
+                               .thenThrow(new ServerException("internal error"));
+        workspaceHolder.getProjects();
+        RegisteredProject c = project("/c");
+        when(projectRegistry.getProjects()).thenReturn(Collections.singletonList(c));
+        when(projectRegistry.getProject("/c")).thenReturn(c);
+
+        workspaceHolder.sync(projectRegistry);
+        for (int i = 0; i <= WorkspaceHolder.MAX_RETRIES + 1; i++) {
+            workspaceHolder.sendChanges();
+        }
+
+        verify(request, times(WorkspaceHolder.MAX_RETRIES + 1)).setBody(any(ProjectsUpdateDto.class));
+    }
+
+    private static RegisteredProject project(String path) {
+        RegisteredProject project = mock(RegisteredProject.class);
+        when(project.getPath()).thenReturn(path);
+        return project;
+    }
+
+    private static ProjectsStateDto state(String version, String... paths) {
+        List<ProjectConfigDto> projects = Arrays.stream(paths)
+                                                .map(path -> newDto(ProjectConfigDto.class).withPath(path))
+                                                .collect(Collectors.toList());
+        return newDto(ProjectsStateDto.class).withVersion(version).withProjects(projects);
+    }
+
+    private static HttpJsonResponse response(ProjectsStateDto state) throws Exception {
+        HttpJsonResponse response = mock(HttpJsonResponse.class);
+        when(response.asDto(any())).thenReturn(state);
+        return response;
+    }
+
+    private static Set<String> paths(List<ProjectConfigDto> projects) {
+        return projects.stream().map(ProjectConfigDto::getPath).collect(Collectors.toSet());
+    }
+
+    private static Set<String> set(String... values) {
+        return Arrays.stream(values).collect(Collectors.toSet());
+    }
+}
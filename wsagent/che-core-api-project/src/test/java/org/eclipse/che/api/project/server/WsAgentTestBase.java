@@ -26,11 +26,13 @@ import org.eclipse.che.api.vfs.impl.file.DefaultFileWatcherNotificationHandler;
 import org.eclipse.che.api.vfs.impl.file.FileTreeWatcher;
 import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
 import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystemProvider;
+import org.eclipse.che.api.vfs.watcher.FileWatcherEventBus;
 import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
 import org.eclipse.che.api.vfs.search.impl.FSLuceneSearcherProvider;
 import org.eclipse.che.commons.lang.IoUtil;
 
 import java.io.File;
+import java.nio.file.FileSystems;
 import java.nio.file.PathMatcher;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -114,7 +116,10 @@ public class WsAgentTestBase {
         this.importerRegistry = new ProjectImporterRegistry(new HashSet<>());
 
         fileWatcherNotificationHandler = new DefaultFileWatcherNotificationHandler(vfsProvider);
-        fileTreeWatcher = new FileTreeWatcher(root, new HashSet<>(), fileWatcherNotificationHandler);
+        fileTreeWatcher = new FileTreeWatcher(root,
+                                              new HashSet<>(),
+                                              fileWatcherNotificationHandler,
+                                              new FileWatcherEventBus(FileSystems.getDefault().newWatchService()));
         fileWatcherManager = mock(FileWatcherManager.class);
         TestWorkspaceHolder wsHolder = new  TestWorkspaceHolder();
 
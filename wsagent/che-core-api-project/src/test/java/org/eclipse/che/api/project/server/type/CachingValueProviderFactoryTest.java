@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server.type;
+
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.nio.file.PathMatcher;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link CachingValueProviderFactory}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CachingValueProviderFactoryTest {
+    private static final String ATTRIBUTE = "attribute";
+
+    @Mock
+    FileWatcherManager fileWatcherManager;
+    @InjectMocks
+    TestValueProviderFactory factory;
+
+    ValueProvider valueProvider;
+    FolderEntry   projectFolder;
+    FolderEntry   moduleFolder;
+
+    @Before
+    public void setUp() throws Exception {
+        valueProvider = mock(ValueProvider.class);
+        when(valueProvider.getValues(ATTRIBUTE)).thenReturn(singletonList("value"));
+        factory.valueProvider = valueProvider;
+        projectFolder = folder("/project");
+        moduleFolder = folder("/project/module");
+    }
+
+    @Test
+    public void shouldComputeValueOnce() throws Exception {
+        factory.startWatching();
+
+        assertEquals(singletonList("value"), factory.newInstance(projectFolder).getValues(ATTRIBUTE));
+        assertEquals(singletonList("value"), factory.newInstance(projectFolder).getValues(ATTRIBUTE));
+
+        verify(valueProvider).getValues(ATTRIBUTE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldComputeValueAgainWhenDependencyIsModified() throws Exception {
+        factory.startWatching();
+        ArgumentCaptor<Consumer> modify = ArgumentCaptor.forClass(Consumer.class);
+        verify(fileWatcherManager).registerByMatcher(any(PathMatcher.class), any(Consumer.class), modify.capture(), any(Consumer.class));
+        factory.newInstance(projectFolder).getValues(ATTRIBUTE);
+
+        modify.getValue().accept("/project/build.file");
+        factory.newInstance(projectFolder).getValues(ATTRIBUTE);
+
+        verify(valueProvider, times(2)).getValues(ATTRIBUTE);
+    }
+
+    @Test
+    public void shouldComputeValuesOfSubFolderAgainWhenFolderIsInvalidated() throws Exception {
+        factory.startWatching();
+        factory.newInstance(moduleFolder).getValues(ATTRIBUTE);
+
+        factory.invalidate(Path.of("/project"));
+        factory.newInstance(moduleFolder).getValues(ATTRIBUTE);
+
+        verify(valueProvider, times(2)).getValues(ATTRIBUTE);
+    }
+
+    @Test
+    public void shouldNotComputeValuesOfOtherFolderAgainWhenFolderIsInvalidated() throws Exception {
+        factory.startWatching();
+        factory.newInstance(projectFolder).getValues(ATTRIBUTE);
+
+        factory.invalidate(Path.of("/project/module"));
+        factory.newInstance(projectFolder).getValues(ATTRIBUTE);
+
+        verify(valueProvider).getValues(ATTRIBUTE);
+    }
+
+    @Test
+    public void shouldNotRememberEmptyValues() throws Exception {
+        when(valueProvider.getValues(ATTRIBUTE)).thenReturn(Collections.emptyList());
+        factory.startWatching();
+
+        factory.newInstance(projectFolder).getValues(ATTRIBUTE);
+        factory.newInstance(projectFolder).getValues(ATTRIBUTE);
+
+        verify(valueProvider, times(2)).getValues(ATTRIBUTE);
+    }
+
+    @Test
+    public void shouldNotRememberValuesIfChangesOfFilesAreNotTracked() throws Exception {
+        factory.newInstance(projectFolder).getValues(ATTRIBUTE);
+        factory.newInstance(projectFolder).getValues(ATTRIBUTE);
+
+        verify(valueProvider, times(2)).getValues(ATTRIBUTE);
+    }
+
+    private FolderEntry folder(String path) {
+        FolderEntry folder = mock(FolderEntry.class);
+        when(folder.getPath()).thenReturn(Path.of(path));
+        return folder;
+    }
+
+    public static class TestValueProviderFactory extends CachingValueProviderFactory {
+        ValueProvider valueProvider;
+
+        @Override
+        protected ValueProvider createValueProvider(FolderEntry projectFolder) {
+            return valueProvider;
+        }
+
+        @Override
+        protected List<PathMatcher> getDependencies() {
+            return singletonList(mock(PathMatcher.class));
+        }
+
+        @Override
+        protected Path getDependentFolder(Path changedFile) {
+            return changedFile.getParent();
+        }
+    }
+}
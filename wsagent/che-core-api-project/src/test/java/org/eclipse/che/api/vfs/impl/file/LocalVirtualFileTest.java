@@ -356,6 +356,41 @@ public class LocalVirtualFileTest {
         assertEquals(expectedResult, children);
     }
 
+    @Test
+    public void getsChildrenCreatedOutsideOfVirtualFileSystem() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        VirtualFile file1 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        assertTrue(folder.toIoFile().setLastModified(System.currentTimeMillis() - 60000));
+        assertEquals(newArrayList(file1), folder.getChildren());
+
+        String name = generateFileName();
+        assertTrue(new File(folder.toIoFile(), name).createNewFile());
+
+        List<VirtualFile> expectedResult = newArrayList(file1, folder.getChild(Path.of(name)));
+        Collections.sort(expectedResult);
+
+        assertEquals(expectedResult, folder.getChildren());
+    }
+
+    @Test
+    public void getsChildrenAfterInvalidationOfCachedListing() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        VirtualFile file1 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        long lastModified = System.currentTimeMillis() - 60000;
+        assertTrue(folder.toIoFile().setLastModified(lastModified));
+        assertEquals(newArrayList(file1), folder.getChildren());
+
+        String name = generateFileName();
+        assertTrue(new File(folder.toIoFile(), name).createNewFile());
+        assertTrue(folder.toIoFile().setLastModified(lastModified));
+        fileSystem.invalidateChildrenCache(folder.getPath());
+
+        List<VirtualFile> expectedResult = newArrayList(file1, folder.getChild(Path.of(name)));
+        Collections.sort(expectedResult);
+
+        assertEquals(expectedResult, folder.getChildren());
+    }
+
     @Test
     public void getsChild() throws Exception {
         VirtualFile root = getRoot();
@@ -1643,7 +1678,7 @@ public class LocalVirtualFileTest {
     @Test
     public void addsNewlyCreatedFileInSearcher() throws Exception {
         VirtualFile file = getRoot().createFile(generateFileName(), DEFAULT_CONTENT);
-        verify(searcher).add(file);
+        verify(searcher).scheduleAdd(file);
     }
 
     @Test
@@ -1652,7 +1687,7 @@ public class LocalVirtualFileTest {
         VirtualFile folder = getRoot().createFolder(generateFolderName());
         Mockito.reset(searcher);
         VirtualFile copy = file.copyTo(folder);
-        verify(searcher).add(copy);
+        verify(searcher).scheduleAdd(copy);
     }
 
     @Test
@@ -1660,13 +1695,13 @@ public class LocalVirtualFileTest {
         VirtualFile folder = getRoot().createFolder(generateFolderName());
         VirtualFile newParent = getRoot().createFolder(generateFolderName());
         VirtualFile copy = folder.copyTo(newParent);
-        verify(searcher).add(copy);
+        verify(searcher).scheduleAdd(copy);
     }
 
     @Test
     public void doesNotAddNewlyCreatedFolderInSearcher() throws Exception {
         VirtualFile folder = getRoot().createFolder(generateFolderName());
-        verify(searcher, never()).add(folder);
+        verify(searcher, never()).scheduleAdd(folder);
     }
 
     @Test
@@ -1674,7 +1709,7 @@ public class LocalVirtualFileTest {
         VirtualFile file = getRoot().createFile(generateFileName(), DEFAULT_CONTENT);
         String path = file.getPath().toString();
         file.delete();
-        verify(searcher).delete(path, true);
+        verify(searcher).scheduleDelete(path, true);
     }
 
     @Test
@@ -1682,28 +1717,28 @@ public class LocalVirtualFileTest {
         VirtualFile folder = getRoot().createFolder(generateFolderName());
         String path = folder.getPath().toString();
         folder.delete();
-        verify(searcher).delete(path, false);
+        verify(searcher).scheduleDelete(path, false);
     }
 
     @Test
     public void updatesFileInSearcherWhenContentUpdatedByStream() throws Exception {
         VirtualFile file = getRoot().createFile(generateFileName(), "");
         file.updateContent(new ByteArrayInputStream(DEFAULT_CONTENT_BYTES));
-        verify(searcher).update(file);
+        verify(searcher).scheduleUpdate(file);
     }
 
     @Test
     public void updatesFileInSearcherWhenContentUpdatedByBytes() throws Exception {
         VirtualFile file = getRoot().createFile(generateFileName(), "");
         file.updateContent(DEFAULT_CONTENT_BYTES);
-        verify(searcher).update(file);
+        verify(searcher).scheduleUpdate(file);
     }
 
     @Test
     public void updatesFileInSearcherWhenContentUpdatedByString() throws Exception {
         VirtualFile file = getRoot().createFile(generateFileName(), "");
         file.updateContent(DEFAULT_CONTENT);
-        verify(searcher).update(file);
+        verify(searcher).scheduleUpdate(file);
     }
 
     @Test
@@ -1712,8 +1747,8 @@ public class LocalVirtualFileTest {
         String oldPath = file.getPath().toString();
         Mockito.reset(searcher);
         VirtualFile renamed = file.rename("new_name");
-        verify(searcher).add(renamed);
-        verify(searcher).delete(oldPath, true);
+        verify(searcher).scheduleAdd(renamed);
+        verify(searcher).scheduleDelete(oldPath, true);
     }
 
     @Test
@@ -1722,8 +1757,8 @@ public class LocalVirtualFileTest {
         String oldPath = folder.getPath().toString();
         Mockito.reset(searcher);
         VirtualFile renamed = folder.rename("new_name");
-        verify(searcher).add(renamed);
-        verify(searcher).delete(oldPath, false);
+        verify(searcher).scheduleAdd(renamed);
+        verify(searcher).scheduleDelete(oldPath, false);
     }
 
     @Test
@@ -1733,8 +1768,8 @@ public class LocalVirtualFileTest {
         String oldPath = file.getPath().toString();
         Mockito.reset(searcher);
         VirtualFile moved = file.moveTo(newParent);
-        verify(searcher).add(moved);
-        verify(searcher).delete(oldPath, true);
+        verify(searcher).scheduleAdd(moved);
+        verify(searcher).scheduleDelete(oldPath, true);
     }
 
     @Test
@@ -1744,8 +1779,8 @@ public class LocalVirtualFileTest {
         String oldPath = folder.getPath().toString();
         Mockito.reset(searcher);
         VirtualFile moved = folder.moveTo(newParent);
-        verify(searcher).add(moved);
-        verify(searcher).delete(oldPath, false);
+        verify(searcher).scheduleAdd(moved);
+        verify(searcher).scheduleDelete(oldPath, false);
     }
 
     @Test
@@ -1755,7 +1790,7 @@ public class LocalVirtualFileTest {
         Archiver archiver = mock(Archiver.class);
         when(archiverFactory.createArchiver(eq(folder), eq("zip"))).thenReturn(archiver);
         folder.unzip(new ByteArrayInputStream(new byte[0]), false, 0);
-        verify(searcher).add(folder);
+        verify(searcher).scheduleAdd(folder);
     }
 
     @Test
@@ -1765,7 +1800,7 @@ public class LocalVirtualFileTest {
         Archiver archiver = mock(Archiver.class);
         when(archiverFactory.createArchiver(eq(folder), eq("tar"))).thenReturn(archiver);
         folder.untar(new ByteArrayInputStream(new byte[0]), false, 0);
-        verify(searcher).add(folder);
+        verify(searcher).scheduleAdd(folder);
     }
 
     private VirtualFile getRoot() {
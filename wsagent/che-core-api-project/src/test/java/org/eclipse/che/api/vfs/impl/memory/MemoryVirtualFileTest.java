@@ -1541,7 +1541,7 @@ public class MemoryVirtualFileTest {
     @Test
     public void addsNewlyCreatedFileInSearcher() throws Exception {
         VirtualFile file = getRoot().createFile(generateFileName(), DEFAULT_CONTENT);
-        verify(searcher).add(file);
+        verify(searcher).scheduleAdd(file);
     }
 
     @Test
@@ -1550,7 +1550,7 @@ public class MemoryVirtualFileTest {
         VirtualFile folder = getRoot().createFolder(generateFolderName());
         Mockito.reset(searcher);
         VirtualFile copy = file.copyTo(folder);
-        verify(searcher).add(copy);
+        verify(searcher).scheduleAdd(copy);
     }
 
     @Test
@@ -1558,13 +1558,13 @@ public class MemoryVirtualFileTest {
         VirtualFile folder = getRoot().createFolder(generateFolderName());
         VirtualFile newParent = getRoot().createFolder(generateFolderName());
         VirtualFile copy = folder.copyTo(newParent);
-        verify(searcher).add(copy);
+        verify(searcher).scheduleAdd(copy);
     }
 
     @Test
     public void doesNotAddNewlyCreatedFolderInSearcher() throws Exception {
         VirtualFile folder = getRoot().createFolder(generateFolderName());
-        verify(searcher, never()).add(folder);
+        verify(searcher, never()).scheduleAdd(folder);
     }
 
     @Test
@@ -1572,7 +1572,7 @@ public class MemoryVirtualFileTest {
         VirtualFile file = getRoot().createFile(generateFileName(), DEFAULT_CONTENT);
         String path = file.getPath().toString();
         file.delete();
-        verify(searcher).delete(path, true);
+        verify(searcher).scheduleDelete(path, true);
     }
 
     @Test
@@ -1580,28 +1580,28 @@ public class MemoryVirtualFileTest {
         VirtualFile folder = getRoot().createFolder(generateFolderName());
         String path = folder.getPath().toString();
         folder.delete();
-        verify(searcher).delete(path, false);
+        verify(searcher).scheduleDelete(path, false);
     }
 
     @Test
     public void updatesFileInSearcherWhenContentUpdatedByStream() throws Exception {
         VirtualFile file = getRoot().createFile(generateFileName(), "");
         file.updateContent(new ByteArrayInputStream(DEFAULT_CONTENT_BYTES));
-        verify(searcher).update(file);
+        verify(searcher).scheduleUpdate(file);
     }
 
     @Test
     public void updatesFileInSearcherWhenContentUpdatedByBytes() throws Exception {
         VirtualFile file = getRoot().createFile(generateFileName(), "");
         file.updateContent(DEFAULT_CONTENT_BYTES);
-        verify(searcher).update(file);
+        verify(searcher).scheduleUpdate(file);
     }
 
     @Test
     public void updatesFileInSearcherWhenContentUpdatedByString() throws Exception {
         VirtualFile file = getRoot().createFile(generateFileName(), "");
         file.updateContent(DEFAULT_CONTENT);
-        verify(searcher).update(file);
+        verify(searcher).scheduleUpdate(file);
     }
 
     @Test
@@ -1610,8 +1610,8 @@ public class MemoryVirtualFileTest {
         String oldPath = file.getPath().toString();
         Mockito.reset(searcher);
         VirtualFile renamed = file.rename("new_name");
-        verify(searcher).add(renamed);
-        verify(searcher).delete(oldPath, true);
+        verify(searcher).scheduleAdd(renamed);
+        verify(searcher).scheduleDelete(oldPath, true);
     }
 
     @Test
@@ -1620,8 +1620,8 @@ public class MemoryVirtualFileTest {
         String oldPath = folder.getPath().toString();
         Mockito.reset(searcher);
         VirtualFile renamed = folder.rename("new_name");
-        verify(searcher).add(renamed);
-        verify(searcher).delete(oldPath, false);
+        verify(searcher).scheduleAdd(renamed);
+        verify(searcher).scheduleDelete(oldPath, false);
     }
 
     @Test
@@ -1631,8 +1631,8 @@ public class MemoryVirtualFileTest {
         String oldPath = file.getPath().toString();
         Mockito.reset(searcher);
         VirtualFile moved = file.moveTo(newParent);
-        verify(searcher).add(moved);
-        verify(searcher).delete(oldPath, true);
+        verify(searcher).scheduleAdd(moved);
+        verify(searcher).scheduleDelete(oldPath, true);
     }
 
     @Test
@@ -1642,8 +1642,8 @@ public class MemoryVirtualFileTest {
         String oldPath = folder.getPath().toString();
         Mockito.reset(searcher);
         VirtualFile moved = folder.moveTo(newParent);
-        verify(searcher).add(moved);
-        verify(searcher).delete(oldPath, false);
+        verify(searcher).scheduleAdd(moved);
+        verify(searcher).scheduleDelete(oldPath, false);
     }
 
     @Test
@@ -1653,7 +1653,7 @@ public class MemoryVirtualFileTest {
         Archiver archiver = mock(Archiver.class);
         when(archiverFactory.createArchiver(eq(folder), eq("zip"))).thenReturn(archiver);
         folder.unzip(new ByteArrayInputStream(new byte[0]), false, 0);
-        verify(searcher).add(folder);
+        verify(searcher).scheduleAdd(folder);
     }
 
     @Test
@@ -1663,7 +1663,7 @@ public class MemoryVirtualFileTest {
         Archiver archiver = mock(Archiver.class);
         when(archiverFactory.createArchiver(eq(folder), eq("tar"))).thenReturn(archiver);
         folder.untar(new ByteArrayInputStream(new byte[0]), false, 0);
-        verify(searcher).add(folder);
+        verify(searcher).scheduleAdd(folder);
     }
 
     private VirtualFile getRoot() {
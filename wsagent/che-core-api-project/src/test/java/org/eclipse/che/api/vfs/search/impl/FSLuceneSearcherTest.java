@@ -12,11 +12,17 @@ package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.base.Optional;
 
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.Term;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.OffsetData;
 import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.commons.lang.IoUtil;
@@ -28,11 +34,13 @@ import org.mockito.ArgumentMatcher;
 
 import java.io.File;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
@@ -85,6 +93,82 @@ public class FSLuceneSearcherTest {
         assertEquals(newArrayList("/folder/zzz.txt"), paths);
     }
 
+    @Test
+    public void initializesIndexForFileTreeInParallel() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 10; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder(String.format("folder%02d", i)).createFolder("sub");
+            for (int j = 0; j < 50; j++) {
+                folder.createFile(String.format("file%02d", j), TEST_CONTENT[j % TEST_CONTENT.length]);
+            }
+        }
+        searcher.init(virtualFileSystem);
+
+        IndexingProgress progress = searcher.getIndexingProgress();
+        assertTrue(progress.isDone());
+        assertEquals(500, progress.getQueuedFiles());
+        assertEquals(500, progress.getIndexedFiles());
+        assertEquals(0, progress.getFailedFiles());
+        assertEquals(125, searcher.search(new QueryExpression().setText("think")).getTotalHits());
+    }
+
+    @Test
+    public void reindexesOnlyChangedFilesWhenPersistentIndexIsReopened() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        VirtualFile unchanged = folder.createFile("unchanged.txt", TEST_CONTENT[0]);
+        VirtualFile updated = folder.createFile("updated.txt", TEST_CONTENT[1]);
+        VirtualFile deleted = folder.createFile("deleted.txt", TEST_CONTENT[1]);
+        searcher.close();
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        searcher.init(virtualFileSystem);
+        searcher.close();
+        assertTrue(indexDirectory.exists());
+
+        updated.updateContent(TEST_CONTENT[2]);
+        deleted.delete();
+        VirtualFile added = folder.createFile("added.txt", TEST_CONTENT[3]);
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        searcher.init(virtualFileSystem);
+
+        IndexingProgress progress = searcher.getIndexingProgress();
+        assertEquals(1, progress.getSkippedFiles());
+        assertEquals(2, progress.getIndexedFiles());
+        assertEquals(newArrayList(unchanged.getPath().toString()),
+                     searcher.search(new QueryExpression().setText("spaceflight")).getFilePaths());
+        assertTrue(searcher.search(new QueryExpression().setText("think")).getFilePaths().isEmpty());
+        assertEquals(newArrayList(updated.getPath().toString()),
+                     searcher.search(new QueryExpression().setText("be")).getFilePaths());
+        assertEquals(newArrayList(added.getPath().toString()),
+                     searcher.search(new QueryExpression().setText("NASA")).getFilePaths());
+    }
+
+    @Test
+    public void reindexesDocumentsWithoutFingerprintWhenPersistentIndexIsReopened() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile file = virtualFileSystem.getRoot().createFolder("folder").createFile("file.txt", TEST_CONTENT[0]);
+        searcher.close();
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        searcher.init(virtualFileSystem);
+        Document legacyDocument = new Document();
+        legacyDocument.add(new StringField("path", file.getPath().toString(), Field.Store.YES));
+        legacyDocument.add(new TextField("text", "legacy", Field.Store.NO));
+        searcher.getIndexWriter().updateDocument(new Term("path", file.getPath().toString()), legacyDocument);
+        Document removedFileDocument = new Document();
+        removedFileDocument.add(new StringField("path", "/folder/removed.txt", Field.Store.YES));
+        removedFileDocument.add(new TextField("text", "legacy", Field.Store.NO));
+        searcher.getIndexWriter().addDocument(removedFileDocument);
+        searcher.close();
+
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        searcher.init(virtualFileSystem);
+
+        assertEquals(1, searcher.getIndexingProgress().getIndexedFiles());
+        assertTrue(searcher.search(new QueryExpression().setText("legacy")).getFilePaths().isEmpty());
+        assertEquals(newArrayList(file.getPath().toString()),
+                     searcher.search(new QueryExpression().setText("spaceflight")).getFilePaths());
+    }
+
     @Test
     public void addsSingleFileInIndex() throws Exception {
         VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -92,8 +176,9 @@ public class FSLuceneSearcherTest {
         VirtualFile file = virtualFileSystem.getRoot().createFolder("aaa").createFile("aaa.txt", TEST_CONTENT[1]);
 
         searcher.add(file);
+        long sequence = searcher.getScheduledSequence();
 
-        List<String> paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        List<String> paths = searcher.search(new QueryExpression().setText("should").setMinSequence(sequence)).getFilePaths();
         assertEquals(newArrayList(file.getPath().toString()), paths);
     }
 
@@ -106,13 +191,41 @@ public class FSLuceneSearcherTest {
         folder.createFile("zzz.txt", TEST_CONTENT[1]);
 
         searcher.add(virtualFileSystem.getRoot());
+        long sequence = searcher.getScheduledSequence();
 
-        List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        List<String> paths = searcher.search(new QueryExpression().setText("be").setMinSequence(sequence)).getFilePaths();
         assertEquals(newArrayList("/folder/xxx.txt"), paths);
-        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setText("should").setMinSequence(sequence)).getFilePaths();
         assertEquals(newArrayList("/folder/zzz.txt"), paths);
     }
 
+    @Test
+    public void appliesScheduledChangesBeforeSearchWithMinSequence() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        searcher.init(virtualFileSystem);
+        VirtualFile file = virtualFileSystem.getRoot().createFolder("aaa").createFile("aaa.txt", TEST_CONTENT[1]);
+
+        long sequence = searcher.scheduleAdd(file);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("should").setMinSequence(sequence)).getFilePaths();
+        assertEquals(newArrayList(file.getPath().toString()), paths);
+    }
+
+    @Test
+    public void coalescesScheduledChangesOfTheSamePath() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        searcher.init(virtualFileSystem);
+        VirtualFile file = virtualFileSystem.getRoot().createFolder("aaa").createFile("aaa.txt", TEST_CONTENT[1]);
+
+        searcher.scheduleAdd(file);
+        searcher.scheduleUpdate(file);
+        long sequence = searcher.scheduleDelete(file.getPath().toString(), true);
+
+        assertEquals(3, sequence);
+        List<String> paths = searcher.search(new QueryExpression().setText("should").setMinSequence(sequence)).getFilePaths();
+        assertTrue(paths.isEmpty());
+    }
+
     @Test
     public void updatesSingleFileInIndex() throws Exception {
         VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -124,8 +237,9 @@ public class FSLuceneSearcherTest {
 
         file.updateContent(TEST_CONTENT[1]);
         searcher.update(file);
+        long sequence = searcher.getScheduledSequence();
 
-        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setText("should").setMinSequence(sequence)).getFilePaths();
 
         assertEquals(newArrayList(file.getPath().toString()), paths);
     }
@@ -140,8 +254,9 @@ public class FSLuceneSearcherTest {
         assertEquals(newArrayList(file.getPath().toString()), paths);
 
         searcher.delete(file.getPath().toString(), file.isFile());
+        long sequence = searcher.getScheduledSequence();
 
-        paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setText("be").setMinSequence(sequence)).getFilePaths();
         assertTrue(paths.isEmpty());
     }
 
@@ -159,10 +274,11 @@ public class FSLuceneSearcherTest {
         assertEquals(newArrayList("/folder/zzz.txt"), paths);
 
         searcher.delete("/folder", false);
+        long sequence = searcher.getScheduledSequence();
 
-        paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setText("be").setMinSequence(sequence)).getFilePaths();
         assertTrue(paths.isEmpty());
-        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setText("should").setMinSequence(sequence)).getFilePaths();
         assertTrue(paths.isEmpty());
     }
 
@@ -307,6 +423,106 @@ public class FSLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void retrievesNextPageWithCursor() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(8));
+        QueryExpression nextPageQueryExpression = firstPage.getNextPageQueryExpression().get();
+        assertNotNull(nextPageQueryExpression.getAfter());
+
+        SearchResult secondPage = searcher.search(nextPageQueryExpression);
+        SearchResult secondPageWithSkip = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(8).setSkipCount(8));
+
+        assertEquals(secondPageWithSkip.getFilePaths(), secondPage.getFilePaths());
+        assertTrue(Collections.disjoint(firstPage.getFilePaths(), secondPage.getFilePaths()));
+    }
+
+    @Test
+    public void pagesWithCursorThroughToTheLastHit() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult page = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(5));
+        List<String> paths = newArrayList(page.getFilePaths());
+        int pages = 1;
+        while (page.getNextPageQueryExpression().isPresent()) {
+            String after = page.getNextPageQueryExpression().get().getAfter();
+            page = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(5).setAfter(after));
+            paths.addAll(page.getFilePaths());
+            pages++;
+        }
+
+        assertEquals(5, pages);
+        assertEquals(25, paths.size());
+        assertEquals(25, new HashSet<>(paths).size());
+    }
+
+    @Test
+    public void retrievesLastHitWithNextPageQuery() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(24));
+        assertEquals(24, firstPage.getFilePaths().size());
+        assertTrue(firstPage.getNextPageQueryExpression().isPresent());
+
+        SearchResult lastPage = searcher.search(firstPage.getNextPageQueryExpression().get());
+        assertEquals(1, lastPage.getFilePaths().size());
+        assertFalse(lastPage.getNextPageQueryExpression().isPresent());
+    }
+
+    @Test
+    public void cursorIsValidAfterMergeOfIndexSegments() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 30; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setName("file*").setMaxItems(8));
+        assertEquals(newArrayList("/file00", "/file01", "/file02", "/file03", "/file04", "/file05", "/file06", "/file07"),
+                     firstPage.getFilePaths());
+
+        searcher.getIndexWriter().deleteDocuments(new Term("path", "/file03"));
+        searcher.getIndexWriter().forceMerge(1);
+        long sequence = searcher.scheduleAdd(virtualFileSystem.getRoot().createFile("file99", TEST_CONTENT[0]));
+
+        SearchResult secondPage = searcher.search(firstPage.getNextPageQueryExpression().get().setMinSequence(sequence));
+        assertEquals(newArrayList("/file08", "/file09", "/file10", "/file11", "/file12", "/file13", "/file14", "/file15"),
+                     secondPage.getFilePaths());
+    }
+
+    @Test
+    public void includesOccurrencesOfSearchedTextInResult() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFile("xxx.txt", "Maybe\nyou should think twice\nand think again");
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("thi*").setIncludePositions(true));
+
+        assertEquals(1, result.getResults().size());
+        List<OffsetData> occurrences = result.getResults().get(0).getData();
+        assertEquals(2, occurrences.size());
+        assertEquals("think", occurrences.get(0).getPhrase());
+        assertEquals(2, occurrences.get(0).getLineNumber());
+        assertEquals("you should think twice", occurrences.get(0).getLineContent());
+        assertEquals(17, occurrences.get(0).getStartOffset());
+        assertEquals(22, occurrences.get(0).getEndOffset());
+        assertEquals(3, occurrences.get(1).getLineNumber());
+        assertEquals("and think again", occurrences.get(1).getLineContent());
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
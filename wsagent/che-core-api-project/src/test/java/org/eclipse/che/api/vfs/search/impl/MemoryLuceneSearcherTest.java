@@ -81,8 +81,9 @@ public class MemoryLuceneSearcherTest {
         VirtualFile file = virtualFileSystem.getRoot().createFolder("aaa").createFile("aaa.txt", TEST_CONTENT[1]);
 
         searcher.add(file);
+        long sequence = searcher.getScheduledSequence();
 
-        List<String> paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        List<String> paths = searcher.search(new QueryExpression().setText("should").setMinSequence(sequence)).getFilePaths();
         assertEquals(newArrayList(file.getPath().toString()), paths);
     }
 
@@ -95,10 +96,11 @@ public class MemoryLuceneSearcherTest {
         folder.createFile("zzz.txt", TEST_CONTENT[1]);
 
         searcher.add(virtualFileSystem.getRoot());
+        long sequence = searcher.getScheduledSequence();
 
-        List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        List<String> paths = searcher.search(new QueryExpression().setText("be").setMinSequence(sequence)).getFilePaths();
         assertEquals(newArrayList("/folder/xxx.txt"), paths);
-        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setText("should").setMinSequence(sequence)).getFilePaths();
         assertEquals(newArrayList("/folder/zzz.txt"), paths);
     }
 
@@ -113,8 +115,9 @@ public class MemoryLuceneSearcherTest {
 
         file.updateContent(TEST_CONTENT[1]);
         searcher.update(file);
+        long sequence = searcher.getScheduledSequence();
 
-        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setText("should").setMinSequence(sequence)).getFilePaths();
 
         assertEquals(newArrayList(file.getPath().toString()), paths);
     }
@@ -129,8 +132,9 @@ public class MemoryLuceneSearcherTest {
         assertEquals(newArrayList(file.getPath().toString()), paths);
 
         searcher.delete(file.getPath().toString(), file.isFile());
+        long sequence = searcher.getScheduledSequence();
 
-        paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setText("be").setMinSequence(sequence)).getFilePaths();
         assertTrue(paths.isEmpty());
     }
 
@@ -148,10 +152,11 @@ public class MemoryLuceneSearcherTest {
         assertEquals(newArrayList("/folder/zzz.txt"), paths);
 
         searcher.delete("/folder", false);
+        long sequence = searcher.getScheduledSequence();
 
-        paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setText("be").setMinSequence(sequence)).getFilePaths();
         assertTrue(paths.isEmpty());
-        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        paths = searcher.search(new QueryExpression().setText("should").setMinSequence(sequence)).getFilePaths();
         assertTrue(paths.isEmpty());
     }
 
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures CPU time which is spent for matching of single file event with matchers that are usually registered by plugins. Compares
+ * {@link PathMatcherIndex} with checking of every matcher. Not run as part of test suite, run it with {@code main}.
+ *
+ * @author agent
+ */
+public class FileWatcherByPathMatcherBenchmark {
+    private static final String[] FILE_NAMES = {"pom.xml", "package.json", ".gitignore", "HEAD", "build.gradle", "Makefile",
+                                                "composer.json", "requirements.txt", "Gemfile", "Cargo.toml", ".project", "tsconfig.json"};
+
+    private static final int EVENTS     = 100_000;
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) {
+        final PathMatcherIndex index = new PathMatcherIndex();
+        final List<PathMatcher> linear = new ArrayList<>();
+        for (String fileName : FILE_NAMES) {
+            index.add(new FileNamePathMatcher(fileName));
+            linear.add(path -> fileName.equals(path.getFileName().toString()));
+        }
+        final Path[] events = new Path[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            events[i] = Paths.get("/projects/project" + i % 10, "src/main/java/pkg" + i % 100,
+                                  i % 1000 == 0 ? FILE_NAMES[i % FILE_NAMES.length] : "Source" + i + ".java");
+        }
+
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            long matched = 0;
+            long start = threads.getCurrentThreadCpuTime();
+            for (Path event : events) {
+                matched += index.find(event).size();
+            }
+            final long indexed = threads.getCurrentThreadCpuTime() - start;
+
+            start = threads.getCurrentThreadCpuTime();
+            for (Path event : events) {
+                for (PathMatcher matcher : linear) {
+                    if (matcher.matches(event)) {
+                        matched++;
+                    }
+                }
+            }
+            final long checked = threads.getCurrentThreadCpuTime() - start;
+
+            System.out.printf("iteration %2d: indexed %5d ns/event, linear %5d ns/event (%d matches)%n",
+                              iteration, indexed / EVENTS, checked / EVENTS, matched);
+        }
+    }
+}
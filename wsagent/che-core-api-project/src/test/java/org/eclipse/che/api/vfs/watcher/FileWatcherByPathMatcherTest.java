@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.function.Consumer;
+
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link FileWatcherByPathMatcher}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class FileWatcherByPathMatcherTest {
+    private static final int    PATH_OPERATION_ID = 1;
+    private static final String FILE_NAME         = "name.ext";
+
+    @Rule
+    public TemporaryFolder rootFolder = new TemporaryFolder();
+
+    @Mock
+    FileWatcherByPathValue         pathWatcher;
+    @Mock
+    FileWatcherNotificationHandler notificationHandler;
+
+    @Mock
+    Consumer<String> create;
+    @Mock
+    Consumer<String> modify;
+    @Mock
+    Consumer<String> delete;
+
+    FileWatcherByPathMatcher watcher;
+    Path                     root;
+
+    @Before
+    public void setUp() throws Exception {
+        root = rootFolder.getRoot().toPath().normalize().toAbsolutePath();
+        watcher = new FileWatcherByPathMatcher(rootFolder.getRoot(), pathWatcher, notificationHandler);
+        watcher.start();
+
+        when(pathWatcher.watch(any(), any(), any(), any())).thenReturn(PATH_OPERATION_ID);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        watcher.stop();
+    }
+
+    @Test
+    public void shouldWatchExistingMatchedFilesAfterRegistration() throws Exception {
+        Path path = Files.createFile(root.resolve(FILE_NAME));
+
+        watcher.watch(new FileNamePathMatcher(FILE_NAME), create, modify, delete);
+
+        verify(pathWatcher, timeout(1000)).watch(path, create, modify, delete);
+    }
+
+    @Test
+    public void shouldWatchCreatedFileThatMatchesFileNameMatcher() throws Exception {
+        Path path = root.resolve("dir").resolve(FILE_NAME);
+        watcher.watch(new FileNamePathMatcher(FILE_NAME), create, modify, delete);
+
+        watcher.handle(path, CREATED);
+
+        verify(pathWatcher).watch(path, create, modify, delete);
+    }
+
+    @Test
+    public void shouldWatchCreatedFileThatMatchesGenericMatcher() throws Exception {
+        Path path = root.resolve(FILE_NAME);
+        PathMatcher matcher = it -> it.toString().endsWith(".ext");
+        watcher.watch(matcher, create, modify, delete);
+
+        watcher.handle(path, CREATED);
+
+        verify(pathWatcher).watch(path, create, modify, delete);
+    }
+
+    @Test
+    public void shouldNotWatchCreatedFileWithOtherName() throws Exception {
+        watcher.watch(new FileNamePathMatcher(FILE_NAME), create, modify, delete);
+
+        watcher.handle(root.resolve("other.ext"), CREATED);
+
+        verify(pathWatcher, never()).watch(any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldNotWatchFileWhenAdditionalMatcherDoesNotMatch() throws Exception {
+        watcher.watch(new FileNamePathMatcher(FILE_NAME, it -> false), create, modify, delete);
+
+        watcher.handle(root.resolve(FILE_NAME), CREATED);
+
+        verify(pathWatcher, never()).watch(any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldIgnoreModificationEvents() throws Exception {
+        watcher.watch(new FileNamePathMatcher(FILE_NAME), create, modify, delete);
+
+        watcher.handle(root.resolve(FILE_NAME), MODIFIED);
+
+        verify(pathWatcher, never()).watch(any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldWatchCreatedFileOnlyOnce() throws Exception {
+        Path path = root.resolve(FILE_NAME);
+        watcher.watch(new FileNamePathMatcher(FILE_NAME), create, modify, delete);
+
+        watcher.handle(path, CREATED);
+        watcher.handle(path, CREATED);
+
+        verify(pathWatcher, times(1)).watch(path, create, modify, delete);
+    }
+
+    @Test
+    public void shouldUnwatchDeletedFile() throws Exception {
+        Path path = root.resolve(FILE_NAME);
+        watcher.watch(new FileNamePathMatcher(FILE_NAME), create, modify, delete);
+        watcher.handle(path, CREATED);
+
+        watcher.handle(path, DELETED);
+
+        verify(pathWatcher).unwatch(PATH_OPERATION_ID);
+    }
+
+    @Test
+    public void shouldUnwatchFilesOfDeletedDirectory() throws Exception {
+        Path dir = root.resolve("dir");
+        watcher.watch(new FileNamePathMatcher(FILE_NAME), create, modify, delete);
+        watcher.handle(dir.resolve(FILE_NAME), CREATED);
+
+        watcher.handle(dir, DELETED);
+
+        verify(pathWatcher).unwatch(PATH_OPERATION_ID);
+    }
+
+    @Test
+    public void shouldUnwatchRegisteredFilesWhenUnwatchMatcher() throws Exception {
+        watcher.watch(new FileNamePathMatcher(FILE_NAME), create, modify, delete);
+        int id = watcher.watch(new FileNamePathMatcher(FILE_NAME), create, modify, delete);
+        watcher.handle(root.resolve(FILE_NAME), CREATED);
+
+        watcher.unwatch(id);
+
+        verify(pathWatcher).unwatch(PATH_OPERATION_ID);
+    }
+
+    @Test
+    public void shouldNotWatchCreatedFilesAfterUnwatchMatcher() throws Exception {
+        int id = watcher.watch(new FileNamePathMatcher(FILE_NAME), create, modify, delete);
+
+        watcher.unwatch(id);
+        watcher.handle(root.resolve(FILE_NAME), CREATED);
+
+        verify(pathWatcher, never()).watch(eq(root.resolve(FILE_NAME)), any(), any(), any());
+        verify(pathWatcher, never()).unwatch(anyInt());
+    }
+}
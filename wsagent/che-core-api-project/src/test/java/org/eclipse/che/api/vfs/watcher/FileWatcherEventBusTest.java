@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link FileWatcherEventBus}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class FileWatcherEventBusTest {
+    private static final int    TIMEOUT_VALUE = 3_000;
+    private static final String FILE_NAME     = "file";
+
+    @Rule
+    public TemporaryFolder rootFolder = new TemporaryFolder();
+
+    @Mock
+    FileWatcherEventBus.Subscriber subscriber;
+
+    FileWatcherEventBus bus;
+    Path                root;
+
+    @Before
+    public void setUp() throws Exception {
+        root = rootFolder.getRoot().toPath();
+        bus = new FileWatcherEventBus(FileSystems.getDefault().newWatchService());
+        bus.subscribe(subscriber);
+        bus.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        bus.stop();
+    }
+
+    @Test
+    public void shouldWatchDirectoryOnceWhenItIsRegisteredTwice() throws Exception {
+        assertTrue(bus.register(root));
+        assertTrue(bus.register(root));
+
+        assertEquals(1, bus.getWatchCount());
+    }
+
+    @Test
+    public void shouldWatchTwiceRegisteredDirectoryAfterSingleUnregister() throws Exception {
+        bus.register(root);
+        bus.register(root);
+
+        bus.unregister(root);
+
+        assertEquals(1, bus.getWatchCount());
+    }
+
+    @Test
+    public void shouldNotWatchTwiceRegisteredDirectoryAfterDoubleUnregister() throws Exception {
+        bus.register(root);
+        bus.register(root);
+
+        bus.unregister(root);
+        bus.unregister(root);
+
+        assertEquals(0, bus.getWatchCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldDeliverEventsOfRegisteredDirectory() throws Exception {
+        bus.register(root);
+
+        Path path = rootFolder.newFile(FILE_NAME).toPath();
+
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(subscriber, timeout(TIMEOUT_VALUE)).onEvents(captor.capture());
+        FileWatcherEventBus.Event event = (FileWatcherEventBus.Event)captor.getValue().get(0);
+        assertEquals(root, event.getDir());
+        assertEquals(path, event.getPath());
+        assertEquals(ENTRY_CREATE, event.getKind());
+        assertFalse(event.isDirectoryEvent());
+    }
+
+    @Test
+    public void shouldNotDeliverEventsToUnsubscribedSubscriber() throws Exception {
+        bus.register(root);
+        bus.unsubscribe(subscriber);
+
+        rootFolder.newFile(FILE_NAME);
+
+        verify(subscriber, timeout(TIMEOUT_VALUE).never()).onEvents(anyListOf(FileWatcherEventBus.Event.class));
+    }
+
+    @Test
+    public void shouldNotDeliverEventsOfUnregisteredDirectory() throws Exception {
+        bus.register(root);
+        bus.unregister(root);
+
+        rootFolder.newFile(FILE_NAME);
+
+        verify(subscriber, timeout(TIMEOUT_VALUE).never()).onEvents(anyListOf(FileWatcherEventBus.Event.class));
+    }
+
+    @Test
+    public void shouldDeliverEventsInDeliveryThread() throws Exception {
+        AtomicReference<String> deliveryThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            deliveryThread.set(Thread.currentThread().getName());
+            return null;
+        }).when(subscriber).onEvents(anyListOf(FileWatcherEventBus.Event.class));
+        bus.register(root);
+
+        rootFolder.newFile(FILE_NAME);
+
+        verify(subscriber, timeout(TIMEOUT_VALUE)).onEvents(anyListOf(FileWatcherEventBus.Event.class));
+        assertEquals(FileWatcherEventBus.DELIVERY_THREAD_NAME, deliveryThread.get());
+    }
+
+    @Test
+    public void shouldReportCreatedAndModifiedItemAsCreated() throws Exception {
+        assertEquals(singletonList(ENTRY_CREATE), FileWatcherEventBus.merge(singletonList(ENTRY_CREATE), ENTRY_MODIFY));
+    }
+
+    @Test
+    public void shouldNotReportCreatedAndDeletedItem() throws Exception {
+        assertTrue(FileWatcherEventBus.merge(singletonList(ENTRY_CREATE), ENTRY_DELETE).isEmpty());
+    }
+
+    @Test
+    public void shouldReportDeletedAndCreatedItemAsDeletedAndCreated() throws Exception {
+        assertEquals(asList(ENTRY_DELETE, ENTRY_CREATE), FileWatcherEventBus.merge(singletonList(ENTRY_DELETE), ENTRY_CREATE));
+    }
+
+    @Test
+    public void shouldReportDeletedAndCreatedAndModifiedItemAsDeletedAndCreated() throws Exception {
+        assertEquals(asList(ENTRY_DELETE, ENTRY_CREATE), FileWatcherEventBus.merge(asList(ENTRY_DELETE, ENTRY_CREATE), ENTRY_MODIFY));
+    }
+
+    @Test
+    public void shouldReportDeletedAndCreatedAndDeletedItemAsDeleted() throws Exception {
+        assertEquals(singletonList(ENTRY_DELETE), FileWatcherEventBus.merge(asList(ENTRY_DELETE, ENTRY_CREATE), ENTRY_DELETE));
+    }
+
+    @Test
+    public void shouldReportModifiedAndDeletedItemAsDeleted() throws Exception {
+        assertEquals(singletonList(ENTRY_DELETE), FileWatcherEventBus.merge(singletonList(ENTRY_MODIFY), ENTRY_DELETE));
+    }
+
+    @Test
+    public void shouldKeepOverflow() throws Exception {
+        assertEquals(singletonList(OVERFLOW), FileWatcherEventBus.merge(singletonList(OVERFLOW), ENTRY_MODIFY));
+        assertEquals(singletonList(OVERFLOW), FileWatcherEventBus.merge(singletonList(ENTRY_CREATE), OVERFLOW));
+    }
+}
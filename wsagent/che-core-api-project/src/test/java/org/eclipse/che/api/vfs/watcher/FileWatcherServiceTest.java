@@ -56,14 +56,16 @@ public class FileWatcherServiceTest {
     Set<PathMatcher> excludes     = emptySet();
     WatchService     watchService = FileSystems.getDefault().newWatchService();
 
-    FileWatcherService service;
+    FileWatcherEventBus bus;
+    FileWatcherService  service;
 
     public FileWatcherServiceTest() throws IOException {
     }
 
     @BeforeClass
     public void setUp() throws Exception {
-        service = new FileWatcherService(excludes, handler, watchService);
+        bus = new FileWatcherEventBus(watchService);
+        service = new FileWatcherService(excludes, handler, bus);
 
         service.start();
     }
@@ -84,6 +86,7 @@ public class FileWatcherServiceTest {
     @AfterClass
     public void tearDown() throws Exception {
         service.stop();
+        bus.stop();
 
         reset(handler);
 
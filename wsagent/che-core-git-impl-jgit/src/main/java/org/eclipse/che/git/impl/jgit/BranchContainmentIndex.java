@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectIdOwnerMap;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Index of branches which contain commits of repository. Index answers the same question as
+ * {@code git.branchList().setListMode(ListMode.ALL).setContains(commit)} but doesn't walk history of every branch for every commit.
+ * <p/>
+ * Index is built with single walk through history of all branches and is shared between connections to the same repository. Index is
+ * rebuilt when any branch is created, removed or moved.
+ *
+ * @author agent
+ */
+class BranchContainmentIndex {
+    private static final Cache<String, BranchContainmentIndex> INDEXES = CacheBuilder.newBuilder()
+                                                                                     .maximumSize(32)
+                                                                                     .expireAfterAccess(30, MINUTES)
+                                                                                     .build();
+
+    /**
+     * Returns index for specified repository. Index is created if it doesn't exist yet or if branches of repository are changed since
+     * index was created.
+     */
+    static BranchContainmentIndex get(Repository repository) throws IOException {
+        final Map<String, ObjectId> branches = readBranches(repository);
+        final String key = repository.getDirectory().getAbsolutePath();
+        final BranchContainmentIndex index = INDEXES.getIfPresent(key);
+        if (index != null && index.branches.equals(branches)) {
+            return index;
+        }
+        final BranchContainmentIndex newIndex = build(repository, branches);
+        INDEXES.put(key, newIndex);
+        return newIndex;
+    }
+
+    private final Map<String, ObjectId>   branches;
+    private final String[]                branchNames;
+    private final ObjectIdOwnerMap<Entry> commits;
+
+    private BranchContainmentIndex(Map<String, ObjectId> branches, ObjectIdOwnerMap<Entry> commits) {
+        this.branches = branches;
+        this.branchNames = branches.keySet().toArray(new String[branches.size()]);
+        this.commits = commits;
+    }
+
+    /** Returns full names of branches which contain specified commit, names are sorted alphabetically. */
+    List<String> getBranches(AnyObjectId commit) {
+        final Entry entry = commits.get(commit);
+        if (entry == null) {
+            return Collections.emptyList();
+        }
+        final List<String> result = new ArrayList<>(entry.branches.cardinality());
+        for (int i = entry.branches.nextSetBit(0); i >= 0; i = entry.branches.nextSetBit(i + 1)) {
+            result.add(branchNames[i]);
+        }
+        return result;
+    }
+
+    /** Reads local and remote branches and detached HEAD, in the same way as ListBranchCommand does it for ListMode.ALL. */
+    private static Map<String, ObjectId> readBranches(Repository repository) throws IOException {
+        final Map<String, ObjectId> branches = new TreeMap<>();
+        final Ref head = repository.exactRef(Constants.HEAD);
+        if (head != null && head.getObjectId() != null && Constants.HEAD.equals(head.getLeaf().getName())) {
+            branches.put(Constants.HEAD, head.getObjectId());
+        }
+        for (String prefix : new String[]{Constants.R_HEADS, Constants.R_REMOTES}) {
+            for (Ref ref : repository.getRefDatabase().getRefs(prefix).values()) {
+                if (ref.getObjectId() != null) {
+                    branches.put(ref.getName(), ref.getObjectId());
+                }
+            }
+        }
+        return branches;
+    }
+
+    private static BranchContainmentIndex build(Repository repository, Map<String, ObjectId> branches) throws IOException {
+        final ObjectIdOwnerMap<Entry> commits = new ObjectIdOwnerMap<>();
+        // Many commits are contained in the same set of branches, share instances of BitSet between them.
+        final Map<BitSet, BitSet> uniqueSets = new HashMap<>();
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.sort(RevSort.TOPO);
+            int bit = 0;
+            for (ObjectId tip : branches.values()) {
+                final RevObject object = walk.peel(walk.parseAny(tip));
+                if (object instanceof RevCommit) {
+                    walk.markStart((RevCommit)object);
+                    getOrCreate(commits, object).branches.set(bit);
+                }
+                bit++;
+            }
+            // Topological order guarantees that all children of commit are visited before commit itself,
+            // so set of branches of commit is complete when commit is visited and may be propagated to its parents.
+            RevCommit commit;
+            while ((commit = walk.next()) != null) {
+                final Entry entry = getOrCreate(commits, commit);
+                BitSet shared = uniqueSets.get(entry.branches);
+                if (shared == null) {
+                    shared = entry.branches;
+                    uniqueSets.put(shared, shared);
+                }
+                for (RevCommit parent : commit.getParents()) {
+                    final Entry parentEntry = getOrCreate(commits, parent);
+                    if (parentEntry.branches.isEmpty()) {
+                        parentEntry.branches = shared;
+                        parentEntry.shared = true;
+                    } else if (parentEntry.branches != shared && !isSuperset(parentEntry.branches, shared)) {
+                        if (parentEntry.shared) {
+                            parentEntry.branches = (BitSet)parentEntry.branches.clone();
+                            parentEntry.shared = false;
+                        }
+                        parentEntry.branches.or(shared);
+                    }
+                }
+                entry.branches = shared;
+                entry.shared = true;
+            }
+        }
+        return new BranchContainmentIndex(Collections.unmodifiableMap(branches), commits);
+    }
+
+    private static Entry getOrCreate(ObjectIdOwnerMap<Entry> commits, AnyObjectId id) {
+        Entry entry = commits.get(id);
+        if (entry == null) {
+            entry = new Entry(id);
+            commits.add(entry);
+        }
+        return entry;
+    }
+
+    private static boolean isSuperset(BitSet set, BitSet subset) {
+        final BitSet missed = (BitSet)subset.clone();
+        missed.andNot(set);
+        return missed.isEmpty();
+    }
+
+    private static class Entry extends ObjectIdOwnerMap.Entry {
+        /** Indexes of branches which contain commit. Instance is shared with other entries if {@link #shared} is {@code true}. */
+        BitSet  branches;
+        boolean shared;
+
+        Entry(AnyObjectId id) {
+            super(id);
+            branches = new BitSet();
+        }
+    }
+}
@@ -725,10 +725,11 @@ class JGitConnection implements GitConnection {
                 logCommand.addPath(filePath);
             }
             Iterator<RevCommit> revIterator = logCommand.call().iterator();
+            BranchContainmentIndex branchIndex = params.isIncludeBranches() ? BranchContainmentIndex.get(repository) : null;
             List<Revision> commits = new ArrayList<>();
             while (revIterator.hasNext()) {
                 RevCommit commit = revIterator.next();
-                Revision revision = getRevision(commit, filePath);
+                Revision revision = getRevision(commit, filePath, branchIndex, params.isIncludeDiffFiles());
                 commits.add(revision);
             }
             return new LogPage(commits);
@@ -743,19 +744,37 @@ class JGitConnection implements GitConnection {
         }
     }
 
-    private Revision getRevision(RevCommit commit, String filePath) throws GitAPIException, IOException {
+    /**
+     * Creates revision for commit.
+     *
+     * @param branchIndex
+     *         index of branches, if {@code null} branches of commit are not resolved
+     * @param includeDiffFiles
+     *         if {@code false} files changed by commit are not resolved
+     */
+    private Revision getRevision(RevCommit commit,
+                                 String filePath,
+                                 BranchContainmentIndex branchIndex,
+                                 boolean includeDiffFiles) throws IOException {
         List<String> commitParentsList = Stream.of(commit.getParents())
                                                .map(RevCommit::getName)
                                                .collect(Collectors.toList());
 
-        return newDto(Revision.class).withId(commit.getId().getName())
-                                     .withMessage(commit.getFullMessage())
-                                     .withCommitTime((long)commit.getCommitTime() * 1000)
-                                     .withCommitter(getCommitCommitter(commit))
-                                     .withAuthor(getCommitAuthor(commit))
-                                     .withBranches(getBranchesOfCommit(commit, ListMode.ALL))
-                                     .withCommitParent(commitParentsList)
-                                     .withDiffCommitFile(getCommitDiffFiles(commit, filePath));
+        Revision revision = newDto(Revision.class).withId(commit.getId().getName())
+                                                  .withMessage(commit.getFullMessage())
+                                                  .withCommitTime((long)commit.getCommitTime() * 1000)
+                                                  .withCommitter(getCommitCommitter(commit))
+                                                  .withAuthor(getCommitAuthor(commit))
+                                                  .withCommitParent(commitParentsList);
+        if (branchIndex != null) {
+            revision.setBranches(branchIndex.getBranches(commit).stream()
+                                            .map(name -> newDto(Branch.class).withName(name))
+                                            .collect(Collectors.toList()));
+        }
+        if (includeDiffFiles) {
+            revision.setDiffCommitFile(getCommitDiffFiles(commit, filePath));
+        }
+        return revision;
     }
 
     private GitUser getCommitCommitter(RevCommit commit) {
@@ -770,16 +789,6 @@ class JGitConnection implements GitConnection {
                                     .withEmail(authorIdentity.getEmailAddress());
     }
 
-    private List<Branch> getBranchesOfCommit(RevCommit commit, ListMode mode) throws GitAPIException {
-        List<Ref> branches = getGit().branchList()
-                                     .setListMode(mode)
-                                     .setContains(commit.getName())
-                                     .call();
-        return branches.stream()
-                       .map(branch -> newDto(Branch.class).withName(branch.getName()))
-                       .collect(Collectors.toList());
-    }
-
     private List<DiffCommitFile> getCommitDiffFiles(RevCommit revCommit, String pattern) throws IOException {
         List<DiffEntry> diffs;
         TreeFilter filter = null;
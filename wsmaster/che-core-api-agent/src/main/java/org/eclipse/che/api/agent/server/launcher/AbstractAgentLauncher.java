@@ -10,8 +10,6 @@
  *******************************************************************************/
 package org.eclipse.che.api.agent.server.launcher;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ServerException;
@@ -22,15 +20,14 @@ import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
-import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
@@ -38,6 +35,8 @@ import static java.lang.String.format;
 /**
  * Launch agent script asynchronously over target instance and wait when it run.
  * The policy of checking if agent is run might be different for agents.
+ * Agent state is checked in executor shared by all launchers, with exponential backoff
+ * which doesn't exceed agent ping delay.
  *
  * @see Agent#getScript()
  * @see AgentLaunchingChecker
@@ -46,13 +45,7 @@ import static java.lang.String.format;
  * @author Anatolii Bazko
  */
 public abstract class AbstractAgentLauncher implements AgentLauncher {
-    private static final Logger          LOG      = LoggerFactory.getLogger(AbstractAgentLauncher.class);
-    private static final ExecutorService executor =
-            Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("AgentLauncher-%d")
-                                                                    .setUncaughtExceptionHandler(
-                                                                            LoggingUncaughtExceptionHandler.getInstance())
-                                                                    .setDaemon(true)
-                                                                    .build());
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractAgentLauncher.class);
 
     private final AgentLaunchingChecker agentLaunchingChecker;
     private final long                  agentPingDelayMs;
@@ -68,33 +61,55 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
 
     @Override
     public void launch(Instance machine, Agent agent) throws ServerException {
+        AgentLaunchingExecutors.await(launchAsync(machine, agent),
+                                      () -> format("Launching agent %s is interrupted", agent.getName()));
+    }
+
+    @Override
+    public CompletableFuture<Void> launchAsync(Instance machine, Agent agent) {
+        final CompletableFuture<Void> launching = new CompletableFuture<>();
         if (isNullOrEmpty(agent.getScript())) {
-            return;
+            launching.complete(null);
+            return launching;
         }
+        final InstanceProcess process;
         try {
-            final InstanceProcess process = start(machine, agent);
-            LOG.debug("Waiting for agent {} is launched. Workspace ID:{}", agent.getId(), machine.getWorkspaceId());
-
-            final long pingStartTimestamp = System.currentTimeMillis();
-            while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
-                if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
-                    return;
-                } else {
-                    Thread.sleep(agentPingDelayMs);
-                }
-            }
-
-            process.kill();
+            process = start(machine, agent);
         } catch (MachineException e) {
-            throw new ServerException(e.getServiceError());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new ServerException(format("Launching agent %s is interrupted", agent.getName()));
+            launching.completeExceptionally(new ServerException(e.getServiceError()));
+            return launching;
+        } catch (ServerException e) {
+            launching.completeExceptionally(e);
+            return launching;
         }
+        LOG.debug("Waiting for agent {} is launched. Workspace ID:{}", agent.getId(), machine.getWorkspaceId());
 
-        final String errMsg = format("Fail launching agent %s. Workspace ID:%s", agent.getName(), machine.getWorkspaceId());
-        LOG.error(errMsg);
-        throw new ServerException(errMsg);
+        final CompletableFuture<Void> waiting =
+                AgentLaunchingExecutors.waitUntilLaunched(() -> agentLaunchingChecker.isLaunched(agent, process, machine),
+                                                          agentPingDelayMs,
+                                                          agentMaxStartTimeMs);
+        AgentLaunchingExecutors.propagateCancellation(launching, waiting);
+        waiting.whenComplete((ignored, error) -> {
+            if (error == null) {
+                launching.complete(null);
+            } else if (error instanceof TimeoutException) {
+                try {
+                    process.kill();
+                } catch (MachineException e) {
+                    LOG.error(e.getLocalizedMessage(), e);
+                }
+                final String errMsg = format("Fail launching agent %s. Workspace ID:%s",
+                                             agent.getName(),
+                                             machine.getWorkspaceId());
+                LOG.error(errMsg);
+                launching.completeExceptionally(new ServerException(errMsg));
+            } else if (error instanceof MachineException) {
+                launching.completeExceptionally(new ServerException(((MachineException)error).getServiceError()));
+            } else {
+                launching.completeExceptionally(error);
+            }
+        });
+        return launching;
     }
 
     protected InstanceProcess start(Instance machine, Agent agent) throws ServerException {
@@ -108,7 +123,7 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
         };
 
         CountDownLatch countDownLatch = new CountDownLatch(1);
-        executor.execute(ThreadLocalPropagateContext.wrap(() -> {
+        AgentLaunchingExecutors.getLaunchingExecutor().execute(ThreadLocalPropagateContext.wrap(() -> {
             try {
                 countDownLatch.countDown();
                 process.start(lineConsumer);
@@ -13,6 +13,10 @@ package org.eclipse.che.api.agent.server.launcher;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.machine.server.spi.Instance;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Launches {@link Agent#getScript()} on the {@link Instance}.
@@ -48,4 +52,29 @@ public interface AgentLauncher {
      *      if script execution failed
      */
     void launch(Instance machine, Agent agent) throws ServerException;
+
+    /**
+     * Executes agents scripts over target machine asynchronously.
+     * The machine should be started.
+     *
+     * <p>Default implementation performs {@link #launch(Instance, Agent)} in
+     * {@link AgentLaunchingExecutors#getLaunchingExecutor() launching executor},
+     * launchers which can wait for agent without blocking of thread should override it.
+     *
+     * @param machine
+     *      the machine instance
+     * @param agent
+     *      the agent
+     * @return future which is completed when agent is launched or completed exceptionally
+     * with {@link ServerException} if script execution failed
+     */
+    default CompletableFuture<Void> launchAsync(Instance machine, Agent agent) {
+        return CompletableFuture.runAsync(ThreadLocalPropagateContext.wrap(() -> {
+            try {
+                launch(machine, agent);
+            } catch (ServerException e) {
+                throw new CompletionException(e);
+            }
+        }), AgentLaunchingExecutors.getLaunchingExecutor());
+    }
 }
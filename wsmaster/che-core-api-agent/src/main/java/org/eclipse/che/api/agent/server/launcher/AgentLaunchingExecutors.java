@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Executors shared by all agent launchers.
+ *
+ * <p>Agent processes are started in {@link #getLaunchingExecutor() launching executor}.
+ * Checks whether agent is launched may block (e.g. exec in machine or HTTP ping), so they are
+ * performed in separate checking executor, while delays between checks are handled by
+ * shared scheduler, so no thread is blocked while agent is starting.
+ *
+ * @author agent
+ */
+public final class AgentLaunchingExecutors {
+    /** Delay before the second check of agent, delay is doubled after each unsuccessful check. */
+    static final long INITIAL_CHECK_DELAY_MS = 50;
+
+    private static final ExecutorService          LAUNCHING_EXECUTOR =
+            Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("AgentLauncher-%d")
+                                                                    .setUncaughtExceptionHandler(
+                                                                            LoggingUncaughtExceptionHandler.getInstance())
+                                                                    .setDaemon(true)
+                                                                    .build());
+    private static final ExecutorService          CHECKING_EXECUTOR  =
+            Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("AgentLaunchingChecker-%d")
+                                                                    .setUncaughtExceptionHandler(
+                                                                            LoggingUncaughtExceptionHandler.getInstance())
+                                                                    .setDaemon(true)
+                                                                    .build());
+    private static final ScheduledExecutorService SCHEDULER          =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("AgentLaunchingScheduler")
+                                                                                 .setUncaughtExceptionHandler(
+                                                                                         LoggingUncaughtExceptionHandler.getInstance())
+                                                                                 .setDaemon(true)
+                                                                                 .build());
+
+    /** Check of agent state, see {@link AgentLaunchingChecker}. */
+    @FunctionalInterface
+    public interface LaunchingCheck {
+        boolean isLaunched() throws Exception;
+    }
+
+    /** Returns executor for starting of agent processes and other blocking tasks of agent launching. */
+    public static ExecutorService getLaunchingExecutor() {
+        return LAUNCHING_EXECUTOR;
+    }
+
+    /**
+     * Checks agent state until it is launched. The first check is performed immediately,
+     * the following ones with exponential backoff which starts from {@value #INITIAL_CHECK_DELAY_MS}ms
+     * and doesn't exceed {@code maxCheckDelayMs}.
+     *
+     * @param check
+     *         check of agent state
+     * @param maxCheckDelayMs
+     *         max delay between two checks
+     * @param timeoutMs
+     *         max time to wait until agent is launched
+     * @return future which is completed when check succeeds, or completed exceptionally with exception thrown by
+     * check or with {@link TimeoutException} if agent is not launched in {@code timeoutMs}. Cancellation of
+     * returned future stops checking
+     */
+    public static CompletableFuture<Void> waitUntilLaunched(LaunchingCheck check, long maxCheckDelayMs, long timeoutMs) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final LaunchingPoller poller = new LaunchingPoller(check, future, maxCheckDelayMs, System.currentTimeMillis() + timeoutMs);
+        future.whenComplete((ignored, error) -> {
+            if (future.isCancelled()) {
+                poller.stop();
+            }
+        });
+        poller.submit();
+        return future;
+    }
+
+    /** Cancels {@code targets} when {@code source} is cancelled. */
+    public static void propagateCancellation(CompletableFuture<?> source, Collection<? extends Future<?>> targets) {
+        source.whenComplete((ignored, error) -> {
+            if (source.isCancelled()) {
+                targets.forEach(target -> target.cancel(true));
+            }
+        });
+    }
+
+    /** Cancels {@code target} when {@code source} is cancelled. */
+    public static void propagateCancellation(CompletableFuture<?> source, Future<?> target) {
+        propagateCancellation(source, Collections.singletonList(target));
+    }
+
+    /**
+     * Cancels {@code targets} when {@code source} is cancelled or fails,
+     * so launchings started together with the failed one don't keep running.
+     */
+    public static void cancelOnFailure(CompletableFuture<?> source, Collection<? extends Future<?>> targets) {
+        source.whenComplete((ignored, error) -> {
+            if (error != null) {
+                targets.forEach(target -> target.cancel(true));
+            }
+        });
+    }
+
+    /**
+     * Waits until agent launching is completed. Launching is cancelled if waiting thread is interrupted.
+     *
+     * @param interruptedMessage
+     *         provides message of exception thrown if waiting thread is interrupted
+     * @throws ServerException
+     *         if agent launching fails or waiting thread is interrupted
+     */
+    public static void await(CompletableFuture<?> launching, Supplier<String> interruptedMessage) throws ServerException {
+        try {
+            launching.get();
+        } catch (InterruptedException e) {
+            launching.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServerException(interruptedMessage.get());
+        } catch (CancellationException e) {
+            throw new ServerException(interruptedMessage.get());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            }
+            throw new ServerException(cause.getLocalizedMessage(), cause);
+        }
+    }
+
+    private static class LaunchingPoller implements Runnable {
+        private final LaunchingCheck          check;
+        private final CompletableFuture<Void> future;
+        private final long                    maxCheckDelayMs;
+        private final long                    deadline;
+
+        private          long      checkDelayMs;
+        private volatile Future<?> pending;
+        private volatile boolean   stopped;
+
+        LaunchingPoller(LaunchingCheck check, CompletableFuture<Void> future, long maxCheckDelayMs, long deadline) {
+            this.check = check;
+            this.future = future;
+            this.maxCheckDelayMs = maxCheckDelayMs;
+            this.deadline = deadline;
+            this.checkDelayMs = Math.min(INITIAL_CHECK_DELAY_MS, maxCheckDelayMs);
+        }
+
+        /** Performs the next check in checking executor. */
+        void submit() {
+            if (!stopped) {
+                pending = CHECKING_EXECUTOR.submit(ThreadLocalPropagateContext.wrap(this));
+            }
+        }
+
+        /** Stops checking when future is cancelled by caller which is not interested in result anymore. */
+        void stop() {
+            stopped = true;
+            final Future<?> pending = this.pending;
+            if (pending != null) {
+                pending.cancel(true);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (stopped || future.isDone()) {
+                return;
+            }
+            try {
+                if (check.isLaunched()) {
+                    future.complete(null);
+                    return;
+                }
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+                return;
+            }
+            final long now = System.currentTimeMillis();
+            if (now >= deadline) {
+                future.completeExceptionally(new TimeoutException());
+                return;
+            }
+            final long delay = Math.min(checkDelayMs, deadline - now);
+            checkDelayMs = Math.min(checkDelayMs * 2, maxCheckDelayMs);
+            if (!stopped) {
+                pending = SCHEDULER.schedule(this::submit, delay, MILLISECONDS);
+            }
+        }
+    }
+
+    private AgentLaunchingExecutors() {
+    }
+}
@@ -24,6 +24,9 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
@@ -36,6 +39,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -197,13 +201,11 @@ public class AbstractAgentLauncherTest {
     @Test
     public void shouldSetBackInterruptedFlagIfThreadWasInterrupted() throws Exception {
         try {
-            // imitate interruption of launching thread
             when(agentChecker.isLaunched(any(Agent.class),
                                          any(InstanceProcess.class),
-                                         any(Instance.class))).thenAnswer(invocationOnMock -> {
-                Thread.currentThread().interrupt();
-                return false;
-            });
+                                         any(Instance.class))).thenReturn(false);
+            // imitate interruption of thread which waits for agent
+            Thread.currentThread().interrupt();
 
             // when
             launcher.launch(machine, agent);
@@ -221,10 +223,8 @@ public class AbstractAgentLauncherTest {
         try {
             when(agentChecker.isLaunched(any(Agent.class),
                                          any(InstanceProcess.class),
-                                         any(Instance.class))).thenAnswer(invocationOnMock -> {
-                Thread.currentThread().interrupt();
-                return false;
-            });
+                                         any(Instance.class))).thenReturn(false);
+            Thread.currentThread().interrupt();
 
             // when
             launcher.launch(machine, agent);
@@ -250,6 +250,23 @@ public class AbstractAgentLauncherTest {
         verify(machine).createProcess(eq(new CommandImpl(agentId, agentScript, "agent")), eq(null));
     }
 
+    @Test
+    public void shouldNotBlockCallerWhileAgentIsLaunching() throws Exception {
+        // given
+        CountDownLatch agentLaunched = new CountDownLatch(1);
+        when(agentChecker.isLaunched(any(Agent.class),
+                                     any(InstanceProcess.class),
+                                     any(Instance.class))).thenAnswer(invocationOnMock -> agentLaunched.getCount() == 0);
+
+        // when
+        CompletableFuture<Void> launching = launcher.launchAsync(machine, agent);
+
+        // then
+        assertFalse(launching.isDone());
+        agentLaunched.countDown();
+        launching.get(5, TimeUnit.SECONDS);
+    }
+
     private static class TestAgentLauncher extends AbstractAgentLauncher {
         public TestAgentLauncher(long agentMaxStartTimeMs,
                                  long agentPingDelayMs,
@@ -17,6 +17,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 import org.eclipse.che.core.db.jpa.IntegrityConstraintViolationException;
+import org.eclipse.che.core.db.jpa.QueryResultsCache;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.machine.server.event.RecipePersistedEvent;
 import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
@@ -52,6 +53,9 @@ public class JpaRecipeDao implements RecipeDao {
     @Inject
     private EventService eventService;
 
+    @Inject
+    private QueryResultsCache queryResultsCache;
+
     @Override
     public void create(RecipeImpl recipe) throws ConflictException, ServerException {
         requireNonNull(recipe);
@@ -111,35 +115,42 @@ public class JpaRecipeDao implements RecipeDao {
                                    String type,
                                    int skipCount,
                                    int maxItems) throws ServerException {
+        final EntityManager manager = managerProvider.get();
         try {
-            final EntityManager manager = managerProvider.get();
-            final CriteriaBuilder cb = manager.getCriteriaBuilder();
-            final CriteriaQuery<RecipeImpl> query = cb.createQuery(RecipeImpl.class);
-            final Root<RecipeImpl> fromRecipe = query.from(RecipeImpl.class);
-            final ParameterExpression<String> typeParam = cb.parameter(String.class, "recipeType");
-            final Predicate checkType = cb.or(cb.isNull(typeParam),
-                                              cb.equal(fromRecipe.get("type"), typeParam));
-            final TypedQuery<RecipeImpl> typedQuery;
-            if (tags != null && !tags.isEmpty()) {
-                final Join<RecipeImpl, String> tag = fromRecipe.join("tags");
-                query.select(cb.construct(RecipeImpl.class, tag.getParent()))
-                     .where(cb.and(checkType, tag.in(tags)))
-                     .groupBy(fromRecipe.get("id"))
-                     .having(cb.equal(cb.count(tag), tags.size()));
-                typedQuery = manager.createQuery(query)
-                                    .setParameter("tags", tags);
-            } else {
-                typedQuery = manager.createQuery(query.where(checkType));
-            }
-            return typedQuery.setParameter("recipeType", type)
-                             .setFirstResult(skipCount)
-                             .setMaxResults(maxItems)
-                             .getResultList();
+            return queryResultsCache.getResultList(manager,
+                                                   RecipeImpl.class,
+                                                   () -> doSearch(manager, tags, type, skipCount, maxItems),
+                                                   "Recipe.search", tags, type, skipCount, maxItems);
         } catch (RuntimeException ex) {
             throw new ServerException(ex.getLocalizedMessage(), ex);
         }
     }
 
+    private List<RecipeImpl> doSearch(EntityManager manager, List<String> tags, String type, int skipCount, int maxItems) {
+        final CriteriaBuilder cb = manager.getCriteriaBuilder();
+        final CriteriaQuery<RecipeImpl> query = cb.createQuery(RecipeImpl.class);
+        final Root<RecipeImpl> fromRecipe = query.from(RecipeImpl.class);
+        final ParameterExpression<String> typeParam = cb.parameter(String.class, "recipeType");
+        final Predicate checkType = cb.or(cb.isNull(typeParam),
+                                          cb.equal(fromRecipe.get("type"), typeParam));
+        final TypedQuery<RecipeImpl> typedQuery;
+        if (tags != null && !tags.isEmpty()) {
+            final Join<RecipeImpl, String> tag = fromRecipe.join("tags");
+            query.select(cb.construct(RecipeImpl.class, tag.getParent()))
+                 .where(cb.and(checkType, tag.in(tags)))
+                 .groupBy(fromRecipe.get("id"))
+                 .having(cb.equal(cb.count(tag), tags.size()));
+            typedQuery = manager.createQuery(query)
+                                .setParameter("tags", tags);
+        } else {
+            typedQuery = manager.createQuery(query.where(checkType));
+        }
+        return typedQuery.setParameter("recipeType", type)
+                         .setFirstResult(skipCount)
+                         .setMaxResults(maxItems)
+                         .getResultList();
+    }
+
     @Transactional
     protected void doRemove(String id) {
         final EntityManager manager = managerProvider.get();
@@ -118,6 +118,16 @@ public class JpaSnapshotDao implements SnapshotDao {
         }
     }
 
+    @Override
+    public List<SnapshotImpl> removeSnapshots(String workspaceId) throws SnapshotException {
+        requireNonNull(workspaceId, "Required non-null workspace id");
+        try {
+            return doRemoveSnapshots(workspaceId);
+        } catch (RuntimeException x) {
+            throw new SnapshotException(x.getLocalizedMessage(), x);
+        }
+    }
+
     @Override
     public List<SnapshotImpl> replaceSnapshots(String workspaceId,
                                                String envName,
@@ -147,6 +157,17 @@ public class JpaSnapshotDao implements SnapshotDao {
         manager.remove(snapshot);
     }
 
+    @Transactional
+    protected List<SnapshotImpl> doRemoveSnapshots(String workspaceId) {
+        final EntityManager manager = managerProvider.get();
+        final List<SnapshotImpl> snapshots = manager.createNamedQuery("Snapshot.findSnapshots", SnapshotImpl.class)
+                                                    .setParameter("workspaceId", workspaceId)
+                                                    .getResultList();
+        snapshots.forEach(manager::remove);
+        manager.flush();
+        return snapshots;
+    }
+
     @Transactional
     protected List<SnapshotImpl> doReplaceSnapshots(String workspaceId,
                                                     String envName,
@@ -88,6 +88,19 @@ public interface SnapshotDao {
      */
     void removeSnapshot(String snapshotId) throws NotFoundException, SnapshotException;
 
+    /**
+     * Removes all snapshots of workspace in a single operation.
+     *
+     * @param workspaceId
+     *         workspace which snapshots should be removed
+     * @return removed snapshots, or empty list if workspace doesn't have snapshots
+     * @throws NullPointerException
+     *         when {@code workspaceId} is null
+     * @throws SnapshotException
+     *         if any error occurs, none of snapshots is removed in this case
+     */
+    List<SnapshotImpl> removeSnapshots(String workspaceId) throws SnapshotException;
+
     /**
      * Replaces all the existing snapshots related to the given workspace
      * with a new list of snapshots.
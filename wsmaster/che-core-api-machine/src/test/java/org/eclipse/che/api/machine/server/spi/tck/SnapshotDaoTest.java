@@ -39,6 +39,7 @@ import java.util.Map;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 /**
@@ -210,6 +211,27 @@ public class SnapshotDaoTest {
         snapshotDao.removeSnapshot(null);
     }
 
+    @Test
+    public void shouldRemoveAllSnapshotsOfWorkspace() throws Exception {
+        final String workspaceId = snapshots[0].getWorkspaceId();
+
+        final List<SnapshotImpl> removed = snapshotDao.removeSnapshots(workspaceId);
+
+        assertEquals(new HashSet<>(removed), new HashSet<>(asList(snapshots[0], snapshots[1], snapshots[2])));
+        assertTrue(snapshotDao.findSnapshots(workspaceId).isEmpty());
+        assertEquals(snapshotDao.getSnapshot(snapshots[3].getId()), snapshots[3]);
+    }
+
+    @Test
+    public void shouldReturnEmptyListWhenRemovingSnapshotsOfWorkspaceWithoutSnapshots() throws Exception {
+        assertTrue(snapshotDao.removeSnapshots("workspace-without-snapshots").isEmpty());
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void shouldThrowNpeWhenRemovingSnapshotsOfNullWorkspace() throws Exception {
+        snapshotDao.removeSnapshots(null);
+    }
+
     @Test(dependsOnMethods = "shouldFindSnapshotsByWorkspaceAndNamespace")
     public void replacesSnapshots() throws Exception {
         final SnapshotImpl newSnapshot = createSnapshot("new-snapshot",
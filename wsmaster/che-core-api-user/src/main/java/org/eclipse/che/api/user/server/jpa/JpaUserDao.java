@@ -20,6 +20,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.user.server.event.PostUserRemovedEvent;
 import org.eclipse.che.core.db.jpa.CascadeRemovalException;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
+import org.eclipse.che.core.db.jpa.QueryResultsCache;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.user.server.spi.UserDao;
 import org.eclipse.che.security.PasswordEncryptor;
@@ -53,6 +54,8 @@ public class JpaUserDao implements UserDao {
     private   PasswordEncryptor       encryptor;
     @Inject
     private   EventService            eventService;
+    @Inject
+    private   QueryResultsCache       queryResultsCache;
 
     @Override
     @Transactional
@@ -123,16 +126,16 @@ public class JpaUserDao implements UserDao {
     @Transactional
     public UserImpl getByAlias(String alias) throws NotFoundException, ServerException {
         requireNonNull(alias, "Required non-null alias");
+        final UserImpl user;
         try {
-            return erasePassword(managerProvider.get()
-                                                .createNamedQuery("User.getByAlias", UserImpl.class)
-                                                .setParameter("alias", alias)
-                                                .getSingleResult());
-        } catch (NoResultException x) {
-            throw new NotFoundException(format("User with alias '%s' doesn't exist", alias));
+            user = findUnique("User.getByAlias", "alias", alias);
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
+        if (user == null) {
+            throw new NotFoundException(format("User with alias '%s' doesn't exist", alias));
+        }
+        return erasePassword(user);
     }
 
     @Override
@@ -154,32 +157,32 @@ public class JpaUserDao implements UserDao {
     @Transactional
     public UserImpl getByName(String name) throws NotFoundException, ServerException {
         requireNonNull(name, "Required non-null name");
+        final UserImpl user;
         try {
-            return erasePassword(managerProvider.get()
-                                                .createNamedQuery("User.getByName", UserImpl.class)
-                                                .setParameter("name", name)
-                                                .getSingleResult());
-        } catch (NoResultException x) {
-            throw new NotFoundException(format("User with name '%s' doesn't exist", name));
+            user = findUnique("User.getByName", "name", name);
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
+        if (user == null) {
+            throw new NotFoundException(format("User with name '%s' doesn't exist", name));
+        }
+        return erasePassword(user);
     }
 
     @Override
     @Transactional
     public UserImpl getByEmail(String email) throws NotFoundException, ServerException {
         requireNonNull(email, "Required non-null email");
+        final UserImpl user;
         try {
-            return erasePassword(managerProvider.get()
-                                                .createNamedQuery("User.getByEmail", UserImpl.class)
-                                                .setParameter("email", email)
-                                                .getSingleResult());
-        } catch (NoResultException x) {
-            throw new NotFoundException(format("User with email '%s' doesn't exist", email));
+            user = findUnique("User.getByEmail", "email", email);
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
+        if (user == null) {
+            throw new NotFoundException(format("User with email '%s' doesn't exist", email));
+        }
+        return erasePassword(user);
     }
 
     @Override
@@ -244,6 +247,17 @@ public class JpaUserDao implements UserDao {
 
     }
 
+    /** Finds user with named query which has single parameter, result of query is cached. */
+    private UserImpl findUnique(String queryName, String parameter, String value) {
+        final EntityManager manager = managerProvider.get();
+        return queryResultsCache.getSingleResult(manager,
+                                                 UserImpl.class,
+                                                 () -> manager.createNamedQuery(queryName, UserImpl.class)
+                                                              .setParameter(parameter, value)
+                                                              .getResultList(),
+                                                 queryName, value);
+    }
+
     // Returns user instance copy without password
     private static UserImpl erasePassword(UserImpl source) {
         return new UserImpl(source.getId(),
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Projects of workspace together with their version.
+ *
+ * @author agent
+ */
+@DTO
+public interface ProjectsStateDto {
+    /** Returns version of projects, it is changed when any project of workspace is changed. */
+    String getVersion();
+
+    void setVersion(String version);
+
+    ProjectsStateDto withVersion(String version);
+
+    List<ProjectConfigDto> getProjects();
+
+    void setProjects(List<ProjectConfigDto> projects);
+
+    ProjectsStateDto withProjects(List<ProjectConfigDto> projects);
+}
@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Batch of changes of workspace projects which is applied at once.
+ *
+ * @author agent
+ */
+@DTO
+public interface ProjectsUpdateDto {
+    /** Returns version of workspace projects which changes are based on, changes are rejected if projects have other version. */
+    String getVersion();
+
+    void setVersion(String version);
+
+    ProjectsUpdateDto withVersion(String version);
+
+    /** Returns projects which are added to workspace or replace workspace projects with the same path. */
+    List<ProjectConfigDto> getProjects();
+
+    void setProjects(List<ProjectConfigDto> projects);
+
+    ProjectsUpdateDto withProjects(List<ProjectConfigDto> projects);
+
+    /** Returns paths of projects which are removed from workspace. */
+    List<String> getRemoved();
+
+    void setRemoved(List<String> removed);
+
+    ProjectsUpdateDto withRemoved(List<String> removed);
+}
@@ -15,6 +15,8 @@ import org.eclipse.che.api.core.notification.EventOrigin;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.dto.shared.DTO;
 
+import java.util.Map;
+
 /**
  * Describes workspace status changes.
  *
@@ -76,4 +78,14 @@ public interface WorkspaceStatusEvent {
     void setError(String error);
 
     WorkspaceStatusEvent withError(String error);
+
+    /**
+     * Returns time in milliseconds spent on start of each machine of workspace, including launching of its agents,
+     * mapped by machine name. Provided only if the type of this event is {@link EventType#RUNNING}.
+     */
+    Map<String, Long> getMachinesStartTimes();
+
+    void setMachinesStartTimes(Map<String, Long> machinesStartTimes);
+
+    WorkspaceStatusEvent withMachinesStartTimes(Map<String, Long> machinesStartTimes);
 }
@@ -57,13 +57,14 @@ import org.eclipse.che.api.machine.server.spi.InstanceProvider;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.machine.server.util.RecipeDownloader;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
-import org.eclipse.che.commons.lang.concurrent.CloseableLock;
-import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Size;
+import org.eclipse.che.commons.lang.concurrent.CloseableLock;
+import org.eclipse.che.commons.lang.concurrent.StripedLocks;
 import org.slf4j.Logger;
 
 import javax.annotation.PostConstruct;
@@ -75,12 +76,19 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 import static java.lang.String.format;
@@ -116,9 +124,19 @@ public class CheEnvironmentEngine {
     private final Pattern                        recipeApiPattern;
     private final ContainerNameGenerator         containerNameGenerator;
     private final AgentRegistry                  agentRegistry;
+    private final WorkspaceSharedPool            sharedPool;
+    private final boolean                        parallelStart;
+    private final MachineLogsPipeline            logsPipeline;
 
     private volatile boolean isPreDestroyInvoked;
 
+    /**
+     * @param parallelStart
+     *         whether machines of environment which don't depend on each other should be started concurrently
+     *         in {@code sharedPool}, otherwise machines are started one by one
+     * @param logsPipeline
+     *         pipeline which writes output of machines asynchronously
+     */
     @Inject
     public CheEnvironmentEngine(SnapshotDao snapshotDao,
                                 MachineInstanceProviders machineInstanceProviders,
@@ -132,7 +150,10 @@ public class CheEnvironmentEngine {
                                 @Named("che.api") String apiEndpoint,
                                 RecipeDownloader recipeDownloader,
                                 ContainerNameGenerator containerNameGenerator,
-                                AgentRegistry agentRegistry) {
+                                AgentRegistry agentRegistry,
+                                WorkspaceSharedPool sharedPool,
+                                @Named("che.workspace.parallel_machines_start") boolean parallelStart,
+                                MachineLogsPipeline logsPipeline) {
         this.snapshotDao = snapshotDao;
         this.eventService = eventService;
         this.environmentParser = environmentParser;
@@ -151,6 +172,9 @@ public class CheEnvironmentEngine {
                                                 apiEndpoint.substring(apiEndpoint.indexOf(":")) +
                                                 "/recipe/.*$)|(^/recipe/.*$)");
         this.containerNameGenerator = containerNameGenerator;
+        this.sharedPool = sharedPool;
+        this.parallelStart = parallelStart;
+        this.logsPipeline = logsPipeline;
 
         eventService.subscribe(new MachineCleaner());
     }
@@ -204,6 +228,25 @@ public class CheEnvironmentEngine {
                                                   machineId, workspaceId)));
     }
 
+    /**
+     * Returns how long it took to start each machine of environment of specific workspace.
+     *
+     * @param workspaceId
+     *         ID of workspace that owns environment machines
+     * @return mapping of machine names to start time in milliseconds
+     * @throws EnvironmentNotRunningException
+     *         if environment is not running
+     */
+    public Map<String, Long> getMachinesStartTimes(String workspaceId) throws EnvironmentNotRunningException {
+        try (CloseableLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+            EnvironmentHolder environment = environments.get(workspaceId);
+            if (environment == null) {
+                throw new EnvironmentNotRunningException("Environment with ID '" + workspaceId + "' is not found");
+            }
+            return new HashMap<>(environment.machinesStartTimes);
+        }
+    }
+
     /**
      * Starts provided environment.
      * <p/>
@@ -548,10 +591,12 @@ public class CheEnvironmentEngine {
                   internalEnv);
 
         List<String> servicesOrder = startStrategy.order(internalEnv);
+        Map<String, Set<String>> dependencies = startStrategy.dependencies(internalEnv);
 
         normalizeNames(internalEnv);
 
         EnvironmentHolder environmentHolder = new EnvironmentHolder(servicesOrder,
+                                                                    dependencies,
                                                                     internalEnv,
                                                                     messageConsumer,
                                                                     EnvStatus.STARTING,
@@ -714,11 +759,9 @@ public class CheEnvironmentEngine {
                                        boolean recover)
             throws ServerException,
                    EnvironmentException {
-        // Starting all machines in environment one by one by getting configs
-        // from the corresponding starting queue.
-        // Config will be null only if there are no machines left in the queue
         String envName;
         MessageConsumer<MachineLogMessage> envLogger;
+        Map<String, Set<String>> dependencies;
         try (CloseableLock lock = stripedLocks.acquireReadLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
             if (environmentHolder == null) {
@@ -726,120 +769,33 @@ public class CheEnvironmentEngine {
             }
             envName = environmentHolder.name;
             envLogger = environmentHolder.logger;
+            dependencies = environmentHolder.dependencies;
         }
+        String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
+        QueuedMachineStarter starter = machineName -> startQueuedMachine(namespace,
+                                                                         workspaceId,
+                                                                         envName,
+                                                                         envLogger,
+                                                                         creator,
+                                                                         devMachineName.equals(machineName),
+                                                                         networkId,
+                                                                         recover,
+                                                                         machineName);
 
         try {
             machineProvider.createNetwork(networkId);
 
-            String machineName = queuePeekOrFail(workspaceId);
-            while (machineName != null) {
-                boolean isDev = devMachineName.equals(machineName);
-                // Environment start is failed when any machine start is failed, so if any error
-                // occurs during machine creation then environment start fail is reported and
-                // start resources such as queue and descriptor must be cleaned up
-                String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
-
-                CheServiceImpl service;
-                try (CloseableLock lock = stripedLocks.acquireReadLock(workspaceId)) {
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder == null) {
-                        throw new ServerException("Environment start is interrupted.");
-                    }
-                    service = environmentHolder.environment.getServices().get(machineName);
-                }
-                // should not happen
-                if (service == null) {
-                    LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-                              machineName, workspaceId);
-                    throw new ServerException(
-                            format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
-                }
-
-                final String finalMachineName = machineName;
-                // needed to reuse startInstance method and
-                // create machine instances by different implementation-specific providers
-                MachineStarter machineStarter = (machineLogger, machineSource) -> {
-                    CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
-                    return machineProvider.startService(namespace,
-                                                        workspaceId,
-                                                        envName,
-                                                        finalMachineName,
-                                                        isDev,
-                                                        networkId,
-                                                        serviceWithNormalizedSource,
-                                                        machineLogger);
-                };
-
-                MachineImpl machine =
-                        MachineImpl.builder()
-                                   .setConfig(MachineConfigImpl.builder()
-                                                               .setDev(isDev)
-                                                               .setLimits(new MachineLimitsImpl(
-                                                                       bytesToMB(service.getMemLimit())))
-                                                               .setType("docker")
-                                                               .setName(machineName)
-                                                               .setEnvVariables(service.getEnvironment())
-                                                               .build())
-                                   .setId(service.getId())
-                                   .setWorkspaceId(workspaceId)
-                                   .setStatus(MachineStatus.CREATING)
-                                   .setEnvName(envName)
-                                   .setOwner(creator)
-                                   .build();
-
-                Instance instance = startInstance(recover,
-                                                  envLogger,
-                                                  machine,
-                                                  machineStarter);
-
-                // Machine destroying is an expensive operation which must be
-                // performed outside of the lock, this section checks if
-                // the environment wasn't stopped while it is starting and sets
-                // polled flag to true if the environment wasn't stopped.
-                // Also polls the proceeded machine configuration from the queue
-                boolean queuePolled = false;
-                try (CloseableLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
-                    ensurePreDestroyIsNotExecuted();
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder != null) {
-                        final Queue<String> queue = environmentHolder.startQueue;
-                        if (queue != null) {
-                            queue.poll();
-                            queuePolled = true;
-                        }
-                    }
-                }
-
-                // If machine config is not polled from the queue
-                // then environment was stopped and newly created machine
-                // must be destroyed
-                if (!queuePolled) {
-                    try {
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-
-                        instance.destroy();
-
-                        removeMachine(workspaceId, instance.getId());
-
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-                    } catch (MachineException e) {
-                        LOG.error(e.getLocalizedMessage(), e);
-                    }
-                    throw new ServerException("Workspace '" + workspaceId +
-                                              "' start interrupted. Workspace stopped before all its machines started");
+            if (parallelStart && dependencies.size() > 1) {
+                startMachinesInParallel(workspaceId, dependencies, starter);
+            } else {
+                // Starting all machines in environment one by one by getting configs
+                // from the corresponding starting queue.
+                // Config will be null only if there are no machines left in the queue
+                String machineName = queuePeekOrFail(workspaceId);
+                while (machineName != null) {
+                    starter.start(machineName);
+                    machineName = queuePeekOrFail(workspaceId);
                 }
-
-                machineName = queuePeekOrFail(workspaceId);
             }
         } catch (RuntimeException | ServerException e) {
             EnvironmentHolder env;
@@ -856,6 +812,206 @@ public class CheEnvironmentEngine {
         }
     }
 
+    /**
+     * Starts machines of environment concurrently in {@link WorkspaceSharedPool}.
+     * Machine is started as soon as all machines it depends on are started, so independent machines start at the same time.
+     * When start of any machine fails machines which are not started yet are cancelled,
+     * this method waits for machines which are already starting and rethrows the first failure.
+     */
+    private void startMachinesInParallel(String workspaceId,
+                                         Map<String, Set<String>> dependencies,
+                                         QueuedMachineStarter starter) throws ServerException,
+                                                                              EnvironmentException {
+        final Map<String, Set<String>> waiting = new HashMap<>();
+        dependencies.forEach((machine, machineDependencies) -> waiting.put(machine, new HashSet<>(machineDependencies)));
+        final BlockingQueue<MachineStartTask> completed = new LinkedBlockingQueue<>();
+        final List<MachineStartTask> submitted = new ArrayList<>();
+        int inProgress = 0;
+        Exception failure = null;
+        while (!waiting.isEmpty() || inProgress > 0) {
+            if (failure == null) {
+                for (Iterator<Map.Entry<String, Set<String>>> it = waiting.entrySet().iterator(); it.hasNext(); ) {
+                    final Map.Entry<String, Set<String>> entry = it.next();
+                    if (entry.getValue().isEmpty()) {
+                        it.remove();
+                        final MachineStartTask task = new MachineStartTask(entry.getKey(), starter, completed);
+                        submitted.add(task);
+                        sharedPool.execute(task);
+                        inProgress++;
+                    }
+                }
+                if (inProgress == 0) {
+                    // should not happen, cycles are rejected by start strategy
+                    throw new ServerException(format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+                }
+            }
+
+            MachineStartTask done = completed.poll();
+            if (done == null) {
+                // The pool may be busy with other workspaces, so machine which is not picked up by the pool yet is
+                // started by this thread instead of just waiting for it
+                submitted.stream()
+                         .filter(MachineStartTask::claim)
+                         .findFirst()
+                         .ifPresent(MachineStartTask::execute);
+                try {
+                    done = completed.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    submitted.forEach(MachineStartTask::cancel);
+                    throw new ServerException("Workspace '" + workspaceId + "' start interrupted");
+                }
+            }
+            submitted.remove(done);
+            inProgress--;
+
+            if (done.failure != null) {
+                if (failure == null) {
+                    failure = done.failure;
+                    // cancel machines which are not started yet
+                    waiting.clear();
+                    for (MachineStartTask task : submitted) {
+                        if (task.cancel()) {
+                            inProgress--;
+                        }
+                    }
+                    submitted.removeIf(MachineStartTask::isCancelled);
+                }
+            } else if (failure == null) {
+                for (Set<String> machineDependencies : waiting.values()) {
+                    machineDependencies.remove(done.machineName);
+                }
+            }
+        }
+        if (failure instanceof ServerException) {
+            throw (ServerException)failure;
+        }
+        if (failure instanceof EnvironmentException) {
+            throw (EnvironmentException)failure;
+        }
+        if (failure != null) {
+            throw (RuntimeException)failure;
+        }
+    }
+
+    private Instance startQueuedMachine(String namespace,
+                                        String workspaceId,
+                                        String envName,
+                                        MessageConsumer<MachineLogMessage> envLogger,
+                                        String creator,
+                                        boolean isDev,
+                                        String networkId,
+                                        boolean recover,
+                                        String machineName) throws ServerException,
+                                                                   EnvironmentException {
+        final long startTime = System.currentTimeMillis();
+        // Environment start is failed when any machine start is failed, so if any error
+        // occurs during machine creation then environment start fail is reported and
+        // start resources such as queue and descriptor must be cleaned up
+        CheServiceImpl service;
+        try (CloseableLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+            ensurePreDestroyIsNotExecuted();
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder == null || environmentHolder.startQueue == null) {
+                throw new ServerException("Workspace " + workspaceId +
+                                          " start interrupted. Workspace was stopped before all its machines were started");
+            }
+            service = environmentHolder.environment.getServices().get(machineName);
+        }
+        // should not happen
+        if (service == null) {
+            LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
+                      machineName, workspaceId);
+            throw new ServerException(
+                    format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+        }
+
+        // needed to reuse startInstance method and
+        // create machine instances by different implementation-specific providers
+        MachineStarter machineStarter = (machineLogger, machineSource) -> {
+            CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
+            return machineProvider.startService(namespace,
+                                                workspaceId,
+                                                envName,
+                                                machineName,
+                                                isDev,
+                                                networkId,
+                                                serviceWithNormalizedSource,
+                                                machineLogger);
+        };
+
+        MachineImpl machine =
+                MachineImpl.builder()
+                           .setConfig(MachineConfigImpl.builder()
+                                                       .setDev(isDev)
+                                                       .setLimits(new MachineLimitsImpl(
+                                                               bytesToMB(service.getMemLimit())))
+                                                       .setType("docker")
+                                                       .setName(machineName)
+                                                       .setEnvVariables(service.getEnvironment())
+                                                       .build())
+                           .setId(service.getId())
+                           .setWorkspaceId(workspaceId)
+                           .setStatus(MachineStatus.CREATING)
+                           .setEnvName(envName)
+                           .setOwner(creator)
+                           .build();
+
+        Instance instance = startInstance(recover,
+                                          envLogger,
+                                          machine,
+                                          machineStarter);
+
+        // Machine destroying is an expensive operation which must be
+        // performed outside of the lock, this section checks if
+        // the environment wasn't stopped while it is starting and sets
+        // polled flag to true if the environment wasn't stopped.
+        // Also removes the proceeded machine configuration from the queue
+        boolean queuePolled = false;
+        try (CloseableLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+            ensurePreDestroyIsNotExecuted();
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder != null) {
+                final Queue<String> queue = environmentHolder.startQueue;
+                if (queue != null) {
+                    queue.remove(machineName);
+                    queuePolled = true;
+                    environmentHolder.machinesStartTimes.put(machineName, System.currentTimeMillis() - startTime);
+                }
+            }
+        }
+
+        // If machine config is not polled from the queue
+        // then environment was stopped and newly created machine
+        // must be destroyed
+        if (!queuePolled) {
+            try {
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+
+                instance.destroy();
+
+                removeMachine(workspaceId, instance.getId());
+
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+            } catch (MachineException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+            throw new ServerException("Workspace '" + workspaceId +
+                                      "' start interrupted. Workspace stopped before all its machines started");
+        }
+        return instance;
+    }
+
     private Instance startInstance(boolean recover,
                                    MessageConsumer<MachineLogMessage> environmentLogger,
                                    MachineImpl machine,
@@ -959,6 +1115,64 @@ public class CheEnvironmentEngine {
                                                                   EnvironmentException;
     }
 
+    private interface QueuedMachineStarter {
+        Instance start(String machineName) throws ServerException, EnvironmentException;
+    }
+
+    /**
+     * Start of single machine of environment, which is executed either by {@link WorkspaceSharedPool}
+     * or by the thread which starts environment, depending on who {@link #claim() claims} it first.
+     */
+    private static class MachineStartTask implements Runnable {
+        private static final int NEW       = 0;
+        private static final int CLAIMED   = 1;
+        private static final int CANCELLED = 2;
+
+        final String machineName;
+
+        private final QueuedMachineStarter            starter;
+        private final BlockingQueue<MachineStartTask> completed;
+        private final AtomicInteger                   state;
+
+        volatile Exception failure;
+
+        MachineStartTask(String machineName, QueuedMachineStarter starter, BlockingQueue<MachineStartTask> completed) {
+            this.machineName = machineName;
+            this.starter = starter;
+            this.completed = completed;
+            this.state = new AtomicInteger(NEW);
+        }
+
+        @Override
+        public void run() {
+            if (claim()) {
+                execute();
+            }
+        }
+
+        boolean claim() {
+            return state.compareAndSet(NEW, CLAIMED);
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(NEW, CANCELLED);
+        }
+
+        boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        void execute() {
+            try {
+                starter.start(machineName);
+            } catch (Exception e) {
+                failure = e;
+            } finally {
+                completed.add(this);
+            }
+        }
+    }
+
     private CheServiceImpl normalizeServiceSource(CheServiceImpl service,
                                                   MachineSource machineSource)
             throws ServerException {
@@ -1167,8 +1381,9 @@ public class CheEnvironmentEngine {
             }
         };
         try {
-            return new ConcurrentCompositeLineConsumer(new ConcurrentFileLineConsumer(getMachineLogsFile(machineId)),
-                                                       lineConsumer);
+            LineConsumer machineLogger = new ConcurrentCompositeLineConsumer(new ConcurrentFileLineConsumer(getMachineLogsFile(machineId)),
+                                                                             lineConsumer);
+            return logsPipeline.createMachineLogger(machineId, machineLogger);
         } catch (IOException e) {
             throw new MachineException(format("Unable create log file '%s' for machine '%s'.",
                                               e.getLocalizedMessage(),
@@ -1236,6 +1451,8 @@ public class CheEnvironmentEngine {
 
     private static class EnvironmentHolder {
         final Queue<String>                      startQueue;
+        final Map<String, Set<String>>           dependencies;
+        final Map<String, Long>                  machinesStartTimes;
         final CheServicesEnvironmentImpl         environment;
         final MessageConsumer<MachineLogMessage> logger;
         final String                             name;
@@ -1245,12 +1462,15 @@ public class CheEnvironmentEngine {
         EnvStatus      status;
 
         EnvironmentHolder(List<String> startQueue,
+                          Map<String, Set<String>> dependencies,
                           CheServicesEnvironmentImpl environment,
                           MessageConsumer<MachineLogMessage> envLogger,
                           EnvStatus envStatus,
                           String name,
                           String networkId) {
             this.startQueue = new ArrayDeque<>(startQueue);
+            this.dependencies = dependencies;
+            this.machinesStartTimes = new ConcurrentHashMap<>();
             this.machines = new CopyOnWriteArrayList<>();
             this.logger = envLogger;
             this.status = envStatus;
@@ -41,21 +41,21 @@ public class DefaultServicesStartStrategy {
      */
     public List<String> order(CheServicesEnvironmentImpl composeEnvironment) throws IllegalArgumentException {
 
-        Map<String, Integer> weights = weightMachines(composeEnvironment.getServices());
+        Map<String, Integer> weights = weightMachines(dependencies(composeEnvironment));
 
         return sortByWeight(weights);
     }
 
     /**
-     * Returns mapping of names of machines to its weights in dependency graph.
+     * Returns mapping of names of machines to names of machines they depend on.
+     * Machine may be started as soon as all machines it depends on are started.
      *
      * @throws IllegalArgumentException
-     *         if weights of machines can not be calculated
+     *         if dependency points to unknown machine or to machine itself
      */
-    private Map<String, Integer> weightMachines(Map<String, CheServiceImpl> services)
+    public Map<String, Set<String>> dependencies(CheServicesEnvironmentImpl composeEnvironment)
             throws IllegalArgumentException {
-
-        HashMap<String, Integer> weights = new HashMap<>();
+        Map<String, CheServiceImpl> services = composeEnvironment.getServices();
 
         // create machines dependency graph
         Map<String, Set<String>> dependencies = new HashMap<>(services.size());
@@ -85,6 +85,19 @@ public class DefaultServicesStartStrategy {
             }
             dependencies.put(serviceEntry.getKey(), machineDependencies);
         }
+        return dependencies;
+    }
+
+    /**
+     * Returns mapping of names of machines to its weights in dependency graph.
+     *
+     * @throws IllegalArgumentException
+     *         if weights of machines can not be calculated
+     */
+    private Map<String, Integer> weightMachines(Map<String, Set<String>> dependencies)
+            throws IllegalArgumentException {
+
+        HashMap<String, Integer> weights = new HashMap<>();
 
         // Find weight of each machine in graph.
         // Weight of machine is calculated as sum of all weights of machines it depends on.
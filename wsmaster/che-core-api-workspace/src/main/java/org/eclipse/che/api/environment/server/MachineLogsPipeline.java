@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.environment.server;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.BatchingLineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.BatchingLineConsumer.OverflowPolicy;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Asynchronous pipeline of machines output. Output of each machine goes through its own bounded buffer, so machine
+ * which produces a lot of output doesn't slow down itself and other machines. Buffered lines are written to log file
+ * and sent to websocket channel in batches by a few shared flusher threads.
+ *
+ * @author agent
+ */
+@Singleton
+public class MachineLogsPipeline {
+    private static final Logger LOG = LoggerFactory.getLogger(MachineLogsPipeline.class);
+
+    private final int                      bufferSize;
+    private final int                      batchSize;
+    private final long                     flushPeriodMs;
+    private final OverflowPolicy           overflowPolicy;
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * @param bufferSize
+     *         max number of lines which are buffered for each machine
+     * @param batchSize
+     *         max number of lines which are passed to log file and websocket at once
+     * @param flushPeriodMs
+     *         max time which line may wait in buffer before it is written
+     * @param overflowPolicy
+     *         what happens when buffer of machine is full, one of {@code block}, {@code drop} or {@code sample},
+     *         see {@link OverflowPolicy}
+     */
+    @Inject
+    public MachineLogsPipeline(@Named("che.workspace.logs.buffer_size") int bufferSize,
+                               @Named("che.workspace.logs.batch_size") int batchSize,
+                               @Named("che.workspace.logs.flush_period_ms") long flushPeriodMs,
+                               @Named("che.workspace.logs.overflow_policy") String overflowPolicy) {
+        this.bufferSize = bufferSize;
+        this.batchSize = batchSize;
+        this.flushPeriodMs = flushPeriodMs;
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.toUpperCase());
+        this.flusher = Executors.newScheduledThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+                                                        new ThreadFactoryBuilder().setNameFormat("MachineLogsFlusher-%d")
+                                                                                  .setUncaughtExceptionHandler(
+                                                                                          LoggingUncaughtExceptionHandler.getInstance())
+                                                                                  .setDaemon(true)
+                                                                                  .build());
+    }
+
+    /**
+     * Creates logger of machine which passes output to specified consumer asynchronously.
+     * Consumer gets output in batches, see {@link LineConsumer#writeLines(List)}.
+     */
+    public LineConsumer createMachineLogger(String machineId, LineConsumer consumer) {
+        final BatchingLineConsumer batching = new BatchingLineConsumer(consumer,
+                                                                       flusher,
+                                                                       bufferSize,
+                                                                       batchSize,
+                                                                       flushPeriodMs,
+                                                                       overflowPolicy);
+        return new LineConsumer() {
+            @Override
+            public void writeLine(String line) throws IOException {
+                batching.writeLine(line);
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    batching.close();
+                } finally {
+                    if (batching.getDroppedLines() > 0) {
+                        LOG.warn("{} of {} lines of output of machine '{}' were dropped because output was too intensive",
+                                 batching.getDroppedLines(),
+                                 batching.getReceivedLines(),
+                                 machineId);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Stops flusher threads. Lines which are buffered when pipeline is stopped are written by threads
+     * which write or close machine loggers.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+    }
+}
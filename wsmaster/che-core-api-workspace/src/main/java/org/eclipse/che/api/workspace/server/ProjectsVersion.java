@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import org.eclipse.che.api.core.model.project.ProjectConfig;
+import org.eclipse.che.api.core.model.project.SourceStorage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Calculates version of workspace projects from their content. Version doesn't need to be stored and is changed by any update of
+ * projects, no matter which API is used for it. Order of projects, attributes, attribute values and mixins does not affect version.
+ *
+ * @author agent
+ */
+public final class ProjectsVersion {
+
+    /** Returns version of specified projects. */
+    public static String of(List<? extends ProjectConfig> projects) {
+        final List<ProjectConfig> sorted = new ArrayList<>(projects);
+        sorted.sort(Comparator.comparing(ProjectConfig::getPath, Comparator.nullsFirst(Comparator.naturalOrder())));
+        final Hasher hasher = Hashing.md5().newHasher();
+        for (ProjectConfig project : sorted) {
+            putString(hasher, project.getPath());
+            putString(hasher, project.getName());
+            putString(hasher, project.getType());
+            putString(hasher, project.getDescription());
+            final List<String> mixins = new ArrayList<>(project.getMixins());
+            mixins.sort(Comparator.naturalOrder());
+            putStrings(hasher, mixins);
+            final Map<String, List<String>> attributes = new TreeMap<>(project.getAttributes());
+            hasher.putInt(attributes.size());
+            for (Map.Entry<String, List<String>> attribute : attributes.entrySet()) {
+                putString(hasher, attribute.getKey());
+                putStrings(hasher, sortedCopy(attribute.getValue()));
+            }
+            final SourceStorage source = project.getSource();
+            if (source == null) {
+                hasher.putBoolean(false);
+            } else {
+                hasher.putBoolean(true);
+                putString(hasher, source.getType());
+                putString(hasher, source.getLocation());
+                final Map<String, String> parameters = new TreeMap<>(source.getParameters());
+                hasher.putInt(parameters.size());
+                for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+                    putString(hasher, parameter.getKey());
+                    putString(hasher, parameter.getValue());
+                }
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    private static List<String> sortedCopy(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        final List<String> sorted = new ArrayList<>(values);
+        sorted.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+        return sorted;
+    }
+
+    private static void putStrings(Hasher hasher, List<String> values) {
+        if (values == null) {
+            hasher.putInt(-1);
+            return;
+        }
+        hasher.putInt(values.size());
+        values.forEach(value -> putString(hasher, value));
+    }
+
+    // length prefix keeps boundaries of values, so ("ab", "c") and ("a", "bc") give different versions
+    private static void putString(Hasher hasher, String value) {
+        if (value == null) {
+            hasher.putInt(-1);
+            return;
+        }
+        hasher.putInt(value.length());
+        hasher.putString(value, UTF_8);
+    }
+
+    private ProjectsVersion() {
+    }
+}
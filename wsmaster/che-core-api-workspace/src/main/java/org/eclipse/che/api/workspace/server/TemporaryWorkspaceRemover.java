@@ -25,6 +25,7 @@ import javax.inject.Singleton;
 
 import java.util.List;
 
+import static java.util.stream.Collectors.toList;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -37,6 +38,8 @@ public class TemporaryWorkspaceRemover {
 
     private static final Logger LOG = getLogger(TemporaryWorkspaceRemover.class);
 
+    private static final int PAGE_SIZE = 100;
+
     private final WorkspaceDao workspaceDao;
 
     @Inject
@@ -65,19 +68,26 @@ public class TemporaryWorkspaceRemover {
 
     @VisibleForTesting
     void removeTemporaryWs() throws ServerException {
-        final int count = 100;
-        int skip = 0;
-        List<WorkspaceImpl> workspaces = workspaceDao.getWorkspaces(true, skip, count);
-        while (!workspaces.isEmpty()) {
-            for (WorkspaceImpl workspace : workspaces) {
-                try {
-                    workspaceDao.remove(workspace.getId());
-                } catch (ServerException | ConflictException e) {
-                    LOG.error("Unable to cleanup temporary workspace {}. Reason is {}",workspace.getId(), e.getLocalizedMessage());
+        String lastId = null;
+        List<WorkspaceImpl> workspaces;
+        while (!(workspaces = workspaceDao.getWorkspaces(true, lastId, PAGE_SIZE)).isEmpty()) {
+            final List<String> ids = workspaces.stream()
+                                               .map(WorkspaceImpl::getId)
+                                               .collect(toList());
+            try {
+                workspaceDao.removeAll(ids);
+            } catch (ServerException | ConflictException e) {
+                // find out which workspaces can't be removed, remove the others
+                for (String id : ids) {
+                    try {
+                        workspaceDao.remove(id);
+                    } catch (ServerException | ConflictException x) {
+                        LOG.error("Unable to cleanup temporary workspace {}. Reason is {}", id, x.getLocalizedMessage());
+                    }
                 }
             }
-            skip = skip + count;
-            workspaces = workspaceDao.getWorkspaces(true, skip, count);
+            // workspaces which failed to be removed are skipped by the next page
+            lastId = ids.get(ids.size() - 1);
         }
     }
 
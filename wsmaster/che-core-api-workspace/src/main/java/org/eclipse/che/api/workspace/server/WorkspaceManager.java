@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.workspace.server;
 
+import com.google.common.util.concurrent.Striped;
 import com.google.inject.Inject;
 
 import org.eclipse.che.account.api.AccountManager;
@@ -20,17 +21,20 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
+import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.environment.server.exception.EnvironmentException;
+import org.eclipse.che.api.machine.server.exception.SnapshotException;
 import org.eclipse.che.api.machine.server.exception.SourceNotFoundException;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes.RuntimeDescriptor;
 import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
+import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
@@ -44,9 +48,13 @@ import org.slf4j.LoggerFactory;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.base.Throwables.getCausalChain;
@@ -86,6 +94,7 @@ public class WorkspaceManager {
     private final EventService        eventService;
     private final boolean             defaultAutoSnapshot;
     private final boolean             defaultAutoRestore;
+    private final Striped<Lock>       projectsLocks;
 
     @Inject
     public WorkspaceManager(WorkspaceDao workspaceDao,
@@ -104,6 +113,7 @@ public class WorkspaceManager {
         this.defaultAutoSnapshot = defaultAutoSnapshot;
         this.defaultAutoRestore = defaultAutoRestore;
         this.sharedPool = sharedPool;
+        this.projectsLocks = Striped.lock(16);
     }
 
     /**
@@ -286,12 +296,76 @@ public class WorkspaceManager {
                                                                              NotFoundException {
         requireNonNull(id, "Required non-null workspace id");
         requireNonNull(update, "Required non-null workspace update");
-        final WorkspaceImpl workspace = workspaceDao.get(id);
-        workspace.setConfig(new WorkspaceConfigImpl(update.getConfig()));
-        update.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
-        workspace.setAttributes(update.getAttributes());
-        workspace.setTemporary(update.isTemporary());
-        return normalizeState(workspaceDao.update(workspace));
+        // update replaces projects as well, so it must not interleave with the update of projects
+        final Lock lock = projectsLocks.get(id);
+        lock.lock();
+        try {
+            final WorkspaceImpl workspace = workspaceDao.get(id);
+            workspace.setConfig(new WorkspaceConfigImpl(update.getConfig()));
+            update.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
+            workspace.setAttributes(update.getAttributes());
+            workspace.setTemporary(update.isTemporary());
+            return normalizeState(workspaceDao.update(workspace));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds, replaces and removes projects of workspace at once, workspace is stored only once for all changes.
+     *
+     * <p>Changes are applied only if current {@link ProjectsVersion version} of workspace projects is the same as {@code version},
+     * so changes which are based on outdated projects never override newer changes.
+     *
+     * @param id
+     *         workspace id
+     * @param version
+     *         version of projects which changes are based on
+     * @param projects
+     *         projects which are added or replace existing projects with the same path
+     * @param removed
+     *         paths of projects which are removed
+     * @return updated instance of the workspace
+     * @throws NullPointerException
+     *         when any of arguments is null
+     * @throws NotFoundException
+     *         when workspace with given id doesn't exist
+     * @throws ConflictException
+     *         when version of workspace projects is not the same as {@code version}
+     * @throws ServerException
+     *         when any other error occurs
+     */
+    public WorkspaceImpl updateProjects(String id,
+                                        String version,
+                                        List<? extends ProjectConfig> projects,
+                                        List<String> removed) throws ConflictException,
+                                                                     ServerException,
+                                                                     NotFoundException {
+        requireNonNull(id, "Required non-null workspace id");
+        requireNonNull(version, "Required non-null projects version");
+        requireNonNull(projects, "Required non-null projects");
+        requireNonNull(removed, "Required non-null removed projects");
+        final Lock lock = projectsLocks.get(id);
+        lock.lock();
+        try {
+            final WorkspaceImpl workspace = workspaceDao.get(id);
+            final List<ProjectConfigImpl> current = workspace.getConfig().getProjects();
+            final String currentVersion = ProjectsVersion.of(current);
+            if (!currentVersion.equals(version)) {
+                throw new ConflictException(format("Projects of workspace '%s' were changed, expected version '%s' but current is '%s'",
+                                                   id,
+                                                   version,
+                                                   currentVersion));
+            }
+            final Set<String> replaced = new HashSet<>(removed);
+            projects.forEach(project -> replaced.add(project.getPath()));
+            current.removeIf(project -> replaced.contains(project.getPath()));
+            projects.forEach(project -> current.add(new ProjectConfigImpl(project)));
+            workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
+            return normalizeState(workspaceDao.update(workspace));
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -321,6 +395,35 @@ public class WorkspaceManager {
         LOG.info("Workspace '{}' removed by user '{}'", workspaceId, sessionUserNameOr("undefined"));
     }
 
+    /**
+     * Removes workspaces with specified identifiers in a single operation.
+     *
+     * <p>Does not remove any of workspaces if one of them has the runtime,
+     * throws {@link ConflictException} in this case.
+     * Skips workspaces which don't exist.
+     *
+     * @param workspaceIds
+     *         identifiers of workspaces to remove
+     * @throws ConflictException
+     *         when any of workspaces has runtime
+     * @throws ServerException
+     *         when any server error occurs
+     * @throws NullPointerException
+     *         when {@code workspaceIds} is null
+     */
+    public void removeWorkspaces(Collection<String> workspaceIds) throws ConflictException, ServerException {
+        requireNonNull(workspaceIds, "Required non-null workspace ids");
+        for (String workspaceId : workspaceIds) {
+            if (runtimes.hasRuntime(workspaceId)) {
+                throw new ConflictException(format("The workspace '%s' is currently running and cannot be removed.",
+                                                   workspaceId));
+            }
+        }
+
+        workspaceDao.removeAll(workspaceIds);
+        LOG.info("Workspaces '{}' removed by user '{}'", workspaceIds, sessionUserNameOr("undefined"));
+    }
+
     /**
      * Asynchronously starts certain workspace with specified environment and account.
      *
@@ -521,8 +624,8 @@ public class WorkspaceManager {
     }
 
     /**
-     * Removes all snapshots of workspace machines,
-     * continues to remove snapshots even when removal of some of them fails.
+     * Removes all snapshots of workspace machines at once. If it fails
+     * snapshots are removed one by one and removal continues even when removal of some of them fails.
      *
      * <p>Note that snapshots binaries are removed asynchronously
      * while metadata removal is synchronous operation.
@@ -535,7 +638,24 @@ public class WorkspaceManager {
      *         when any other error occurs
      */
     public void removeSnapshots(String workspaceId) throws NotFoundException, ServerException {
-        List<SnapshotImpl> snapshots = getSnapshot(workspaceId);
+        requireNonNull(workspaceId, "Required non-null workspace id");
+        // check if workspace exists
+        workspaceDao.get(workspaceId);
+        List<SnapshotImpl> removed = removeSnapshotsMetadata(workspaceId);
+        if (!removed.isEmpty()) {
+            // binaries removal may take some time, do it asynchronously
+            sharedPool.execute(() -> runtimes.removeBinaries(removed));
+        }
+    }
+
+    /** Removes metadata of all snapshots of workspace at once, falls back to one by one removal if it fails. */
+    private List<SnapshotImpl> removeSnapshotsMetadata(String workspaceId) throws ServerException {
+        try {
+            return snapshotDao.removeSnapshots(workspaceId);
+        } catch (SnapshotException x) {
+            LOG.warn(format("Couldn't remove snapshots of workspace '%s' at once, removing them one by one", workspaceId), x);
+        }
+        List<SnapshotImpl> snapshots = snapshotDao.findSnapshots(workspaceId);
         List<SnapshotImpl> removed = new ArrayList<>(snapshots.size());
         for (SnapshotImpl snapshot : snapshots) {
             try {
@@ -546,8 +666,7 @@ public class WorkspaceManager {
                                  "binaries won't be removed either", snapshot.getId()), x);
             }
         }
-        // binaries removal may take some time, do it asynchronously
-        sharedPool.execute(() -> runtimes.removeBinaries(removed));
+        return removed;
     }
 
     /**
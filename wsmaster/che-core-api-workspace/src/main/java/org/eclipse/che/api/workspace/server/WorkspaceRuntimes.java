@@ -18,6 +18,8 @@ import org.eclipse.che.api.agent.server.exception.AgentException;
 import org.eclipse.che.api.agent.server.impl.AgentSorter;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
+import org.eclipse.che.api.agent.server.launcher.AgentLaunchingExecutors;
+import org.eclipse.che.api.agent.server.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.agent.shared.model.AgentKey;
 import org.eclipse.che.api.core.ApiException;
@@ -53,6 +55,7 @@ import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.lang.concurrent.CloseableLock;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
 
@@ -68,10 +71,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
@@ -624,17 +633,87 @@ public class WorkspaceRuntimes {
     }
 
     protected void launchAgents(Instance instance, List<String> agents) throws ServerException {
+        AgentLaunchingExecutors.await(launchAgentsAsync(instance, agents),
+                                      () -> format("Launching of agents of machine '%s' in workspace '%s' is interrupted",
+                                                   instance.getConfig().getName(),
+                                                   instance.getWorkspaceId()));
+    }
+
+    /**
+     * Launches agents of machine. Agent is launched as soon as all agents it depends on are launched,
+     * so agents which don't depend on each other are launched at the same time.
+     * Returned future is completed exceptionally as soon as launching of any agent fails,
+     * launching of other agents is cancelled then. Cancellation of returned future cancels launching of all agents.
+     */
+    private CompletableFuture<Void> launchAgentsAsync(Instance instance, List<String> agents) {
+        final List<CompletableFuture<Void>> launchings = new ArrayList<>();
+        // futures returned by launchers, they are not cancelled together with dependent stages
+        final Queue<CompletableFuture<Void>> agentLaunchings = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean cancelled = new AtomicBoolean();
         try {
+            final Map<String, CompletableFuture<Void>> agentsLaunchings = new HashMap<>();
+            // sorter guarantees that agent goes after all agents it depends on
             for (AgentKey agentKey : agentSorter.sort(agents)) {
-                LOG.info("Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
-
                 Agent agent = agentRegistry.getAgent(agentKey);
                 AgentLauncher launcher = launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
-                launcher.launch(instance, agent);
+                CompletableFuture<?>[] dependencies = agent.getDependencies()
+                                                           .stream()
+                                                           .map(dependency -> agentsLaunchings.get(AgentKeyImpl.parse(dependency).getId()))
+                                                           .filter(Objects::nonNull)
+                                                           .toArray(CompletableFuture[]::new);
+                CompletableFuture<Void> launching =
+                        CompletableFuture.allOf(dependencies)
+                                         .thenComposeAsync(ignored -> {
+                                             LOG.info("Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
+                                             final long launchStart = System.currentTimeMillis();
+                                             final CompletableFuture<Void> agentLaunching = launcher.launchAsync(instance, agent);
+                                             agentLaunchings.add(agentLaunching);
+                                             if (cancelled.get()) {
+                                                 agentLaunching.cancel(true);
+                                             }
+                                             return agentLaunching.thenRun(() -> LOG.info("Agent '{}' is launched at workspace {} in {}ms",
+                                                                                          agentKey.getId(),
+                                                                                          instance.getWorkspaceId(),
+                                                                                          System.currentTimeMillis() - launchStart));
+                                         }, command -> AgentLaunchingExecutors.getLaunchingExecutor()
+                                                                              .execute(ThreadLocalPropagateContext.wrap(command)));
+                agentsLaunchings.put(agentKey.getId(), launching);
+                launchings.add(launching);
             }
         } catch (AgentException e) {
-            throw new MachineException(e.getMessage(), e);
+            final CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new MachineException(e.getMessage(), e));
+            return failed;
+        }
+        final CompletableFuture<Void> result = allOrFirstFailure(launchings);
+        result.whenComplete((ignored, error) -> {
+            if (error != null) {
+                cancelled.set(true);
+                launchings.forEach(launching -> launching.cancel(true));
+                agentLaunchings.forEach(launching -> launching.cancel(true));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns future which is completed when all the given futures are completed
+     * or completed exceptionally as soon as any of the given futures fails.
+     */
+    private static CompletableFuture<Void> allOrFirstFailure(Collection<CompletableFuture<Void>> futures) {
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        for (CompletableFuture<Void> future : futures) {
+            future.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                                                 ? error.getCause()
+                                                 : error);
+                }
+            });
         }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]))
+                         .thenRun(() -> result.complete(null));
+        return result;
     }
 
     /**
@@ -671,7 +750,8 @@ public class WorkspaceRuntimes {
                                                       environment,
                                                       recover,
                                                       getEnvironmentLogger(workspaceId));
-            launchAgents(environment, machines);
+            Map<String, Long> machinesStartTimes = envEngine.getMachinesStartTimes(workspaceId);
+            launchAgents(environment, machines, machinesStartTimes);
 
             try (CloseableLock lock = locks.acquireWriteLock(workspaceId)) {
                 ensurePreDestroyIsNotExecuted();
@@ -679,11 +759,15 @@ public class WorkspaceRuntimes {
                 workspaceState.status = WorkspaceStatus.RUNNING;
             }
 
-            eventsService.publish(DtoFactory.newDto(WorkspaceStatusEvent.class)
-                                            .withWorkspaceId(workspaceId)
-                                            .withStatus(WorkspaceStatus.RUNNING)
-                                            .withEventType(EventType.RUNNING)
-                                            .withPrevStatus(WorkspaceStatus.STARTING));
+            WorkspaceStatusEvent runningEvent = DtoFactory.newDto(WorkspaceStatusEvent.class)
+                                                          .withWorkspaceId(workspaceId)
+                                                          .withStatus(WorkspaceStatus.RUNNING)
+                                                          .withEventType(EventType.RUNNING)
+                                                          .withPrevStatus(WorkspaceStatus.STARTING);
+            if (machinesStartTimes != null && !machinesStartTimes.isEmpty()) {
+                runningEvent.setMachinesStartTimes(machinesStartTimes);
+            }
+            eventsService.publish(runningEvent);
         } catch (ApiException | EnvironmentException | RuntimeException e) {
             try {
                 envEngine.stop(workspaceId);
@@ -706,17 +790,39 @@ public class WorkspaceRuntimes {
         }
     }
 
-    private void launchAgents(EnvironmentImpl environment, List<Instance> machines) throws ServerException {
+    /**
+     * Launches agents of environment machines, time spent on launching of agents
+     * is added to start time of the machine in {@code machinesStartTimes}.
+     */
+    private void launchAgents(EnvironmentImpl environment,
+                              List<Instance> machines,
+                              Map<String, Long> machinesStartTimes) throws ServerException {
+        // agents of all machines are launched at the same time
+        final Map<String, Long> agentsStartTimes = new ConcurrentHashMap<>();
+        final List<CompletableFuture<Void>> machinesLaunchings = new ArrayList<>();
+        final List<CompletableFuture<Void>> launchings = new ArrayList<>();
+        final long startTime = System.currentTimeMillis();
         for (Instance instance : machines) {
             Map<String, ExtendedMachineImpl> envMachines = environment.getMachines();
             if (envMachines != null) {
                 ExtendedMachine extendedMachine = envMachines.get(instance.getConfig().getName());
                 if (extendedMachine != null) {
                     List<String> agents = extendedMachine.getAgents();
-                    launchAgents(instance, agents);
+                    CompletableFuture<Void> machineLaunching = launchAgentsAsync(instance, agents);
+                    machinesLaunchings.add(machineLaunching);
+                    launchings.add(machineLaunching.thenRun(
+                            () -> agentsStartTimes.put(instance.getConfig().getName(), System.currentTimeMillis() - startTime)));
                 }
             }
         }
+        final CompletableFuture<Void> launching = allOrFirstFailure(launchings);
+        AgentLaunchingExecutors.cancelOnFailure(launching, machinesLaunchings);
+        AgentLaunchingExecutors.await(launching, () -> "Launching of agents is interrupted");
+        if (machinesStartTimes != null) {
+            for (Map.Entry<String, Long> entry : agentsStartTimes.entrySet()) {
+                machinesStartTimes.computeIfPresent(entry.getKey(), (name, time) -> time + entry.getValue());
+            }
+        }
     }
 
     private static EnvironmentImpl copyEnv(Workspace workspace, String envName) {
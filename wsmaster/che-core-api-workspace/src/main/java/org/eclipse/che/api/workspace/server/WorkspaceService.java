@@ -40,6 +40,8 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsStateDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsUpdateDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
@@ -60,12 +62,16 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
@@ -618,9 +624,20 @@ public class WorkspaceService extends Service {
                                                                        ForbiddenException {
         requiredNotNull(newProject, "New project config");
         final WorkspaceImpl workspace = workspaceManager.getWorkspace(id);
-        workspace.getConfig().getProjects().add(new ProjectConfigImpl(newProject));
+        final List<ProjectConfigImpl> projects = workspace.getConfig().getProjects();
+        final String version = ProjectsVersion.of(projects);
+        if (projects.stream().anyMatch(project -> project.getPath().equals(newProject.getPath()))) {
+            throw new ConflictException(format("Workspace '%s' already contains project with path '%s'",
+                                               id,
+                                               newProject.getPath()));
+        }
+        projects.add(new ProjectConfigImpl(newProject));
         validator.validateConfig(workspace.getConfig());
-        return linksInjector.injectLinks(asDto(workspaceManager.updateWorkspace(id, workspace)), getServiceContext());
+        return linksInjector.injectLinks(asDto(workspaceManager.updateProjects(id,
+                                                                               version,
+                                                                               singletonList(newProject),
+                                                                               emptyList())),
+                                         getServiceContext());
     }
 
     @PUT
@@ -649,7 +666,8 @@ public class WorkspaceService extends Service {
         requiredNotNull(update, "Project config");
         final WorkspaceImpl workspace = workspaceManager.getWorkspace(id);
         final List<ProjectConfigImpl> projects = workspace.getConfig().getProjects();
-        final String normalizedPath = path.startsWith("/") ? path : '/' + path;
+        final String version = ProjectsVersion.of(projects);
+        final String normalizedPath = normalizePath(path);
         if (!projects.removeIf(project -> project.getPath().equals(normalizedPath))) {
             throw new NotFoundException(format("Workspace '%s' doesn't contain project with path '%s'",
                                                id,
@@ -657,7 +675,11 @@ public class WorkspaceService extends Service {
         }
         projects.add(new ProjectConfigImpl(update));
         validator.validateConfig(workspace.getConfig());
-        return linksInjector.injectLinks(asDto(workspaceManager.updateWorkspace(id, workspace)), getServiceContext());
+        return linksInjector.injectLinks(asDto(workspaceManager.updateProjects(id,
+                                                                               version,
+                                                                               singletonList(update),
+                                                                               singletonList(normalizedPath))),
+                                         getServiceContext());
     }
 
     @DELETE
@@ -679,12 +701,76 @@ public class WorkspaceService extends Service {
                                                   ConflictException,
                                                   ForbiddenException {
         final WorkspaceImpl workspace = workspaceManager.getWorkspace(id);
-        final String normalizedPath = path.startsWith("/") ? path : '/' + path;
-        if (workspace.getConfig().getProjects().removeIf(project -> project.getPath().equals(normalizedPath))) {
-            workspaceManager.updateWorkspace(id, workspace);
+        final List<ProjectConfigImpl> projects = workspace.getConfig().getProjects();
+        final String normalizedPath = normalizePath(path);
+        if (projects.stream().anyMatch(project -> project.getPath().equals(normalizedPath))) {
+            workspaceManager.updateProjects(id, ProjectsVersion.of(projects), emptyList(), singletonList(normalizedPath));
         }
     }
 
+    @GET
+    @Path("/{id}/projects")
+    @Produces(APPLICATION_JSON)
+    @ApiOperation(value = "Get projects of the workspace together with their version",
+                  notes = "The version is used for the update of projects with the batch of changes",
+                  response = ProjectsStateDto.class)
+    @ApiResponses({@ApiResponse(code = 200, message = "The response contains projects of the workspace"),
+                   @ApiResponse(code = 403, message = "The user does not have access to the workspace"),
+                   @ApiResponse(code = 404, message = "The workspace not found"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public ProjectsStateDto getProjects(@ApiParam("The workspace id")
+                                        @PathParam("id")
+                                        String id) throws NotFoundException, ServerException {
+        return asProjectsStateDto(workspaceManager.getWorkspace(id));
+    }
+
+    @POST
+    @Path("/{id}/projects")
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_JSON)
+    @ApiOperation(value = "Add, update and remove projects of the workspace at once",
+                  notes = "Changes are applied only if the version of workspace projects is the same as the version of the update. " +
+                          "This operation can be performed only by the workspace owner",
+                  response = ProjectsStateDto.class)
+    @ApiResponses({@ApiResponse(code = 200, message = "The projects successfully updated"),
+                   @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+                   @ApiResponse(code = 403, message = "The user does not have access to update the projects"),
+                   @ApiResponse(code = 404, message = "The workspace not found"),
+                   @ApiResponse(code = 409, message = "The projects of the workspace have other version"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public ProjectsStateDto updateProjects(@ApiParam("The workspace id")
+                                           @PathParam("id")
+                                           String id,
+                                           @ApiParam(value = "The batch of changes", required = true)
+                                           ProjectsUpdateDto update) throws ServerException,
+                                                                            BadRequestException,
+                                                                            NotFoundException,
+                                                                            ConflictException,
+                                                                            ForbiddenException {
+        requiredNotNull(update, "Projects update");
+        requiredNotNull(update.getVersion(), "Projects version");
+        final Set<String> paths = new HashSet<>();
+        for (ProjectConfigDto project : update.getProjects()) {
+            requiredNotNull(project.getPath(), "Project path");
+            project.setPath(normalizePath(project.getPath()));
+            if (!paths.add(project.getPath())) {
+                throw new BadRequestException(format("Update contains more than one project with path '%s'", project.getPath()));
+            }
+        }
+        final List<String> removed = update.getRemoved()
+                                           .stream()
+                                           .map(WorkspaceService::normalizePath)
+                                           .collect(toList());
+        // validates the configuration which workspace will have after the update,
+        // the update itself is applied only if projects are not changed meanwhile
+        final WorkspaceImpl workspace = workspaceManager.getWorkspace(id);
+        final List<ProjectConfigImpl> projects = workspace.getConfig().getProjects();
+        projects.removeIf(project -> removed.contains(project.getPath()) || paths.contains(project.getPath()));
+        update.getProjects().forEach(project -> projects.add(new ProjectConfigImpl(project)));
+        validator.validateConfig(workspace.getConfig());
+        return asProjectsStateDto(workspaceManager.updateProjects(id, update.getVersion(), update.getProjects(), removed));
+    }
+
     @GET
     @Path("/{id}/check")
     @Produces(APPLICATION_JSON)
@@ -722,6 +808,18 @@ public class WorkspaceService extends Service {
                                CHE_WORKSPACE_AUTO_RESTORE, Boolean.toString(cheWorkspaceAutoRestore));
     }
 
+    private static String normalizePath(String path) {
+        return path.startsWith("/") ? path : '/' + path;
+    }
+
+    private static ProjectsStateDto asProjectsStateDto(WorkspaceImpl workspace) {
+        final List<ProjectConfigImpl> projects = workspace.getConfig().getProjects();
+        return newDto(ProjectsStateDto.class).withVersion(ProjectsVersion.of(projects))
+                                             .withProjects(projects.stream()
+                                                                   .map(DtoConverter::asDto)
+                                                                   .collect(toList()));
+    }
+
     private static Map<String, String> parseAttrs(List<String> attributes) throws BadRequestException {
         if (attributes == null) {
             return emptyMap();
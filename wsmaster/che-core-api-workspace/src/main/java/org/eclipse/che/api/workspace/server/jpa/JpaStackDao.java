@@ -22,6 +22,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.core.db.jpa.QueryResultsCache;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -48,6 +49,9 @@ public class JpaStackDao implements StackDao {
     @Inject
     private EventService eventService;
 
+    @Inject
+    private QueryResultsCache queryResultsCache;
+
     @Override
     public void create(StackImpl stack) throws ConflictException, ServerException {
         requireNonNull(stack, "Required non-null stack");
@@ -104,27 +108,34 @@ public class JpaStackDao implements StackDao {
                                         @Nullable List<String> tags,
                                         int skipCount,
                                         int maxItems) throws ServerException {
-        final TypedQuery<StackImpl> query;
-        if (tags == null || tags.isEmpty()) {
-            query = managerProvider.get().createNamedQuery("Stack.getAll", StackImpl.class);
-        } else {
-            query = managerProvider.get()
-                                   .createNamedQuery("Stack.getByTags", StackImpl.class)
-                                   .setParameter("tags", tags)
-                                   .setParameter("tagsSize", tags.size());
-        }
+        final EntityManager manager = managerProvider.get();
         try {
-            return query.setMaxResults(maxItems)
-                        .setFirstResult(skipCount)
-                        .getResultList()
-                        .stream()
-                        .map(StackImpl::new)
-                        .collect(Collectors.toList());
+            return queryResultsCache.getResultList(manager,
+                                                   StackImpl.class,
+                                                   () -> doSearchStacks(manager, tags, skipCount, maxItems),
+                                                   "Stack.search", tags, skipCount, maxItems)
+                                    .stream()
+                                    .map(StackImpl::new)
+                                    .collect(Collectors.toList());
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
     }
 
+    private List<StackImpl> doSearchStacks(EntityManager manager, List<String> tags, int skipCount, int maxItems) {
+        final TypedQuery<StackImpl> query;
+        if (tags == null || tags.isEmpty()) {
+            query = manager.createNamedQuery("Stack.getAll", StackImpl.class);
+        } else {
+            query = manager.createNamedQuery("Stack.getByTags", StackImpl.class)
+                           .setParameter("tags", tags)
+                           .setParameter("tagsSize", tags.size());
+        }
+        return query.setMaxResults(maxItems)
+                    .setFirstResult(skipCount)
+                    .getResultList();
+    }
+
     @Transactional
     protected void doCreate(StackImpl stack) {
         if (stack.getWorkspaceConfig() != null) {
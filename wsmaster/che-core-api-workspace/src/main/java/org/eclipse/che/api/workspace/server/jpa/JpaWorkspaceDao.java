@@ -17,6 +17,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
+import org.eclipse.che.core.db.jpa.QueryResultsCache;
 import org.eclipse.che.core.db.event.CascadeRemovalEventSubscriber;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
@@ -32,7 +33,8 @@ import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
-import javax.persistence.NoResultException;
+import javax.persistence.TypedQuery;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -53,6 +55,8 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     private EventService            eventService;
     @Inject
     private Provider<EntityManager> managerProvider;
+    @Inject
+    private QueryResultsCache       queryResultsCache;
 
     @Override
     public WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
@@ -94,6 +98,19 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    @Override
+    public void removeAll(Collection<String> ids) throws ConflictException, ServerException {
+        requireNonNull(ids, "Required non-null ids");
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            doRemoveAll(ids);
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
     @Override
     @Transactional
     public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
@@ -114,33 +131,42 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     public WorkspaceImpl get(String name, String namespace) throws NotFoundException, ServerException {
         requireNonNull(name, "Required non-null name");
         requireNonNull(namespace, "Required non-null namespace");
+        final EntityManager manager = managerProvider.get();
+        final WorkspaceImpl workspace;
         try {
-            return new WorkspaceImpl(managerProvider.get()
-                                                    .createNamedQuery("Workspace.getByName", WorkspaceImpl.class)
-                                                    .setParameter("namespace", namespace)
-                                                    .setParameter("name", name)
-                                                    .getSingleResult());
-        } catch (NoResultException noResEx) {
+            workspace = queryResultsCache.getSingleResult(manager,
+                                                          WorkspaceImpl.class,
+                                                          () -> manager.createNamedQuery("Workspace.getByName", WorkspaceImpl.class)
+                                                                       .setParameter("namespace", namespace)
+                                                                       .setParameter("name", name)
+                                                                       .getResultList(),
+                                                          "Workspace.getByName", namespace, name);
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+        if (workspace == null) {
             throw new NotFoundException(format("Workspace with name '%s' in namespace '%s' doesn't exist",
                                                name,
                                                namespace));
-        } catch (RuntimeException x) {
-            throw new ServerException(x.getLocalizedMessage(), x);
         }
+        return new WorkspaceImpl(workspace);
     }
 
     @Override
     @Transactional
     public List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
         requireNonNull(namespace, "Required non-null namespace");
+        final EntityManager manager = managerProvider.get();
         try {
-            return managerProvider.get()
-                                  .createNamedQuery("Workspace.getByNamespace", WorkspaceImpl.class)
-                                  .setParameter("namespace", namespace)
-                                  .getResultList()
-                                  .stream()
-                                  .map(WorkspaceImpl::new)
-                                  .collect(Collectors.toList());
+            return queryResultsCache.getResultList(manager,
+                                                   WorkspaceImpl.class,
+                                                   () -> manager.createNamedQuery("Workspace.getByNamespace", WorkspaceImpl.class)
+                                                                .setParameter("namespace", namespace)
+                                                                .getResultList(),
+                                                   "Workspace.getByNamespace", namespace)
+                                    .stream()
+                                    .map(WorkspaceImpl::new)
+                                    .collect(Collectors.toList());
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
@@ -181,6 +207,30 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    @Override
+    @Transactional
+    public List<WorkspaceImpl> getWorkspaces(boolean isTemporary, String afterId, int maxItems) throws ServerException {
+        checkArgument(maxItems > 0, "The number of items to return must be positive.");
+        try {
+            final TypedQuery<WorkspaceImpl> query;
+            if (afterId == null) {
+                query = managerProvider.get().createNamedQuery("Workspace.getByTemporaryOrderedById", WorkspaceImpl.class);
+            } else {
+                query = managerProvider.get()
+                                       .createNamedQuery("Workspace.getByTemporaryAfterId", WorkspaceImpl.class)
+                                       .setParameter("afterId", afterId);
+            }
+            return query.setParameter("temporary", isTemporary)
+                        .setMaxResults(maxItems)
+                        .getResultList()
+                        .stream()
+                        .map(WorkspaceImpl::new)
+                        .collect(toList());
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
     @Transactional
     protected void doCreate(WorkspaceImpl workspace) {
         if (workspace.getConfig() != null) {
@@ -199,6 +249,18 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         eventService.publish(new WorkspaceRemovedEvent(workspace));
     }
 
+    @Transactional
+    protected void doRemoveAll(Collection<String> ids) {
+        final EntityManager manager = managerProvider.get();
+        final List<WorkspaceImpl> workspaces = manager.createNamedQuery("Workspace.getByIds", WorkspaceImpl.class)
+                                                      .setParameter("ids", ids)
+                                                      .getResultList();
+        workspaces.forEach(manager::remove);
+        // deletes are sent to the database in JDBC batches, events are published only when all of them succeed
+        manager.flush();
+        workspaces.forEach(workspace -> eventService.publish(new WorkspaceRemovedEvent(workspace)));
+    }
+
     @Transactional
     protected WorkspaceImpl doUpdate(WorkspaceImpl update) throws NotFoundException {
         if (managerProvider.get().find(WorkspaceImpl.class, update.getId()) == null) {
@@ -231,9 +293,10 @@ public class JpaWorkspaceDao implements WorkspaceDao {
 
         @Override
         public void onRemovalEvent(BeforeAccountRemovedEvent event) throws Exception {
-            for (WorkspaceImpl workspace : workspaceManager.getByNamespace(event.getAccount().getName())) {
-                workspaceManager.removeWorkspace(workspace.getId());
-            }
+            workspaceManager.removeWorkspaces(workspaceManager.getByNamespace(event.getAccount().getName())
+                                                              .stream()
+                                                              .map(WorkspaceImpl::getId)
+                                                              .collect(toList()));
         }
     }
 
@@ -12,6 +12,7 @@ package org.eclipse.che.api.workspace.server.launcher;
 
 import org.eclipse.che.api.agent.server.WsAgentPingRequestFactory;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
+import org.eclipse.che.api.agent.server.launcher.AgentLaunchingExecutors;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
@@ -33,6 +34,8 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static org.eclipse.che.api.workspace.shared.Constants.WS_AGENT_PROCESS_NAME;
@@ -84,11 +87,18 @@ public class WsAgentLauncherImpl implements AgentLauncher {
 
     @Override
     public void launch(Instance machine, Agent agent) throws ServerException {
+        AgentLaunchingExecutors.await(launchAsync(machine, agent), () -> "Ws agent pinging is interrupted");
+    }
+
+    @Override
+    public CompletableFuture<Void> launchAsync(Instance machine, Agent agent) {
+        final CompletableFuture<Void> launching = new CompletableFuture<>();
         final HttpJsonRequest wsAgentPingRequest;
         try {
             wsAgentPingRequest = createPingRequest(machine);
         } catch (ServerException e) {
-            throw new MachineException(e.getServiceError());
+            launching.completeExceptionally(new MachineException(e.getServiceError()));
+            return launching;
         }
 
         String script = agent.getScript() + "\n" + firstNonNull(wsAgentRunCommand, DEFAULT_WS_AGENT_RUN_COMMAND);
@@ -104,28 +114,38 @@ public class WsAgentLauncherImpl implements AgentLauncher {
                                                      machine.getId(),
                                                      command,
                                                      getWsAgentProcessOutputChannel(machine.getWorkspaceId()));
-
-            final long pingStartTimestamp = System.currentTimeMillis();
-            LOG.debug("Starts pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}",
-                      machine.getWorkspaceId(),
-                      wsAgentPingUrl,
-                      pingStartTimestamp);
-
-            while (System.currentTimeMillis() - pingStartTimestamp < wsAgentMaxStartTimeMs) {
-                if (pingWsAgent(wsAgentPingRequest)) {
-                    return;
-                } else {
-                    Thread.sleep(wsAgentPingDelayMs);
-                }
-            }
         } catch (BadRequestException | ServerException | NotFoundException e) {
-            throw new ServerException(e.getServiceError());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new ServerException("Ws agent pinging is interrupted");
+            launching.completeExceptionally(new ServerException(e.getServiceError()));
+            return launching;
         }
-        LOG.error("Fail pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}", machine.getWorkspaceId(), wsAgentPingUrl);
-        throw new ServerException(pingTimedOutErrorMessage);
+
+        final long pingStartTimestamp = System.currentTimeMillis();
+        LOG.debug("Starts pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}",
+                  machine.getWorkspaceId(),
+                  wsAgentPingUrl,
+                  pingStartTimestamp);
+
+        final CompletableFuture<Void> pinging = AgentLaunchingExecutors.waitUntilLaunched(() -> pingWsAgent(wsAgentPingRequest),
+                                                                                          wsAgentPingDelayMs,
+                                                                                          wsAgentMaxStartTimeMs);
+        AgentLaunchingExecutors.propagateCancellation(launching, pinging);
+        pinging.whenComplete((ignored, error) -> {
+            if (error == null) {
+                LOG.debug("Ws agent is started in {}ms. Workspace ID:{}",
+                          System.currentTimeMillis() - pingStartTimestamp,
+                          machine.getWorkspaceId());
+                launching.complete(null);
+            } else if (error instanceof TimeoutException) {
+                LOG.error("Fail pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}",
+                          machine.getWorkspaceId(),
+                          wsAgentPingUrl,
+                          pingStartTimestamp);
+                launching.completeExceptionally(new ServerException(pingTimedOutErrorMessage));
+            } else {
+                launching.completeExceptionally(error);
+            }
+        });
+        return launching;
     }
 
     public static String getWsAgentProcessOutputChannel(String workspaceId) {
@@ -62,7 +62,15 @@ import java.util.Objects;
                 @NamedQuery(name = "Workspace.getAll",
                             query = "SELECT w FROM Workspace w"),
                 @NamedQuery(name = "Workspace.getByTemporary",
-                            query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary")
+                            query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary"),
+                @NamedQuery(name = "Workspace.getByTemporaryOrderedById",
+                            query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary ORDER BY w.id"),
+                @NamedQuery(name = "Workspace.getByTemporaryAfterId",
+                            query = "SELECT w FROM Workspace w " +
+                                    "WHERE w.isTemporary = :temporary AND w.id > :afterId " +
+                                    "ORDER BY w.id"),
+                @NamedQuery(name = "Workspace.getByIds",
+                            query = "SELECT w FROM Workspace w WHERE w.id IN :ids")
 
         }
 )
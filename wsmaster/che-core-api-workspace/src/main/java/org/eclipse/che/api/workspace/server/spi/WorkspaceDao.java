@@ -15,6 +15,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -86,6 +87,25 @@ public interface WorkspaceDao {
      */
     void remove(String id) throws ConflictException, ServerException;
 
+    /**
+     * Removes workspaces in a single operation.
+     *
+     * <p>Removal is atomic, if cascade removing of data related to any of workspaces fails
+     * none of workspaces is removed.
+     *
+     * <p>Identifiers of workspaces which do not exist are ignored
+     *
+     * @param ids
+     *         workspaces identifiers
+     * @throws NullPointerException
+     *         when {@code ids} is null
+     * @throws ConflictException
+     *         when any conflict occurs during cascade removing of related to workspaces data
+     * @throws ServerException
+     *         when any other error occurs during workspaces removing
+     */
+    void removeAll(Collection<String> ids) throws ConflictException, ServerException;
+
     /**
      * Gets workspace by identifier.
      *
@@ -161,4 +181,27 @@ public interface WorkspaceDao {
      *         when {@code maxItems} or {@code skipCount} is negative
      */
     List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems) throws ServerException;
+
+    /**
+     * Gets workspaces by temporary attribute ordered by identifier.
+     *
+     * <p>Unlike {@link #getWorkspaces(boolean, int, int)} page is defined by identifier of the last
+     * workspace of the previous page, so pages are not shifted when workspaces of previous pages
+     * are removed while workspaces are iterated.
+     *
+     * @param isTemporary
+     *         When {@code true}, only temporary workspaces should be retrieved.
+     *         When {@code false}, only non-temporary workspaces should be retrieved.
+     * @param afterId
+     *         identifier of the last workspace of the previous page,
+     *         or null to get the first page
+     * @param maxItems
+     *         the maximum number of workspaces to return
+     * @return list of workspaces or empty list if no workspaces were found
+     * @throws ServerException
+     *         when any other error occurs during workspaces fetching
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} is not positive
+     */
+    List<WorkspaceImpl> getWorkspaces(boolean isTemporary, String afterId, int maxItems) throws ServerException;
 }
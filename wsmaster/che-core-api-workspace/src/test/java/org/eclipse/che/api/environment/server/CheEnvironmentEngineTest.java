@@ -15,6 +15,7 @@ import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.agent.shared.model.AgentKey;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.MachineLogMessage;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
@@ -41,6 +42,7 @@ import org.eclipse.che.api.machine.server.spi.InstanceProvider;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.machine.server.util.RecipeDownloader;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
@@ -60,10 +62,14 @@ import org.testng.annotations.Test;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -88,6 +94,7 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * @author Alexander Garagatyi
@@ -122,6 +129,10 @@ public class CheEnvironmentEngineTest {
     private Agent                    agent;
     @Mock
     private EnvironmentParser        environmentParser;
+    @Mock
+    private WorkspaceSharedPool      sharedPool;
+    @Mock
+    private MachineLogsPipeline      logsPipeline;
 
     private CheEnvironmentEngine engine;
 
@@ -139,8 +150,13 @@ public class CheEnvironmentEngineTest {
                                               API_ENDPOINT,
                                               recipeDownloader,
                                               containerNameGenerator,
-                                              agentRegistry));
+                                              agentRegistry,
+                                              sharedPool,
+                                              false,
+                                              logsPipeline));
 
+        when(logsPipeline.createMachineLogger(anyString(), any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> invocationOnMock.getArguments()[1]);
         when(machineInstanceProviders.getProvider("docker")).thenReturn(instanceProvider);
         when(instanceProvider.getRecipeTypes()).thenReturn(Collections.singleton("dockerfile"));
         when(agentRegistry.getAgent(any(AgentKey.class))).thenReturn(agent);
@@ -247,6 +263,109 @@ public class CheEnvironmentEngineTest {
         assertEquals(machines, expectedMachines);
     }
 
+    @Test
+    public void shouldStartIndependentMachinesConcurrentlyInParallelStartMode() throws Exception {
+        // given
+        WorkspaceSharedPool sharedPool = new WorkspaceSharedPool();
+        engine = createParallelStartEngine(sharedPool);
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        CountDownLatch allMachinesStarting = new CountDownLatch(2);
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    allMachinesStarting.countDown();
+                    // machines which are started one by one never get here at the same time
+                    assertTrue(allMachinesStarting.await(10, TimeUnit.SECONDS));
+                    return spy(new NoOpMachineInstance(createMachine(workspaceId,
+                                                                     envName,
+                                                                     (CheServiceImpl)arguments[6],
+                                                                     (String)arguments[3],
+                                                                     (boolean)arguments[4])));
+                });
+        when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+
+        // when
+        List<Instance> machines;
+        try {
+            machines = engine.start(workspaceId,
+                                    envName,
+                                    env,
+                                    false,
+                                    messageConsumer);
+        } finally {
+            sharedPool.terminateAndWait();
+        }
+
+        // then
+        assertEquals(machines.size(), 2);
+        assertEquals(engine.getMachinesStartTimes(workspaceId).keySet(), new HashSet<>(asList("dev-machine", "machine2")));
+    }
+
+    @Test
+    public void shouldDestroyStartedMachinesIfStartOfAnyMachineFailsInParallelStartMode() throws Exception {
+        // given
+        WorkspaceSharedPool sharedPool = new WorkspaceSharedPool();
+        engine = createParallelStartEngine(sharedPool);
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        CountDownLatch devMachineStarted = new CountDownLatch(1);
+        List<Instance> startedMachines = new CopyOnWriteArrayList<>();
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    String machineName = (String)arguments[3];
+                    if ("machine2".equals(machineName)) {
+                        devMachineStarted.await(10, TimeUnit.SECONDS);
+                        throw new MachineException("start failed");
+                    }
+                    Instance instance = spy(new NoOpMachineInstance(createMachine(workspaceId,
+                                                                                  envName,
+                                                                                  (CheServiceImpl)arguments[6],
+                                                                                  machineName,
+                                                                                  (boolean)arguments[4])));
+                    startedMachines.add(instance);
+                    devMachineStarted.countDown();
+                    return instance;
+                });
+        when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+
+        // when
+        try {
+            engine.start(workspaceId,
+                         envName,
+                         env,
+                         false,
+                         messageConsumer);
+            fail("Environment start should fail");
+        } catch (ServerException e) {
+            assertEquals(e.getLocalizedMessage(), "start failed");
+        } finally {
+            sharedPool.terminateAndWait();
+        }
+
+        // then
+        assertEquals(startedMachines.size(), 1);
+        verify(startedMachines.get(0)).destroy();
+        verify(machineProvider).destroyNetwork(anyString());
+    }
+
     @Test
     public void shouldSetDefaultRamToMachinesWithoutRamOnEnvironmentStart() throws Exception {
         // given
@@ -1050,6 +1169,25 @@ public class CheEnvironmentEngineTest {
         assertEquals(serviceToNormalizeLinks.getLinks().get(0), containerNameToLink + ':' + AliasToServiceToLink);
     }
 
+    private CheEnvironmentEngine createParallelStartEngine(WorkspaceSharedPool sharedPool) {
+        return new CheEnvironmentEngine(snapshotDao,
+                                        machineInstanceProviders,
+                                        "/tmp",
+                                        DEFAULT_MACHINE_MEM_LIMIT_MB,
+                                        eventService,
+                                        environmentParser,
+                                        new DefaultServicesStartStrategy(),
+                                        machineProvider,
+                                        infrastructureProvisioner,
+                                        API_ENDPOINT,
+                                        recipeDownloader,
+                                        containerNameGenerator,
+                                        agentRegistry,
+                                        sharedPool,
+                                        true,
+                                        logsPipeline);
+    }
+
     private List<Instance> startEnv() throws Exception {
         EnvironmentImpl env = createEnv();
         CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
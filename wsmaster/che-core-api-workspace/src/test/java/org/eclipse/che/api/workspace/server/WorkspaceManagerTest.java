@@ -31,6 +31,7 @@ import org.eclipse.che.api.workspace.server.WorkspaceRuntimes.RuntimeDescriptor;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
+import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
@@ -41,7 +42,6 @@ import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.commons.subject.SubjectImpl;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -56,6 +56,7 @@ import java.util.UUID;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.util.concurrent.Futures.immediateFuture;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
@@ -70,16 +71,17 @@ import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * Covers main cases of {@link WorkspaceManager}.
@@ -271,6 +273,38 @@ public class WorkspaceManagerTest {
         verify(workspaceDao).update(workspace);
     }
 
+    @Test
+    public void shouldUpdateProjectsWithSingleWorkspaceUpdate() throws Exception {
+        final WorkspaceImpl workspace = createAndMockWorkspace();
+        workspace.getConfig().getProjects().add(createProject("/a", "blank"));
+        workspace.getConfig().getProjects().add(createProject("/b", "blank"));
+        when(workspaceDao.update(any())).thenAnswer(inv -> inv.getArguments()[0]);
+        final String version = ProjectsVersion.of(workspace.getConfig().getProjects());
+
+        final WorkspaceImpl updated = workspaceManager.updateProjects(workspace.getId(),
+                                                                      version,
+                                                                      asList(createProject("/a", "maven"), createProject("/c", "blank")),
+                                                                      singletonList("/b"));
+
+        verify(workspaceDao, times(1)).update(workspace);
+        final Map<String, String> types = new HashMap<>();
+        updated.getConfig().getProjects().forEach(project -> types.put(project.getPath(), project.getType()));
+        assertEquals(types.size(), 2);
+        assertEquals(types.get("/a"), "maven");
+        assertEquals(types.get("/c"), "blank");
+        assertFalse(version.equals(ProjectsVersion.of(updated.getConfig().getProjects())));
+    }
+
+    @Test(expectedExceptions = ConflictException.class)
+    public void shouldNotUpdateProjectsWhenTheyWereChangedAfterVersionWasProvided() throws Exception {
+        final WorkspaceImpl workspace = createAndMockWorkspace();
+        workspace.getConfig().getProjects().add(createProject("/a", "blank"));
+        final String version = ProjectsVersion.of(workspace.getConfig().getProjects());
+        workspace.getConfig().getProjects().add(createProject("/b", "blank"));
+
+        workspaceManager.updateProjects(workspace.getId(), version, singletonList(createProject("/c", "blank")), emptyList());
+    }
+
     @Test
     public void workspaceUpdateShouldReturnWorkspaceWithStatusEqualToItsRuntimeStatus() throws Exception {
         final WorkspaceImpl workspace = createAndMockWorkspace();
@@ -298,6 +332,33 @@ public class WorkspaceManagerTest {
         workspaceManager.removeWorkspace(workspace.getId());
     }
 
+    @Test
+    public void shouldRemoveWorkspacesAtOnce() throws Exception {
+        final WorkspaceImpl workspace1 = createAndMockWorkspace();
+        final WorkspaceImpl workspace2 = createAndMockWorkspace();
+
+        workspaceManager.removeWorkspaces(asList(workspace1.getId(), workspace2.getId()));
+
+        verify(workspaceDao).removeAll(asList(workspace1.getId(), workspace2.getId()));
+        verify(workspaceDao, never()).remove(anyString());
+    }
+
+    @Test
+    public void shouldNotRemoveAnyOfWorkspacesIfOneOfThemIsNotStopped() throws Exception {
+        final WorkspaceImpl workspace1 = createAndMockWorkspace();
+        final WorkspaceImpl workspace2 = createAndMockWorkspace();
+        when(runtimes.hasRuntime(workspace2.getId())).thenReturn(true);
+
+        try {
+            workspaceManager.removeWorkspaces(asList(workspace1.getId(), workspace2.getId()));
+            fail("ConflictException expected");
+        } catch (ConflictException expected) {
+        }
+
+        verify(workspaceDao, never()).removeAll(any());
+        verify(workspaceDao, never()).remove(anyString());
+    }
+
     @Test
     public void shouldBeAbleToStartWorkspaceById() throws Exception {
         final WorkspaceImpl workspace = createAndMockWorkspace();
@@ -667,7 +728,7 @@ public class WorkspaceManagerTest {
                                                 .setDev(false)
                                                 .setMachineName("machine2")
                                                 .build();
-        when(snapshotDao.findSnapshots(testWsId)).thenReturn(asList(snapshot1, snapshot2));
+        when(snapshotDao.removeSnapshots(testWsId)).thenReturn(asList(snapshot1, snapshot2));
 
         // when
         workspaceManager.removeSnapshots(testWsId);
@@ -675,9 +736,7 @@ public class WorkspaceManagerTest {
         // then
         captureAsyncTaskAndExecuteSynchronously();
         verify(runtimes).removeBinaries(asList(snapshot1, snapshot2));
-        InOrder snapshotDaoInOrder = inOrder(snapshotDao);
-        snapshotDaoInOrder.verify(snapshotDao).removeSnapshot(snapshot1.getId());
-        snapshotDaoInOrder.verify(snapshotDao).removeSnapshot(snapshot2.getId());
+        verify(snapshotDao, never()).removeSnapshot(anyString());
     }
 
     @Test
@@ -701,6 +760,7 @@ public class WorkspaceManagerTest {
                                                 .setDev(false)
                                                 .setMachineName("machine2")
                                                 .build();
+        when(snapshotDao.removeSnapshots(testWsId)).thenThrow(new SnapshotException("test"));
         when(snapshotDao.findSnapshots(testWsId)).thenReturn(asList(snapshot1, snapshot2));
         doThrow(new SnapshotException("test")).when(snapshotDao).removeSnapshot(snapshot1.getId());
 
@@ -898,6 +958,14 @@ public class WorkspaceManagerTest {
         return workspace;
     }
 
+    private static ProjectConfigImpl createProject(String path, String type) {
+        final ProjectConfigImpl project = new ProjectConfigImpl();
+        project.setPath(path);
+        project.setName(path.substring(1));
+        project.setType(type);
+        return project;
+    }
+
     private static WorkspaceConfigImpl createConfig() {
         EnvironmentImpl environment = new EnvironmentImpl(new EnvironmentRecipeImpl("type",
                                                                                     "contentType",
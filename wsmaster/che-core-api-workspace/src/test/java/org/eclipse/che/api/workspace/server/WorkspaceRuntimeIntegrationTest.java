@@ -26,6 +26,7 @@ import org.eclipse.che.api.environment.server.DefaultServicesStartStrategy;
 import org.eclipse.che.api.environment.server.EnvironmentParser;
 import org.eclipse.che.api.environment.server.InfrastructureProvisioner;
 import org.eclipse.che.api.environment.server.MachineInstanceProvider;
+import org.eclipse.che.api.environment.server.MachineLogsPipeline;
 import org.eclipse.che.api.environment.server.model.CheServiceImpl;
 import org.eclipse.che.api.environment.server.model.CheServicesEnvironmentImpl;
 import org.eclipse.che.api.machine.server.MachineInstanceProviders;
@@ -98,12 +99,16 @@ public class WorkspaceRuntimeIntegrationTest {
     private WorkspaceSharedPool       sharedPool;
     @Mock
     private SnapshotDao               snapshotDao;
+    @Mock
+    private MachineLogsPipeline       logsPipeline;
 
     private ExecutorService   executor;
     private WorkspaceRuntimes runtimes;
 
     @BeforeMethod
     public void setUp() throws Exception {
+        when(logsPipeline.createMachineLogger(anyString(), any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> invocationOnMock.getArguments()[1]);
         CheEnvironmentEngine environmentEngine = new CheEnvironmentEngine(snapshotDao,
                                                                           machineInstanceProviders,
                                                                           "/tmp",
@@ -116,7 +121,10 @@ public class WorkspaceRuntimeIntegrationTest {
                                                                           "http://localhost:8080/api",
                                                                           recipeDownloader,
                                                                           containerNameGenerator,
-                                                                          agentRegistry);
+                                                                          agentRegistry,
+                                                                          sharedPool,
+                                                                          false,
+                                                                          logsPipeline);
 
         runtimes = new WorkspaceRuntimes(eventService,
                                          environmentEngine,
@@ -20,6 +20,7 @@ import com.jayway.restassured.response.Response;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.agent.server.WsAgentHealthChecker;
+import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
@@ -48,6 +49,8 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsStateDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsUpdateDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
@@ -716,8 +719,9 @@ public class WorkspaceServiceTest {
     public void shouldAddProject() throws Exception {
         final WorkspaceImpl workspace = createWorkspace(createConfigDto());
         when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
-        when(wsManager.updateWorkspace(any(), any())).thenReturn(workspace);
-        final ProjectConfigDto projectDto = createProjectDto();
+        final String version = ProjectsVersion.of(workspace.getConfig().getProjects());
+        when(wsManager.updateProjects(any(), any(), any(), any())).thenReturn(workspace);
+        final ProjectConfigDto projectDto = createProjectDto().withPath("/other/path");
         final int projectsSizeBefore = workspace.getConfig().getProjects().size();
 
         final Response response = given().auth()
@@ -733,14 +737,32 @@ public class WorkspaceServiceTest {
                              .getProjects()
                              .size(), projectsSizeBefore + 1);
         verify(validator).validateConfig(workspace.getConfig());
-        verify(wsManager).updateWorkspace(any(), any());
+        verify(wsManager).updateProjects(workspace.getId(), version, singletonList(projectDto), emptyList());
+    }
+
+    @Test
+    public void shouldRespond409WhenAddingProjectWithExistingPath() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .contentType("application/json")
+                                         .body(createProjectDto())
+                                         .when()
+                                         .post(SECURE_PATH + "/workspace/" + workspace.getId() + "/project");
+
+        assertEquals(response.getStatusCode(), 409);
+        assertEquals(unwrapError(response), "Workspace '" + workspace.getId() + "' already contains project with path '/project/path'");
+        verify(wsManager, never()).updateProjects(any(), any(), any(), any());
     }
 
     @Test
     public void shouldUpdateProject() throws Exception {
         final WorkspaceImpl workspace = createWorkspace(createConfigDto());
         when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
-        when(wsManager.updateWorkspace(any(), any())).thenReturn(workspace);
+        final String version = ProjectsVersion.of(workspace.getConfig().getProjects());
+        when(wsManager.updateProjects(any(), any(), any(), any())).thenReturn(workspace);
         final ProjectConfigDto projectDto = createProjectDto();
 
         final Response response = given().auth()
@@ -753,7 +775,10 @@ public class WorkspaceServiceTest {
 
         assertEquals(response.getStatusCode(), 200);
         verify(validator).validateConfig(workspace.getConfig());
-        verify(wsManager).updateWorkspace(any(), any());
+        verify(wsManager).updateProjects(workspace.getId(),
+                                         version,
+                                         singletonList(projectDto),
+                                         singletonList(projectDto.getPath()));
     }
 
     @Test
@@ -770,13 +795,14 @@ public class WorkspaceServiceTest {
 
         assertEquals(response.getStatusCode(), 404);
         assertEquals(unwrapError(response), "Workspace '" + workspace.getId() + "' doesn't contain project with path '/fake'");
-        verify(wsManager, never()).updateWorkspace(any(), any());
+        verify(wsManager, never()).updateProjects(any(), any(), any(), any());
     }
 
     @Test
     public void shouldDeleteProject() throws Exception {
         final WorkspaceImpl workspace = createWorkspace(createConfigDto());
         when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+        final String version = ProjectsVersion.of(workspace.getConfig().getProjects());
         final ProjectConfig firstProject = workspace.getConfig().getProjects().iterator().next();
 
         final Response response = given().auth()
@@ -786,7 +812,87 @@ public class WorkspaceServiceTest {
                                                  + "/project" + firstProject.getPath());
 
         assertEquals(response.getStatusCode(), 204);
-        verify(wsManager).updateWorkspace(any(), any());
+        verify(wsManager).updateProjects(workspace.getId(), version, emptyList(), singletonList(firstProject.getPath()));
+    }
+
+    @Test
+    public void shouldGetProjectsWithVersion() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/" + workspace.getId() + "/projects");
+
+        assertEquals(response.getStatusCode(), 200);
+        final ProjectsStateDto state = unwrapDto(response, ProjectsStateDto.class);
+        assertEquals(state.getVersion(), ProjectsVersion.of(workspace.getConfig().getProjects()));
+        assertEquals(state.getProjects().size(), 1);
+        assertEquals(state.getProjects().get(0).getPath(), "/project/path");
+    }
+
+    @Test
+    public void shouldUpdateProjects() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+        when(wsManager.updateProjects(any(), any(), any(), any())).thenReturn(workspace);
+        final ProjectsUpdateDto update = newDto(ProjectsUpdateDto.class).withVersion("version")
+                                                                        .withProjects(singletonList(createProjectDto().withPath("other")))
+                                                                        .withRemoved(singletonList("project/path"));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .contentType("application/json")
+                                         .body(update)
+                                         .when()
+                                         .post(SECURE_PATH + "/workspace/" + workspace.getId() + "/projects");
+
+        assertEquals(response.getStatusCode(), 200);
+        verify(validator).validateConfig(workspace.getConfig());
+        verify(wsManager).updateProjects(workspace.getId(),
+                                         "version",
+                                         singletonList(createProjectDto().withPath("/other")),
+                                         singletonList("/project/path"));
+    }
+
+    @Test
+    public void shouldRespond400WhenUpdateContainsProjectsWithTheSamePath() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+        final ProjectsUpdateDto update = newDto(ProjectsUpdateDto.class).withVersion("version")
+                                                                        .withProjects(asList(createProjectDto().withPath("/other"),
+                                                                                             createProjectDto().withPath("other")));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .contentType("application/json")
+                                         .body(update)
+                                         .when()
+                                         .post(SECURE_PATH + "/workspace/" + workspace.getId() + "/projects");
+
+        assertEquals(response.getStatusCode(), 400);
+        assertEquals(unwrapError(response), "Update contains more than one project with path '/other'");
+        verify(wsManager, never()).updateProjects(any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldRespond409WhenProjectsVersionIsOutdated() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+        when(wsManager.updateProjects(any(), any(), any(), any())).thenThrow(new ConflictException("Projects were changed"));
+        final ProjectsUpdateDto update = newDto(ProjectsUpdateDto.class).withVersion("outdated")
+                                                                        .withRemoved(singletonList("/project/path"));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .contentType("application/json")
+                                         .body(update)
+                                         .when()
+                                         .post(SECURE_PATH + "/workspace/" + workspace.getId() + "/projects");
+
+        assertEquals(response.getStatusCode(), 409);
+        assertEquals(unwrapError(response), "Projects were changed");
     }
 
     @Test
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.jpa;
+
+import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.jpa.JpaWorkspaceDao.RemoveWorkspaceBeforeAccountRemovedEventSubscriber;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link RemoveWorkspaceBeforeAccountRemovedEventSubscriber}.
+ *
+ * @author agent
+ */
+@Listeners(MockitoTestNGListener.class)
+public class RemoveWorkspaceBeforeAccountRemovedEventSubscriberTest {
+    private static final AccountImpl ACCOUNT = new AccountImpl("accountId", "namespace", "test");
+
+    @Mock
+    private WorkspaceManager workspaceManager;
+
+    @InjectMocks
+    private RemoveWorkspaceBeforeAccountRemovedEventSubscriber subscriber;
+
+    @Test
+    public void shouldRemoveAllWorkspacesOfAccountAtOnce() throws Exception {
+        final WorkspaceImpl workspace1 = WorkspaceImpl.builder().setId("ws1").setAccount(ACCOUNT).build();
+        final WorkspaceImpl workspace2 = WorkspaceImpl.builder().setId("ws2").setAccount(ACCOUNT).build();
+        when(workspaceManager.getByNamespace("namespace")).thenReturn(asList(workspace1, workspace2));
+
+        subscriber.onRemovalEvent(new BeforeAccountRemovedEvent(ACCOUNT));
+
+        verify(workspaceManager).removeWorkspaces(asList("ws1", "ws2"));
+        verify(workspaceManager, never()).removeWorkspace(anyString());
+    }
+
+    @Test
+    public void shouldNotFailWhenAccountHasNoWorkspaces() throws Exception {
+        when(workspaceManager.getByNamespace("namespace")).thenReturn(emptyList());
+
+        subscriber.onRemovalEvent(new BeforeAccountRemovedEvent(ACCOUNT));
+
+        verify(workspaceManager).removeWorkspaces(emptyList());
+    }
+}
@@ -221,6 +221,60 @@ public class WorkspaceDaoTest {
         workspaceDao.getWorkspaces(true, -2, 0);
     }
 
+    @Test
+    public void shouldGetTemporaryWorkspacesPageByPageOrderedById() throws Exception {
+        for (WorkspaceImpl workspace : asList(workspaces[4], workspaces[0], workspaces[3], workspaces[2])) {
+            workspace.setTemporary(true);
+            workspaceDao.update(workspace);
+        }
+
+        List<WorkspaceImpl> firstPage = workspaceDao.getWorkspaces(true, null, 2);
+        List<WorkspaceImpl> secondPage = workspaceDao.getWorkspaces(true, firstPage.get(1).getId(), 2);
+        List<WorkspaceImpl> thirdPage = workspaceDao.getWorkspaces(true, secondPage.get(1).getId(), 2);
+
+        assertEquals(firstPage, asList(workspaceDao.get(workspaces[0].getId()), workspaceDao.get(workspaces[2].getId())));
+        assertEquals(secondPage, asList(workspaceDao.get(workspaces[3].getId()), workspaceDao.get(workspaces[4].getId())));
+        assertTrue(thirdPage.isEmpty());
+    }
+
+    @Test
+    public void shouldNotSkipWorkspacesWhenWorkspacesOfPreviousPageAreRemoved() throws Exception {
+        List<WorkspaceImpl> firstPage = workspaceDao.getWorkspaces(false, null, 2);
+        workspaceDao.removeAll(asList(firstPage.get(0).getId(), firstPage.get(1).getId()));
+
+        List<WorkspaceImpl> secondPage = workspaceDao.getWorkspaces(false, firstPage.get(1).getId(), 2);
+
+        assertEquals(secondPage, asList(workspaces[2], workspaces[3]));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionWhenPageSizeIsNotPositive() throws Exception {
+        workspaceDao.getWorkspaces(true, null, 0);
+    }
+
+    @Test
+    public void shouldRemoveAllWorkspaces() throws Exception {
+        workspaceDao.removeAll(asList(workspaces[0].getId(), workspaces[1].getId(), "non-existing-id"));
+
+        assertEquals(new HashSet<>(workspaceDao.getWorkspaces(false, null, COUNT_OF_WORKSPACES)),
+                     new HashSet<>(asList(workspaces[2], workspaces[3], workspaces[4])));
+    }
+
+    @Test
+    public void shouldPublishRemoveWorkspaceEventForEachRemovedWorkspace() throws Exception {
+        final int[] notifications = new int[] {0};
+        eventService.subscribe(event -> notifications[0]++, WorkspaceRemovedEvent.class);
+
+        workspaceDao.removeAll(asList(workspaces[0].getId(), workspaces[1].getId()));
+
+        assertEquals(notifications[0], 2);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void shouldThrowNpeWhenRemovingAllWithNullIds() throws Exception {
+        workspaceDao.removeAll(null);
+    }
+
     @Test
     public void shouldPublicRemoveWorkspaceEventAfterRemoveWorkspace() throws Exception {
         final boolean[] isNotified = new boolean[] {false};
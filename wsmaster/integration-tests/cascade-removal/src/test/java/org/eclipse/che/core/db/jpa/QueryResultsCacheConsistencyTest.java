@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Stage;
+import com.google.inject.name.Names;
+import com.google.inject.persist.jpa.JpaPersistModule;
+
+import org.eclipse.che.account.api.AccountManager;
+import org.eclipse.che.account.api.AccountModule;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.machine.server.jpa.MachineJpaModule;
+import org.eclipse.che.api.ssh.server.jpa.SshJpaModule;
+import org.eclipse.che.api.user.server.jpa.UserJpaModule;
+import org.eclipse.che.api.user.server.model.impl.UserImpl;
+import org.eclipse.che.api.user.server.spi.UserDao;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
+import org.eclipse.che.api.workspace.server.jpa.WorkspaceJpaModule;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.core.db.DBInitializer;
+import org.eclipse.che.core.db.schema.SchemaInitializer;
+import org.eclipse.che.core.db.schema.impl.flyway.FlywaySchemaInitializer;
+import org.eclipse.che.inject.lifecycle.InitModule;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Singleton;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toSet;
+import static org.eclipse.che.commons.test.db.H2TestHelper.inMemoryDefault;
+import static org.eclipse.che.core.db.jpa.TestObjectsFactory.createStack;
+import static org.eclipse.che.core.db.jpa.TestObjectsFactory.createUser;
+import static org.eclipse.che.core.db.jpa.TestObjectsFactory.createWorkspace;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests that {@link QueryResultsCache} never serves results which are outdated by committed changes.
+ *
+ * @author agent
+ */
+public class QueryResultsCacheConsistencyTest {
+    private static final int STACKS          = 20;
+    private static final int WRITERS         = 4;
+    private static final int READERS         = 4;
+    private static final int UPDATES         = 25;
+    private static final int TIMEOUT_SECONDS = 60;
+
+    private Injector          injector;
+    private QueryResultsCache queryResultsCache;
+    private StackDao          stackDao;
+    private UserDao           userDao;
+    private WorkspaceDao      workspaceDao;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        injector = Guice.createInjector(Stage.PRODUCTION, new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(EventService.class).in(Singleton.class);
+                install(new InitModule(PostConstruct.class));
+                install(new JpaPersistModule("test"));
+                bind(SchemaInitializer.class).toInstance(new FlywaySchemaInitializer(inMemoryDefault(), "che-schema"));
+                bind(DBInitializer.class).asEagerSingleton();
+                install(new UserJpaModule());
+                install(new AccountModule());
+                install(new SshJpaModule());
+                install(new WorkspaceJpaModule());
+                install(new MachineJpaModule());
+                bind(WorkspaceManager.class);
+                final WorkspaceRuntimes wR = mock(WorkspaceRuntimes.class);
+                when(wR.hasRuntime(anyString())).thenReturn(false);
+                bind(WorkspaceRuntimes.class).toInstance(wR);
+                bind(AccountManager.class);
+                bind(Boolean.class).annotatedWith(Names.named("che.workspace.auto_snapshot")).toInstance(false);
+                bind(Boolean.class).annotatedWith(Names.named("che.workspace.auto_restore")).toInstance(false);
+            }
+        });
+
+        queryResultsCache = injector.getInstance(QueryResultsCache.class);
+        stackDao = injector.getInstance(StackDao.class);
+        userDao = injector.getInstance(UserDao.class);
+        workspaceDao = injector.getInstance(WorkspaceDao.class);
+    }
+
+    @AfterMethod
+    public void cleanup() {
+        injector.getInstance(EntityManagerFactory.class).close();
+    }
+
+    @Test
+    public void shouldServeRepeatedQueryFromCacheUntilQueriedEntityIsChanged() throws Exception {
+        assertTrue(queryResultsCache.isEnabled());
+        final StackImpl stack = createStack("stack1", "name1");
+        stack.setTags(singletonList("tag"));
+        stackDao.create(stack);
+
+        final AtomicInteger executions = new AtomicInteger();
+        assertEquals(ids(searchByTag("tag", executions)), singleton("stack1"));
+        assertEquals(ids(searchByTag("tag", executions)), singleton("stack1"));
+        assertEquals(executions.get(), 1);
+
+        stack.setTags(singletonList("other-tag"));
+        stackDao.update(stack);
+
+        assertTrue(searchByTag("tag", executions).isEmpty());
+        assertEquals(executions.get(), 2);
+
+        stackDao.remove(stack.getId());
+    }
+
+    @Test
+    public void shouldNotServeRemovedEntitiesAfterCascadeRemoval() throws Exception {
+        final UserImpl user = createUser("user1");
+        userDao.create(user);
+        final WorkspaceImpl workspace = createWorkspace("workspace1", user.getAccount());
+        workspaceDao.create(workspace);
+        assertEquals(workspaceDao.getByNamespace(user.getName()).size(), 1);
+        assertEquals(workspaceDao.getByNamespace(user.getName()).size(), 1);
+        assertEquals(userDao.getByName(user.getName()).getId(), user.getId());
+
+        // workspaces are removed by subscriber of cascade removal event
+        userDao.remove(user.getId());
+
+        assertTrue(workspaceDao.getByNamespace(user.getName()).isEmpty());
+        try {
+            userDao.getByName(user.getName());
+            throw new AssertionError("User must not be found after removal");
+        } catch (NotFoundException expected) {
+        }
+    }
+
+    @Test
+    public void shouldBeConsistentWithDatabaseUnderConcurrentUpdates() throws Exception {
+        final Map<String, String> expectedTags = new ConcurrentHashMap<>();
+        for (int i = 0; i < STACKS; i++) {
+            final StackImpl stack = createStack("stack" + i, "name" + i);
+            stack.setTags(singletonList("even"));
+            stackDao.create(stack);
+            expectedTags.put(stack.getId(), "even");
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            final List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                final int writer = w;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int u = 0; u < UPDATES; u++) {
+                        // each writer owns own subset of stacks, so expected state is known when all writers are done
+                        for (int i = writer; i < STACKS; i += WRITERS) {
+                            final StackImpl stack = stackDao.getById("stack" + i);
+                            final String tag = u % 2 == 0 ? "odd" : "even";
+                            stack.setTags(singletonList(tag));
+                            stackDao.update(stack);
+                            expectedTags.put(stack.getId(), tag);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            final List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < READERS; r++) {
+                final String tag = r % 2 == 0 ? "odd" : "even";
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    while (writing.get()) {
+                        stackDao.searchStacks(null, singletonList(tag), 0, STACKS);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(TIMEOUT_SECONDS, SECONDS);
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(TIMEOUT_SECONDS, SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (String tag : new String[] {"odd", "even"}) {
+            final Set<String> expected = expectedTags.entrySet()
+                                                     .stream()
+                                                     .filter(e -> tag.equals(e.getValue()))
+                                                     .map(Map.Entry::getKey)
+                                                     .collect(toSet());
+            assertEquals(ids(stackDao.searchStacks(null, singletonList(tag), 0, STACKS)), expected);
+        }
+    }
+
+    private List<StackImpl> searchByTag(String tag, AtomicInteger executions) {
+        final EntityManager manager = injector.getInstance(EntityManager.class);
+        return queryResultsCache.getResultList(manager,
+                                               StackImpl.class,
+                                               () -> {
+                                                   executions.incrementAndGet();
+                                                   return manager.createNamedQuery("Stack.getByTags", StackImpl.class)
+                                                                 .setParameter("tags", singletonList(tag))
+                                                                 .setParameter("tagsSize", 1)
+                                                                 .getResultList();
+                                               },
+                                               "Stack.getByTags", tag);
+    }
+
+    private static Set<String> ids(List<StackImpl> stacks) {
+        return stacks.stream().map(StackImpl::getId).collect(toSet());
+    }
+}
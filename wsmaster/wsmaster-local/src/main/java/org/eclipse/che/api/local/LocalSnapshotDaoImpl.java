@@ -120,6 +120,13 @@ public class LocalSnapshotDaoImpl implements SnapshotDao {
         snapshots.remove(snapshotId);
     }
 
+    @Override
+    public synchronized List<SnapshotImpl> removeSnapshots(String workspaceId) throws SnapshotException {
+        final List<SnapshotImpl> removed = findSnapshots(workspaceId);
+        removed.forEach(snapshot -> snapshots.remove(snapshot.getId()));
+        return removed;
+    }
+
     @Override
     public List<SnapshotImpl> replaceSnapshots(String workspaceId, String envName, Collection<? extends SnapshotImpl> newSnapshots)
             throws SnapshotException {
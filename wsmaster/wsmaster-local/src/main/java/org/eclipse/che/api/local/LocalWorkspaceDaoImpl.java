@@ -33,12 +33,15 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
@@ -127,6 +130,12 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
         workspaces.remove(id);
     }
 
+    @Override
+    public synchronized void removeAll(Collection<String> ids) throws ConflictException, ServerException {
+        requireNonNull(ids, "Required non-null ids");
+        ids.forEach(workspaces::remove);
+    }
+
     @Override
     public synchronized WorkspaceImpl get(String id) throws NotFoundException, ServerException {
         requireNonNull(id, "Required non-null id");
@@ -175,6 +184,17 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
         return  stream.collect(toList());
     }
 
+    @Override
+    public synchronized List<WorkspaceImpl> getWorkspaces(boolean isTemporary, String afterId, int maxItems) throws ServerException {
+        checkArgument(maxItems > 0, "The number of items to return must be positive.");
+        return workspaces.values()
+                         .stream()
+                         .filter(ws -> ws.isTemporary() == isTemporary && (afterId == null || ws.getId().compareTo(afterId) > 0))
+                         .sorted(Comparator.comparing(WorkspaceImpl::getId))
+                         .limit(maxItems)
+                         .map(ws -> new WorkspaceImpl(ws, ws.getAccount()))
+                         .collect(toList());
+    }
 
     private Optional<WorkspaceImpl> find(String name, String owner) {
         return workspaces.values()